@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.checkpoint;
+
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A successfully uploaded part together with the range of the source it was cut from.
+ *
+ * @since 3.3.4
+ */
+public class CheckpointPart {
+
+    private static final String PART_NUMBER = "partNumber";
+    private static final String E_TAG = "eTag";
+    private static final String OFFSET = "offset";
+    private static final String SIZE = "size";
+
+    private final Integer partNumber;
+    private final String eTag;
+    private final Long offset;
+    private final Long size;
+
+    public CheckpointPart(Integer partNumber, String eTag, Long offset, Long size) {
+        checkNotNull(partNumber, "partNumber must not be null");
+        checkNotNull(StringUtils.trimToNull(eTag), "eTag must not be null");
+        checkNotNull(offset, "offset must not be null");
+        checkNotNull(size, "size must not be null");
+        checkArgument(offset >= 0, "offset must not be negative");
+        checkArgument(size >= 0, "size must not be negative");
+
+        this.partNumber = partNumber;
+        this.eTag = eTag;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    public CheckpointPart(JsonObject json) {
+        this(
+                json.getInteger(PART_NUMBER),
+                json.getString(E_TAG),
+                json.getLong(OFFSET),
+                json.getLong(SIZE)
+        );
+    }
+
+    public JsonObject toJson() {
+        return new JsonObject()
+                .put(PART_NUMBER, partNumber)
+                .put(E_TAG, eTag)
+                .put(OFFSET, offset)
+                .put(SIZE, size);
+    }
+
+    public Integer getPartNumber() {
+        return partNumber;
+    }
+
+    public String geteTag() {
+        return eTag;
+    }
+
+    public Long getOffset() {
+        return offset;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.checkpoint;
+
+import com.google.common.base.Charsets;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.CopyOptions;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Stores each checkpoint as JSON file in a local directory. A checkpoint is first written to a temporary file
+ * which is then atomically moved over the previous version, so a crash never leaves a half written checkpoint behind.
+ *
+ * @since 3.3.4
+ */
+public class FileSystemMultipartUploadCheckpointStore implements MultipartUploadCheckpointStore {
+
+    private static final String FILE_SUFFIX = ".json";
+    private static final String TEMP_FILE_SUFFIX = ".json.tmp";
+
+    private final FileSystem fileSystem;
+    private final String directory;
+
+    private boolean directoryCreated = false;
+
+    public FileSystemMultipartUploadCheckpointStore(Vertx vertx, String directory) {
+        checkNotNull(vertx, "vertx must not be null");
+        checkNotNull(StringUtils.trimToNull(directory), "directory must not be null");
+
+        this.fileSystem = vertx.fileSystem();
+        this.directory = directory;
+    }
+
+    @Override
+    public void save(MultipartUploadCheckpoint checkpoint, Handler<Void> handler, Handler<Throwable> exceptionHandler) {
+        checkNotNull(checkpoint, "checkpoint must not be null");
+        checkNotNull(handler, "handler must not be null");
+        checkNotNull(exceptionHandler, "exceptionHandler must not be null");
+
+        createDirectoryIfNecessary(
+                aVoid -> {
+                    final String path = pathOf(checkpoint.getId(), FILE_SUFFIX);
+                    final String tempPath = pathOf(checkpoint.getId(), TEMP_FILE_SUFFIX);
+                    fileSystem.writeFile(tempPath, checkpoint.toJson().toBuffer(), writeResult -> {
+                        if (writeResult.failed()) {
+                            exceptionHandler.handle(writeResult.cause());
+                            return;
+                        }
+
+                        fileSystem.move(tempPath, path, new CopyOptions().setReplaceExisting(true).setAtomicMove(true), moveResult -> {
+                            if (moveResult.succeeded()) {
+                                handler.handle(null);
+                            } else {
+                                exceptionHandler.handle(moveResult.cause());
+                            }
+                        });
+                    });
+                },
+                exceptionHandler
+        );
+    }
+
+    @Override
+    public void load(String id, Handler<MultipartUploadCheckpoint> handler, Handler<Throwable> exceptionHandler) {
+        checkNotNull(StringUtils.trimToNull(id), "id must not be null");
+        checkNotNull(handler, "handler must not be null");
+        checkNotNull(exceptionHandler, "exceptionHandler must not be null");
+
+        final String path = pathOf(id, FILE_SUFFIX);
+        fileSystem.exists(path, existsResult -> {
+            if (existsResult.failed()) {
+                exceptionHandler.handle(existsResult.cause());
+            } else if (!existsResult.result()) {
+                handler.handle(null);
+            } else {
+                fileSystem.readFile(path, readResult -> {
+                    if (readResult.failed()) {
+                        exceptionHandler.handle(readResult.cause());
+                        return;
+                    }
+
+                    final MultipartUploadCheckpoint checkpoint;
+                    try {
+                        checkpoint = new MultipartUploadCheckpoint(new JsonObject(readResult.result()));
+                    } catch (Exception e) {
+                        exceptionHandler.handle(e);
+                        return;
+                    }
+                    handler.handle(checkpoint);
+                });
+            }
+        });
+    }
+
+    @Override
+    public void delete(String id, Handler<Void> handler, Handler<Throwable> exceptionHandler) {
+        checkNotNull(StringUtils.trimToNull(id), "id must not be null");
+        checkNotNull(handler, "handler must not be null");
+        checkNotNull(exceptionHandler, "exceptionHandler must not be null");
+
+        final String path = pathOf(id, FILE_SUFFIX);
+        fileSystem.exists(path, existsResult -> {
+            if (existsResult.failed()) {
+                exceptionHandler.handle(existsResult.cause());
+            } else if (!existsResult.result()) {
+                handler.handle(null);
+            } else {
+                fileSystem.delete(path, deleteResult -> {
+                    if (deleteResult.succeeded()) {
+                        handler.handle(null);
+                    } else {
+                        exceptionHandler.handle(deleteResult.cause());
+                    }
+                });
+            }
+        });
+    }
+
+    private void createDirectoryIfNecessary(Handler<Void> handler, Handler<Throwable> exceptionHandler) {
+        if (directoryCreated) {
+            handler.handle(null);
+            return;
+        }
+
+        fileSystem.mkdirs(directory, mkdirsResult -> {
+            if (mkdirsResult.succeeded()) {
+                directoryCreated = true;
+                handler.handle(null);
+            } else {
+                exceptionHandler.handle(mkdirsResult.cause());
+            }
+        });
+    }
+
+    private String pathOf(String id, String suffix) {
+        try {
+            return directory + File.separator + URLEncoder.encode(id, Charsets.UTF_8.name()) + suffix;
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
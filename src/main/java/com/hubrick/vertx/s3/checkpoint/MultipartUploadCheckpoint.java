@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.checkpoint;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.TreeMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The persisted state of a multipart upload. It holds everything needed to continue the upload after a restart:
+ * the upload id and the parts which were uploaded so far including the source range they cover.
+ *
+ * @since 3.3.4
+ */
+public class MultipartUploadCheckpoint {
+
+    private static final String ID = "id";
+    private static final String BUCKET = "bucket";
+    private static final String KEY = "key";
+    private static final String UPLOAD_ID = "uploadId";
+    private static final String PARTS = "parts";
+
+    private final String id;
+    private final String bucket;
+    private final String key;
+    private final String uploadId;
+    private final TreeMap<Integer, CheckpointPart> parts = new TreeMap<>();
+
+    public MultipartUploadCheckpoint(String id, String bucket, String key, String uploadId) {
+        checkNotNull(StringUtils.trimToNull(id), "id must not be null");
+        checkNotNull(StringUtils.trimToNull(bucket), "bucket must not be null");
+        checkNotNull(StringUtils.trimToNull(key), "key must not be null");
+        checkNotNull(StringUtils.trimToNull(uploadId), "uploadId must not be null");
+
+        this.id = id;
+        this.bucket = bucket;
+        this.key = key;
+        this.uploadId = uploadId;
+    }
+
+    public MultipartUploadCheckpoint(MultipartUploadCheckpoint other) {
+        this(other.id, other.bucket, other.key, other.uploadId);
+        this.parts.putAll(other.parts);
+    }
+
+    public MultipartUploadCheckpoint(JsonObject json) {
+        this(
+                json.getString(ID),
+                json.getString(BUCKET),
+                json.getString(KEY),
+                json.getString(UPLOAD_ID)
+        );
+
+        final JsonArray partsArray = json.getJsonArray(PARTS, new JsonArray());
+        for (int i = 0; i < partsArray.size(); i++) {
+            addPart(new CheckpointPart(partsArray.getJsonObject(i)));
+        }
+    }
+
+    public JsonObject toJson() {
+        final JsonArray partsArray = new JsonArray();
+        parts.values().forEach(part -> partsArray.add(part.toJson()));
+
+        return new JsonObject()
+                .put(ID, id)
+                .put(BUCKET, bucket)
+                .put(KEY, key)
+                .put(UPLOAD_ID, uploadId)
+                .put(PARTS, partsArray);
+    }
+
+    public MultipartUploadCheckpoint addPart(CheckpointPart part) {
+        checkNotNull(part, "part must not be null");
+
+        parts.put(part.getPartNumber(), part);
+        return this;
+    }
+
+    /**
+     * @return The number of the first part which is not covered by the gapless run of parts starting at part 1
+     */
+    public Integer getNextPartNumber() {
+        int nextPartNumber = 1;
+        long nextOffset = 0;
+        for (CheckpointPart part : parts.values()) {
+            if (part.getPartNumber() != nextPartNumber || part.getOffset() != nextOffset) {
+                break;
+            }
+            nextPartNumber++;
+            nextOffset += part.getSize();
+        }
+        return nextPartNumber;
+    }
+
+    /**
+     * @return The source offset up to which the data is safely stored in S3. A resumed upload has to continue reading the source from here.
+     */
+    public Long getOffset() {
+        long nextOffset = 0;
+        for (CheckpointPart part : parts.headMap(getNextPartNumber()).values()) {
+            nextOffset += part.getSize();
+        }
+        return nextOffset;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public Collection<CheckpointPart> getParts() {
+        return Collections.unmodifiableCollection(parts.values());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.checkpoint;
+
+import io.vertx.core.Handler;
+
+/**
+ * Persists the progress of multipart uploads so they can be resumed after a restart of the process.
+ * Implementations must be safe to be called from the event loop, which means they must not block.
+ *
+ * @since 3.3.4
+ */
+public interface MultipartUploadCheckpointStore {
+
+    /**
+     * Stores the checkpoint replacing a previous version with the same id.
+     *
+     * @param checkpoint       The checkpoint
+     * @param handler          Success handler
+     * @param exceptionHandler Exception handler
+     */
+    void save(MultipartUploadCheckpoint checkpoint, Handler<Void> handler, Handler<Throwable> exceptionHandler);
+
+    /**
+     * Loads the checkpoint with the given id.
+     *
+     * @param id               The id of the checkpoint
+     * @param handler          Success handler, called with null if the checkpoint doesn't exist
+     * @param exceptionHandler Exception handler
+     */
+    void load(String id, Handler<MultipartUploadCheckpoint> handler, Handler<Throwable> exceptionHandler);
+
+    /**
+     * Deletes the checkpoint with the given id. Deleting a checkpoint which doesn't exist is not an error.
+     *
+     * @param id               The id of the checkpoint
+     * @param handler          Success handler
+     * @param exceptionHandler Exception handler
+     */
+    void delete(String id, Handler<Void> handler, Handler<Throwable> exceptionHandler);
+}
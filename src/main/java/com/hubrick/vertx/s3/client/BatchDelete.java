@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import com.google.common.collect.Lists;
+import com.hubrick.vertx.s3.model.ObjectIdentifier;
+import com.hubrick.vertx.s3.model.Response;
+import com.hubrick.vertx.s3.model.ResponseWithBody;
+import com.hubrick.vertx.s3.model.header.CommonResponseHeaders;
+import com.hubrick.vertx.s3.model.request.DeleteObjectsRequest;
+import com.hubrick.vertx.s3.model.response.DeleteObjectsResponse;
+import io.vertx.core.Handler;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Splits a multi object delete into batches of at most 1000 keys, sends them in parallel and merges their results.
+ *
+ * @since 3.3.4
+ */
+class BatchDelete {
+
+    private static final int DEFAULT_CONCURRENCY = 4;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final DeleteObjectsRequest deleteObjectsRequest;
+    private final Handler<Response<CommonResponseHeaders, DeleteObjectsResponse>> handler;
+    private final Handler<Throwable> exceptionHandler;
+
+    private final List<List<ObjectIdentifier>> batches;
+    private final int maxConcurrentBatches;
+    private final DeleteObjectsResponse deleteObjectsResponse = new DeleteObjectsResponse();
+
+    private CommonResponseHeaders responseHeaders;
+    private int nextBatch = 0;
+    private int outstandingBatches = 0;
+    private boolean failed = false;
+
+    BatchDelete(S3Client s3Client,
+                String bucket,
+                DeleteObjectsRequest deleteObjectsRequest,
+                Handler<Response<CommonResponseHeaders, DeleteObjectsResponse>> handler,
+                Handler<Throwable> exceptionHandler) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.deleteObjectsRequest = deleteObjectsRequest;
+        this.handler = handler;
+        this.exceptionHandler = exceptionHandler;
+
+        this.batches = Lists.partition(deleteObjectsRequest.getObjects(), S3Client.MAX_KEYS_PER_DELETE_REQUEST);
+        this.maxConcurrentBatches = Optional.ofNullable(deleteObjectsRequest.getMaxConcurrentBatches()).orElse(DEFAULT_CONCURRENCY);
+    }
+
+    void start() {
+        deleteNextBatches();
+    }
+
+    private void deleteNextBatches() {
+        while (!failed && outstandingBatches < maxConcurrentBatches && nextBatch < batches.size()) {
+            deleteBatch(batches.get(nextBatch++));
+        }
+    }
+
+    private void deleteBatch(List<ObjectIdentifier> objects) {
+        final DeleteObjectsRequest batchRequest = new DeleteObjectsRequest()
+                .withObjects(objects)
+                .withQuiet(deleteObjectsRequest.getQuiet())
+                .withAmzMfa(deleteObjectsRequest.getAmzMfa());
+
+        outstandingBatches++;
+        final Handler<Response<CommonResponseHeaders, DeleteObjectsResponse>> batchHandler = response -> {
+            outstandingBatches--;
+            responseHeaders = response.getHeader();
+            if (response.getData() != null) {
+                deleteObjectsResponse.getDeleted().addAll(response.getData().getDeleted());
+                deleteObjectsResponse.getErrors().addAll(response.getData().getErrors());
+            }
+
+            if (outstandingBatches == 0 && nextBatch == batches.size()) {
+                handler.handle(new ResponseWithBody<>(responseHeaders, deleteObjectsResponse));
+            } else {
+                deleteNextBatches();
+            }
+        };
+
+        s3Client.deleteObjectsBatch(bucket, batchRequest, batchHandler, this::fail);
+    }
+
+    private void fail(Throwable throwable) {
+        if (failed) {
+            return;
+        }
+        failed = true;
+        exceptionHandler.handle(throwable);
+    }
+}
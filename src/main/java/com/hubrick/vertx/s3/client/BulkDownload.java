@@ -0,0 +1,361 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import com.hubrick.vertx.s3.exception.HttpErrorException;
+import com.hubrick.vertx.s3.exception.S3ClientException;
+import com.hubrick.vertx.s3.model.Contents;
+import com.hubrick.vertx.s3.model.header.GetObjectResponseHeaders;
+import com.hubrick.vertx.s3.model.request.BulkDownloadRequest;
+import com.hubrick.vertx.s3.model.request.GetBucketRequest;
+import com.hubrick.vertx.s3.model.request.GetObjectRequest;
+import com.hubrick.vertx.s3.model.response.BulkDownloadItemResponse;
+import com.hubrick.vertx.s3.model.response.BulkDownloadResponse;
+import com.hubrick.vertx.s3.util.Deadline;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.streams.ReadStream;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Downloads the given keys or the keys under a prefix into a directory. Objects bigger than the part size are fetched
+ * in ranges, and the ranges of objects in progress are requested before new objects are started.
+ *
+ * @since 3.3.4
+ */
+class BulkDownload {
+
+    private static final long DEFAULT_PART_SIZE = 8388608L;
+    private static final int MAX_OUTSTANDING_WRITES_PER_RANGE = 4;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final Path directory;
+    private final List<String> keys;
+    private final String prefix;
+    private final Deadline deadline;
+    private final Handler<BulkDownloadItemResponse> itemHandler;
+    private final Handler<BulkDownloadResponse> handler;
+    private final Handler<Throwable> exceptionHandler;
+
+    private final int maxConcurrentRequests;
+    private final long partSize;
+    private final Deque<String> pendingKeys = new ArrayDeque<>();
+    private final Deque<DownloadRange> pendingRanges = new ArrayDeque<>();
+
+    private String continuationToken;
+    private boolean listingDone = false;
+    private boolean listingInProgress = false;
+    private int requestsInFlight = 0;
+    private int objectsInProgress = 0;
+    private long succeeded = 0;
+    private long failed = 0;
+    private boolean finished = false;
+
+    BulkDownload(S3Client s3Client,
+                 String bucket,
+                 BulkDownloadRequest bulkDownloadRequest,
+                 Handler<BulkDownloadItemResponse> itemHandler,
+                 Handler<BulkDownloadResponse> handler,
+                 Handler<Throwable> exceptionHandler) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.directory = Paths.get(bulkDownloadRequest.getDirectory()).toAbsolutePath().normalize();
+        this.keys = bulkDownloadRequest.getKeys();
+        this.prefix = bulkDownloadRequest.getPrefix();
+        this.deadline = bulkDownloadRequest.getDeadline();
+        this.itemHandler = itemHandler;
+        this.handler = handler;
+        this.exceptionHandler = exceptionHandler;
+
+        this.maxConcurrentRequests = Optional.ofNullable(bulkDownloadRequest.getMaxConcurrentRequests()).orElse(s3Client.getMaxPoolSize());
+        this.partSize = Optional.ofNullable(bulkDownloadRequest.getPartSize()).orElse(DEFAULT_PART_SIZE);
+    }
+
+    void start() {
+        if (keys != null) {
+            pendingKeys.addAll(keys);
+            listingDone = true;
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (finished) {
+            return;
+        }
+
+        // Ranges of objects which are already in progress go first to keep the number of open files low
+        while (requestsInFlight < maxConcurrentRequests) {
+            if (!pendingRanges.isEmpty()) {
+                final DownloadRange downloadRange = pendingRanges.poll();
+                requestsInFlight++;
+                downloadRange.objectDownload.downloadRange(downloadRange.firstByte, downloadRange.lastByte, false);
+            } else if (!pendingKeys.isEmpty()) {
+                requestsInFlight++;
+                new ObjectDownload(pendingKeys.poll()).start();
+            } else {
+                break;
+            }
+        }
+
+        if (!listingDone && !listingInProgress && pendingKeys.size() < maxConcurrentRequests) {
+            listNextPage();
+        }
+
+        if (listingDone && pendingKeys.isEmpty() && objectsInProgress == 0) {
+            finished = true;
+            handler.handle(new BulkDownloadResponse(succeeded, failed));
+        }
+    }
+
+    private void listNextPage() {
+        listingInProgress = true;
+        s3Client.getBucket(
+                bucket,
+                new GetBucketRequest().withPrefix(prefix).withContinuationToken(continuationToken).withDeadline(deadline),
+                response -> {
+                    listingInProgress = false;
+                    response.getData().getContentsList().stream()
+                            .map(Contents::getKey)
+                            .filter(key -> !key.endsWith("/"))
+                            .forEach(pendingKeys::add);
+
+                    continuationToken = response.getData().getNextContinuationToken();
+                    listingDone = !Boolean.TRUE.equals(response.getData().getTruncated()) || continuationToken == null;
+                    schedule();
+                },
+                throwable -> {
+                    finished = true;
+                    exceptionHandler.handle(throwable);
+                }
+        );
+    }
+
+    private class ObjectDownload {
+
+        private final String key;
+        private final Path path;
+
+        private AsyncFile file;
+        private Long size;
+        private String eTag;
+        private int rangesOutstanding = 0;
+        private Throwable cause;
+
+        private ObjectDownload(String key) {
+            this.key = key;
+            this.path = directory.resolve(key).normalize();
+        }
+
+        private void start() {
+            objectsInProgress++;
+            rangesOutstanding++;
+
+            if (!path.startsWith(directory) || path.equals(directory)) {
+                rangeDone(new S3ClientException("Key " + key + " doesn't resolve to a file within " + directory));
+                return;
+            }
+
+            s3Client.getVertx().fileSystem().mkdirs(path.getParent().toString(), mkdirsResult -> {
+                if (mkdirsResult.failed()) {
+                    rangeDone(mkdirsResult.cause());
+                    return;
+                }
+                s3Client.getVertx().fileSystem().open(path.toString(), new OpenOptions().setWrite(true).setCreate(true).setTruncateExisting(true), openResult -> {
+                    if (openResult.failed()) {
+                        rangeDone(openResult.cause());
+                        return;
+                    }
+                    file = openResult.result();
+                    downloadRange(0, partSize - 1, true);
+                });
+            });
+        }
+
+        private void downloadRange(long firstByte, long lastByte, boolean firstRange) {
+            s3Client.getObject(
+                    bucket,
+                    key,
+                    new GetObjectRequest()
+                            .withRange("bytes=" + firstByte + "-" + lastByte)
+                            // Pin all ranges to the version of the first response
+                            .withIfMatch(firstRange ? null : eTag)
+                            .withDeadline(deadline),
+                    response -> {
+                        if (firstRange) {
+                            scheduleRemainingRanges(response.getHeader());
+                        }
+                        writeRange(response.getData(), firstByte);
+                    },
+                    throwable -> {
+                        if (firstRange && throwable instanceof HttpErrorException && Integer.valueOf(416).equals(((HttpErrorException) throwable).getStatus())) {
+                            // Ranges can't be satisfied for empty objects
+                            size = 0L;
+                            rangeDone(null);
+                        } else {
+                            rangeDone(throwable);
+                        }
+                    }
+            );
+        }
+
+        private void scheduleRemainingRanges(GetObjectResponseHeaders headers) {
+            eTag = headers.getETag();
+            final String contentRange = headers.getContentRange();
+            if (contentRange == null || !contentRange.contains("/") || contentRange.endsWith("/*")) {
+                // The whole object is returned
+                size = headers.getContentLength();
+                return;
+            }
+
+            size = Long.valueOf(contentRange.substring(contentRange.lastIndexOf('/') + 1).trim());
+            for (long firstByte = partSize; firstByte < size; firstByte += partSize) {
+                rangesOutstanding++;
+                pendingRanges.add(new DownloadRange(this, firstByte, Math.min(size, firstByte + partSize) - 1));
+            }
+        }
+
+        private void writeRange(ReadStream<Buffer> data, long firstByte) {
+            final RangeWriter rangeWriter = new RangeWriter(data, firstByte);
+            data.exceptionHandler(rangeWriter::done);
+            data.endHandler(aVoid -> rangeWriter.end());
+            data.handler(rangeWriter::write);
+        }
+
+        private void rangeDone(Throwable throwable) {
+            requestsInFlight--;
+            rangesOutstanding--;
+            if (throwable != null && cause == null) {
+                cause = throwable;
+                final int queuedRanges = pendingRanges.size();
+                pendingRanges.removeIf(downloadRange -> downloadRange.objectDownload == this);
+                rangesOutstanding -= queuedRanges - pendingRanges.size();
+            }
+
+            if (rangesOutstanding == 0) {
+                complete();
+            }
+            schedule();
+        }
+
+        private void complete() {
+            if (file == null) {
+                report();
+                return;
+            }
+            file.close(closeResult -> {
+                if (cause == null && closeResult.failed()) {
+                    cause = closeResult.cause();
+                }
+                if (cause != null) {
+                    s3Client.getVertx().fileSystem().delete(path.toString(), deleteResult -> report());
+                } else {
+                    report();
+                }
+            });
+        }
+
+        private void report() {
+            if (cause == null) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+            itemHandler.handle(new BulkDownloadItemResponse(key, path.toString(), cause == null ? size : null, cause));
+
+            objectsInProgress--;
+            schedule();
+        }
+
+        private class RangeWriter {
+
+            private final ReadStream<Buffer> data;
+
+            private long position;
+            private int writesOutstanding = 0;
+            private boolean paused = false;
+            private boolean ended = false;
+            private boolean done = false;
+
+            private RangeWriter(ReadStream<Buffer> data, long position) {
+                this.data = data;
+                this.position = position;
+            }
+
+            private void write(Buffer buffer) {
+                if (done) {
+                    return;
+                }
+
+                writesOutstanding++;
+                file.write(buffer, position, writeResult -> {
+                    writesOutstanding--;
+                    if (writeResult.failed()) {
+                        done(writeResult.cause());
+                    } else if (ended && writesOutstanding == 0) {
+                        done(null);
+                    } else if (paused && writesOutstanding < MAX_OUTSTANDING_WRITES_PER_RANGE) {
+                        paused = false;
+                        data.resume();
+                    }
+                });
+                position += buffer.length();
+
+                if (writesOutstanding >= MAX_OUTSTANDING_WRITES_PER_RANGE) {
+                    paused = true;
+                    data.pause();
+                }
+            }
+
+            private void end() {
+                ended = true;
+                if (writesOutstanding == 0) {
+                    done(null);
+                }
+            }
+
+            private void done(Throwable throwable) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                rangeDone(throwable);
+            }
+        }
+    }
+
+    private class DownloadRange {
+
+        private final ObjectDownload objectDownload;
+        private final long firstByte;
+        private final long lastByte;
+
+        private DownloadRange(ObjectDownload objectDownload, long firstByte, long lastByte) {
+            this.objectDownload = objectDownload;
+            this.firstByte = firstByte;
+            this.lastByte = lastByte;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import com.hubrick.vertx.s3.model.header.PutObjectResponseHeaders;
+import com.hubrick.vertx.s3.model.request.BulkUploadItem;
+import com.hubrick.vertx.s3.model.request.BulkUploadRequest;
+import com.hubrick.vertx.s3.model.request.PutObjectRequest;
+import com.hubrick.vertx.s3.model.response.BulkUploadItemResponse;
+import com.hubrick.vertx.s3.model.response.BulkUploadResponse;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+/**
+ * Uploads a stream of items with a bounded number of requests and bytes in flight. The stream of items is paused
+ * while either limit is reached.
+ *
+ * @since 3.3.4
+ */
+class BulkUpload {
+
+    private static final long DEFAULT_MAX_BYTES_IN_FLIGHT = 67108864L;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final ReadStream<BulkUploadItem> items;
+    private final Handler<BulkUploadItemResponse> itemHandler;
+    private final Handler<BulkUploadResponse> handler;
+    private final Handler<Throwable> exceptionHandler;
+
+    private final int maxConcurrentRequests;
+    private final long maxBytesInFlight;
+    private final Deque<BulkUploadItem> pendingItems = new ArrayDeque<>();
+
+    private int requestsInFlight = 0;
+    private long bytesInFlight = 0;
+    private long succeeded = 0;
+    private long failed = 0;
+    private Long nextFileSize;
+    private boolean sizingNextFile = false;
+    private boolean itemsPaused = false;
+    private boolean itemsEnded = false;
+    private boolean aborted = false;
+
+    BulkUpload(S3Client s3Client,
+               String bucket,
+               BulkUploadRequest bulkUploadRequest,
+               Handler<BulkUploadItemResponse> itemHandler,
+               Handler<BulkUploadResponse> handler,
+               Handler<Throwable> exceptionHandler) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.items = bulkUploadRequest.getItems();
+        this.itemHandler = itemHandler;
+        this.handler = handler;
+        this.exceptionHandler = exceptionHandler;
+
+        this.maxConcurrentRequests = Optional.ofNullable(bulkUploadRequest.getMaxConcurrentRequests()).orElse(s3Client.getMaxPoolSize());
+        this.maxBytesInFlight = Optional.ofNullable(bulkUploadRequest.getMaxBytesInFlight()).orElse(DEFAULT_MAX_BYTES_IN_FLIGHT);
+    }
+
+    void start() {
+        items.exceptionHandler(throwable -> {
+            aborted = true;
+            exceptionHandler.handle(throwable);
+        });
+        items.endHandler(aVoid -> {
+            itemsEnded = true;
+            schedule();
+        });
+        items.handler(item -> {
+            pendingItems.add(item);
+            schedule();
+        });
+    }
+
+    private boolean hasCapacity() {
+        // One item is always allowed so items bigger than the byte limit don't stall the upload
+        return requestsInFlight < maxConcurrentRequests && (requestsInFlight == 0 || bytesInFlight < maxBytesInFlight);
+    }
+
+    private void schedule() {
+        if (aborted) {
+            return;
+        }
+
+        while (!pendingItems.isEmpty() && hasCapacity()) {
+            final BulkUploadItem item = pendingItems.peek();
+            if (item.getData() != null) {
+                pendingItems.poll();
+                upload(item, item.getData().length());
+            } else if (nextFileSize != null) {
+                pendingItems.poll();
+                final long size = nextFileSize;
+                nextFileSize = null;
+                upload(item, size);
+            } else {
+                sizeNextFile(item);
+                break;
+            }
+        }
+
+        if (!pendingItems.isEmpty() || !hasCapacity()) {
+            if (!itemsPaused) {
+                itemsPaused = true;
+                items.pause();
+            }
+        } else if (itemsPaused) {
+            itemsPaused = false;
+            items.resume();
+        }
+
+        if (itemsEnded && pendingItems.isEmpty() && requestsInFlight == 0) {
+            aborted = true;
+            handler.handle(new BulkUploadResponse(succeeded, failed));
+        }
+    }
+
+    private void sizeNextFile(BulkUploadItem item) {
+        if (sizingNextFile) {
+            return;
+        }
+
+        // The size of a file is looked up before it's read, so the file is only read once its bytes fit into the budget
+        sizingNextFile = true;
+        s3Client.getVertx().fileSystem().props(item.getFilePath(), result -> {
+            sizingNextFile = false;
+            if (result.succeeded()) {
+                nextFileSize = result.result().size();
+            } else {
+                pendingItems.poll();
+                handleItem(item, null, result.cause());
+            }
+            schedule();
+        });
+    }
+
+    private void upload(BulkUploadItem item, long size) {
+        // The bytes are reserved right away, so the items scheduled next already see them
+        requestsInFlight++;
+        bytesInFlight += size;
+        if (item.getData() != null) {
+            putItem(item, item.getData(), size);
+        } else {
+            s3Client.getVertx().fileSystem().readFile(item.getFilePath(), result -> {
+                if (result.succeeded()) {
+                    putItem(item, result.result(), size);
+                } else {
+                    complete(item, size, null, result.cause());
+                }
+            });
+        }
+    }
+
+    private void putItem(BulkUploadItem item, Buffer data, long size) {
+        s3Client.putObject(
+                bucket,
+                item.getKey(),
+                new PutObjectRequest(data).withContentType(item.getContentType()),
+                response -> complete(item, size, response.getHeader(), null),
+                throwable -> complete(item, size, null, throwable)
+        );
+    }
+
+    private void complete(BulkUploadItem item, long size, PutObjectResponseHeaders header, Throwable cause) {
+        requestsInFlight--;
+        bytesInFlight -= size;
+        handleItem(item, header, cause);
+        schedule();
+    }
+
+    private void handleItem(BulkUploadItem item, PutObjectResponseHeaders header, Throwable cause) {
+        if (cause == null) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+
+        itemHandler.handle(new BulkUploadItemResponse(item.getKey(), header, cause));
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import io.netty.channel.EventLoop;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.impl.ContextInternal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out the http client of the calling event loop. A http client binds its connections to the context
+ * which opened them, so a single client used from several event loops hops threads for every response.
+ * With one client per event loop every request and its response stay on the loop of the caller.
+ * The clients are keyed by the event loop rather than the context, so verticles sharing a loop share its pool
+ * and there are never more pools than event loops. Callers without an event loop context use the shared client.
+ *
+ * @since 3.3.4
+ */
+class EventLoopHttpClients {
+
+    private final Vertx vertx;
+    private final HttpClientOptions options;
+    private final boolean perEventLoop;
+    private final HttpClient sharedClient;
+    private final Map<EventLoop, HttpClient> eventLoopClients = new ConcurrentHashMap<>();
+
+    EventLoopHttpClients(Vertx vertx, HttpClientOptions options, boolean perEventLoop) {
+        this.vertx = vertx;
+        this.options = options;
+        this.perEventLoop = perEventLoop;
+        this.sharedClient = vertx.createHttpClient(options);
+    }
+
+    HttpClient get() {
+        if (!perEventLoop) {
+            return sharedClient;
+        }
+
+        final Context context = Vertx.currentContext();
+        if (context == null || !context.isEventLoopContext()) {
+            return sharedClient;
+        }
+        return eventLoopClients.computeIfAbsent(((ContextInternal) context).nettyEventLoop(), key -> vertx.createHttpClient(options));
+    }
+
+    void close() {
+        sharedClient.close();
+        eventLoopClients.values().forEach(HttpClient::close);
+        eventLoopClients.clear();
+    }
+}
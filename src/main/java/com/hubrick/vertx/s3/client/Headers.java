@@ -24,7 +24,7 @@ public class Headers {
     // Common request headers
     public static final String AUTHORIZATION = "Authorization";
     public static final String CONTENT_MD5 = "Content-MD5";
-    // public static final String EXPECT = "Expect";
+    public static final String EXPECT = "Expect";
     public static final String HOST = "Host";
     public static final String X_AMZ_CONTENT_SHA256 = "x-amz-content-sha256";
     public static final String X_AMZ_DATE = "x-amz-date";
@@ -38,12 +38,14 @@ public class Headers {
     public static final String X_AMZ_ID_2 = "x-amz-id-2";
     public static final String X_AMZ_REQUEST_ID = "x-amz-request-id";
     public static final String X_AMZ_VERSION_ID = "x-amz-version-id";
+    public static final String X_AMZ_BUCKET_REGION = "x-amz-bucket-region";
 
     // Other headers
     public static final String CONTENT_LENGTH = "Content-Length";
     public static final String CONTENT_TYPE = "Content-Type";
     public static final String DATE = "Date";
     public static final String RANGE = "Range";
+    public static final String CONTENT_RANGE = "Content-Range";
     public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
     public static final String IF_UNMODIFIED_SINCE = "If-Unmodified-Since";
     public static final String IF_MATCH = "If-Match";
@@ -80,6 +82,7 @@ public class Headers {
     public static final String X_AMZ_COPY_SOURCE_IF_NONE_MATCH = "x-amz-copy-source-if-none-match";
     public static final String X_AMZ_COPY_SOURCE_IF_UNMODIFIED_SINCE = "x-amz-copy-source-if-unmodified-since";
     public static final String X_AMZ_COPY_SOURCE_IF_MODIFIED_SINCE = "x-amz-copy-source-if-modified-since";
+    public static final String X_AMZ_COPY_SOURCE_RANGE = "x-amz-copy-source-range";
     public static final String X_AMZ_TAGGING_DIRECTIVE = "x-amz-tagging-directive";
     public static final String X_AMZ_MFA = "x-amz-mfa";
     public static final String X_AMZ_ABORT_DATE = "x-amz-abort-date";
@@ -0,0 +1,177 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import com.hubrick.vertx.s3.exception.HttpErrorException;
+import com.hubrick.vertx.s3.util.LatencyTracker;
+import io.vertx.core.Handler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends a read request a second time if it takes longer than the hedging percentile of its host. The first successful
+ * response wins and the other request is reset. The read only fails once both requests failed.
+ *
+ * @since 3.3.4
+ */
+class HedgedRequest<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgedRequest.class);
+
+    private final S3Client s3Client;
+    private final String operation;
+    private final ReadTarget target;
+    private final Handler<T> handler;
+    private final Handler<Throwable> exceptionHandler;
+    private final ReadCopy<T> copy;
+    private final LatencyTracker latencyTracker;
+    private final List<Copy> copies = new ArrayList<>(2);
+
+    private Copy winner;
+    private Long hedgeTimerId;
+
+    HedgedRequest(S3Client s3Client,
+                  String operation,
+                  ReadTarget target,
+                  Handler<T> handler,
+                  Handler<Throwable> exceptionHandler,
+                  ReadCopy<T> copy) {
+        this.s3Client = s3Client;
+        this.operation = operation;
+        this.target = target;
+        this.handler = handler;
+        this.exceptionHandler = exceptionHandler;
+        this.copy = copy;
+        this.latencyTracker = latencyTracker(target);
+    }
+
+    private LatencyTracker latencyTracker(ReadTarget readTarget) {
+        return s3Client.hedgingLatencyTracker(readTarget, operation);
+    }
+
+    void start() {
+        s3Client.getHedgingBudget().onRequest();
+
+        // Nothing is hedged until enough response times were measured
+        final Long percentileMs = latencyTracker.percentile(s3Client.getHedgingPercentile());
+        send();
+
+        if (percentileMs != null && winner == null) {
+            final long delayMs = Math.max(s3Client.getHedgingMinDelayMs(), percentileMs);
+            hedgeTimerId = s3Client.getVertx().setTimer(delayMs, timerId -> {
+                hedgeTimerId = null;
+                if (winner == null && !allDone() && s3Client.getHedgingBudget().tryAcquire(s3Client.getNanoClock().getAsLong())) {
+                    log.debug("Request {} took longer than {}ms. Sending a hedged request", operation, delayMs);
+                    send();
+                }
+            });
+        }
+    }
+
+    private void send() {
+        // The hedged copy races the replica against the target
+        final Copy newCopy = new Copy(copies.isEmpty() || target.replica == null ? target : target.replica);
+        copies.add(newCopy);
+        newCopy.send();
+    }
+
+    private boolean allDone() {
+        return copies.stream().allMatch(c -> c.done);
+    }
+
+    private void complete(Copy winner) {
+        this.winner = winner;
+        if (hedgeTimerId != null) {
+            s3Client.getVertx().cancelTimer(hedgeTimerId);
+            hedgeTimerId = null;
+        }
+
+        for (Copy loser : copies) {
+            if (loser != winner && !loser.done) {
+                loser.done = true;
+                if (loser.request != null) {
+                    loser.request.reset();
+                }
+            }
+        }
+    }
+
+    private class Copy {
+
+        private final long startNanos = s3Client.getNanoClock().getAsLong();
+        private final ReadTarget copyTarget;
+
+        private S3ClientRequest request;
+        private boolean done = false;
+
+        private Copy(ReadTarget copyTarget) {
+            this.copyTarget = copyTarget;
+        }
+
+        private void send() {
+            request = copy.send(copyTarget, this::handleResponse, this::handleException);
+        }
+
+        private void handleResponse(T response) {
+            if (done) {
+                return;
+            }
+            done = true;
+            recordLatency();
+
+            if (winner == null) {
+                complete(this);
+                handler.handle(response);
+            }
+        }
+
+        private void handleException(Throwable throwable) {
+            if (done) {
+                // Failures after the response was passed on belong to the caller, failures of losers are dropped
+                if (winner == this) {
+                    exceptionHandler.handle(throwable);
+                }
+                return;
+            }
+            done = true;
+
+            if (winner != null) {
+                return;
+            }
+            if (throwable instanceof HttpErrorException) {
+                recordLatency();
+            }
+
+            // Only a successful response wins, a failed copy waits for the other one to answer
+            if (allDone()) {
+                complete(this);
+                exceptionHandler.handle(throwable);
+            }
+        }
+
+        private void recordLatency() {
+            latencyTracker(copyTarget).record(TimeUnit.NANOSECONDS.toMillis(s3Client.getNanoClock().getAsLong() - startNanos));
+        }
+    }
+
+    interface ReadCopy<T> {
+        S3ClientRequest send(ReadTarget target, Handler<T> handler, Handler<Throwable> exceptionHandler);
+    }
+}
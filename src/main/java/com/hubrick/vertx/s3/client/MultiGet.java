@@ -0,0 +1,171 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import com.hubrick.vertx.s3.exception.S3ClientException;
+import com.hubrick.vertx.s3.model.header.GetObjectResponseHeaders;
+import com.hubrick.vertx.s3.model.request.GetObjectRequest;
+import com.hubrick.vertx.s3.model.request.GetObjectsRequest;
+import com.hubrick.vertx.s3.model.response.GetObjectsItemResponse;
+import com.hubrick.vertx.s3.model.response.GetObjectsResponse;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fetches many small objects into memory with a bounded number of requests and bytes in flight.
+ *
+ * @since 3.3.4
+ */
+class MultiGet {
+
+    private static final long DEFAULT_MAX_BYTES_IN_FLIGHT = 67108864L;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final List<String> keys;
+    private final Handler<GetObjectsItemResponse> itemHandler;
+    private final Handler<GetObjectsResponse> handler;
+
+    private final int maxConcurrentRequests;
+    private final long maxBytesInFlight;
+    private final GetObjectsItemResponse[] results;
+    private final Deque<PendingBody> bodiesWaitingForBudget = new ArrayDeque<>();
+
+    private int nextIndex = 0;
+    private int requestsInFlight = 0;
+    private long bytesInFlight = 0;
+    private int completed = 0;
+
+    MultiGet(S3Client s3Client,
+             String bucket,
+             GetObjectsRequest getObjectsRequest,
+             Handler<GetObjectsItemResponse> itemHandler,
+             Handler<GetObjectsResponse> handler) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.keys = getObjectsRequest.getKeys();
+        this.itemHandler = itemHandler;
+        this.handler = handler;
+
+        this.maxConcurrentRequests = Optional.ofNullable(getObjectsRequest.getMaxConcurrentRequests()).orElse(s3Client.getMaxPoolSize());
+        this.maxBytesInFlight = Optional.ofNullable(getObjectsRequest.getMaxBytesInFlight()).orElse(DEFAULT_MAX_BYTES_IN_FLIGHT);
+        this.results = new GetObjectsItemResponse[keys.size()];
+    }
+
+    void start() {
+        schedule();
+    }
+
+    private boolean fitsIntoBudget(long size) {
+        // One body is always allowed so bodies bigger than the budget don't stall the multi get
+        return bytesInFlight == 0 || bytesInFlight + size <= maxBytesInFlight;
+    }
+
+    private void schedule() {
+        while (!bodiesWaitingForBudget.isEmpty() && fitsIntoBudget(bodiesWaitingForBudget.peek().size)) {
+            bodiesWaitingForBudget.poll().read();
+        }
+
+        while (requestsInFlight < maxConcurrentRequests && nextIndex < keys.size() && bytesInFlight < maxBytesInFlight) {
+            fetch(nextIndex++);
+        }
+
+        if (completed == keys.size()) {
+            completed++;
+            handler.handle(new GetObjectsResponse(Arrays.asList(results)));
+        }
+    }
+
+    private void fetch(int index) {
+        final String key = keys.get(index);
+
+        requestsInFlight++;
+        s3Client.getObject(
+                bucket,
+                key,
+                new GetObjectRequest(),
+                response -> {
+                    final PendingBody pendingBody = new PendingBody(index, key, response.getHeader(), response.getData());
+                    if (bodiesWaitingForBudget.isEmpty() && fitsIntoBudget(pendingBody.size)) {
+                        pendingBody.read();
+                    } else {
+                        response.getData().pause();
+                        bodiesWaitingForBudget.add(pendingBody);
+                    }
+                },
+                throwable -> complete(new GetObjectsItemResponse(key, index, null, null, throwable), 0)
+        );
+    }
+
+    private void complete(GetObjectsItemResponse itemResponse, long reservedBytes) {
+        requestsInFlight--;
+        bytesInFlight -= reservedBytes;
+        completed++;
+        results[itemResponse.getIndex()] = itemResponse;
+
+        itemHandler.handle(itemResponse);
+        schedule();
+    }
+
+    private class PendingBody {
+
+        private final int index;
+        private final String key;
+        private final GetObjectResponseHeaders header;
+        private final ReadStream<Buffer> data;
+        private final long size;
+
+        private boolean done = false;
+
+        private PendingBody(int index, String key, GetObjectResponseHeaders header, ReadStream<Buffer> data) {
+            this.index = index;
+            this.key = key;
+            this.header = header;
+            this.data = data;
+            this.size = Optional.ofNullable(header.getContentLength()).orElse(0L);
+        }
+
+        private void read() {
+            bytesInFlight += size;
+            if (size > Integer.MAX_VALUE) {
+                data.handler(buffer -> {});
+                done(null, new S3ClientException("Object " + key + " is too big to be fetched into memory"));
+                return;
+            }
+
+            final Buffer body = Buffer.buffer((int) size);
+            data.exceptionHandler(throwable -> done(null, throwable));
+            data.endHandler(aVoid -> done(body, null));
+            data.handler(body::appendBuffer);
+            data.resume();
+        }
+
+        private void done(Buffer body, Throwable throwable) {
+            if (done) {
+                return;
+            }
+            done = true;
+            complete(new GetObjectsItemResponse(key, index, throwable == null ? header : null, body, throwable), size);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import com.hubrick.vertx.s3.model.Directive;
+import com.hubrick.vertx.s3.model.Part;
+import com.hubrick.vertx.s3.model.Response;
+import com.hubrick.vertx.s3.model.ResponseWithBody;
+import com.hubrick.vertx.s3.model.header.CopyObjectResponseHeaders;
+import com.hubrick.vertx.s3.model.header.HeadObjectResponseHeaders;
+import com.hubrick.vertx.s3.model.request.AbortMultipartUploadRequest;
+import com.hubrick.vertx.s3.model.request.CompleteMultipartUploadRequest;
+import com.hubrick.vertx.s3.model.request.CopyObjectRequest;
+import com.hubrick.vertx.s3.model.request.InitMultipartUploadRequest;
+import com.hubrick.vertx.s3.model.request.UploadPartCopyRequest;
+import com.hubrick.vertx.s3.model.response.CompleteMultipartUploadResponse;
+import com.hubrick.vertx.s3.model.response.CopyObjectResponse;
+import io.vertx.core.Handler;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Copies an object bigger than the multipart copy threshold with parallel part copies. The upload is aborted if a part
+ * or the complete fails.
+ *
+ * @since 3.3.4
+ */
+class MultipartCopy {
+
+    private static final Logger log = LoggerFactory.getLogger(MultipartCopy.class);
+    private static final int MAX_PARTS = 10000;
+
+    private final S3Client s3Client;
+    private final String sourceBucket;
+    private final String sourceKey;
+    private final String destinationBucket;
+    private final String destinationKey;
+    private final CopyObjectRequest copyObjectRequest;
+    private final HeadObjectResponseHeaders sourceHeaders;
+    private final Handler<Response<CopyObjectResponseHeaders, CopyObjectResponse>> handler;
+    private final Handler<Throwable> exceptionHandler;
+
+    private final long size;
+    private final long partSize;
+    private final int numberOfParts;
+    private final NavigableMap<Integer, String> partETagMap = new TreeMap<>();
+
+    private String uploadId;
+    private int nextPartNumber = 1;
+    private int outstandingParts = 0;
+    private boolean failed = false;
+
+    MultipartCopy(S3Client s3Client,
+                  String sourceBucket,
+                  String sourceKey,
+                  String destinationBucket,
+                  String destinationKey,
+                  CopyObjectRequest copyObjectRequest,
+                  HeadObjectResponseHeaders sourceHeaders,
+                  Handler<Response<CopyObjectResponseHeaders, CopyObjectResponse>> handler,
+                  Handler<Throwable> exceptionHandler) {
+        this.s3Client = s3Client;
+        this.sourceBucket = sourceBucket;
+        this.sourceKey = sourceKey;
+        this.destinationBucket = destinationBucket;
+        this.destinationKey = destinationKey;
+        this.copyObjectRequest = copyObjectRequest;
+        this.sourceHeaders = sourceHeaders;
+        this.handler = handler;
+        this.exceptionHandler = exceptionHandler;
+
+        this.size = sourceHeaders.getContentLength();
+        // S3 allows at most 10000 parts so the part size grows for very big objects
+        this.partSize = Math.max(s3Client.getMultipartCopyPartSize(), (size + MAX_PARTS - 1) / MAX_PARTS);
+        this.numberOfParts = (int) ((size + partSize - 1) / partSize);
+    }
+
+    void start() {
+        s3Client.initMultipartUpload(
+                destinationBucket,
+                destinationKey,
+                mapCopyObjectRequestToInitMultipartUploadRequest(copyObjectRequest, sourceHeaders),
+                response -> {
+                    uploadId = response.getData().getInitMultipartUploadResponse().getUploadId();
+                    copyNextParts();
+                },
+                exceptionHandler
+        );
+    }
+
+    private void copyNextParts() {
+        while (!failed && outstandingParts < s3Client.getMultipartCopyConcurrency() && nextPartNumber <= numberOfParts) {
+            copyPart(nextPartNumber++);
+        }
+    }
+
+    private void copyPart(int partNumber) {
+        final long firstByte = (partNumber - 1) * partSize;
+        final long lastByte = Math.min(size, firstByte + partSize) - 1;
+        // Pin all parts to the version of the source which was measured
+        final String ifMatch = Optional.ofNullable(StringUtils.trimToNull(copyObjectRequest.getAmzCopySourceIfMatch())).orElse(sourceHeaders.getETag());
+
+        outstandingParts++;
+        s3Client.uploadPartCopy(
+                sourceBucket,
+                sourceKey,
+                destinationBucket,
+                destinationKey,
+                new UploadPartCopyRequest(uploadId, partNumber)
+                        .withRange(firstByte, lastByte)
+                        .withAmzCopySourceIfMatch(ifMatch)
+                        .withAmzCopySourceIfNoneMatch(copyObjectRequest.getAmzCopySourceIfNoneMatch())
+                        .withAmzCopySourceIfUnmodifiedSince(copyObjectRequest.getAmzCopySourceIfUnmodifiedSince())
+                        .withAmzCopySourceIfModifiedSince(copyObjectRequest.getAmzCopySourceIfModifiedSince()),
+                response -> {
+                    outstandingParts--;
+                    partETagMap.put(partNumber, response.getData().geteTag());
+                    if (partETagMap.size() == numberOfParts) {
+                        complete();
+                    } else {
+                        copyNextParts();
+                    }
+                },
+                this::fail
+        );
+    }
+
+    private void complete() {
+        final CompleteMultipartUploadRequest completeMultipartUploadRequest = new CompleteMultipartUploadRequest(
+                uploadId,
+                partETagMap.entrySet().stream().map(e -> new Part(e.getKey(), e.getValue())).collect(Collectors.toList())
+        );
+        final Handler<Response<CopyObjectResponseHeaders, CompleteMultipartUploadResponse>> completeHandler = response -> {
+            final CopyObjectResponse copyObjectResponse = new CopyObjectResponse();
+            // Completing the upload doesn't return the last modified date, so it's left empty
+            copyObjectResponse.seteTag(response.getData().geteTag());
+            handler.handle(new ResponseWithBody<>(response.getHeader(), copyObjectResponse));
+        };
+        s3Client.completeMultipartCopy(destinationBucket, destinationKey, completeMultipartUploadRequest, completeHandler, this::fail);
+    }
+
+    private void fail(Throwable throwable) {
+        if (failed) {
+            return;
+        }
+        failed = true;
+
+        if (uploadId == null) {
+            exceptionHandler.handle(throwable);
+            return;
+        }
+        s3Client.abortMultipartUpload(
+                destinationBucket,
+                destinationKey,
+                new AbortMultipartUploadRequest(uploadId),
+                response -> exceptionHandler.handle(throwable),
+                abortThrowable -> {
+                    log.warn("Aborting multipart copy {} failed", uploadId, abortThrowable);
+                    exceptionHandler.handle(throwable);
+                }
+        );
+    }
+
+    private InitMultipartUploadRequest mapCopyObjectRequestToInitMultipartUploadRequest(CopyObjectRequest copyObjectRequest, HeadObjectResponseHeaders sourceHeaders) {
+        final InitMultipartUploadRequest initMultipartUploadRequest = new InitMultipartUploadRequest();
+
+        if (copyObjectRequest.getAmzMetadataDirective() == Directive.REPLACE) {
+            initMultipartUploadRequest.withCacheControl(copyObjectRequest.getCacheControl());
+            initMultipartUploadRequest.withContentDisposition(copyObjectRequest.getContentDisposition());
+            initMultipartUploadRequest.withContentEncoding(copyObjectRequest.getContentEncoding());
+            initMultipartUploadRequest.withContentType(copyObjectRequest.getContentType());
+            initMultipartUploadRequest.withExpires(copyObjectRequest.getExpires());
+            initMultipartUploadRequest.withAmzWebsiteRedirectLocation(copyObjectRequest.getAmzWebsiteRedirectLocation());
+
+            for (Map.Entry<String, String> meta : copyObjectRequest.getAmzMeta()) {
+                initMultipartUploadRequest.withAmzMeta(meta.getKey(), StringUtils.trim(meta.getValue()));
+            }
+        } else {
+            initMultipartUploadRequest.withCacheControl(sourceHeaders.getCacheControl());
+            initMultipartUploadRequest.withContentDisposition(sourceHeaders.getContentDisposition());
+            initMultipartUploadRequest.withContentEncoding(sourceHeaders.getContentEncoding());
+            initMultipartUploadRequest.withContentType(sourceHeaders.getContentType());
+            initMultipartUploadRequest.withExpires(sourceHeaders.getExpires());
+            initMultipartUploadRequest.withAmzWebsiteRedirectLocation(sourceHeaders.getAmzWebsiteRedirectLocation());
+
+            for (Map.Entry<String, String> meta : sourceHeaders.getAmzMeta()) {
+                initMultipartUploadRequest.withAmzMeta(meta.getKey(), StringUtils.trim(meta.getValue()));
+            }
+        }
+
+        initMultipartUploadRequest.withAmzStorageClass(copyObjectRequest.getAmzStorageClass());
+        initMultipartUploadRequest.withAmzAcl(copyObjectRequest.getAmzAcl());
+        initMultipartUploadRequest.withAmzGrantRead(copyObjectRequest.getAmzGrantRead());
+        initMultipartUploadRequest.withAmzGrantWrite(copyObjectRequest.getAmzGrantWrite());
+        initMultipartUploadRequest.withAmzGrantWriteAcp(copyObjectRequest.getAmzGrantWriteAcp());
+        initMultipartUploadRequest.withAmzGrantReadAcp(copyObjectRequest.getAmzGrantReadAcp());
+        initMultipartUploadRequest.withAmzGrantFullControl(copyObjectRequest.getAmzGrantFullControl());
+
+        return initMultipartUploadRequest;
+    }
+}
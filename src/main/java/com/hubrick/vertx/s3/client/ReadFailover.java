@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import com.hubrick.vertx.s3.exception.CircuitBreakerOpenException;
+import com.hubrick.vertx.s3.util.TransientErrors;
+import io.vertx.core.Handler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends a read to the target bucket and sends it again to the replica bucket once it failed with a transient error or
+ * an open circuit breaker.
+ *
+ * @since 3.3.4
+ */
+class ReadFailover<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadFailover.class);
+
+    private final ReadTarget target;
+    private final Handler<T> handler;
+    private final Handler<Throwable> exceptionHandler;
+    private final ReadAttempt<T> read;
+
+    private boolean responded = false;
+    private boolean failedOver = false;
+
+    ReadFailover(ReadTarget target, Handler<T> handler, Handler<Throwable> exceptionHandler, ReadAttempt<T> read) {
+        this.target = target;
+        this.handler = handler;
+        this.exceptionHandler = exceptionHandler;
+        this.read = read;
+    }
+
+    void start() {
+        read.send(target, this::handleResponse, this::handleException);
+    }
+
+    private void handleResponse(T response) {
+        responded = true;
+        handler.handle(response);
+    }
+
+    private void handleException(Throwable throwable) {
+        // Failures after the response was passed on belong to the caller
+        if (responded || failedOver || !(TransientErrors.isTransient(throwable) || throwable instanceof CircuitBreakerOpenException)) {
+            exceptionHandler.handle(throwable);
+            return;
+        }
+
+        failedOver = true;
+        log.warn("Reading from bucket {} failed. Falling back to replica bucket {}", target.bucket, target.replica.bucket, throwable);
+        read.send(target.replica, this::handleResponse, exceptionHandler);
+    }
+
+    interface ReadAttempt<T> {
+        void send(ReadTarget target, Handler<T> handler, Handler<Throwable> exceptionHandler);
+    }
+}
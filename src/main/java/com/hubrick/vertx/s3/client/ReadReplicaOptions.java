@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The options of a replica which {@link S3Client#getObject} and {@link S3Client#headObject} fall back to. Only buckets
+ * with a replica bucket are read from the replica. All other options, e.g. the credentials and timeouts, are taken
+ * from the client.
+ *
+ * @since 3.3.4
+ */
+public class ReadReplicaOptions {
+
+    private String awsRegion;
+    private String hostnameOverride;
+    private Map<String, String> buckets = new LinkedHashMap<>();
+
+    public ReadReplicaOptions() {
+    }
+
+    public ReadReplicaOptions(final ReadReplicaOptions other) {
+        setAwsRegion(other.getAwsRegion());
+        setHostnameOverride(other.getHostnameOverride());
+        other.getBuckets().forEach(this::addBucket);
+    }
+
+    public ReadReplicaOptions(final JsonObject json) {
+        setAwsRegion(json.getString("awsRegion"));
+        setHostnameOverride(json.getString("hostnameOverride"));
+        json.getJsonObject("buckets", new JsonObject()).forEach(entry -> addBucket(entry.getKey(), (String) entry.getValue()));
+    }
+
+    public String getAwsRegion() {
+        return awsRegion;
+    }
+
+    /**
+     * The region of the replica.
+     *
+     * @param awsRegion The region
+     * @return This
+     */
+    public ReadReplicaOptions setAwsRegion(final String awsRegion) {
+        this.awsRegion = awsRegion;
+        return this;
+    }
+
+    public String getHostnameOverride() {
+        return hostnameOverride;
+    }
+
+    /**
+     * The hostname of the replica. Null (default) uses the endpoint of the region.
+     *
+     * @param hostnameOverride The hostname
+     * @return This
+     */
+    public ReadReplicaOptions setHostnameOverride(final String hostnameOverride) {
+        this.hostnameOverride = hostnameOverride;
+        return this;
+    }
+
+    public Map<String, String> getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Adds a bucket whose objects are replicated to the replica.
+     *
+     * @param bucket        The bucket of the client
+     * @param replicaBucket The bucket of the replica
+     * @return This
+     */
+    public ReadReplicaOptions addBucket(final String bucket, final String replicaBucket) {
+        this.buckets.put(bucket, replicaBucket);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+
+
+/**
+ * A bucket of this client or of the read replica to read from.
+ *
+ * @since 3.3.4
+ */
+class ReadTarget {
+
+    final S3Client s3Client;
+    final String bucket;
+    final ReadTarget replica;
+
+    ReadTarget(S3Client s3Client, String bucket, ReadTarget replica) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.replica = replica;
+    }
+}
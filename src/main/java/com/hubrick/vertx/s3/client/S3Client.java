@@ -16,17 +16,22 @@
 package com.hubrick.vertx.s3.client;
 
 import com.google.common.base.Charsets;
-import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import com.hubrick.vertx.s3.checkpoint.CheckpointPart;
+import com.hubrick.vertx.s3.checkpoint.MultipartUploadCheckpoint;
+import com.hubrick.vertx.s3.checkpoint.MultipartUploadCheckpointStore;
+import com.hubrick.vertx.s3.credentials.AwsCredentialsProvider;
 import com.hubrick.vertx.s3.exception.HttpErrorException;
+import com.hubrick.vertx.s3.exception.S3ClientException;
 import com.hubrick.vertx.s3.model.AccessControlPolicy;
-import com.hubrick.vertx.s3.model.CommonPrefixes;
+import com.hubrick.vertx.s3.model.DeleteError;
 import com.hubrick.vertx.s3.model.Connection;
-import com.hubrick.vertx.s3.model.Contents;
-import com.hubrick.vertx.s3.model.Grant;
-import com.hubrick.vertx.s3.model.Grantee;
+import com.hubrick.vertx.s3.model.Directive;
+import com.hubrick.vertx.s3.model.ErrorCode;
 import com.hubrick.vertx.s3.model.HeaderOnlyResponse;
-import com.hubrick.vertx.s3.model.Owner;
 import com.hubrick.vertx.s3.model.Part;
+import com.hubrick.vertx.s3.model.PartSummary;
 import com.hubrick.vertx.s3.model.ReplicationStatus;
 import com.hubrick.vertx.s3.model.Response;
 import com.hubrick.vertx.s3.model.ResponseWithBody;
@@ -44,24 +49,49 @@ import com.hubrick.vertx.s3.model.header.ServerSideEncryptionResponseHeaders;
 import com.hubrick.vertx.s3.model.request.AbortMultipartUploadRequest;
 import com.hubrick.vertx.s3.model.request.AclHeadersRequest;
 import com.hubrick.vertx.s3.model.request.AdaptiveUploadRequest;
+import com.hubrick.vertx.s3.model.request.BulkDownloadRequest;
+import com.hubrick.vertx.s3.model.request.BulkUploadRequest;
 import com.hubrick.vertx.s3.model.request.CompleteMultipartUploadRequest;
 import com.hubrick.vertx.s3.model.request.ContinueMultipartUploadRequest;
 import com.hubrick.vertx.s3.model.request.CopyObjectRequest;
 import com.hubrick.vertx.s3.model.request.DeleteObjectRequest;
+import com.hubrick.vertx.s3.model.request.DeleteObjectsRequest;
 import com.hubrick.vertx.s3.model.request.GetBucketRequest;
+import com.hubrick.vertx.s3.model.request.GetObjectAclRequest;
 import com.hubrick.vertx.s3.model.request.GetObjectRequest;
+import com.hubrick.vertx.s3.model.request.GetObjectsRequest;
 import com.hubrick.vertx.s3.model.request.HeadObjectRequest;
 import com.hubrick.vertx.s3.model.request.InitMultipartUploadRequest;
+import com.hubrick.vertx.s3.model.request.ListPartsRequest;
+import com.hubrick.vertx.s3.model.request.UploadPartCopyRequest;
 import com.hubrick.vertx.s3.model.request.PutObjectAclRequest;
 import com.hubrick.vertx.s3.model.request.PutObjectRequest;
+import com.hubrick.vertx.s3.model.response.BulkDownloadItemResponse;
+import com.hubrick.vertx.s3.model.response.BulkDownloadResponse;
+import com.hubrick.vertx.s3.model.response.BulkUploadItemResponse;
+import com.hubrick.vertx.s3.model.response.BulkUploadResponse;
 import com.hubrick.vertx.s3.model.response.CompleteMultipartUploadResponse;
 import com.hubrick.vertx.s3.model.response.CopyObjectResponse;
+import com.hubrick.vertx.s3.model.response.DeleteObjectsResponse;
 import com.hubrick.vertx.s3.model.response.ErrorResponse;
 import com.hubrick.vertx.s3.model.response.GetBucketRespone;
+import com.hubrick.vertx.s3.model.response.GetObjectsItemResponse;
+import com.hubrick.vertx.s3.model.response.GetObjectsResponse;
 import com.hubrick.vertx.s3.model.response.InitMultipartUploadResponse;
+import com.hubrick.vertx.s3.model.response.ListPartsResponse;
+import com.hubrick.vertx.s3.model.response.UploadPartCopyResponse;
 import com.hubrick.vertx.s3.model.response.MultipartUploadWriteStream;
-import com.hubrick.vertx.s3.util.ChunkedBufferReadStream;
+import com.hubrick.vertx.s3.signature.SigningKeyCache;
+import com.hubrick.vertx.s3.util.CircuitBreaker;
+import com.hubrick.vertx.s3.util.Deadline;
+import com.hubrick.vertx.s3.util.CompositeBufferBuilder;
+import com.hubrick.vertx.s3.util.LatencyTracker;
+import com.hubrick.vertx.s3.util.LoadBalancer;
+import com.hubrick.vertx.s3.util.RequestScheduler;
+import com.hubrick.vertx.s3.util.RetryBudget;
+import com.hubrick.vertx.s3.util.TransientErrors;
 import com.hubrick.vertx.s3.util.UrlEncodingUtils;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
@@ -69,7 +99,6 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
-import io.vertx.core.streams.Pump;
 import io.vertx.core.streams.ReadStream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -79,9 +108,7 @@ import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.XMLReaderFactory;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
 import javax.xml.bind.UnmarshalException;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.transform.sax.SAXSource;
@@ -89,9 +116,15 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.text.MessageFormat;
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
 import java.util.stream.StreamSupport;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -106,61 +139,210 @@ public class S3Client {
     private static final String DEFAULT_REGION = "us-east-1";
     private static final String DEFAULT_ENDPOINT = "s3.amazonaws.com";
     private static final String ENDPOINT_PATTERN = "s3-{0}.amazonaws.com";
+    static final int MAX_KEYS_PER_DELETE_REQUEST = 1000;
+    private static final int HEDGING_LATENCY_WINDOW = 1000;
 
-    private final Vertx vertx;
-    private final Marshaller jaxbMarshaller;
-    private final Unmarshaller jaxbUnmarshaller;
-    private final Long globalTimeout;
+    private final Transport transport;
     private final String awsRegion;
-
-    private final String hostname;
-
-    private final Clock clock;
-    private final HttpClient client;
+    private final String tenant;
+    private final boolean view;
+    private final S3Client readReplica;
     private final String awsAccessKey;
     private final String awsSecretKey;
-    private final String awsServiceName;
-    private final boolean signPayload;
+    private final AwsCredentialsProvider credentialsProvider;
+    private final SigningKeyCache signingKeyCache = new SigningKeyCache();
+    private final DeleteObjectCoalescer deleteObjectCoalescer;
 
     public S3Client(Vertx vertx, S3ClientOptions s3ClientOptions) {
         this(vertx, s3ClientOptions, Clock.systemUTC());
     }
 
     public S3Client(Vertx vertx, S3ClientOptions s3ClientOptions, Clock clock) {
+        this(vertx, s3ClientOptions, clock, System::nanoTime);
+    }
+
+    /**
+     * @param vertx           The vertx instance
+     * @param s3ClientOptions The options
+     * @param clock           The clock the requests are signed with
+     * @param nanoClock       The source of nano time the deadlines, retry and hedging budgets, circuit breakers, rate
+     *                        limits and load balancing are measured with
+     */
+    public S3Client(Vertx vertx, S3ClientOptions s3ClientOptions, Clock clock, LongSupplier nanoClock) {
         checkNotNull(vertx, "vertx must not be null");
         checkNotNull(isNotBlank(s3ClientOptions.getAwsRegion()), "AWS region must be set");
         checkNotNull(isNotBlank(s3ClientOptions.getAwsServiceName()), "AWS service name must be set");
         checkNotNull(clock, "Clock must not be null");
+        checkNotNull(nanoClock, "nanoClock must not be null");
         checkNotNull(s3ClientOptions.getGlobalTimeoutMs(), "global timeout must be null");
         checkArgument(s3ClientOptions.getGlobalTimeoutMs() > 0, "global timeout must be more than zero ms");
+        checkArgument(s3ClientOptions.getMultipartCopyThreshold() == null || s3ClientOptions.getMultipartCopyThreshold() >= FIVE_MB_IN_BYTES, "multipart copy threshold must be at least 5MB");
+        checkArgument(s3ClientOptions.getMultipartCopyPartSize() != null && s3ClientOptions.getMultipartCopyPartSize() >= FIVE_MB_IN_BYTES, "multipart copy part size must be at least 5MB");
+        checkArgument(s3ClientOptions.getMultipartCopyConcurrency() != null && s3ClientOptions.getMultipartCopyConcurrency() > 0, "multipart copy concurrency must be more than zero");
+        checkArgument(s3ClientOptions.getDeleteCoalescingWindowMs() == null || s3ClientOptions.getDeleteCoalescingWindowMs() > 0, "delete coalescing window must be more than zero ms");
+        checkArgument(s3ClientOptions.getMaxReadsPerSecondPerPrefix() == null || s3ClientOptions.getMaxReadsPerSecondPerPrefix() > 0, "max reads per second per prefix must be more than zero");
+        checkArgument(s3ClientOptions.getMaxWritesPerSecondPerPrefix() == null || s3ClientOptions.getMaxWritesPerSecondPerPrefix() > 0, "max writes per second per prefix must be more than zero");
+        checkArgument(s3ClientOptions.getRateLimitPrefixDepth() != null && s3ClientOptions.getRateLimitPrefixDepth() >= 0, "rate limit prefix depth must not be negative");
+        checkArgument(s3ClientOptions.getMaxRetries() == null || s3ClientOptions.getMaxRetries() >= 0, "max retries must not be negative");
+        checkArgument(s3ClientOptions.getRetryBaseDelayMs() != null && s3ClientOptions.getRetryBaseDelayMs() > 0, "retry base delay must be more than zero ms");
+        checkArgument(s3ClientOptions.getRetryMaxDelayMs() != null && s3ClientOptions.getRetryMaxDelayMs() >= s3ClientOptions.getRetryBaseDelayMs(), "retry max delay must not be less than retry base delay");
+        checkArgument(s3ClientOptions.getRetryBudgetRatio() != null && s3ClientOptions.getRetryBudgetRatio() >= 0, "retry budget ratio must not be negative");
+        checkArgument(s3ClientOptions.getRetryBudgetMinPerSecond() != null && s3ClientOptions.getRetryBudgetMinPerSecond() >= 0, "retry budget min per second must not be negative");
+        checkArgument(s3ClientOptions.getHedgingPercentile() == null || (s3ClientOptions.getHedgingPercentile() > 0 && s3ClientOptions.getHedgingPercentile() <= 1), "hedging percentile must be more than 0 and at most 1");
+        checkArgument(s3ClientOptions.getHedgingMaxRatio() != null && s3ClientOptions.getHedgingMaxRatio() >= 0, "hedging max ratio must not be negative");
+        checkArgument(s3ClientOptions.getHedgingMinDelayMs() != null && s3ClientOptions.getHedgingMinDelayMs() > 0, "hedging min delay must be more than zero ms");
+        checkArgument(s3ClientOptions.getCircuitBreakerFailureRateThreshold() == null || (s3ClientOptions.getCircuitBreakerFailureRateThreshold() > 0 && s3ClientOptions.getCircuitBreakerFailureRateThreshold() <= 1), "circuit breaker failure rate threshold must be more than 0 and at most 1");
+        checkArgument(s3ClientOptions.getCircuitBreakerSlowCallThresholdMs() == null || s3ClientOptions.getCircuitBreakerSlowCallThresholdMs() > 0, "circuit breaker slow call threshold must be more than zero ms");
+        checkArgument(s3ClientOptions.getCircuitBreakerWindowSize() != null && s3ClientOptions.getCircuitBreakerWindowSize() > 0, "circuit breaker window size must be more than zero");
+        checkArgument(s3ClientOptions.getCircuitBreakerOpenDurationMs() != null && s3ClientOptions.getCircuitBreakerOpenDurationMs() > 0, "circuit breaker open duration must be more than zero ms");
+        checkArgument(s3ClientOptions.getCircuitBreakerHalfOpenProbes() != null && s3ClientOptions.getCircuitBreakerHalfOpenProbes() > 0, "circuit breaker half open probes must be more than zero");
+        s3ClientOptions.getTrafficClasses().forEach((name, trafficClassOptions) -> {
+            checkArgument(trafficClassOptions.getMaxPoolSize() > 0, "max pool size of traffic class " + name + " must be more than zero");
+            checkArgument(trafficClassOptions.getMaxQueueSize() == null || trafficClassOptions.getMaxQueueSize() >= 0, "max queue size of traffic class " + name + " must not be negative");
+            checkArgument(trafficClassOptions.getConnectTimeoutMs() == null || trafficClassOptions.getConnectTimeoutMs() > 0, "connect timeout of traffic class " + name + " must be more than zero ms");
+        });
+        s3ClientOptions.getOperationTrafficClasses().forEach((operation, trafficClass) ->
+                checkArgument(s3ClientOptions.getTrafficClasses().containsKey(trafficClass), "traffic class " + trafficClass + " of operation " + operation + " doesn't exist")
+        );
+        checkArgument(s3ClientOptions.getWarmUpConnections() == null || s3ClientOptions.getWarmUpConnections() > 0, "warm up connections must be more than zero");
+        checkArgument(s3ClientOptions.getExpectContinueThreshold() == null || s3ClientOptions.getExpectContinueThreshold() > 0, "expect continue threshold must be more than zero");
+        checkArgument(s3ClientOptions.getExpectContinueTimeoutMs() != null && s3ClientOptions.getExpectContinueTimeoutMs() > 0, "expect continue timeout must be more than zero ms");
+        checkArgument(s3ClientOptions.getMaxRequestsInFlight() == null || s3ClientOptions.getMaxRequestsInFlight() > 0, "max requests in flight must be more than zero");
+        s3ClientOptions.getEndpoints().forEach(endpoint -> checkArgument(StringUtils.isNotBlank(endpoint), "endpoints must not be blank"));
+        checkArgument(s3ClientOptions.getEndpointEjectionFailures() != null && s3ClientOptions.getEndpointEjectionFailures() > 0, "endpoint ejection failures must be more than zero");
+        s3ClientOptions.getBucketMaxPoolSizes().forEach((bucket, bucketMaxPoolSize) ->
+                checkArgument(bucketMaxPoolSize != null && bucketMaxPoolSize > 0, "max pool size of bucket " + bucket + " must be more than zero")
+        );
+        checkArgument(s3ClientOptions.getEndpointEjectionDurationMs() != null && s3ClientOptions.getEndpointEjectionDurationMs() > 0, "endpoint ejection duration must be more than zero ms");
+        if (s3ClientOptions.getReadReplica() != null) {
+            checkArgument(isNotBlank(s3ClientOptions.getReadReplica().getAwsRegion()), "AWS region of the read replica must be set");
+            s3ClientOptions.getReadReplica().getBuckets().forEach((bucket, replicaBucket) ->
+                    checkArgument(isNotBlank(replicaBucket), "replica bucket of bucket " + bucket + " must not be blank")
+            );
+        }
+        s3ClientOptions.getOperationTimeouts().forEach((operation, timeoutOptions) -> {
+            checkArgument(timeoutOptions.getIdleTimeoutMs() == null || timeoutOptions.getIdleTimeoutMs() > 0, "idle timeout of operation " + operation + " must be more than zero ms");
+            checkArgument(timeoutOptions.getFirstByteTimeoutMs() == null || timeoutOptions.getFirstByteTimeoutMs() > 0, "first byte timeout of operation " + operation + " must be more than zero ms");
+            checkArgument(timeoutOptions.getTotalTimeoutMs() == null || timeoutOptions.getTotalTimeoutMs() > 0, "total timeout of operation " + operation + " must be more than zero ms");
+            checkArgument(timeoutOptions.getMinThroughputBytesPerSecond() == null || timeoutOptions.getMinThroughputBytesPerSecond() > 0, "min throughput of operation " + operation + " must be more than zero");
+        });
 
-        this.jaxbMarshaller = createJaxbMarshaller();
-        this.jaxbUnmarshaller = createJaxbUnmarshaller();
-
-        this.vertx = vertx;
-        this.clock = clock;
-        this.awsServiceName = s3ClientOptions.getAwsServiceName();
+        this.transport = new Transport(vertx, s3ClientOptions, clock, nanoClock);
         this.awsRegion = s3ClientOptions.getAwsRegion();
+        this.tenant = null;
+        this.view = false;
         this.awsAccessKey = s3ClientOptions.getAwsAccessKey();
         this.awsSecretKey = s3ClientOptions.getAwsSecretKey();
-        this.globalTimeout = s3ClientOptions.getGlobalTimeoutMs();
-        this.signPayload = s3ClientOptions.isSignPayload();
-
-        final String hostnameOverride = s3ClientOptions.getHostnameOverride();
-        if (!Strings.isNullOrEmpty(hostnameOverride)) {
-            hostname = hostnameOverride;
+        this.credentialsProvider = s3ClientOptions.getCredentialsProvider();
+        this.deleteObjectCoalescer = s3ClientOptions.getDeleteCoalescingWindowMs() != null ? new DeleteObjectCoalescer(s3ClientOptions.getDeleteCoalescingWindowMs()) : null;
+
+        // The replica is a client of its own, so it has its own pools, circuit breakers and limits
+        final ReadReplicaOptions readReplicaOptions = s3ClientOptions.getReadReplica();
+        if (readReplicaOptions != null) {
+            final S3ClientOptions replicaClientOptions = new S3ClientOptions(s3ClientOptions)
+                    .setAwsRegion(readReplicaOptions.getAwsRegion())
+                    .setHostnameOverride(readReplicaOptions.getHostnameOverride())
+                    .setReadReplica(null);
+            replicaClientOptions.getEndpoints().clear();
+            this.readReplica = new S3Client(vertx, replicaClientOptions, clock, nanoClock);
         } else {
-            if (DEFAULT_REGION.equals(s3ClientOptions.getAwsRegion())) {
-                hostname = DEFAULT_ENDPOINT;
-            } else {
-                hostname = MessageFormat.format(ENDPOINT_PATTERN, awsRegion);
-            }
+            this.readReplica = null;
         }
+    }
+
+    private S3Client(S3Client parent, String tenant, String awsAccessKey, String awsSecretKey, AwsCredentialsProvider credentialsProvider, String awsRegion) {
+        this.transport = parent.transport;
+        this.awsRegion = awsRegion;
+        this.tenant = tenant;
+        this.view = true;
+        this.readReplica = parent.readReplica != null ? new S3Client(parent.readReplica, tenant, awsAccessKey, awsSecretKey, credentialsProvider, parent.readReplica.awsRegion) : null;
+        this.awsAccessKey = awsAccessKey;
+        this.awsSecretKey = awsSecretKey;
+        this.credentialsProvider = credentialsProvider;
+        // Coalesced deletes are sent with the credentials of the view
+        this.deleteObjectCoalescer = parent.deleteObjectCoalescer != null ? new DeleteObjectCoalescer(parent.deleteObjectCoalescer.windowMs) : null;
+    }
+
+    /**
+     * Creates a lightweight view of this client which signs its requests with other credentials. The view shares the
+     * connection pools, schedulers, circuit breakers and limits of this client, so many tenants don't need a pool each.
+     * Closing a view doesn't close the shared pools.
+     *
+     * @param tenant       The name of the tenant. Queued requests of the tenants are served round robin.
+     * @param awsAccessKey The access key of the tenant
+     * @param awsSecretKey The secret key of the tenant
+     * @return The view
+     */
+    public S3Client withCredentials(String tenant, String awsAccessKey, String awsSecretKey) {
+        return withCredentials(tenant, awsAccessKey, awsSecretKey, awsRegion);
+    }
+
+    /**
+     * Like {@link #withCredentials(String, String, String)} for a tenant whose buckets are in another region. Requests
+     * for another region use the shared regional pools of this client, unless the hostname is overridden.
+     *
+     * @param tenant       The name of the tenant. Queued requests of the tenants are served round robin.
+     * @param awsAccessKey The access key of the tenant
+     * @param awsSecretKey The secret key of the tenant
+     * @param awsRegion    The default region of the buckets of the tenant
+     * @return The view
+     */
+    public S3Client withCredentials(String tenant, String awsAccessKey, String awsSecretKey, String awsRegion) {
+        checkNotNull(StringUtils.trimToNull(tenant), "tenant must not be null");
+        checkNotNull(StringUtils.trimToNull(awsRegion), "awsRegion must not be null");
+
+        return new S3Client(this, tenant, awsAccessKey, awsSecretKey, null, awsRegion);
+    }
+
+    /**
+     * Like {@link #withCredentials(String, String, String)} for a tenant whose credentials are rotated.
+     *
+     * @param tenant              The name of the tenant. Queued requests of the tenants are served round robin.
+     * @param credentialsProvider The credentials provider of the tenant
+     * @return The view
+     */
+    public S3Client withCredentials(String tenant, AwsCredentialsProvider credentialsProvider) {
+        checkNotNull(StringUtils.trimToNull(tenant), "tenant must not be null");
+        checkNotNull(credentialsProvider, "credentialsProvider must not be null");
 
-        final S3ClientOptions options = new S3ClientOptions(s3ClientOptions);
-        options.setDefaultHost(hostname);
+        return new S3Client(this, tenant, null, null, credentialsProvider, awsRegion);
+    }
+
+    public Vertx getVertx() {
+        return transport.vertx;
+    }
+
+    /**
+     * Deadlines passed to this client have to be created with this time, e.g. {@code Deadline.after(timeoutMs, s3Client.getNanoClock().getAsLong())}.
+     *
+     * @return The source of nano time of this client
+     */
+    public LongSupplier getNanoClock() {
+        return transport.nanoClock;
+    }
+
+    int getMaxPoolSize() {
+        return transport.maxPoolSize;
+    }
+
+    long getMultipartCopyPartSize() {
+        return transport.multipartCopyPartSize;
+    }
 
-        this.client = vertx.createHttpClient(options);
+    int getMultipartCopyConcurrency() {
+        return transport.multipartCopyConcurrency;
+    }
+
+    Double getHedgingPercentile() {
+        return transport.hedgingPercentile;
+    }
+
+    long getHedgingMinDelayMs() {
+        return transport.hedgingMinDelayMs;
+    }
+
+    RetryBudget getHedgingBudget() {
+        return transport.hedgingBudget;
     }
 
     public String getAwsRegion() {
@@ -168,19 +350,108 @@ public class S3Client {
     }
 
     public String getAwsServiceName() {
-        return awsServiceName;
+        return transport.awsServiceName;
     }
 
     public String getHostname() {
-        return hostname;
+        return transport.hostname;
+    }
+
+    /**
+     * @return True if failed requests are retried by this client, see {@link S3ClientOptions#setMaxRetries}
+     */
+    public boolean isRetryingRequests() {
+        return transport.maxRetries != null && transport.maxRetries > 0;
+    }
+
+    /**
+     * Takes a retry from the retry budget shared by all requests of this client. Retries which are done outside of the client,
+     * like the part retries of {@link MultipartUploadWriteStream}, must be charged to the budget as well.
+     *
+     * @return True if the retry may be sent
+     */
+    public boolean tryAcquireRetry() {
+        return transport.retryBudget.tryAcquire(transport.nanoClock.getAsLong());
     }
 
     public void close() {
-        client.close();
+        // The pools belong to the client the view was created from
+        if (view) {
+            return;
+        }
+        transport.clients.forEach(EventLoopHttpClients::close);
+        transport.trafficClasses.values().forEach(trafficClass -> trafficClass.clients.forEach(EventLoopHttpClients::close));
+        transport.regionalClients.values().forEach(EventLoopHttpClients::close);
+        transport.bucketClients.values().forEach(EventLoopHttpClients::close);
+        if (readReplica != null) {
+            readReplica.close();
+        }
     }
 
     public Long getGlobalTimeout() {
-        return globalTimeout;
+        return transport.globalTimeout;
+    }
+
+    /**
+     * Opens connections to the endpoint before the first real request needs them, so that DNS lookup, TCP and TLS
+     * handshakes don't add to its latency. Every connection pool, including the ones of the traffic classes, is filled up
+     * to the configured number of warm-up connections. With a warm-up bucket configured the bucket is requested with HEAD,
+     * which also validates the credentials. With virtual hosted style requests and no endpoints every bucket has its own
+     * pools, so the pools of the warm-up bucket are warmed up instead. The pools of other buckets and of buckets in other
+     * regions are not covered. The connections stay open as long as the keep alive settings allow.
+     * With a http client per event loop the pools of the calling event loop are warmed up.
+     *
+     * @param handler          Called once all connections were established
+     * @param exceptionHandler Called with the first failure
+     */
+    public void warmUp(Handler<Void> handler, Handler<Throwable> exceptionHandler) {
+        warmUp(null, handler, exceptionHandler);
+    }
+
+    /**
+     * Like {@link #warmUp(Handler, Handler)}, but the warm-up requests fail with a {@link com.hubrick.vertx.s3.exception.DeadlineExceededException}
+     * once the deadline expired.
+     *
+     * @param deadline         The deadline of the warm-up or null
+     * @param handler          Called once all connections were established
+     * @param exceptionHandler Called with the first failure
+     */
+    public void warmUp(Deadline deadline, Handler<Void> handler, Handler<Throwable> exceptionHandler) {
+        checkNotNull(handler, "handler must not be null");
+        checkNotNull(exceptionHandler, "exceptionHandler must not be null");
+
+        new WarmUp(deadline, handler, exceptionHandler).start();
+    }
+
+    /**
+     * @param operation The name of the operation, e.g. "getObject"
+     * @return The state of the circuit breaker of the operation on the hostname of the client. Always closed if the circuit breaker is disabled.
+     */
+    public CircuitBreaker.State getCircuitBreakerState(String operation) {
+        checkNotNull(StringUtils.trimToNull(operation), "operation must not be null");
+
+        return circuitBreakerState(transport.hostname, operation);
+    }
+
+    /**
+     * The circuit breakers are kept per hostname, so requests to a bucket in another region or with virtual hosted style
+     * requests have their own breaker.
+     *
+     * @param bucket    The bucket
+     * @param operation The name of the operation, e.g. "getObject"
+     * @return The state of the circuit breaker of the operation on the hostname the requests of the bucket are sent to.
+     * Always closed if the circuit breaker is disabled.
+     */
+    public CircuitBreaker.State getCircuitBreakerState(String bucket, String operation) {
+        checkNotNull(StringUtils.trimToNull(bucket), "bucket must not be null");
+        checkNotNull(StringUtils.trimToNull(operation), "operation must not be null");
+
+        return circuitBreakerState(targetHostname(bucket), operation);
+    }
+
+    private CircuitBreaker.State circuitBreakerState(String targetHostname, String operation) {
+        final CircuitBreaker circuitBreaker = transport.circuitBreakers.get(targetHostname + " " + operation);
+        return circuitBreaker != null ? circuitBreaker.getState(transport.nanoClock.getAsLong()) : CircuitBreaker.State.CLOSED;
     }
 
     public void getObject(String bucket,
@@ -194,32 +465,87 @@ public class S3Client {
         checkNotNull(handler, "handler must not be null");
         checkNotNull(exceptionHandler, "exceptionHandler must not be null");
 
-        final S3ClientRequest request = createGetRequest(
-                bucket,
-                key,
-                getObjectRequest,
-                new StreamResponseHandler("getObject", jaxbUnmarshaller, new GetResponseHeadersMapper(), handler, exceptionHandler)
-        );
-        request.exceptionHandler(exceptionHandler);
-        request.end();
+        withRetries("getObject", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            withReadReplica(bucket, attemptHandler, attemptExceptionHandler, (target, targetHandler, targetExceptionHandler) -> {
+                withHedging("getObject", target, targetHandler, targetExceptionHandler, (copyTarget, copyHandler, copyExceptionHandler) -> {
+                    final S3ClientRequest request = copyTarget.s3Client.createGetRequest(
+                            copyTarget.bucket,
+                            key,
+                            getObjectRequest,
+                            new StreamResponseHandler("getObject", transport.jaxbUnmarshaller, new GetResponseHeadersMapper(), copyHandler, copyExceptionHandler)
+                    );
+                    request.exceptionHandler(copyExceptionHandler);
+                    request.end();
+                    return request;
+                });
+            });
+        });
+    }
+
+    /**
+     * Fetches the bodies of multiple objects into memory concurrently.
+     *
+     * @param bucket            The bucket
+     * @param getObjectsRequest The request
+     * @param handler           Called with the results in the order of the keys after all objects were fetched
+     */
+    public void getObjects(String bucket,
+                           GetObjectsRequest getObjectsRequest,
+                           Handler<GetObjectsResponse> handler) {
+        getObjects(bucket, getObjectsRequest, itemResponse -> {}, handler);
+    }
+
+    /**
+     * Fetches the bodies of multiple objects into memory concurrently. The buffers are presized from the Content-Length
+     * and the total size of the bodies which are read at the same time is limited by the budget of the request.
+     *
+     * @param bucket            The bucket
+     * @param getObjectsRequest The request
+     * @param itemHandler       Called with every result as soon as it arrived
+     * @param handler           Called with the results in the order of the keys after all objects were fetched
+     */
+    public void getObjects(String bucket,
+                           GetObjectsRequest getObjectsRequest,
+                           Handler<GetObjectsItemResponse> itemHandler,
+                           Handler<GetObjectsResponse> handler) {
+        checkNotNull(StringUtils.trimToNull(bucket), "bucket must not be null");
+        checkNotNull(getObjectsRequest, "getObjectsRequest must not be null");
+        checkArgument(getObjectsRequest.getMaxConcurrentRequests() == null || getObjectsRequest.getMaxConcurrentRequests() > 0, "maxConcurrentRequests must be more than zero");
+        checkArgument(getObjectsRequest.getMaxBytesInFlight() == null || getObjectsRequest.getMaxBytesInFlight() > 0, "maxBytesInFlight must be more than zero");
+        checkNotNull(itemHandler, "itemHandler must not be null");
+        checkNotNull(handler, "handler must not be null");
+
+        new MultiGet(this, bucket, getObjectsRequest, itemHandler, handler).start();
     }
 
     public void getObjectAcl(String bucket,
                              String key,
                              Handler<Response<CommonResponseHeaders, AccessControlPolicy>> handler,
                              Handler<Throwable> exceptionHandler) {
+        getObjectAcl(bucket, key, new GetObjectAclRequest(), handler, exceptionHandler);
+    }
+
+    public void getObjectAcl(String bucket,
+                             String key,
+                             GetObjectAclRequest getObjectAclRequest,
+                             Handler<Response<CommonResponseHeaders, AccessControlPolicy>> handler,
+                             Handler<Throwable> exceptionHandler) {
         checkNotNull(StringUtils.trimToNull(bucket), "bucket must not be null");
         checkNotNull(StringUtils.trimToNull(key), "key must not be null");
+        checkNotNull(getObjectAclRequest, "getObjectAclRequest must not be null");
         checkNotNull(handler, "handler must not be null");
         checkNotNull(exceptionHandler, "exceptionHandler must not be null");
 
-        final S3ClientRequest request = createGetAclRequest(
-                bucket,
-                key,
-                new XmlBodyResponseHandler<>("getObjectAcl", jaxbUnmarshaller, new CommonResponseHeadersMapper(), handler, exceptionHandler)
-        );
-        request.exceptionHandler(exceptionHandler);
-        request.end();
+        withRetries("getObjectAcl", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            final S3ClientRequest request = createGetAclRequest(
+                    bucket,
+                    key,
+                    getObjectAclRequest,
+                    new XmlBodyResponseHandler<>("getObjectAcl", transport.jaxbUnmarshaller, new CommonResponseHeadersMapper(), attemptHandler, attemptExceptionHandler)
+            );
+            request.exceptionHandler(attemptExceptionHandler);
+            request.end();
+        });
     }
 
     public void headObject(String bucket,
@@ -233,14 +559,21 @@ public class S3Client {
         checkNotNull(handler, "handler must not be null");
         checkNotNull(exceptionHandler, "exceptionHandler must not be null");
 
-        final S3ClientRequest request = createHeadRequest(
-                bucket,
-                key,
-                headObjectRequest,
-                new HeadersResponseHandler("headObject", jaxbUnmarshaller, new HeadResponseHeadersMapper(), handler, exceptionHandler, true)
-        );
-        request.exceptionHandler(exceptionHandler);
-        request.end();
+        withRetries("headObject", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            withReadReplica(bucket, attemptHandler, attemptExceptionHandler, (target, targetHandler, targetExceptionHandler) -> {
+                withHedging("headObject", target, targetHandler, targetExceptionHandler, (copyTarget, copyHandler, copyExceptionHandler) -> {
+                    final S3ClientRequest request = copyTarget.s3Client.createHeadRequest(
+                            copyTarget.bucket,
+                            key,
+                            headObjectRequest,
+                            new HeadersResponseHandler("headObject", transport.jaxbUnmarshaller, new HeadResponseHeadersMapper(), copyHandler, copyExceptionHandler, true)
+                    );
+                    request.exceptionHandler(copyExceptionHandler);
+                    request.end();
+                    return request;
+                });
+            });
+        });
     }
 
     public void putObject(String bucket,
@@ -254,14 +587,16 @@ public class S3Client {
         checkNotNull(handler, "handler must not be null");
         checkNotNull(exceptionHandler, "exceptionHandler must not be null");
 
-        final S3ClientRequest request = createPutRequest(
-                bucket,
-                key,
-                putObjectRequest,
-                new HeadersResponseHandler("putObject", jaxbUnmarshaller, new PutResponseHeadersMapper(), handler, exceptionHandler, false)
-        );
-        request.exceptionHandler(exceptionHandler);
-        request.end(putObjectRequest.getData());
+        withRetries("putObject", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            final S3ClientRequest request = createPutRequest(
+                    bucket,
+                    key,
+                    putObjectRequest,
+                    new HeadersResponseHandler("putObject", transport.jaxbUnmarshaller, new PutResponseHeadersMapper(), attemptHandler, attemptExceptionHandler, false)
+            );
+            request.exceptionHandler(attemptExceptionHandler);
+            request.end(putObjectRequest.getData());
+        });
     }
 
     public void putObjectAcl(String bucket,
@@ -275,33 +610,36 @@ public class S3Client {
         checkNotNull(handler, "handler must not be null");
         checkNotNull(exceptionHandler, "exceptionHandler must not be null");
 
-        final S3ClientRequest request = createPutAclRequest(
-                bucket,
-                key,
-                Optional.ofNullable(putObjectAclRequest.getAclHeadersRequest()),
-                new HeadersResponseHandler("putObjectAcl", jaxbUnmarshaller, new PutResponseHeadersMapper(), handler, exceptionHandler, false)
-        );
-        request.exceptionHandler(exceptionHandler);
+        withRetries("putObjectAcl", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            final S3ClientRequest request = createPutAclRequest(
+                    bucket,
+                    key,
+                    putObjectAclRequest,
+                    new HeadersResponseHandler("putObjectAcl", transport.jaxbUnmarshaller, new PutResponseHeadersMapper(), attemptHandler, attemptExceptionHandler, false)
+            );
+            request.exceptionHandler(attemptExceptionHandler);
 
-        if (putObjectAclRequest.getAccessControlPolicy() != null) {
-            try {
-                final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                jaxbMarshaller.marshal(putObjectAclRequest.getAccessControlPolicy(), outputStream);
-                request.putHeader(Headers.CONTENT_TYPE, "application/xml");
-                request.end(Buffer.buffer(outputStream.toByteArray()));
-            } catch (JAXBException e) {
-                exceptionHandler.handle(e);
+            if (putObjectAclRequest.getAccessControlPolicy() != null) {
+                try {
+                    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                    transport.jaxbMarshaller.get().marshal(putObjectAclRequest.getAccessControlPolicy(), outputStream);
+                    request.putHeader(Headers.CONTENT_TYPE, "application/xml");
+                    request.end(Buffer.buffer(outputStream.toByteArray()));
+                } catch (JAXBException e) {
+                    attemptExceptionHandler.handle(e);
+                }
+            } else {
+                request.end();
             }
-        } else {
-            request.end();
-        }
+        });
     }
 
     /**
      * Adaptively upload a file to S3 and take away the burden to choose between direct or multipart upload.
      * Since the minimum size of the multipart part has to be 5MB this method handles the upload automatically.
      * It either chooses between the direct upload if the stream contains less then 5MB or the multipart upload
-     * if the stream is bigger then 5MB.
+     * if the stream is bigger then 5MB. The data of the stream is kept by reference and sent as is, so the buffers
+     * emitted by the stream must not be modified afterwards.
      *
      * @param bucket                The bucket
      * @param key                   The key of the final file
@@ -320,42 +658,60 @@ public class S3Client {
         checkNotNull(handler, "handler must not be null");
         checkNotNull(exceptionHandler, "exceptionHandler must not be null");
 
-        final ChunkedBufferReadStream chunkedBufferReadStream = new ChunkedBufferReadStream(vertx, adaptiveUploadRequest.getReadStream(), FIVE_MB_IN_BYTES);
-        chunkedBufferReadStream.exceptionHandler(throwable -> exceptionHandler.handle(throwable));
-        chunkedBufferReadStream.setChunkHandler(chunk -> {
-            if (chunkedBufferReadStream.numberOfChunks() == 0) {
-                if (chunk.length() < FIVE_MB_IN_BYTES) {
-                    final Buffer buffer = Buffer.buffer();
-                    chunkedBufferReadStream.handler(buffer::appendBuffer);
-                    chunkedBufferReadStream.endHandler(aVoid -> {
-                        putObject(bucket, key, mapAdaptiveUploadRequestToPutObjectRequest(buffer, adaptiveUploadRequest), event -> handler.handle(new HeaderOnlyResponse(event.getHeader())), exceptionHandler);
-                    });
-                    chunkedBufferReadStream.resume();
-                } else {
-                    chunkedBufferReadStream.pause();
-                    initMultipartUpload(bucket, key, mapAdaptiveUploadRequestToInitMultipartUploadRequest(adaptiveUploadRequest),
-                            event -> {
-                                try {
-                                    if(adaptiveUploadRequest.getWriteQueueMaxSize() != null) {
-                                        event.getData().setWriteQueueMaxSize(adaptiveUploadRequest.getWriteQueueMaxSize());
-                                    }
-                                    if(adaptiveUploadRequest.getBufferSize() != null) {
-                                        event.getData().bufferSize(adaptiveUploadRequest.getBufferSize());
-                                    }
-                                    event.getData().exceptionHandler(throwable -> exceptionHandler.handle(throwable));
-                                    Pump.pump(chunkedBufferReadStream, event.getData()).start();
-                                    chunkedBufferReadStream.endHandler(aVoid -> event.getData().end(endResponse -> handler.handle(new HeaderOnlyResponse(event.getHeader()))));
-                                    chunkedBufferReadStream.resume();
-                                } catch (Throwable t) {
-                                    exceptionHandler.handle(t);
-                                }
-                            },
-                            exceptionHandler
-                    );
-                }
-            }
-        });
-        chunkedBufferReadStream.resume();
+        new AdaptiveUpload(bucket, key, adaptiveUploadRequest, handler, exceptionHandler).start();
+    }
+
+    /**
+     * Uploads many small objects. The items are read from the stream of the request and uploaded concurrently within the limits
+     * of the request. The stream is paused while the limits are reached.
+     *
+     * @param bucket            The bucket
+     * @param bulkUploadRequest The request
+     * @param itemHandler       Called with the outcome of every item
+     * @param handler           Called after all items of the stream were uploaded
+     * @param exceptionHandler  Called in case the stream of items fails
+     */
+    public void bulkUpload(String bucket,
+                           BulkUploadRequest bulkUploadRequest,
+                           Handler<BulkUploadItemResponse> itemHandler,
+                           Handler<BulkUploadResponse> handler,
+                           Handler<Throwable> exceptionHandler) {
+        checkNotNull(StringUtils.trimToNull(bucket), "bucket must not be null");
+        checkNotNull(bulkUploadRequest, "bulkUploadRequest must not be null");
+        checkArgument(bulkUploadRequest.getMaxConcurrentRequests() == null || bulkUploadRequest.getMaxConcurrentRequests() > 0, "maxConcurrentRequests must be more than zero");
+        checkArgument(bulkUploadRequest.getMaxBytesInFlight() == null || bulkUploadRequest.getMaxBytesInFlight() > 0, "maxBytesInFlight must be more than zero");
+        checkNotNull(itemHandler, "itemHandler must not be null");
+        checkNotNull(handler, "handler must not be null");
+        checkNotNull(exceptionHandler, "exceptionHandler must not be null");
+
+        new BulkUpload(this, bucket, bulkUploadRequest, itemHandler, handler, exceptionHandler).start();
+    }
+
+    /**
+     * Downloads many objects into a directory. The objects are either given as keys or listed by prefix. Small objects are
+     * downloaded with a single GET, bigger objects with parallel ranged GETs. The data is written directly to the target files.
+     *
+     * @param bucket              The bucket
+     * @param bulkDownloadRequest The request
+     * @param itemHandler         Called with the outcome of every object
+     * @param handler             Called after all objects were downloaded
+     * @param exceptionHandler    Called in case listing the objects fails
+     */
+    public void bulkDownload(String bucket,
+                             BulkDownloadRequest bulkDownloadRequest,
+                             Handler<BulkDownloadItemResponse> itemHandler,
+                             Handler<BulkDownloadResponse> handler,
+                             Handler<Throwable> exceptionHandler) {
+        checkNotNull(StringUtils.trimToNull(bucket), "bucket must not be null");
+        checkNotNull(bulkDownloadRequest, "bulkDownloadRequest must not be null");
+        checkArgument(bulkDownloadRequest.getKeys() != null || bulkDownloadRequest.getPrefix() != null, "either keys or prefix must be set");
+        checkArgument(bulkDownloadRequest.getMaxConcurrentRequests() == null || bulkDownloadRequest.getMaxConcurrentRequests() > 0, "maxConcurrentRequests must be more than zero");
+        checkArgument(bulkDownloadRequest.getPartSize() == null || bulkDownloadRequest.getPartSize() > 0, "partSize must be more than zero");
+        checkNotNull(itemHandler, "itemHandler must not be null");
+        checkNotNull(handler, "handler must not be null");
+        checkNotNull(exceptionHandler, "exceptionHandler must not be null");
+
+        new BulkDownload(this, bucket, bulkDownloadRequest, itemHandler, handler, exceptionHandler).start();
     }
 
     private PutObjectRequest mapAdaptiveUploadRequestToPutObjectRequest(Buffer buffer, AdaptiveUploadRequest autoUploadRequest) {
@@ -382,6 +738,7 @@ public class S3Client {
         putObjectRequest.withAmzGrantRead(autoUploadRequest.getAmzGrantRead());
         putObjectRequest.withAmzGrantReadAcp(autoUploadRequest.getAmzGrantReadAcp());
         putObjectRequest.withAmzGrantFullControl(autoUploadRequest.getAmzGrantFullControl());
+        putObjectRequest.withDeadline(autoUploadRequest.getDeadline());
 
         return putObjectRequest;
     }
@@ -408,6 +765,7 @@ public class S3Client {
         initMultipartUploadRequest.withAmzGrantRead(autoUploadRequest.getAmzGrantRead());
         initMultipartUploadRequest.withAmzGrantReadAcp(autoUploadRequest.getAmzGrantReadAcp());
         initMultipartUploadRequest.withAmzGrantFullControl(autoUploadRequest.getAmzGrantFullControl());
+        initMultipartUploadRequest.withDeadline(autoUploadRequest.getDeadline());
 
         return initMultipartUploadRequest;
     }
@@ -439,19 +797,18 @@ public class S3Client {
                 initMultipartUploadRequest,
                 new XmlBodyResponseHandler<InitMultipartUploadResponseHeaders, InitMultipartUploadResponse>(
                         "initMultipartUpload",
-                        jaxbUnmarshaller,
+                        transport.jaxbUnmarshaller,
                         new InitMultipartUploadResponseHeadersMapper(),
                         response -> {
-                            handler.handle(
-                                    new ResponseWithBody(
-                                            response.getHeader(),
-                                            new MultipartUploadWriteStream(
-                                                    this,
-                                                    response.getData(),
-                                                    exceptionHandler
-                                            )
-                                    )
+                            final MultipartUploadWriteStream multipartUploadWriteStream = new MultipartUploadWriteStream(
+                                    this,
+                                    response.getData(),
+                                    exceptionHandler
                             );
+                            if (initMultipartUploadRequest.getDeadline() != null) {
+                                multipartUploadWriteStream.deadline(initMultipartUploadRequest.getDeadline());
+                            }
+                            handler.handle(new ResponseWithBody(response.getHeader(), multipartUploadWriteStream));
                         },
                         exceptionHandler
                 )
@@ -481,14 +838,16 @@ public class S3Client {
         checkNotNull(handler, "handler must not be null");
         checkNotNull(exceptionHandler, "exceptionHandler must not be null");
 
-        final S3ClientRequest request = createContinueMultipartUploadRequest(
-                bucket,
-                key,
-                continueMultipartUploadRequest,
-                new HeadersResponseHandler("continueMultipartUpload", jaxbUnmarshaller, new ContinueMultipartUploadResponseHeadersMapper(), handler, exceptionHandler, false)
-        );
-        request.exceptionHandler(exceptionHandler);
-        request.end(continueMultipartUploadRequest.getData());
+        withRetries("continueMultipartUpload", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            final S3ClientRequest request = createContinueMultipartUploadRequest(
+                    bucket,
+                    key,
+                    continueMultipartUploadRequest,
+                    new HeadersResponseHandler("continueMultipartUpload", transport.jaxbUnmarshaller, new ContinueMultipartUploadResponseHeadersMapper(), attemptHandler, attemptExceptionHandler, false)
+            );
+            request.exceptionHandler(attemptExceptionHandler);
+            request.end(continueMultipartUploadRequest.getData());
+        });
     }
 
     /**
@@ -511,17 +870,43 @@ public class S3Client {
         checkNotNull(handler, "handler must not be null");
         checkNotNull(exceptionHandler, "exceptionHandler must not be null");
 
-        final S3ClientRequest request = createCompleteMultipartUploadRequest(
-                bucket,
-                key,
-                completeMultipartUploadRequest,
-                new XmlBodyResponseHandler<>("completeMultipartUpload", jaxbUnmarshaller, new CompleteMultipartUploadResponseHeadersMapper(), handler, exceptionHandler)
-        );
+        // Completing an upload id twice only fails with NoSuchUpload, so the request can be repeated safely
+        withRetries("completeMultipartUpload", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            final S3ClientRequest request = createCompleteMultipartUploadRequest(
+                    bucket,
+                    key,
+                    completeMultipartUploadRequest,
+                    new XmlBodyResponseHandler<>("completeMultipartUpload", transport.jaxbUnmarshaller, new CompleteMultipartUploadResponseHeadersMapper(), attemptHandler, attemptExceptionHandler)
+            );
+            endCompleteMultipartUploadRequest(request, completeMultipartUploadRequest, attemptExceptionHandler);
+        });
+    }
+
+    void completeMultipartCopy(String bucket,
+                               String key,
+                               CompleteMultipartUploadRequest completeMultipartUploadRequest,
+                               Handler<Response<CopyObjectResponseHeaders, CompleteMultipartUploadResponse>> handler,
+                               Handler<Throwable> exceptionHandler) {
+        // Like the part copies the complete is retried, so a transient error at the end doesn't abort the whole copy
+        withRetries("completeMultipartUpload", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            final S3ClientRequest request = createCompleteMultipartUploadRequest(
+                    bucket,
+                    key,
+                    completeMultipartUploadRequest,
+                    new XmlBodyResponseHandler<>("completeMultipartCopy", transport.jaxbUnmarshaller, new CopyResponseHeadersMapper(), attemptHandler, attemptExceptionHandler)
+            );
+            endCompleteMultipartUploadRequest(request, completeMultipartUploadRequest, attemptExceptionHandler);
+        });
+    }
+
+    private void endCompleteMultipartUploadRequest(S3ClientRequest request,
+                                                   CompleteMultipartUploadRequest completeMultipartUploadRequest,
+                                                   Handler<Throwable> exceptionHandler) {
         request.exceptionHandler(exceptionHandler);
 
         try {
             final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            jaxbMarshaller.marshal(completeMultipartUploadRequest, outputStream);
+            transport.jaxbMarshaller.get().marshal(completeMultipartUploadRequest, outputStream);
             request.putHeader(Headers.CONTENT_TYPE, "application/xml");
             request.end(Buffer.buffer(outputStream.toByteArray()));
         } catch (JAXBException e) {
@@ -549,16 +934,167 @@ public class S3Client {
         checkNotNull(handler, "handler must not be null");
         checkNotNull(exceptionHandler, "exceptionHandler must not be null");
 
-        final S3ClientRequest request = createAbortMultipartUploadRequest(
+        withRetries("abortMultipartUpload", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            final S3ClientRequest request = createAbortMultipartUploadRequest(
+                    bucket,
+                    key,
+                    abortMultipartUploadRequest,
+                    new HeadersResponseHandler<>("abortMultipartUpload", transport.jaxbUnmarshaller, new CommonResponseHeadersMapper(), attemptHandler, attemptExceptionHandler, false)
+            );
+            request.exceptionHandler(attemptExceptionHandler);
+            request.end();
+        });
+    }
+
+    /**
+     * For manual handling of multipart uploads. List the parts which were uploaded so far.
+     *
+     * @param bucket           The bucket
+     * @param key              The key of the final file
+     * @param listPartsRequest The request
+     * @param handler          Success handler
+     * @param exceptionHandler Exception handler
+     */
+    public void listParts(String bucket,
+                          String key,
+                          ListPartsRequest listPartsRequest,
+                          Handler<Response<CommonResponseHeaders, ListPartsResponse>> handler,
+                          Handler<Throwable> exceptionHandler) {
+        checkNotNull(StringUtils.trimToNull(bucket), "bucket must not be null");
+        checkNotNull(StringUtils.trimToNull(key), "key must not be null");
+        checkNotNull(listPartsRequest, "listPartsRequest must not be null");
+        checkNotNull(handler, "handler must not be null");
+        checkNotNull(exceptionHandler, "exceptionHandler must not be null");
+
+        withRetries("listParts", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            final S3ClientRequest request = createListPartsRequest(
+                    bucket,
+                    key,
+                    listPartsRequest,
+                    new XmlBodyResponseHandler<>("listParts", transport.jaxbUnmarshaller, new CommonResponseHeadersMapper(), attemptHandler, attemptExceptionHandler)
+            );
+            request.exceptionHandler(attemptExceptionHandler);
+            request.end();
+        });
+    }
+
+    /**
+     * Resume a multipart upload from a checkpoint which was written by {@link MultipartUploadWriteStream#checkpoint}.
+     * The checkpoint is reconciled with the parts stored in S3 and only parts which are present in both with the same
+     * ETag and size are kept. Continue writing the source from {@link MultipartUploadWriteStream#getSourceOffset()}.
+     *
+     * @param checkpointStore  The store the checkpoint was saved to
+     * @param checkpointId     The id of the checkpoint
+     * @param handler          Success handler
+     * @param exceptionHandler Exception handler
+     */
+    public void resumeMultipartUpload(MultipartUploadCheckpointStore checkpointStore,
+                                      String checkpointId,
+                                      Handler<Response<CommonResponseHeaders, MultipartUploadWriteStream>> handler,
+                                      Handler<Throwable> exceptionHandler) {
+        checkNotNull(checkpointStore, "checkpointStore must not be null");
+        checkNotNull(StringUtils.trimToNull(checkpointId), "checkpointId must not be null");
+        checkNotNull(handler, "handler must not be null");
+        checkNotNull(exceptionHandler, "exceptionHandler must not be null");
+
+        checkpointStore.load(
+                checkpointId,
+                checkpoint -> {
+                    if (checkpoint == null) {
+                        exceptionHandler.handle(new S3ClientException("No checkpoint with id " + checkpointId + " found"));
+                        return;
+                    }
+
+                    listAllParts(
+                            checkpoint.getBucket(),
+                            checkpoint.getKey(),
+                            new ListPartsRequest(checkpoint.getUploadId()),
+                            new TreeMap<>(),
+                            response -> {
+                                final MultipartUploadCheckpoint reconciledCheckpoint = reconcileCheckpoint(checkpoint, response.getData());
+
+                                final InitMultipartUploadResponse initMultipartUploadResponse = new InitMultipartUploadResponse();
+                                initMultipartUploadResponse.setBucket(checkpoint.getBucket());
+                                initMultipartUploadResponse.setKey(checkpoint.getKey());
+                                initMultipartUploadResponse.setUploadId(checkpoint.getUploadId());
+
+                                final MultipartUploadWriteStream multipartUploadWriteStream = new MultipartUploadWriteStream(this, initMultipartUploadResponse, exceptionHandler);
+                                multipartUploadWriteStream.resumeFrom(reconciledCheckpoint, checkpointStore);
+                                handler.handle(new ResponseWithBody<>(response.getHeader(), multipartUploadWriteStream));
+                            },
+                            exceptionHandler
+                    );
+                },
+                exceptionHandler
+        );
+    }
+
+    private void listAllParts(String bucket,
+                              String key,
+                              ListPartsRequest listPartsRequest,
+                              Map<Integer, PartSummary> uploadedParts,
+                              Handler<Response<CommonResponseHeaders, Map<Integer, PartSummary>>> handler,
+                              Handler<Throwable> exceptionHandler) {
+        listParts(
                 bucket,
                 key,
-                abortMultipartUploadRequest,
-                new HeadersResponseHandler<>("abortMultipartUpload", jaxbUnmarshaller, new CommonResponseHeadersMapper(), handler, exceptionHandler, false)
+                listPartsRequest,
+                response -> {
+                    response.getData().getParts().forEach(part -> uploadedParts.put(part.getPartNumber(), part));
+                    if (Boolean.TRUE.equals(response.getData().getTruncated()) && response.getData().getNextPartNumberMarker() != null) {
+                        listAllParts(
+                                bucket,
+                                key,
+                                new ListPartsRequest(listPartsRequest.getUploadId()).withPartNumberMarker(response.getData().getNextPartNumberMarker()),
+                                uploadedParts,
+                                handler,
+                                exceptionHandler
+                        );
+                    } else {
+                        handler.handle(new ResponseWithBody<>(response.getHeader(), uploadedParts));
+                    }
+                },
+                exceptionHandler
         );
-        request.exceptionHandler(exceptionHandler);
-        request.end();
     }
 
+    private MultipartUploadCheckpoint reconcileCheckpoint(MultipartUploadCheckpoint checkpoint, Map<Integer, PartSummary> uploadedParts) {
+        final MultipartUploadCheckpoint reconciledCheckpoint = new MultipartUploadCheckpoint(
+                checkpoint.getId(),
+                checkpoint.getBucket(),
+                checkpoint.getKey(),
+                checkpoint.getUploadId()
+        );
+
+        for (CheckpointPart part : checkpoint.getParts()) {
+            final PartSummary uploadedPart = uploadedParts.get(part.getPartNumber());
+            if (uploadedPart != null
+                    && part.getSize().equals(uploadedPart.getSize())
+                    && StringUtils.strip(part.geteTag(), "\"").equals(StringUtils.strip(uploadedPart.geteTag(), "\""))) {
+                reconciledCheckpoint.addPart(part);
+            } else {
+                log.info("Part {} of upload {} doesn't match the uploaded part and will be uploaded again", part.getPartNumber(), checkpoint.getUploadId());
+            }
+        }
+
+        return reconciledCheckpoint;
+    }
+
+    /**
+     * Copy an object. If {@link S3ClientOptions#setMultipartCopyThreshold} is set the size of the source is determined first
+     * and objects bigger than the threshold are copied using a multipart upload whose parts are copied in parallel
+     * on the server side with {@link #uploadPartCopy}. In this case the metadata is taken either from the source
+     * or, if the metadata directive is {@link Directive#REPLACE}, from the request. The response of a multipart copy
+     * contains the ETag of the new object but no last modified date.
+     *
+     * @param sourceBucket      The source bucket
+     * @param sourceKey         The source key
+     * @param destinationBucket The destination bucket
+     * @param destinationKey    The destination key
+     * @param copyObjectRequest The request
+     * @param handler           Success handler
+     * @param exceptionHandler  Exception handler
+     */
     public void copyObject(String sourceBucket,
                            String sourceKey,
                            String destinationBucket,
@@ -574,16 +1110,86 @@ public class S3Client {
         checkNotNull(handler, "handler must not be null");
         checkNotNull(exceptionHandler, "exceptionHandler must not be null");
 
-        final S3ClientRequest request = createCopyRequest(
+        if (transport.multipartCopyThreshold == null) {
+            copyObjectInOneRequest(sourceBucket, sourceKey, destinationBucket, destinationKey, copyObjectRequest, handler, exceptionHandler);
+            return;
+        }
+
+        headObject(
                 sourceBucket,
                 sourceKey,
-                destinationBucket,
-                destinationKey,
-                copyObjectRequest,
-                new XmlBodyResponseHandler<>("copyObject", jaxbUnmarshaller, new CopyResponseHeadersMapper(), handler, exceptionHandler)
+                new HeadObjectRequest(),
+                headResponse -> {
+                    final Long contentLength = headResponse.getHeader().getContentLength();
+                    if (contentLength == null || contentLength <= transport.multipartCopyThreshold) {
+                        copyObjectInOneRequest(sourceBucket, sourceKey, destinationBucket, destinationKey, copyObjectRequest, handler, exceptionHandler);
+                    } else {
+                        new MultipartCopy(this, sourceBucket, sourceKey, destinationBucket, destinationKey, copyObjectRequest, headResponse.getHeader(), handler, exceptionHandler).start();
+                    }
+                },
+                exceptionHandler
         );
-        request.exceptionHandler(exceptionHandler);
-        request.end();
+    }
+
+    private void copyObjectInOneRequest(String sourceBucket,
+                                        String sourceKey,
+                                        String destinationBucket,
+                                        String destinationKey,
+                                        CopyObjectRequest copyObjectRequest,
+                                        Handler<Response<CopyObjectResponseHeaders, CopyObjectResponse>> handler,
+                                        Handler<Throwable> exceptionHandler) {
+        withRetries("copyObject", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            final S3ClientRequest request = createCopyRequest(
+                    sourceBucket,
+                    sourceKey,
+                    destinationBucket,
+                    destinationKey,
+                    copyObjectRequest,
+                    new XmlBodyResponseHandler<>("copyObject", transport.jaxbUnmarshaller, new CopyResponseHeadersMapper(), attemptHandler, attemptExceptionHandler)
+            );
+            request.exceptionHandler(attemptExceptionHandler);
+            request.end();
+        });
+    }
+
+    /**
+     * For manual handling of multipart uploads. Copy a part of an existing object on the server side.
+     *
+     * @param sourceBucket          The source bucket
+     * @param sourceKey             The source key
+     * @param destinationBucket     The bucket of the multipart upload
+     * @param destinationKey        The key of the multipart upload
+     * @param uploadPartCopyRequest The request
+     * @param handler               Success handler
+     * @param exceptionHandler      Exception handler
+     */
+    public void uploadPartCopy(String sourceBucket,
+                               String sourceKey,
+                               String destinationBucket,
+                               String destinationKey,
+                               UploadPartCopyRequest uploadPartCopyRequest,
+                               Handler<Response<CopyObjectResponseHeaders, UploadPartCopyResponse>> handler,
+                               Handler<Throwable> exceptionHandler) {
+        checkNotNull(StringUtils.trimToNull(sourceBucket), "sourceBucket must not be null");
+        checkNotNull(StringUtils.trimToNull(sourceKey), "sourceKey must not be null");
+        checkNotNull(StringUtils.trimToNull(destinationBucket), "destinationBucket must not be null");
+        checkNotNull(StringUtils.trimToNull(destinationKey), "destinationKey must not be null");
+        checkNotNull(uploadPartCopyRequest, "uploadPartCopyRequest must not be null");
+        checkNotNull(handler, "handler must not be null");
+        checkNotNull(exceptionHandler, "exceptionHandler must not be null");
+
+        withRetries("uploadPartCopy", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            final S3ClientRequest request = createUploadPartCopyRequest(
+                    sourceBucket,
+                    sourceKey,
+                    destinationBucket,
+                    destinationKey,
+                    uploadPartCopyRequest,
+                    new XmlBodyResponseHandler<>("uploadPartCopy", transport.jaxbUnmarshaller, new CopyResponseHeadersMapper(), attemptHandler, attemptExceptionHandler)
+            );
+            request.exceptionHandler(attemptExceptionHandler);
+            request.end();
+        });
     }
 
     public void deleteObject(String bucket,
@@ -597,14 +1203,60 @@ public class S3Client {
         checkNotNull(handler, "handler must not be null");
         checkNotNull(exceptionHandler, "exceptionHandler must not be null");
 
-        final S3ClientRequest request = createDeleteRequest(
-                bucket,
-                key,
-                deleteObjectRequest,
-                new HeadersResponseHandler("deleteObject", jaxbUnmarshaller, new CommonResponseHeadersMapper(), handler, exceptionHandler, false)
-        );
-        request.exceptionHandler(exceptionHandler);
-        request.end();
+        // MFA can't be shared between keys of a multi object delete
+        if (deleteObjectCoalescer != null && StringUtils.trimToNull(deleteObjectRequest.getAmzMfa()) == null) {
+            deleteObjectCoalescer.delete(bucket, key, handler, exceptionHandler);
+            return;
+        }
+
+        withRetries("deleteObject", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            final S3ClientRequest request = createDeleteRequest(
+                    bucket,
+                    key,
+                    deleteObjectRequest,
+                    new HeadersResponseHandler("deleteObject", transport.jaxbUnmarshaller, new CommonResponseHeadersMapper(), attemptHandler, attemptExceptionHandler, false)
+            );
+            request.exceptionHandler(attemptExceptionHandler);
+            request.end();
+        });
+    }
+
+    /**
+     * Deletes multiple objects using the multi object delete API. S3 accepts at most 1000 keys per request so bigger requests
+     * are split into batches which are sent in parallel. The results of all batches are merged into one response.
+     *
+     * @param bucket               The bucket
+     * @param deleteObjectsRequest The request
+     * @param handler              Success handler
+     * @param exceptionHandler     Exception handler
+     */
+    public void deleteObjects(String bucket,
+                              DeleteObjectsRequest deleteObjectsRequest,
+                              Handler<Response<CommonResponseHeaders, DeleteObjectsResponse>> handler,
+                              Handler<Throwable> exceptionHandler) {
+        checkNotNull(StringUtils.trimToNull(bucket), "bucket must not be null");
+        checkNotNull(deleteObjectsRequest, "deleteObjectsRequest must not be null");
+        checkArgument(!deleteObjectsRequest.getObjects().isEmpty(), "deleteObjectsRequest must contain at least one object");
+        checkArgument(deleteObjectsRequest.getMaxConcurrentBatches() == null || deleteObjectsRequest.getMaxConcurrentBatches() > 0, "maxConcurrentBatches must be more than zero");
+        checkNotNull(handler, "handler must not be null");
+        checkNotNull(exceptionHandler, "exceptionHandler must not be null");
+
+        new BatchDelete(this, bucket, deleteObjectsRequest, handler, exceptionHandler).start();
+    }
+
+    void deleteObjectsBatch(String bucket,
+                            DeleteObjectsRequest batchRequest,
+                            Handler<Response<CommonResponseHeaders, DeleteObjectsResponse>> handler,
+                            Handler<Throwable> exceptionHandler) {
+        // Deleting the same keys again is harmless so failed batches can be retried
+        withRetries("deleteObjects", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            final S3ClientRequest request = createDeleteObjectsRequest(
+                    bucket,
+                    batchRequest,
+                    new XmlBodyResponseHandler<>("deleteObjects", transport.jaxbUnmarshaller, new CommonResponseHeadersMapper(), attemptHandler, attemptExceptionHandler)
+            );
+            endDeleteObjectsRequest(request, batchRequest, attemptExceptionHandler);
+        });
     }
 
     public void getBucket(String bucket,
@@ -616,32 +1268,56 @@ public class S3Client {
         checkNotNull(handler, "handler must not be null");
         checkNotNull(exceptionHandler, "exceptionHandler must not be null");
 
-        final S3ClientRequest request = createGetBucketRequest(
-                bucket,
-                getBucketRequest,
-                new XmlBodyResponseHandler<>("getBucket", jaxbUnmarshaller, new CommonResponseHeadersMapper(), handler, exceptionHandler)
-        );
-        request.exceptionHandler(exceptionHandler);
-        request.end();
+        withRetries("getBucket", handler, exceptionHandler, (attemptHandler, attemptExceptionHandler) -> {
+            final S3ClientRequest request = createGetBucketRequest(
+                    bucket,
+                    getBucketRequest,
+                    new XmlBodyResponseHandler<>("getBucket", transport.jaxbUnmarshaller, new CommonResponseHeadersMapper(), attemptHandler, attemptExceptionHandler)
+            );
+            request.exceptionHandler(attemptExceptionHandler);
+            request.end();
+        });
     }
 
-    private S3ClientRequest createPutRequest(String bucket,
-                                             String key,
-                                             PutObjectRequest putObjectRequest,
-                                             Handler<HttpClientResponse> handler) {
-        HttpClientRequest httpRequest = client.put("/" + bucket + "/" + key, handler);
-        final S3ClientRequest s3ClientRequest = new S3ClientRequest(
-                "PUT",
-                awsRegion,
-                awsServiceName,
+    /**
+     * Creates the request of an operation with the credentials, timeouts and limits which apply to every request of the client.
+     */
+    private S3ClientRequest newRequest(String operation, RequestTarget target, String method, HttpClientRequest httpRequest) {
+        return new S3ClientRequest(
+                method,
+                target.region,
+                transport.awsServiceName,
                 httpRequest,
                 awsAccessKey,
                 awsSecretKey,
-                clock,
-                signPayload
+                transport.clock,
+                transport.signPayload
         )
-                .setTimeout(globalTimeout)
-                .putHeader(Headers.HOST, hostname);
+                .setTimeout(transport.globalTimeout)
+                .setCredentialsProvider(credentialsProvider)
+                .setSigningKeyCache(signingKeyCache)
+                .setNanoClock(transport.nanoClock)
+                .setTimeoutOptions(transport.vertx, transport.operationTimeouts.get(operation))
+                .setRateLimiter(transport.rateLimiter)
+                .setScheduler(trafficClassScheduler(operation))
+                .setTenant(tenant)
+                .setCircuitBreaker(circuitBreaker(target, operation))
+                .setAdmissionLimit(transport.admissionLimit)
+                .setEndpoint(target.loadBalancer, target.endpoint)
+                .setVirtualHostedBucket(target.virtualHostedBucket)
+                .putHeader(Headers.HOST, target.hostname);
+    }
+
+    private S3ClientRequest createPutRequest(String bucket,
+                                             String key,
+                                             PutObjectRequest putObjectRequest,
+                                             Handler<HttpClientResponse> handler) {
+        final RequestTarget target = requestTarget("putObject", bucket);
+        HttpClientRequest httpRequest = target.client.put(target.bucketPath + "/" + key);
+        final S3ClientRequest s3ClientRequest = newRequest("putObject", target, "PUT", httpRequest)
+                .setExpectContinueThreshold(transport.vertx, transport.expectContinueThreshold, transport.expectContinueTimeoutMs)
+                .setDeadline(putObjectRequest.getDeadline())
+                .handler(handler);
 
         s3ClientRequest.headers().addAll(populatePutObjectHeaders(putObjectRequest));
         s3ClientRequest.headers().addAll(populateAclHeadersRequest(putObjectRequest));
@@ -650,23 +1326,15 @@ public class S3Client {
 
     private S3ClientRequest createPutAclRequest(String bucket,
                                                 String key,
-                                                Optional<AclHeadersRequest> aclHeadersRequest,
+                                                PutObjectAclRequest putObjectAclRequest,
                                                 Handler<HttpClientResponse> handler) {
-        HttpClientRequest httpRequest = client.put("/" + bucket + "/" + key + "?acl", handler);
-        final S3ClientRequest s3ClientRequest = new S3ClientRequest(
-                "PUT",
-                awsRegion,
-                awsServiceName,
-                httpRequest,
-                awsAccessKey,
-                awsSecretKey,
-                clock,
-                signPayload
-        )
-                .setTimeout(globalTimeout)
-                .putHeader(Headers.HOST, hostname);
+        final RequestTarget target = requestTarget("putObjectAcl", bucket);
+        HttpClientRequest httpRequest = target.client.put(target.bucketPath + "/" + key + "?acl");
+        final S3ClientRequest s3ClientRequest = newRequest("putObjectAcl", target, "PUT", httpRequest)
+                .setDeadline(putObjectAclRequest.getDeadline())
+                .handler(handler);
 
-        aclHeadersRequest.ifPresent(e -> s3ClientRequest.headers().addAll(populateAclHeadersRequest(e)));
+        Optional.ofNullable(putObjectAclRequest.getAclHeadersRequest()).ifPresent(e -> s3ClientRequest.headers().addAll(populateAclHeadersRequest(e)));
         return s3ClientRequest;
     }
 
@@ -738,19 +1406,11 @@ public class S3Client {
                                                              String key,
                                                              InitMultipartUploadRequest initMultipartUploadRequest,
                                                              Handler<HttpClientResponse> handler) {
-        final HttpClientRequest httpRequest = client.post("/" + bucket + "/" + key + "?uploads", handler);
-        final S3ClientRequest s3ClientRequest = new S3ClientRequest(
-                "POST",
-                awsRegion,
-                awsServiceName,
-                httpRequest,
-                awsAccessKey,
-                awsSecretKey,
-                clock,
-                signPayload
-        )
-                .setTimeout(globalTimeout)
-                .putHeader(Headers.HOST, hostname);
+        final RequestTarget target = requestTarget("initMultipartUpload", bucket);
+        final HttpClientRequest httpRequest = target.client.post(target.bucketPath + "/" + key + "?uploads");
+        final S3ClientRequest s3ClientRequest = newRequest("initMultipartUpload", target, "POST", httpRequest)
+                .setDeadline(initMultipartUploadRequest.getDeadline())
+                .handler(handler);
 
         s3ClientRequest.headers().addAll(populateInitMultipartUploadHeaders(initMultipartUploadRequest));
         s3ClientRequest.headers().addAll(populateAclHeadersRequest(initMultipartUploadRequest));
@@ -795,19 +1455,12 @@ public class S3Client {
                                                                  String key,
                                                                  ContinueMultipartUploadRequest continueMultipartUploadRequest,
                                                                  Handler<HttpClientResponse> handler) {
-        final HttpClientRequest httpRequest = client.put(UrlEncodingUtils.addParamsSortedToUrl("/" + bucket + "/" + key, populateContinueMultipartUploadQueryParams(continueMultipartUploadRequest)), handler);
-        final S3ClientRequest s3ClientRequest = new S3ClientRequest(
-                "PUT",
-                awsRegion,
-                awsServiceName,
-                httpRequest,
-                awsAccessKey,
-                awsSecretKey,
-                clock,
-                signPayload
-        )
-                .setTimeout(globalTimeout)
-                .putHeader(Headers.HOST, hostname);
+        final RequestTarget target = requestTarget("continueMultipartUpload", bucket);
+        final HttpClientRequest httpRequest = target.client.put(UrlEncodingUtils.addParamsSortedToUrl(target.bucketPath + "/" + key, populateContinueMultipartUploadQueryParams(continueMultipartUploadRequest)));
+        final S3ClientRequest s3ClientRequest = newRequest("continueMultipartUpload", target, "PUT", httpRequest)
+                .setExpectContinueThreshold(transport.vertx, transport.expectContinueThreshold, transport.expectContinueTimeoutMs)
+                .setDeadline(continueMultipartUploadRequest.getDeadline())
+                .handler(handler);
 
         s3ClientRequest.headers().addAll(populateContinueMultipartUploadHeaders(continueMultipartUploadRequest));
         return s3ClientRequest;
@@ -836,19 +1489,11 @@ public class S3Client {
                                                                  String key,
                                                                  CompleteMultipartUploadRequest completeMultipartUploadRequest,
                                                                  Handler<HttpClientResponse> handler) {
-        final HttpClientRequest httpRequest = client.post(UrlEncodingUtils.addParamsSortedToUrl("/" + bucket + "/" + key, populateCompleteMultipartUploadQueryParams(completeMultipartUploadRequest)), handler);
-        final S3ClientRequest s3ClientRequest = new S3ClientRequest(
-                "POST",
-                awsRegion,
-                awsServiceName,
-                httpRequest,
-                awsAccessKey,
-                awsSecretKey,
-                clock,
-                signPayload
-        )
-                .setTimeout(globalTimeout)
-                .putHeader(Headers.HOST, hostname);
+        final RequestTarget target = requestTarget("completeMultipartUpload", bucket);
+        final HttpClientRequest httpRequest = target.client.post(UrlEncodingUtils.addParamsSortedToUrl(target.bucketPath + "/" + key, populateCompleteMultipartUploadQueryParams(completeMultipartUploadRequest)));
+        final S3ClientRequest s3ClientRequest = newRequest("completeMultipartUpload", target, "POST", httpRequest)
+                .setDeadline(completeMultipartUploadRequest.getDeadline())
+                .handler(handler);
 
         return s3ClientRequest;
     }
@@ -865,19 +1510,11 @@ public class S3Client {
                                                               String key,
                                                               AbortMultipartUploadRequest abortMultipartUploadRequest,
                                                               Handler<HttpClientResponse> handler) {
-        final HttpClientRequest httpRequest = client.delete(UrlEncodingUtils.addParamsSortedToUrl("/" + bucket + "/" + key, populateAbortMultipartUploadQueryParams(abortMultipartUploadRequest)), handler);
-        final S3ClientRequest s3ClientRequest = new S3ClientRequest(
-                "DELETE",
-                awsRegion,
-                awsServiceName,
-                httpRequest,
-                awsAccessKey,
-                awsSecretKey,
-                clock,
-                signPayload
-        )
-                .setTimeout(globalTimeout)
-                .putHeader(Headers.HOST, hostname);
+        final RequestTarget target = requestTarget("abortMultipartUpload", bucket);
+        final HttpClientRequest httpRequest = target.client.delete(UrlEncodingUtils.addParamsSortedToUrl(target.bucketPath + "/" + key, populateAbortMultipartUploadQueryParams(abortMultipartUploadRequest)));
+        final S3ClientRequest s3ClientRequest = newRequest("abortMultipartUpload", target, "DELETE", httpRequest)
+                .setDeadline(abortMultipartUploadRequest.getDeadline())
+                .handler(handler);
 
         return s3ClientRequest;
     }
@@ -890,25 +1527,42 @@ public class S3Client {
         return queryParams;
     }
 
+    private S3ClientRequest createListPartsRequest(String bucket,
+                                                   String key,
+                                                   ListPartsRequest listPartsRequest,
+                                                   Handler<HttpClientResponse> handler) {
+        final RequestTarget target = requestTarget("listParts", bucket);
+        final HttpClientRequest httpRequest = target.client.get(UrlEncodingUtils.addParamsSortedToUrl(target.bucketPath + "/" + key, populateListPartsQueryParams(listPartsRequest)));
+        final S3ClientRequest s3ClientRequest = newRequest("listParts", target, "GET", httpRequest)
+                .handler(handler);
+
+        return s3ClientRequest;
+    }
+
+    private Map<String, String> populateListPartsQueryParams(ListPartsRequest listPartsRequest) {
+        final Map<String, String> queryParams = new HashMap<>();
+
+        queryParams.put("uploadId", StringUtils.trim(listPartsRequest.getUploadId()));
+        if (listPartsRequest.getMaxParts() != null) {
+            queryParams.put("max-parts", StringUtils.trim(listPartsRequest.getMaxParts().toString()));
+        }
+        if (listPartsRequest.getPartNumberMarker() != null) {
+            queryParams.put("part-number-marker", StringUtils.trim(listPartsRequest.getPartNumberMarker().toString()));
+        }
+
+        return queryParams;
+    }
+
     private S3ClientRequest createCopyRequest(String sourceBucket,
                                               String sourceKey,
                                               String destinationBucket,
-                                              String destinationKey,
-                                              CopyObjectRequest copyObjectRequest,
-                                              Handler<HttpClientResponse> handler) {
-        final HttpClientRequest httpRequest = client.put("/" + destinationBucket + "/" + destinationKey, handler);
-        final S3ClientRequest s3ClientRequest = new S3ClientRequest(
-                "PUT",
-                awsRegion,
-                awsServiceName,
-                httpRequest,
-                awsAccessKey,
-                awsSecretKey,
-                clock,
-                signPayload
-        )
-                .setTimeout(globalTimeout)
-                .putHeader(Headers.HOST, hostname);
+                                              String destinationKey,
+                                              CopyObjectRequest copyObjectRequest,
+                                              Handler<HttpClientResponse> handler) {
+        final RequestTarget target = requestTarget("copyObject", destinationBucket);
+        final HttpClientRequest httpRequest = target.client.put(target.bucketPath + "/" + destinationKey);
+        final S3ClientRequest s3ClientRequest = newRequest("copyObject", target, "PUT", httpRequest)
+                .handler(handler);
 
         s3ClientRequest.putHeader(Headers.X_AMZ_COPY_SOURCE, "/" + sourceBucket + "/" + sourceKey);
         s3ClientRequest.headers().addAll(populateCopyObjectHeaders(copyObjectRequest));
@@ -968,23 +1622,62 @@ public class S3Client {
         return headers;
     }
 
+    private S3ClientRequest createUploadPartCopyRequest(String sourceBucket,
+                                                        String sourceKey,
+                                                        String destinationBucket,
+                                                        String destinationKey,
+                                                        UploadPartCopyRequest uploadPartCopyRequest,
+                                                        Handler<HttpClientResponse> handler) {
+        final RequestTarget target = requestTarget("uploadPartCopy", destinationBucket);
+        final HttpClientRequest httpRequest = target.client.put(UrlEncodingUtils.addParamsSortedToUrl(target.bucketPath + "/" + destinationKey, populateUploadPartCopyQueryParams(uploadPartCopyRequest)));
+        final S3ClientRequest s3ClientRequest = newRequest("uploadPartCopy", target, "PUT", httpRequest)
+                .handler(handler);
+
+        s3ClientRequest.putHeader(Headers.X_AMZ_COPY_SOURCE, "/" + sourceBucket + "/" + sourceKey);
+        s3ClientRequest.headers().addAll(populateUploadPartCopyHeaders(uploadPartCopyRequest));
+        return s3ClientRequest;
+    }
+
+    private Map<String, String> populateUploadPartCopyQueryParams(UploadPartCopyRequest uploadPartCopyRequest) {
+        final Map<String, String> queryParams = new HashMap<>();
+
+        queryParams.put("partNumber", uploadPartCopyRequest.getPartNumber().toString());
+        queryParams.put("uploadId", StringUtils.trim(uploadPartCopyRequest.getUploadId()));
+
+        return queryParams;
+    }
+
+    private MultiMap populateUploadPartCopyHeaders(UploadPartCopyRequest uploadPartCopyRequest) {
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+
+        if (uploadPartCopyRequest.getFirstByte() != null && uploadPartCopyRequest.getLastByte() != null) {
+            headers.add(Headers.X_AMZ_COPY_SOURCE_RANGE, "bytes=" + uploadPartCopyRequest.getFirstByte() + "-" + uploadPartCopyRequest.getLastByte());
+        }
+        if (StringUtils.trimToNull(uploadPartCopyRequest.getAmzCopySourceIfMatch()) != null) {
+            headers.add(Headers.X_AMZ_COPY_SOURCE_IF_MATCH, StringUtils.trim(uploadPartCopyRequest.getAmzCopySourceIfMatch()));
+        }
+        if (StringUtils.trimToNull(uploadPartCopyRequest.getAmzCopySourceIfNoneMatch()) != null) {
+            headers.add(Headers.X_AMZ_COPY_SOURCE_IF_NONE_MATCH, StringUtils.trim(uploadPartCopyRequest.getAmzCopySourceIfNoneMatch()));
+        }
+        if (StringUtils.trimToNull(uploadPartCopyRequest.getAmzCopySourceIfUnmodifiedSince()) != null) {
+            headers.add(Headers.X_AMZ_COPY_SOURCE_IF_UNMODIFIED_SINCE, StringUtils.trim(uploadPartCopyRequest.getAmzCopySourceIfUnmodifiedSince()));
+        }
+        if (StringUtils.trimToNull(uploadPartCopyRequest.getAmzCopySourceIfModifiedSince()) != null) {
+            headers.add(Headers.X_AMZ_COPY_SOURCE_IF_MODIFIED_SINCE, StringUtils.trim(uploadPartCopyRequest.getAmzCopySourceIfModifiedSince()));
+        }
+
+        return headers;
+    }
+
     private S3ClientRequest createGetRequest(String bucket,
                                              String key,
                                              GetObjectRequest getObjectRequest,
                                              Handler<HttpClientResponse> handler) {
-        final HttpClientRequest httpRequest = client.get(UrlEncodingUtils.addParamsSortedToUrl("/" + bucket + "/" + key, populateGetObjectQueryParams(getObjectRequest)), handler);
-        final S3ClientRequest s3ClientRequest = new S3ClientRequest(
-                "GET",
-                awsRegion,
-                awsServiceName,
-                httpRequest,
-                awsAccessKey,
-                awsSecretKey,
-                clock,
-                signPayload
-        )
-                .setTimeout(globalTimeout)
-                .putHeader(Headers.HOST, hostname);
+        final RequestTarget target = requestTarget("getObject", bucket);
+        final HttpClientRequest httpRequest = target.client.get(UrlEncodingUtils.addParamsSortedToUrl(target.bucketPath + "/" + key, populateGetObjectQueryParams(getObjectRequest)));
+        final S3ClientRequest s3ClientRequest = newRequest("getObject", target, "GET", httpRequest)
+                .setDeadline(getObjectRequest.getDeadline())
+                .handler(handler);
 
         s3ClientRequest.headers().addAll(populateGetObjectHeaders(getObjectRequest));
         return s3ClientRequest;
@@ -1039,41 +1732,55 @@ public class S3Client {
 
     private S3ClientRequest createGetAclRequest(String bucket,
                                                 String key,
+                                                GetObjectAclRequest getObjectAclRequest,
+                                                Handler<HttpClientResponse> handler) {
+        final RequestTarget target = requestTarget("getObjectAcl", bucket);
+        final HttpClientRequest httpRequest = target.client.get(target.bucketPath + "/" + key + "?acl");
+        final S3ClientRequest s3ClientRequest = newRequest("getObjectAcl", target, "GET", httpRequest)
+                .setDeadline(getObjectAclRequest.getDeadline())
+                .handler(handler);
+
+        return s3ClientRequest;
+    }
+
+    private S3ClientRequest createWarmUpRequest(HttpClient httpClient,
+                                                String region,
+                                                String host,
+                                                String virtualHostedBucket,
+                                                String path,
+                                                Deadline deadline,
                                                 Handler<HttpClientResponse> handler) {
-        final HttpClientRequest httpRequest = client.get("/" + bucket + "/" + key + "?acl", handler);
-        final S3ClientRequest s3ClientRequest = new S3ClientRequest(
-                "GET",
-                awsRegion,
-                awsServiceName,
+        // Warm-up requests bypass the schedulers and limits, since all connections of a pool are requested at once
+        final HttpClientRequest httpRequest = httpClient.head(path);
+        return new S3ClientRequest(
+                "HEAD",
+                region,
+                transport.awsServiceName,
                 httpRequest,
                 awsAccessKey,
                 awsSecretKey,
-                clock,
-                signPayload
+                transport.clock,
+                transport.signPayload
         )
-                .setTimeout(globalTimeout)
-                .putHeader(Headers.HOST, hostname);
-
-        return s3ClientRequest;
+                .setTimeout(transport.globalTimeout)
+                .setCredentialsProvider(credentialsProvider)
+                .setSigningKeyCache(signingKeyCache)
+                .setNanoClock(transport.nanoClock)
+                .setVirtualHostedBucket(virtualHostedBucket)
+                .setDeadline(deadline)
+                .handler(handler)
+                .putHeader(Headers.HOST, host);
     }
 
     private S3ClientRequest createHeadRequest(String bucket,
                                               String key,
                                               HeadObjectRequest headObjectRequest,
                                               Handler<HttpClientResponse> handler) {
-        final HttpClientRequest httpRequest = client.head("/" + bucket + "/" + key, handler);
-        final S3ClientRequest s3ClientRequest = new S3ClientRequest(
-                "HEAD",
-                awsRegion,
-                awsServiceName,
-                httpRequest,
-                awsAccessKey,
-                awsSecretKey,
-                clock,
-                signPayload
-        )
-                .setTimeout(globalTimeout)
-                .putHeader(Headers.HOST, hostname);
+        final RequestTarget target = requestTarget("headObject", bucket);
+        final HttpClientRequest httpRequest = target.client.head(target.bucketPath + "/" + key);
+        final S3ClientRequest s3ClientRequest = newRequest("headObject", target, "HEAD", httpRequest)
+                .setDeadline(headObjectRequest.getDeadline())
+                .handler(handler);
 
         s3ClientRequest.headers().addAll(populateHeadObjectHeaders(headObjectRequest));
         return s3ClientRequest;
@@ -1104,19 +1811,11 @@ public class S3Client {
     private S3ClientRequest createGetBucketRequest(String bucket,
                                                    GetBucketRequest getBucketRequest,
                                                    Handler<HttpClientResponse> handler) {
-        final HttpClientRequest httpRequest = client.get(UrlEncodingUtils.addParamsSortedToUrl("/" + bucket, populateGetBucketQueryParams(getBucketRequest)), handler);
-        final S3ClientRequest s3ClientRequest = new S3ClientRequest(
-                "GET",
-                awsRegion,
-                awsServiceName,
-                httpRequest,
-                awsAccessKey,
-                awsSecretKey,
-                clock,
-                signPayload
-        )
-                .setTimeout(globalTimeout)
-                .putHeader(Headers.HOST, hostname);
+        final RequestTarget target = requestTarget("getBucket", bucket);
+        final HttpClientRequest httpRequest = target.client.get(UrlEncodingUtils.addParamsSortedToUrl(target.rootPath(), populateGetBucketQueryParams(getBucketRequest)));
+        final S3ClientRequest s3ClientRequest = newRequest("getBucket", target, "GET", httpRequest)
+                .setDeadline(getBucketRequest.getDeadline())
+                .handler(handler);
 
         return s3ClientRequest;
     }
@@ -1154,24 +1853,47 @@ public class S3Client {
                                                 String key,
                                                 DeleteObjectRequest deleteObjectRequest,
                                                 Handler<HttpClientResponse> handler) {
-        final HttpClientRequest httpRequest = client.delete("/" + bucket + "/" + key, handler);
-        final S3ClientRequest s3ClientRequest = new S3ClientRequest(
-                "DELETE",
-                awsRegion,
-                awsServiceName,
-                httpRequest,
-                awsAccessKey,
-                awsSecretKey,
-                clock,
-                signPayload
-        )
-                .setTimeout(globalTimeout)
-                .putHeader(Headers.HOST, hostname);
+        final RequestTarget target = requestTarget("deleteObject", bucket);
+        final HttpClientRequest httpRequest = target.client.delete(target.bucketPath + "/" + key);
+        final S3ClientRequest s3ClientRequest = newRequest("deleteObject", target, "DELETE", httpRequest)
+                .handler(handler);
 
         s3ClientRequest.headers().addAll(populateDeleteObjectHeaders(deleteObjectRequest));
         return s3ClientRequest;
     }
 
+    private S3ClientRequest createDeleteObjectsRequest(String bucket,
+                                                       DeleteObjectsRequest deleteObjectsRequest,
+                                                       Handler<HttpClientResponse> handler) {
+        final RequestTarget target = requestTarget("deleteObjects", bucket);
+        final HttpClientRequest httpRequest = target.client.post(target.rootPath() + "?delete");
+        final S3ClientRequest s3ClientRequest = newRequest("deleteObjects", target, "POST", httpRequest)
+                .handler(handler);
+
+        if (StringUtils.trimToNull(deleteObjectsRequest.getAmzMfa()) != null) {
+            s3ClientRequest.putHeader(Headers.X_AMZ_MFA, StringUtils.trim(deleteObjectsRequest.getAmzMfa()));
+        }
+        return s3ClientRequest;
+    }
+
+    private void endDeleteObjectsRequest(S3ClientRequest request,
+                                         DeleteObjectsRequest deleteObjectsRequest,
+                                         Handler<Throwable> exceptionHandler) {
+        request.exceptionHandler(exceptionHandler);
+
+        try {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            transport.jaxbMarshaller.get().marshal(deleteObjectsRequest, outputStream);
+            final byte[] body = outputStream.toByteArray();
+            request.putHeader(Headers.CONTENT_TYPE, "application/xml");
+            // Content-MD5 is mandatory for multi object deletes
+            request.putHeader(Headers.CONTENT_MD5, BaseEncoding.base64().encode(Hashing.md5().hashBytes(body).asBytes()));
+            request.end(Buffer.buffer(body));
+        } catch (JAXBException e) {
+            exceptionHandler.handle(e);
+        }
+    }
+
     private MultiMap populateDeleteObjectHeaders(DeleteObjectRequest deleteObjectRequest) {
         final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
 
@@ -1182,15 +1904,15 @@ public class S3Client {
         return headers;
     }
 
-    private static class StreamResponseHandler<H extends CommonResponseHeaders> implements Handler<HttpClientResponse> {
+    private class StreamResponseHandler<H extends CommonResponseHeaders> implements Handler<HttpClientResponse> {
 
         private final String action;
-        private final Unmarshaller jaxbUnmarshaller;
+        private final ThreadLocal<Unmarshaller> jaxbUnmarshaller;
         private final ResponseHeaderMapper<H> responseHeaderMapper;
         private final Handler<ResponseWithBody<H, HttpClientResponse>> successHandler;
         private final Handler<Throwable> exceptionHandler;
 
-        private StreamResponseHandler(String action, Unmarshaller jaxbUnmarshaller, ResponseHeaderMapper<H> responseHeaderMapper, Handler<ResponseWithBody<H, HttpClientResponse>> successHandler, Handler<Throwable> exceptionHandler) {
+        private StreamResponseHandler(String action, ThreadLocal<Unmarshaller> jaxbUnmarshaller, ResponseHeaderMapper<H> responseHeaderMapper, Handler<ResponseWithBody<H, HttpClientResponse>> successHandler, Handler<Throwable> exceptionHandler) {
             this.action = action;
             this.jaxbUnmarshaller = jaxbUnmarshaller;
             this.responseHeaderMapper = responseHeaderMapper;
@@ -1204,13 +1926,14 @@ public class S3Client {
                 response.bodyHandler(buffer -> {
                     try {
                         log.warn("Error occurred. Status: {}, Message: {}", response.statusCode(), response.statusMessage());
+                        onErrorResponse(response);
                         logInfoResponse(buffer);
 
                         exceptionHandler.handle(
                                 new HttpErrorException(
                                         response.statusCode(),
                                         response.statusMessage(),
-                                        (ErrorResponse) jaxbUnmarshaller.unmarshal(convertToSaxSource(buffer.getBytes())),
+                                        (ErrorResponse) jaxbUnmarshaller.get().unmarshal(convertToSaxSource(buffer.getBytes())),
                                         "Error occurred during on '" + action + "'"
                                 )
                         );
@@ -1225,15 +1948,15 @@ public class S3Client {
         }
     }
 
-    private static class XmlBodyResponseHandler<H extends CommonResponseHeaders, B> implements Handler<HttpClientResponse> {
+    private class XmlBodyResponseHandler<H extends CommonResponseHeaders, B> implements Handler<HttpClientResponse> {
 
         private final String action;
-        private final Unmarshaller jaxbUnmarshaller;
+        private final ThreadLocal<Unmarshaller> jaxbUnmarshaller;
         private final ResponseHeaderMapper<H> responseHeaderMapper;
         private final Handler<Response<H, B>> successHandler;
         private final Handler<Throwable> exceptionHandler;
 
-        private XmlBodyResponseHandler(String action, Unmarshaller jaxbUnmarshaller, ResponseHeaderMapper<H> responseHeaderMapper, Handler<Response<H, B>> successHandler, Handler<Throwable> exceptionHandler) {
+        private XmlBodyResponseHandler(String action, ThreadLocal<Unmarshaller> jaxbUnmarshaller, ResponseHeaderMapper<H> responseHeaderMapper, Handler<Response<H, B>> successHandler, Handler<Throwable> exceptionHandler) {
             this.action = action;
             this.jaxbUnmarshaller = jaxbUnmarshaller;
             this.responseHeaderMapper = responseHeaderMapper;
@@ -1247,20 +1970,21 @@ public class S3Client {
                 try {
                     if (event.statusCode() / 100 != 2) {
                         log.warn("Error occurred. Status: {}, Message: {}", event.statusCode(), event.statusMessage());
+                        onErrorResponse(event);
                         logInfoResponse(buffer);
 
                         exceptionHandler.handle(
                                 new HttpErrorException(
                                         event.statusCode(),
                                         event.statusMessage(),
-                                        (ErrorResponse) jaxbUnmarshaller.unmarshal(convertToSaxSource(buffer.getBytes())),
+                                        (ErrorResponse) jaxbUnmarshaller.get().unmarshal(convertToSaxSource(buffer.getBytes())),
                                         "Error occurred on '" + action + "'"
                                 )
                         );
                     } else {
                         log.info("Request successful. Status: {}, Message: {}", event.statusCode(), event.statusMessage());
                         logDebugResponse(buffer);
-                        successHandler.handle(new ResponseWithBody<>(responseHeaderMapper.map(event.headers()), (B) jaxbUnmarshaller.unmarshal(convertToSaxSource(buffer.getBytes()))));
+                        successHandler.handle(new ResponseWithBody<>(responseHeaderMapper.map(event.headers()), (B) jaxbUnmarshaller.get().unmarshal(convertToSaxSource(buffer.getBytes()))));
                     }
                 } catch (UnmarshalException e) {
                     final String response = new String(buffer.getBytes(), Charsets.UTF_8);
@@ -1277,16 +2001,16 @@ public class S3Client {
         }
     }
 
-    private static class HeadersResponseHandler<H extends CommonResponseHeaders> implements Handler<HttpClientResponse> {
+    private class HeadersResponseHandler<H extends CommonResponseHeaders> implements Handler<HttpClientResponse> {
 
         private final String action;
-        private final Unmarshaller jaxbUnmarshaller;
+        private final ThreadLocal<Unmarshaller> jaxbUnmarshaller;
         private final ResponseHeaderMapper<H> responseHeaderMapper;
         private final Handler<Response<H, Void>> successHandler;
         private final Handler<Throwable> exceptionHandler;
         private final boolean headOnly;
 
-        private HeadersResponseHandler(String action, Unmarshaller jaxbUnmarshaller, ResponseHeaderMapper<H> responseHeaderMapper, Handler<Response<H, Void>> successHandler, Handler<Throwable> exceptionHandler, boolean headOnly) {
+        private HeadersResponseHandler(String action, ThreadLocal<Unmarshaller> jaxbUnmarshaller, ResponseHeaderMapper<H> responseHeaderMapper, Handler<Response<H, Void>> successHandler, Handler<Throwable> exceptionHandler, boolean headOnly) {
             this.action = action;
             this.jaxbUnmarshaller = jaxbUnmarshaller;
             this.responseHeaderMapper = responseHeaderMapper;
@@ -1301,13 +2025,14 @@ public class S3Client {
                 try {
                     if (event.statusCode() / 100 != 2) {
                         log.warn("Error occurred. Status: {}, Message: {}", event.statusCode(), event.statusMessage());
+                        onErrorResponse(event);
                         logInfoResponse(buffer);
 
                         final ErrorResponse errorResponse;
                         if (headOnly) {
                             errorResponse = null;
                         } else {
-                            errorResponse = (ErrorResponse) jaxbUnmarshaller.unmarshal(convertToSaxSource(buffer.getBytes()));
+                            errorResponse = (ErrorResponse) jaxbUnmarshaller.get().unmarshal(convertToSaxSource(buffer.getBytes()));
                         }
 
                         exceptionHandler.handle(
@@ -1332,6 +2057,191 @@ public class S3Client {
         }
     }
 
+    /**
+     * Sends a request which can be repeated safely. Each attempt has to create and send a new request and report
+     * its result to the given handlers.
+     */
+    private <T> void withRetries(String operation,
+                                 Handler<T> handler,
+                                 Handler<Throwable> exceptionHandler,
+                                 BiConsumer<Handler<T>, Handler<Throwable>> attempt) {
+        if ((transport.maxRetries == null || transport.maxRetries == 0) && !transport.bucketRegionDiscovery) {
+            // Requests fill the budget even if the client doesn't retry, since callers may charge their own retries to it
+            transport.retryBudget.onRequest();
+            attempt.accept(handler, exceptionHandler);
+            return;
+        }
+
+        new RetryingRequest<>(operation, handler, exceptionHandler, attempt).start();
+    }
+
+    /**
+     * Sends a read request which might be sent a second time if it takes longer than usual. The second copy goes to the
+     * replica of the target if there is one. Each copy has to create and send a new request to the given target, report
+     * its result to the given handlers and return the request so that it can be reset.
+     */
+    private <T> void withHedging(String operation,
+                                 ReadTarget target,
+                                 Handler<T> handler,
+                                 Handler<Throwable> exceptionHandler,
+                                 HedgedRequest.ReadCopy<T> copy) {
+        if (transport.hedgingPercentile == null) {
+            copy.send(target, handler, exceptionHandler);
+            return;
+        }
+
+        new HedgedRequest<>(this, operation, target, handler, exceptionHandler, copy).start();
+    }
+
+    /**
+     * Sends a read to the target bucket and, if the bucket has a replica, sends it again to the replica once it failed
+     * with a transient error or an open circuit breaker. Each read has to create and send a new request to the given target.
+     */
+    private <T> void withReadReplica(String bucket,
+                                     Handler<T> handler,
+                                     Handler<Throwable> exceptionHandler,
+                                     ReadFailover.ReadAttempt<T> read) {
+        final String replicaBucket = transport.readReplicaBuckets.get(bucket);
+        if (replicaBucket == null) {
+            read.send(new ReadTarget(this, bucket, null), handler, exceptionHandler);
+            return;
+        }
+
+        new ReadFailover<>(new ReadTarget(this, bucket, new ReadTarget(readReplica, replicaBucket, null)), handler, exceptionHandler, read).start();
+    }
+
+    LatencyTracker hedgingLatencyTracker(ReadTarget readTarget, String operation) {
+        // Keyed like the circuit breakers, so the response times of one host don't set the hedging delay of another
+        return transport.hedgingLatencyTrackers.computeIfAbsent(
+                readTarget.s3Client.targetHostname(readTarget.bucket) + " " + operation,
+                key -> new LatencyTracker(HEDGING_LATENCY_WINDOW)
+        );
+    }
+
+    private CircuitBreaker circuitBreaker(RequestTarget target, String operation) {
+        if (transport.circuitBreakerFailureRateThreshold == null) {
+            return null;
+        }
+
+        // Regional and bucket hostnames get their own breakers, so a failing region doesn't open the breaker of the others
+        return transport.circuitBreakers.computeIfAbsent(target.hostname + " " + operation, key -> new CircuitBreaker(
+                transport.circuitBreakerFailureRateThreshold,
+                transport.circuitBreakerSlowCallThresholdMs,
+                transport.circuitBreakerWindowSize,
+                transport.circuitBreakerOpenDurationMs,
+                transport.circuitBreakerHalfOpenProbes
+        ));
+    }
+
+    private int selectEndpoint() {
+        return transport.loadBalancer != null ? transport.loadBalancer.select(transport.nanoClock.getAsLong()) : 0;
+    }
+
+    private RequestTarget requestTarget(String operation, String bucket) {
+        final String bucketRegion = transport.bucketRegions.getOrDefault(bucket, awsRegion);
+        // With a hostname override the endpoint serves all regions and only the signature changes
+        final boolean regional = !bucketRegion.equals(transport.hostnameRegion) && !transport.hostnameOverridden;
+        // Buckets with dots don't match the wildcard certificate of the virtual hosted style hostnames
+        if (transport.virtualHostedStyle && !bucket.contains(".")) {
+            final String bucketHostname = bucket + "." + (regional ? getRegionalHostname(bucketRegion) : transport.hostname);
+            transport.bucketsByHostname.putIfAbsent(bucketHostname, bucket);
+            if (transport.endpointsConfigured && !regional) {
+                final int endpoint = selectEndpoint();
+                return new RequestTarget(trafficClassClient(operation, endpoint), bucketRegion, bucketHostname, bucket, true, transport.loadBalancer, endpoint);
+            }
+            return new RequestTarget(bucketClient(transport.operationTrafficClasses.get(operation), bucket, bucketHostname), bucketRegion, bucketHostname, bucket, true, null, 0);
+        }
+
+        if (!regional) {
+            final int endpoint = selectEndpoint();
+            return new RequestTarget(trafficClassClient(operation, endpoint), bucketRegion, transport.hostname, bucket, false, transport.loadBalancer, endpoint);
+        }
+
+        final EventLoopHttpClients regionalClient = transport.regionalClients.computeIfAbsent(bucketRegion, region -> {
+            final S3ClientOptions regionalHttpClientOptions = new S3ClientOptions(transport.httpClientOptions);
+            regionalHttpClientOptions.setDefaultHost(getRegionalHostname(region));
+            return new EventLoopHttpClients(transport.vertx, regionalHttpClientOptions, transport.httpClientOptions.isHttpClientPerEventLoop());
+        });
+        return new RequestTarget(regionalClient.get(), bucketRegion, getRegionalHostname(bucketRegion), bucket, false, null, 0);
+    }
+
+    /**
+     * The hostname {@link #requestTarget} sends the requests of the bucket to.
+     */
+    private String targetHostname(String bucket) {
+        final String bucketRegion = transport.bucketRegions.getOrDefault(bucket, awsRegion);
+        final boolean regional = !bucketRegion.equals(transport.hostnameRegion) && !transport.hostnameOverridden;
+        final String regionHostname = regional ? getRegionalHostname(bucketRegion) : transport.hostname;
+        return transport.virtualHostedStyle && !bucket.contains(".") ? bucket + "." + regionHostname : regionHostname;
+    }
+
+    /**
+     * Whether {@link #requestTarget} sends the requests of the bucket through the pools of the bucket instead of the ones
+     * of the client.
+     */
+    private boolean usesBucketPools(String bucket) {
+        final String bucketRegion = transport.bucketRegions.getOrDefault(bucket, awsRegion);
+        final boolean regional = !bucketRegion.equals(transport.hostnameRegion) && !transport.hostnameOverridden;
+        return transport.virtualHostedStyle && !bucket.contains(".") && (!transport.endpointsConfigured || regional);
+    }
+
+    private HttpClient bucketClient(String trafficClassName, String bucket, String bucketHostname) {
+        // Every bucket gets its own pool per traffic class, so a busy bucket can't take the connections of the others
+        final Transport.TrafficClass trafficClass = trafficClassName != null ? transport.trafficClasses.get(trafficClassName) : null;
+        final String key = trafficClass != null ? bucketHostname + "/" + trafficClassName : bucketHostname;
+        return transport.bucketClients.computeIfAbsent(key, hostAndTrafficClass -> {
+            final S3ClientOptions bucketHttpClientOptions = new S3ClientOptions(transport.httpClientOptions);
+            bucketHttpClientOptions.setDefaultHost(bucketHostname);
+            bucketHttpClientOptions.setMaxPoolSize(transport.bucketMaxPoolSizes.getOrDefault(bucket, trafficClass != null ? trafficClass.maxPoolSize : transport.maxPoolSize));
+            if (trafficClass != null && trafficClass.connectTimeoutMs != null) {
+                bucketHttpClientOptions.setConnectTimeout(trafficClass.connectTimeoutMs);
+            }
+            return new EventLoopHttpClients(transport.vertx, bucketHttpClientOptions, transport.httpClientOptions.isHttpClientPerEventLoop());
+        }).get();
+    }
+
+    static String getRegionalHostname(String region) {
+        return DEFAULT_REGION.equals(region) ? DEFAULT_ENDPOINT : MessageFormat.format(ENDPOINT_PATTERN, region);
+    }
+
+    private HttpClient trafficClassClient(String operation, int endpoint) {
+        final Transport.TrafficClass trafficClass = getTrafficClass(operation);
+        return trafficClass != null ? trafficClass.clients.get(endpoint).get() : transport.clients.get(endpoint).get();
+    }
+
+    private RequestScheduler trafficClassScheduler(String operation) {
+        final Transport.TrafficClass trafficClass = getTrafficClass(operation);
+        return trafficClass != null ? trafficClass.scheduler : transport.defaultScheduler;
+    }
+
+    private Transport.TrafficClass getTrafficClass(String operation) {
+        final String trafficClass = transport.operationTrafficClasses.get(operation);
+        return trafficClass != null ? transport.trafficClasses.get(trafficClass) : null;
+    }
+
+    private void onErrorResponse(HttpClientResponse response) {
+        // S3 answers with 503 SlowDown if the request rate of a prefix is too high
+        if (transport.rateLimiter != null && response.statusCode() == 503) {
+            transport.rateLimiter.onSlowDown(response.request().method().name(), resourcePath(response.request()));
+        }
+
+        // Requests for a bucket in another region are answered with its region
+        final String bucketRegion = response.getHeader(Headers.X_AMZ_BUCKET_REGION);
+        if (transport.bucketRegionDiscovery && bucketRegion != null) {
+            final String bucket = StringUtils.substringBefore(StringUtils.removeStart(resourcePath(response.request()), "/"), "/");
+            if (!bucket.isEmpty() && !bucketRegion.equals(transport.bucketRegions.put(bucket, bucketRegion))) {
+                log.info("Bucket {} is located in region {}", bucket, bucketRegion);
+            }
+        }
+    }
+
+    private String resourcePath(HttpClientRequest request) {
+        // The bucket of virtual hosted style requests is in the host header instead of the path
+        final String host = request.headers().get(Headers.HOST);
+        final String bucket = host != null ? transport.bucketsByHostname.get(host) : null;
+        return bucket != null ? "/" + bucket + request.path() : request.path();
+    }
+
     private class GetResponseHeadersMapper implements ResponseHeaderMapper<GetObjectResponseHeaders> {
 
         @Override
@@ -1351,6 +2261,7 @@ public class S3Client {
         getResponseHeaders.setAmzStorageClass(Optional.ofNullable(headers.get(Headers.X_AMZ_STORAGE_CLASS)).filter(StringUtils::isNotBlank).map(StorageClass::fromString).orElse(null));
         getResponseHeaders.setAmzTaggingCount(Optional.ofNullable(headers.get(Headers.X_AMZ_TAGGING_COUNT)).filter(StringUtils::isNotBlank).map(Integer::valueOf).orElse(null));
         getResponseHeaders.setAmzWebsiteRedirectLocation(Optional.ofNullable(headers.get(Headers.X_AMZ_WEBSITE_REDIRECT_LOCATION)).filter(StringUtils::isNotBlank).orElse(null));
+        getResponseHeaders.setContentRange(Optional.ofNullable(headers.get(Headers.CONTENT_RANGE)).filter(StringUtils::isNotBlank).orElse(null));
 
         final MultiMap amzMeta = MultiMap.caseInsensitiveMultiMap();
         StreamSupport.stream(headers.spliterator(), true).filter(header -> header.getKey().toLowerCase().startsWith(Headers.X_AMZ_META_PREFIX)).forEach(header -> amzMeta.add(header.getKey().replaceFirst(Headers.X_AMZ_META_PREFIX, ""), header.getValue()));
@@ -1375,6 +2286,11 @@ public class S3Client {
         headResponseHeaders.setAmzReplicationStatus(Optional.ofNullable(headers.get(Headers.X_AMZ_REPLICATION_STATUS)).filter(StringUtils::isNotBlank).map(ReplicationStatus::valueOf).orElse(null));
         headResponseHeaders.setAmzRestore(Optional.ofNullable(headers.get(Headers.X_AMZ_RESTORE)).filter(StringUtils::isNotBlank).orElse(null));
         headResponseHeaders.setAmzStorageClass(Optional.ofNullable(headers.get(Headers.X_AMZ_STORAGE_CLASS)).filter(StringUtils::isNotBlank).map(StorageClass::fromString).orElse(null));
+        headResponseHeaders.setAmzWebsiteRedirectLocation(Optional.ofNullable(headers.get(Headers.X_AMZ_WEBSITE_REDIRECT_LOCATION)).filter(StringUtils::isNotBlank).orElse(null));
+        headResponseHeaders.setCacheControl(Optional.ofNullable(headers.get(Headers.CACHE_CONTROL)).filter(StringUtils::isNotBlank).orElse(null));
+        headResponseHeaders.setContentDisposition(Optional.ofNullable(headers.get(Headers.CONTENT_DISPOSITION)).filter(StringUtils::isNotBlank).orElse(null));
+        headResponseHeaders.setContentEncoding(Optional.ofNullable(headers.get(Headers.CONTENT_ENCODING)).filter(StringUtils::isNotBlank).orElse(null));
+        headResponseHeaders.setExpires(Optional.ofNullable(headers.get(Headers.EXPIRES)).filter(StringUtils::isNotBlank).orElse(null));
 
         final MultiMap amzMeta = MultiMap.caseInsensitiveMultiMap();
         StreamSupport.stream(headers.spliterator(), true).filter(header -> header.getKey().toLowerCase().startsWith(Headers.X_AMZ_META_PREFIX)).forEach(header -> amzMeta.add(header.getKey().replaceFirst(Headers.X_AMZ_META_PREFIX, ""), header.getValue()));
@@ -1492,57 +2408,421 @@ public class S3Client {
         commonResponseHeaders.setAmzVersionId(Optional.ofNullable(headers.get(Headers.X_AMZ_VERSION_ID)).filter(StringUtils::isNotBlank).orElse(null));
     }
 
-    private interface ResponseHeaderMapper<T extends CommonResponseHeaders> {
-        T map(MultiMap headers);
+    private class RetryingRequest<T> {
 
-    }
+        private final String operation;
+        private final Handler<T> handler;
+        private final Handler<Throwable> exceptionHandler;
+        private final BiConsumer<Handler<T>, Handler<Throwable>> attempt;
+
+        private int retries = 0;
+        private int currentAttempt = 0;
+        private boolean completed = false;
+        private boolean redirected = false;
+
+        private RetryingRequest(String operation,
+                                Handler<T> handler,
+                                Handler<Throwable> exceptionHandler,
+                                BiConsumer<Handler<T>, Handler<Throwable>> attempt) {
+            this.operation = operation;
+            this.handler = handler;
+            this.exceptionHandler = exceptionHandler;
+            this.attempt = attempt;
+        }
 
-    private JAXBContext createJAXBContext() {
-        try {
-            return JAXBContext.newInstance(
-                    Contents.class,
-                    CommonPrefixes.class,
-                    GetBucketRespone.class,
-                    CopyObjectResponse.class,
-                    InitMultipartUploadResponse.class,
-                    CompleteMultipartUploadRequest.class,
-                    CompleteMultipartUploadResponse.class,
-                    AccessControlPolicy.class,
-                    Grant.class,
-                    Grantee.class,
-                    Part.class,
-                    Owner.class,
-                    ErrorResponse.class
+        private void start() {
+            transport.retryBudget.onRequest();
+            send();
+        }
+
+        private void send() {
+            final int attemptNumber = currentAttempt;
+            attempt.accept(
+                    response -> {
+                        if (attemptNumber == currentAttempt && !completed) {
+                            completed = true;
+                            handler.handle(response);
+                        }
+                    },
+                    throwable -> {
+                        if (attemptNumber != currentAttempt) {
+                            // A late failure of an attempt which was already retried
+                            return;
+                        }
+                        if (completed) {
+                            exceptionHandler.handle(throwable);
+                            return;
+                        }
+
+                        // The region of the bucket was learned from the error response, so the request goes to the right region now
+                        if (transport.bucketRegionDiscovery && !redirected && TransientErrors.isWrongRegion(throwable)) {
+                            redirected = true;
+                            currentAttempt++;
+                            log.info("Request {} was sent to the wrong region. Sending it again", operation);
+                            send();
+                            return;
+                        }
+
+                        if (transport.maxRetries != null && retries < transport.maxRetries && TransientErrors.isTransient(throwable) && transport.retryBudget.tryAcquire(transport.nanoClock.getAsLong())) {
+                            final long delayMs = transport.retryBackoff.delayMs(retries);
+                            retries++;
+                            currentAttempt++;
+                            log.warn("Request {} failed. Retrying in {}ms (retry {} of {})", operation, delayMs, retries, transport.maxRetries, throwable);
+                            transport.vertx.setTimer(delayMs, timerId -> send());
+                        } else {
+                            completed = true;
+                            exceptionHandler.handle(throwable);
+                        }
+                    }
             );
-        } catch (Exception e) {
-            throw new RuntimeException(e);
         }
     }
 
+    private static class RequestTarget {
 
-    private Marshaller createJaxbMarshaller() {
-        try {
-            final JAXBContext jaxbContext = createJAXBContext();
-            final Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
+        private final HttpClient client;
+        private final String region;
+        private final String hostname;
+        private final String virtualHostedBucket;
+        private final String bucketPath;
+        private final LoadBalancer loadBalancer;
+        private final int endpoint;
 
-            // output pretty printed
-            jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        private RequestTarget(HttpClient client, String region, String hostname, String bucket, boolean virtualHosted, LoadBalancer loadBalancer, int endpoint) {
+            this.client = client;
+            this.region = region;
+            this.hostname = hostname;
+            this.virtualHostedBucket = virtualHosted ? bucket : null;
+            this.bucketPath = virtualHosted ? "" : "/" + bucket;
+            this.loadBalancer = loadBalancer;
+            this.endpoint = endpoint;
+        }
 
-            return jaxbMarshaller;
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        private String rootPath() {
+            return bucketPath.isEmpty() ? "/" : bucketPath;
         }
     }
 
-    private Unmarshaller createJaxbUnmarshaller() {
-        try {
-            final JAXBContext jaxbContext = createJAXBContext();
-            return jaxbContext.createUnmarshaller();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+    private class WarmUp {
+
+        private final Deadline deadline;
+        private final Handler<Void> handler;
+        private final Handler<Throwable> exceptionHandler;
+
+        private int requestsInFlight = 0;
+        private boolean failed = false;
+
+        private WarmUp(Deadline deadline, Handler<Void> handler, Handler<Throwable> exceptionHandler) {
+            this.deadline = deadline;
+            this.handler = handler;
+            this.exceptionHandler = exceptionHandler;
+        }
+
+        private void start() {
+            final Map<HttpClient, Integer> connections = new LinkedHashMap<>();
+            if (transport.warmUpBucket != null && usesBucketPools(transport.warmUpBucket)) {
+                // The requests of the bucket never use the pools of the client, but the ones of the bucket
+                final String bucketHostname = targetHostname(transport.warmUpBucket);
+                transport.bucketsByHostname.putIfAbsent(bucketHostname, transport.warmUpBucket);
+                connections.put(bucketClient(null, transport.warmUpBucket, bucketHostname), getConnections(transport.bucketMaxPoolSizes.getOrDefault(transport.warmUpBucket, transport.maxPoolSize)));
+                transport.trafficClasses.forEach((trafficClassName, trafficClass) -> connections.put(
+                        bucketClient(trafficClassName, transport.warmUpBucket, bucketHostname),
+                        getConnections(transport.bucketMaxPoolSizes.getOrDefault(transport.warmUpBucket, trafficClass.maxPoolSize))
+                ));
+            } else {
+                transport.clients.forEach(endpointClients -> connections.put(endpointClients.get(), getConnections(transport.maxPoolSize)));
+                transport.trafficClasses.values().forEach(trafficClass -> trafficClass.clients.forEach(endpointClients -> connections.put(endpointClients.get(), getConnections(trafficClass.maxPoolSize))));
+            }
+
+            // All requests of a pool are sent at once, so every one of them needs its own connection
+            requestsInFlight = connections.values().stream().mapToInt(Integer::intValue).sum();
+            connections.forEach((httpClient, count) -> {
+                for (int i = 0; i < count; i++) {
+                    send(httpClient);
+                }
+            });
+        }
+
+        private int getConnections(int poolSize) {
+            return transport.warmUpConnections != null ? Math.min(transport.warmUpConnections, poolSize) : poolSize;
+        }
+
+        private void send(HttpClient httpClient) {
+            final S3ClientRequest request;
+            if (transport.warmUpBucket != null) {
+                // A HEAD on the bucket also validates the credentials. It's sent like the other requests of the bucket.
+                final boolean virtualHosted = transport.virtualHostedStyle && !transport.warmUpBucket.contains(".");
+                request = createWarmUpRequest(
+                        httpClient,
+                        virtualHosted ? transport.bucketRegions.getOrDefault(transport.warmUpBucket, awsRegion) : transport.hostnameRegion,
+                        virtualHosted ? targetHostname(transport.warmUpBucket) : transport.hostname,
+                        virtualHosted ? transport.warmUpBucket : null,
+                        virtualHosted ? "/" : "/" + transport.warmUpBucket,
+                        deadline,
+                        new HeadersResponseHandler<>("warmUp", transport.jaxbUnmarshaller, new CommonResponseHeadersMapper(), response -> done(null), this::done, true)
+                );
+            } else {
+                // Any answer of the endpoint means the connection is established
+                request = createWarmUpRequest(httpClient, transport.hostnameRegion, transport.hostname, null, "/", deadline, response -> response.bodyHandler(buffer -> done(null)));
+            }
+            request.exceptionHandler(this::done);
+            request.end();
+        }
+
+        private void done(Throwable cause) {
+            if (failed) {
+                return;
+            }
+            if (cause != null) {
+                failed = true;
+                exceptionHandler.handle(cause);
+                return;
+            }
+
+            requestsInFlight--;
+            if (requestsInFlight == 0) {
+                log.info("Warmed up the connection pools of {}", transport.hostname);
+                handler.handle(null);
+            }
+        }
+    }
+
+    private class AdaptiveUpload {
+
+        private final String bucket;
+        private final String key;
+        private final AdaptiveUploadRequest adaptiveUploadRequest;
+        private final ReadStream<Buffer> readStream;
+        private final Handler<Response<CommonResponseHeaders, Void>> handler;
+        private final Handler<Throwable> exceptionHandler;
+
+        private final CompositeBufferBuilder pendingData = new CompositeBufferBuilder();
+        private boolean multipartUploadRequested = false;
+        private boolean ended = false;
+        private Response<InitMultipartUploadResponseHeaders, MultipartUploadWriteStream> multipartUpload;
+
+        private AdaptiveUpload(String bucket,
+                               String key,
+                               AdaptiveUploadRequest adaptiveUploadRequest,
+                               Handler<Response<CommonResponseHeaders, Void>> handler,
+                               Handler<Throwable> exceptionHandler) {
+            this.bucket = bucket;
+            this.key = key;
+            this.adaptiveUploadRequest = adaptiveUploadRequest;
+            this.readStream = adaptiveUploadRequest.getReadStream();
+            this.handler = handler;
+            this.exceptionHandler = exceptionHandler;
+        }
+
+        private void start() {
+            readStream.exceptionHandler(exceptionHandler);
+            readStream.endHandler(aVoid -> handleEnd());
+            readStream.handler(this::handleData);
+            readStream.resume();
+        }
+
+        private void handleData(Buffer data) {
+            if (multipartUpload != null) {
+                writeToMultipartUpload(data);
+                return;
+            }
+
+            pendingData.append(data);
+            if (!multipartUploadRequested && pendingData.length() >= FIVE_MB_IN_BYTES) {
+                // The decision is made once. Data arriving until the upload is initialized is kept by reference.
+                multipartUploadRequested = true;
+                readStream.pause();
+                initMultipartUpload(bucket, key, mapAdaptiveUploadRequestToInitMultipartUploadRequest(adaptiveUploadRequest),
+                        event -> {
+                            try {
+                                if (adaptiveUploadRequest.getWriteQueueMaxSize() != null) {
+                                    event.getData().setWriteQueueMaxSize(adaptiveUploadRequest.getWriteQueueMaxSize());
+                                }
+                                if (adaptiveUploadRequest.getBufferSize() != null) {
+                                    event.getData().bufferSize(adaptiveUploadRequest.getBufferSize());
+                                }
+                                if (adaptiveUploadRequest.getMaxRetries() != null) {
+                                    event.getData().maxRetries(adaptiveUploadRequest.getMaxRetries());
+                                }
+                                if (adaptiveUploadRequest.getConcurrencyController() != null) {
+                                    event.getData().concurrencyController(adaptiveUploadRequest.getConcurrencyController());
+                                }
+                                event.getData().exceptionHandler(exceptionHandler);
+                                event.getData().drainHandler(aVoid -> readStream.resume());
+                                multipartUpload = event;
+
+                                writeToMultipartUpload(pendingData.buildAndReset());
+                                if (ended) {
+                                    endMultipartUpload();
+                                } else if (!event.getData().writeQueueFull()) {
+                                    readStream.resume();
+                                }
+                            } catch (Throwable t) {
+                                exceptionHandler.handle(t);
+                            }
+                        },
+                        exceptionHandler
+                );
+            }
+        }
+
+        private void writeToMultipartUpload(Buffer data) {
+            multipartUpload.getData().write(data);
+            if (multipartUpload.getData().writeQueueFull()) {
+                readStream.pause();
+            }
+        }
+
+        private void handleEnd() {
+            ended = true;
+            if (multipartUpload != null) {
+                endMultipartUpload();
+            } else if (!multipartUploadRequested) {
+                putObject(bucket, key, mapAdaptiveUploadRequestToPutObjectRequest(pendingData.buildAndReset(), adaptiveUploadRequest), event -> handler.handle(new HeaderOnlyResponse(event.getHeader())), exceptionHandler);
+            }
+            // Otherwise the upload is ended as soon as the multipart upload was initialized
+        }
+
+        private void endMultipartUpload() {
+            multipartUpload.getData().end(endResponse -> handler.handle(new HeaderOnlyResponse(multipartUpload.getHeader())));
+        }
+    }
+
+    /**
+     * Collects single deletes per bucket and sends them as one multi object delete request once the window elapsed
+     * or the maximum number of keys per request was reached.
+     */
+    private class DeleteObjectCoalescer {
+
+        private final long windowMs;
+        private final Map<String, Map<String, List<PendingDelete>>> pendingDeletes = new HashMap<>();
+        private final Map<String, Long> flushTimers = new HashMap<>();
+
+        private DeleteObjectCoalescer(long windowMs) {
+            this.windowMs = windowMs;
+        }
+
+        private void delete(String bucket,
+                            String key,
+                            Handler<Response<CommonResponseHeaders, Void>> handler,
+                            Handler<Throwable> exceptionHandler) {
+            final boolean full;
+            synchronized (this) {
+                final Map<String, List<PendingDelete>> pendingKeys = pendingDeletes.computeIfAbsent(bucket, b -> new LinkedHashMap<>());
+                // Deletes of the same key are sent only once
+                pendingKeys.computeIfAbsent(key, k -> new ArrayList<>()).add(new PendingDelete(Vertx.currentContext(), handler, exceptionHandler));
+
+                full = pendingKeys.size() >= MAX_KEYS_PER_DELETE_REQUEST;
+                if (!full && !flushTimers.containsKey(bucket)) {
+                    flushTimers.put(bucket, transport.vertx.setTimer(windowMs, timerId -> flush(bucket)));
+                }
+            }
+            if (full) {
+                flush(bucket);
+            }
+        }
+
+        private void flush(String bucket) {
+            final Map<String, List<PendingDelete>> pendingKeys;
+            synchronized (this) {
+                final Long flushTimer = flushTimers.remove(bucket);
+                if (flushTimer != null) {
+                    transport.vertx.cancelTimer(flushTimer);
+                }
+                pendingKeys = pendingDeletes.remove(bucket);
+            }
+            if (pendingKeys == null) {
+                return;
+            }
+
+            deleteObjects(
+                    bucket,
+                    new DeleteObjectsRequest(pendingKeys.keySet()).withQuiet(true),
+                    response -> {
+                        // In quiet mode only the keys which couldn't be deleted are returned
+                        final Map<String, DeleteError> errors = new HashMap<>();
+                        for (DeleteError deleteError : response.getData().getErrors()) {
+                            errors.put(deleteError.getKey(), deleteError);
+                        }
+
+                        pendingKeys.forEach((key, deletes) -> {
+                            final DeleteError deleteError = errors.get(key);
+                            for (PendingDelete pendingDelete : deletes) {
+                                if (deleteError == null) {
+                                    pendingDelete.succeed(new HeaderOnlyResponse<>(response.getHeader()));
+                                } else {
+                                    pendingDelete.fail(toHttpErrorException(bucket, key, deleteError));
+                                }
+                            }
+                        });
+                    },
+                    throwable -> pendingKeys.values().forEach(deletes -> deletes.forEach(pendingDelete -> pendingDelete.fail(throwable)))
+            );
+        }
+    }
+
+    /**
+     * Reports a key which couldn't be deleted the same way as a failed single delete. The multi object delete response
+     * only contains the error code, so the status is derived from it where S3 documents a fixed one.
+     */
+    private static HttpErrorException toHttpErrorException(String bucket, String key, DeleteError deleteError) {
+        final Integer status;
+        if (deleteError.getCode() == ErrorCode.ACCESS_DENIED) {
+            status = 403;
+        } else if (deleteError.getCode() == ErrorCode.INTERNAL_ERROR) {
+            status = 500;
+        } else if (deleteError.getCode() == ErrorCode.SERVICE_UNAVAILABLE || deleteError.getCode() == ErrorCode.SLOW_DOWN) {
+            status = 503;
+        } else {
+            status = null;
+        }
+
+        return new HttpErrorException(
+                status,
+                null,
+                new ErrorResponse(deleteError.getCode(), deleteError.getMessage(), "/" + bucket + "/" + key),
+                "Error occurred during on 'deleteObject'"
+        );
+    }
+
+    /**
+     * A delete waiting for the coalesced request. The result is delivered on the context of the caller, since
+     * deletes from several event loops may end up in the same request.
+     */
+    private static class PendingDelete {
+
+        private final Context context;
+        private final Handler<Response<CommonResponseHeaders, Void>> handler;
+        private final Handler<Throwable> exceptionHandler;
+
+        private PendingDelete(Context context, Handler<Response<CommonResponseHeaders, Void>> handler, Handler<Throwable> exceptionHandler) {
+            this.context = context;
+            this.handler = handler;
+            this.exceptionHandler = exceptionHandler;
+        }
+
+        private void succeed(Response<CommonResponseHeaders, Void> response) {
+            runOnContext(aVoid -> handler.handle(response));
+        }
+
+        private void fail(Throwable throwable) {
+            runOnContext(aVoid -> exceptionHandler.handle(throwable));
+        }
+
+        private void runOnContext(Handler<Void> action) {
+            if (context == null || context == Vertx.currentContext()) {
+                action.handle(null);
+            } else {
+                context.runOnContext(action);
+            }
         }
     }
 
+    private interface ResponseHeaderMapper<T extends CommonResponseHeaders> {
+        T map(MultiMap headers);
+
+    }
+
     private static SAXSource convertToSaxSource(byte[] payload) throws SAXException {
         //Create an XMLReader to use with our filter
         final XMLReader reader = XMLReaderFactory.createXMLReader();
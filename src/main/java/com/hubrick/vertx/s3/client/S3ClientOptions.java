@@ -15,10 +15,12 @@
  */
 package com.hubrick.vertx.s3.client;
 
+import com.hubrick.vertx.s3.credentials.AwsCredentialsProvider;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.Http2Settings;
 import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.JdkSSLEngineOptions;
 import io.vertx.core.net.JksOptions;
@@ -31,7 +33,10 @@ import io.vertx.core.net.ProxyOptions;
 import io.vertx.core.net.SSLEngineOptions;
 import io.vertx.core.net.TrustOptions;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author marcus
@@ -39,6 +44,22 @@ import java.util.List;
  */
 public class S3ClientOptions extends HttpClientOptions {
 
+    public static final long DEFAULT_MULTIPART_COPY_PART_SIZE = 104857600L;
+    public static final int DEFAULT_MULTIPART_COPY_CONCURRENCY = 10;
+    public static final int DEFAULT_RATE_LIMIT_PREFIX_DEPTH = 1;
+    public static final long DEFAULT_RETRY_BASE_DELAY_MS = 100L;
+    public static final long DEFAULT_RETRY_MAX_DELAY_MS = 20000L;
+    public static final double DEFAULT_RETRY_BUDGET_RATIO = 0.1;
+    public static final int DEFAULT_RETRY_BUDGET_MIN_PER_SECOND = 10;
+    public static final double DEFAULT_HEDGING_MAX_RATIO = 0.05;
+    public static final long DEFAULT_HEDGING_MIN_DELAY_MS = 10L;
+    public static final int DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE = 20;
+    public static final long DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_MS = 5000L;
+    public static final int DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_PROBES = 1;
+    public static final int DEFAULT_ENDPOINT_EJECTION_FAILURES = 5;
+    public static final long DEFAULT_ENDPOINT_EJECTION_DURATION_MS = 30000L;
+    public static final long DEFAULT_EXPECT_CONTINUE_TIMEOUT_MS = 1000L;
+
     private boolean signPayload;
     private String awsAccessKey;
     private String awsSecretKey;
@@ -46,6 +67,44 @@ public class S3ClientOptions extends HttpClientOptions {
     private String awsServiceName;
     private Long globalTimeoutMs = 10000L;
     private String hostnameOverride;
+    private Long multipartCopyThreshold;
+    private Long multipartCopyPartSize = DEFAULT_MULTIPART_COPY_PART_SIZE;
+    private Integer multipartCopyConcurrency = DEFAULT_MULTIPART_COPY_CONCURRENCY;
+    private Long deleteCoalescingWindowMs;
+    private Integer maxReadsPerSecondPerPrefix;
+    private Integer maxWritesPerSecondPerPrefix;
+    private Integer rateLimitPrefixDepth = DEFAULT_RATE_LIMIT_PREFIX_DEPTH;
+    private Integer maxRetries;
+    private Long retryBaseDelayMs = DEFAULT_RETRY_BASE_DELAY_MS;
+    private Long retryMaxDelayMs = DEFAULT_RETRY_MAX_DELAY_MS;
+    private Double retryBudgetRatio = DEFAULT_RETRY_BUDGET_RATIO;
+    private Integer retryBudgetMinPerSecond = DEFAULT_RETRY_BUDGET_MIN_PER_SECOND;
+    private Double hedgingPercentile;
+    private Double hedgingMaxRatio = DEFAULT_HEDGING_MAX_RATIO;
+    private Long hedgingMinDelayMs = DEFAULT_HEDGING_MIN_DELAY_MS;
+    private Map<String, TrafficClassOptions> trafficClasses = new LinkedHashMap<>();
+    private Map<String, String> operationTrafficClasses = new LinkedHashMap<>();
+    private Double circuitBreakerFailureRateThreshold;
+    private Long circuitBreakerSlowCallThresholdMs;
+    private Integer circuitBreakerWindowSize = DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE;
+    private Long circuitBreakerOpenDurationMs = DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_MS;
+    private Integer circuitBreakerHalfOpenProbes = DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_PROBES;
+    private Map<String, TimeoutOptions> operationTimeouts = new LinkedHashMap<>();
+    private Integer maxRequestsInFlight;
+    private Integer warmUpConnections;
+    private String warmUpBucket;
+    private boolean httpClientPerEventLoop;
+    private List<String> endpoints = new ArrayList<>();
+    private Integer endpointEjectionFailures = DEFAULT_ENDPOINT_EJECTION_FAILURES;
+    private Long endpointEjectionDurationMs = DEFAULT_ENDPOINT_EJECTION_DURATION_MS;
+    private ReadReplicaOptions readReplica;
+    private boolean bucketRegionDiscovery;
+    private boolean virtualHostedStyle;
+    private Map<String, Integer> bucketMaxPoolSizes = new LinkedHashMap<>();
+    private boolean fairScheduling;
+    private AwsCredentialsProvider credentialsProvider;
+    private Long expectContinueThreshold;
+    private Long expectContinueTimeoutMs = DEFAULT_EXPECT_CONTINUE_TIMEOUT_MS;
 
     public S3ClientOptions() {
         super();
@@ -61,6 +120,44 @@ public class S3ClientOptions extends HttpClientOptions {
         setAwsServiceName(other.getAwsServiceName());
         setGlobalTimeoutMs(other.getGlobalTimeoutMs());
         setHostnameOverride(other.getHostnameOverride());
+        setMultipartCopyThreshold(other.getMultipartCopyThreshold());
+        setMultipartCopyPartSize(other.getMultipartCopyPartSize());
+        setMultipartCopyConcurrency(other.getMultipartCopyConcurrency());
+        setDeleteCoalescingWindowMs(other.getDeleteCoalescingWindowMs());
+        setMaxReadsPerSecondPerPrefix(other.getMaxReadsPerSecondPerPrefix());
+        setMaxWritesPerSecondPerPrefix(other.getMaxWritesPerSecondPerPrefix());
+        setRateLimitPrefixDepth(other.getRateLimitPrefixDepth());
+        setMaxRetries(other.getMaxRetries());
+        setRetryBaseDelayMs(other.getRetryBaseDelayMs());
+        setRetryMaxDelayMs(other.getRetryMaxDelayMs());
+        setRetryBudgetRatio(other.getRetryBudgetRatio());
+        setRetryBudgetMinPerSecond(other.getRetryBudgetMinPerSecond());
+        setHedgingPercentile(other.getHedgingPercentile());
+        setHedgingMaxRatio(other.getHedgingMaxRatio());
+        setHedgingMinDelayMs(other.getHedgingMinDelayMs());
+        other.getTrafficClasses().forEach((name, trafficClassOptions) -> addTrafficClass(name, new TrafficClassOptions(trafficClassOptions)));
+        setOperationTrafficClasses(other.getOperationTrafficClasses());
+        setCircuitBreakerFailureRateThreshold(other.getCircuitBreakerFailureRateThreshold());
+        setCircuitBreakerSlowCallThresholdMs(other.getCircuitBreakerSlowCallThresholdMs());
+        setCircuitBreakerWindowSize(other.getCircuitBreakerWindowSize());
+        setCircuitBreakerOpenDurationMs(other.getCircuitBreakerOpenDurationMs());
+        setCircuitBreakerHalfOpenProbes(other.getCircuitBreakerHalfOpenProbes());
+        other.getOperationTimeouts().forEach((operation, timeoutOptions) -> setOperationTimeouts(operation, new TimeoutOptions(timeoutOptions)));
+        setMaxRequestsInFlight(other.getMaxRequestsInFlight());
+        setWarmUpConnections(other.getWarmUpConnections());
+        setWarmUpBucket(other.getWarmUpBucket());
+        setHttpClientPerEventLoop(other.isHttpClientPerEventLoop());
+        other.getEndpoints().forEach(this::addEndpoint);
+        setEndpointEjectionFailures(other.getEndpointEjectionFailures());
+        setEndpointEjectionDurationMs(other.getEndpointEjectionDurationMs());
+        setReadReplica(other.getReadReplica() != null ? new ReadReplicaOptions(other.getReadReplica()) : null);
+        setBucketRegionDiscovery(other.isBucketRegionDiscovery());
+        setVirtualHostedStyle(other.isVirtualHostedStyle());
+        setBucketMaxPoolSizes(other.getBucketMaxPoolSizes());
+        setFairScheduling(other.isFairScheduling());
+        setCredentialsProvider(other.getCredentialsProvider());
+        setExpectContinueThreshold(other.getExpectContinueThreshold());
+        setExpectContinueTimeoutMs(other.getExpectContinueTimeoutMs());
     }
 
     public S3ClientOptions(final HttpClientOptions other) {
@@ -77,6 +174,43 @@ public class S3ClientOptions extends HttpClientOptions {
         setAwsServiceName(json.getString("awsServiceName"));
         setGlobalTimeoutMs(json.getLong("globalTimeoutMs"));
         setHostnameOverride(json.getString("hostnameOverride"));
+        setMultipartCopyThreshold(json.getLong("multipartCopyThreshold"));
+        setMultipartCopyPartSize(json.getLong("multipartCopyPartSize", DEFAULT_MULTIPART_COPY_PART_SIZE));
+        setMultipartCopyConcurrency(json.getInteger("multipartCopyConcurrency", DEFAULT_MULTIPART_COPY_CONCURRENCY));
+        setDeleteCoalescingWindowMs(json.getLong("deleteCoalescingWindowMs"));
+        setMaxReadsPerSecondPerPrefix(json.getInteger("maxReadsPerSecondPerPrefix"));
+        setMaxWritesPerSecondPerPrefix(json.getInteger("maxWritesPerSecondPerPrefix"));
+        setRateLimitPrefixDepth(json.getInteger("rateLimitPrefixDepth", DEFAULT_RATE_LIMIT_PREFIX_DEPTH));
+        setMaxRetries(json.getInteger("maxRetries"));
+        setRetryBaseDelayMs(json.getLong("retryBaseDelayMs", DEFAULT_RETRY_BASE_DELAY_MS));
+        setRetryMaxDelayMs(json.getLong("retryMaxDelayMs", DEFAULT_RETRY_MAX_DELAY_MS));
+        setRetryBudgetRatio(json.getDouble("retryBudgetRatio", DEFAULT_RETRY_BUDGET_RATIO));
+        setRetryBudgetMinPerSecond(json.getInteger("retryBudgetMinPerSecond", DEFAULT_RETRY_BUDGET_MIN_PER_SECOND));
+        setHedgingPercentile(json.getDouble("hedgingPercentile"));
+        setHedgingMaxRatio(json.getDouble("hedgingMaxRatio", DEFAULT_HEDGING_MAX_RATIO));
+        setHedgingMinDelayMs(json.getLong("hedgingMinDelayMs", DEFAULT_HEDGING_MIN_DELAY_MS));
+        json.getJsonObject("trafficClasses", new JsonObject()).forEach(entry -> addTrafficClass(entry.getKey(), new TrafficClassOptions((JsonObject) entry.getValue())));
+        json.getJsonObject("operationTrafficClasses", new JsonObject()).forEach(entry -> setOperationTrafficClass(entry.getKey(), (String) entry.getValue()));
+        setCircuitBreakerFailureRateThreshold(json.getDouble("circuitBreakerFailureRateThreshold"));
+        setCircuitBreakerSlowCallThresholdMs(json.getLong("circuitBreakerSlowCallThresholdMs"));
+        setCircuitBreakerWindowSize(json.getInteger("circuitBreakerWindowSize", DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE));
+        setCircuitBreakerOpenDurationMs(json.getLong("circuitBreakerOpenDurationMs", DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_MS));
+        setCircuitBreakerHalfOpenProbes(json.getInteger("circuitBreakerHalfOpenProbes", DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_PROBES));
+        json.getJsonObject("operationTimeouts", new JsonObject()).forEach(entry -> setOperationTimeouts(entry.getKey(), new TimeoutOptions((JsonObject) entry.getValue())));
+        setMaxRequestsInFlight(json.getInteger("maxRequestsInFlight"));
+        setWarmUpConnections(json.getInteger("warmUpConnections"));
+        setWarmUpBucket(json.getString("warmUpBucket"));
+        setHttpClientPerEventLoop(json.getBoolean("httpClientPerEventLoop", false));
+        json.getJsonArray("endpoints", new JsonArray()).forEach(endpoint -> addEndpoint((String) endpoint));
+        setEndpointEjectionFailures(json.getInteger("endpointEjectionFailures", DEFAULT_ENDPOINT_EJECTION_FAILURES));
+        setEndpointEjectionDurationMs(json.getLong("endpointEjectionDurationMs", DEFAULT_ENDPOINT_EJECTION_DURATION_MS));
+        setReadReplica(json.getJsonObject("readReplica") != null ? new ReadReplicaOptions(json.getJsonObject("readReplica")) : null);
+        setBucketRegionDiscovery(json.getBoolean("bucketRegionDiscovery", false));
+        setVirtualHostedStyle(json.getBoolean("virtualHostedStyle", false));
+        json.getJsonObject("bucketMaxPoolSizes", new JsonObject()).forEach(entry -> setBucketMaxPoolSize(entry.getKey(), ((Number) entry.getValue()).intValue()));
+        setFairScheduling(json.getBoolean("fairScheduling", false));
+        setExpectContinueThreshold(json.getLong("expectContinueThreshold"));
+        setExpectContinueTimeoutMs(json.getLong("expectContinueTimeoutMs", DEFAULT_EXPECT_CONTINUE_TIMEOUT_MS));
     }
 
     public boolean isSignPayload() {
@@ -106,6 +240,23 @@ public class S3ClientOptions extends HttpClientOptions {
         return this;
     }
 
+    public AwsCredentialsProvider getCredentialsProvider() {
+        return credentialsProvider;
+    }
+
+    /**
+     * Gets the credentials for every request from the provider instead of the access and secret key, so they can be
+     * rotated without recreating the client. Temporary credentials send their session token as x-amz-security-token.
+     * The provider can't be configured in JSON. Default is null.
+     *
+     * @param credentialsProvider The credentials provider
+     * @return This
+     */
+    public S3ClientOptions setCredentialsProvider(final AwsCredentialsProvider credentialsProvider) {
+        this.credentialsProvider = credentialsProvider;
+        return this;
+    }
+
     public String getAwsRegion() {
         return awsRegion;
     }
@@ -142,6 +293,607 @@ public class S3ClientOptions extends HttpClientOptions {
         return this;
     }
 
+    public Long getMultipartCopyThreshold() {
+        return multipartCopyThreshold;
+    }
+
+    /**
+     * Objects bigger than the threshold are copied with a multipart upload whose parts are copied in parallel on the server side.
+     * Requires an additional HEAD request for every copy. Null (default) disables multipart copies.
+     *
+     * @param multipartCopyThreshold The size in bytes
+     * @return This
+     */
+    public S3ClientOptions setMultipartCopyThreshold(final Long multipartCopyThreshold) {
+        this.multipartCopyThreshold = multipartCopyThreshold;
+        return this;
+    }
+
+    public Long getMultipartCopyPartSize() {
+        return multipartCopyPartSize;
+    }
+
+    public S3ClientOptions setMultipartCopyPartSize(final Long multipartCopyPartSize) {
+        this.multipartCopyPartSize = multipartCopyPartSize;
+        return this;
+    }
+
+    public Integer getMultipartCopyConcurrency() {
+        return multipartCopyConcurrency;
+    }
+
+    public S3ClientOptions setMultipartCopyConcurrency(final Integer multipartCopyConcurrency) {
+        this.multipartCopyConcurrency = multipartCopyConcurrency;
+        return this;
+    }
+
+    public Long getDeleteCoalescingWindowMs() {
+        return deleteCoalescingWindowMs;
+    }
+
+    /**
+     * Calls of {@code deleteObject} without MFA which arrive within the window are merged into one multi object delete request per bucket.
+     * Null (default) disables coalescing.
+     *
+     * @param deleteCoalescingWindowMs The window in ms
+     * @return This
+     */
+    public S3ClientOptions setDeleteCoalescingWindowMs(final Long deleteCoalescingWindowMs) {
+        this.deleteCoalescingWindowMs = deleteCoalescingWindowMs;
+        return this;
+    }
+
+    public Integer getMaxReadsPerSecondPerPrefix() {
+        return maxReadsPerSecondPerPrefix;
+    }
+
+    /**
+     * Paces GET and HEAD requests per prefix with a token bucket. Requests over the budget are queued and the rate is reduced
+     * on SlowDown responses. Null (default) disables the limit. S3 supports at least 5500 reads per second per prefix.
+     *
+     * @param maxReadsPerSecondPerPrefix The number of reads per second
+     * @return This
+     */
+    public S3ClientOptions setMaxReadsPerSecondPerPrefix(final Integer maxReadsPerSecondPerPrefix) {
+        this.maxReadsPerSecondPerPrefix = maxReadsPerSecondPerPrefix;
+        return this;
+    }
+
+    public Integer getMaxWritesPerSecondPerPrefix() {
+        return maxWritesPerSecondPerPrefix;
+    }
+
+    /**
+     * Paces PUT, POST and DELETE requests per prefix with a token bucket. Requests over the budget are queued and the rate is reduced
+     * on SlowDown responses. Null (default) disables the limit. S3 supports at least 3500 writes per second per prefix.
+     *
+     * @param maxWritesPerSecondPerPrefix The number of writes per second
+     * @return This
+     */
+    public S3ClientOptions setMaxWritesPerSecondPerPrefix(final Integer maxWritesPerSecondPerPrefix) {
+        this.maxWritesPerSecondPerPrefix = maxWritesPerSecondPerPrefix;
+        return this;
+    }
+
+    public Integer getRateLimitPrefixDepth() {
+        return rateLimitPrefixDepth;
+    }
+
+    /**
+     * The number of path segments of the key which form the prefix of the rate limit. 0 limits per bucket. Defaults to 1.
+     *
+     * @param rateLimitPrefixDepth The depth
+     * @return This
+     */
+    public S3ClientOptions setRateLimitPrefixDepth(final Integer rateLimitPrefixDepth) {
+        this.rateLimitPrefixDepth = rateLimitPrefixDepth;
+        return this;
+    }
+
+    public Integer getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * The number of times a failed request is sent again. Only idempotent requests with a replayable body are retried
+     * (GET, HEAD, PUT of buffers, DELETE, parts, copies and completing a multipart upload, but not initiating one)
+     * and only if the error is transient: 5xx, InternalError, ServiceUnavailable, SlowDown, RequestTimeout,
+     * connection problems and timeouts. Null (default) disables retries.
+     *
+     * @param maxRetries The maximum number of retries per request
+     * @return This
+     */
+    public S3ClientOptions setMaxRetries(final Integer maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    public Long getRetryBaseDelayMs() {
+        return retryBaseDelayMs;
+    }
+
+    /**
+     * The upper bound of the delay before the first retry. The bound doubles with every retry and the actual delay
+     * is a random value below it (full jitter). Defaults to 100ms.
+     *
+     * @param retryBaseDelayMs The base delay in ms
+     * @return This
+     */
+    public S3ClientOptions setRetryBaseDelayMs(final Long retryBaseDelayMs) {
+        this.retryBaseDelayMs = retryBaseDelayMs;
+        return this;
+    }
+
+    public Long getRetryMaxDelayMs() {
+        return retryMaxDelayMs;
+    }
+
+    /**
+     * The upper bound of the delay before any retry. Defaults to 20s.
+     *
+     * @param retryMaxDelayMs The max delay in ms
+     * @return This
+     */
+    public S3ClientOptions setRetryMaxDelayMs(final Long retryMaxDelayMs) {
+        this.retryMaxDelayMs = retryMaxDelayMs;
+        return this;
+    }
+
+    public Double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    /**
+     * The number of retries the client may send per request, shared by all requests of the client.
+     * This keeps retries from multiplying the load during an outage. Defaults to 0.1 (10%).
+     *
+     * @param retryBudgetRatio The ratio of retries to requests
+     * @return This
+     */
+    public S3ClientOptions setRetryBudgetRatio(final Double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+        return this;
+    }
+
+    public Integer getRetryBudgetMinPerSecond() {
+        return retryBudgetMinPerSecond;
+    }
+
+    /**
+     * The number of retries per second which are allowed regardless of the retry budget ratio. Defaults to 10.
+     *
+     * @param retryBudgetMinPerSecond The number of retries per second
+     * @return This
+     */
+    public S3ClientOptions setRetryBudgetMinPerSecond(final Integer retryBudgetMinPerSecond) {
+        this.retryBudgetMinPerSecond = retryBudgetMinPerSecond;
+        return this;
+    }
+
+    public Double getHedgingPercentile() {
+        return hedgingPercentile;
+    }
+
+    /**
+     * Hedges getObject and headObject requests. If no response was received within the given percentile of the recent
+     * response times of the host a second request is sent on another connection. The first successful response wins and
+     * the other request is reset. The call only fails once both requests failed.
+     * Null (default) disables hedging.
+     *
+     * @param hedgingPercentile The percentile between 0 and 1, e.g. 0.95
+     * @return This
+     */
+    public S3ClientOptions setHedgingPercentile(final Double hedgingPercentile) {
+        this.hedgingPercentile = hedgingPercentile;
+        return this;
+    }
+
+    public Double getHedgingMaxRatio() {
+        return hedgingMaxRatio;
+    }
+
+    /**
+     * The number of hedged requests the client may send per request. Defaults to 0.05 (5%).
+     *
+     * @param hedgingMaxRatio The ratio of hedged requests to requests
+     * @return This
+     */
+    public S3ClientOptions setHedgingMaxRatio(final Double hedgingMaxRatio) {
+        this.hedgingMaxRatio = hedgingMaxRatio;
+        return this;
+    }
+
+    public Long getHedgingMinDelayMs() {
+        return hedgingMinDelayMs;
+    }
+
+    /**
+     * The minimum delay before a hedged request is sent. Defaults to 10ms.
+     *
+     * @param hedgingMinDelayMs The min delay in ms
+     * @return This
+     */
+    public S3ClientOptions setHedgingMinDelayMs(final Long hedgingMinDelayMs) {
+        this.hedgingMinDelayMs = hedgingMinDelayMs;
+        return this;
+    }
+
+    public Map<String, TrafficClassOptions> getTrafficClasses() {
+        return trafficClasses;
+    }
+
+    /**
+     * Adds a traffic class with its own connection pool and queue. Operations are assigned to it with
+     * {@link #setOperationTrafficClass}. Operations without a traffic class use the pool configured by these options.
+     *
+     * @param name                The name of the class, e.g. "interactive" or "bulk"
+     * @param trafficClassOptions The options of the class
+     * @return This
+     */
+    public S3ClientOptions addTrafficClass(final String name, final TrafficClassOptions trafficClassOptions) {
+        this.trafficClasses.put(name, trafficClassOptions);
+        return this;
+    }
+
+    public Map<String, String> getOperationTrafficClasses() {
+        return operationTrafficClasses;
+    }
+
+    /**
+     * Sends the requests of an operation using a traffic class.
+     *
+     * @param operation    The name of the operation, e.g. "getObject", "headObject", "putObject" or "continueMultipartUpload"
+     * @param trafficClass The name of the traffic class
+     * @return This
+     */
+    public S3ClientOptions setOperationTrafficClass(final String operation, final String trafficClass) {
+        this.operationTrafficClasses.put(operation, trafficClass);
+        return this;
+    }
+
+    public S3ClientOptions setOperationTrafficClasses(final Map<String, String> operationTrafficClasses) {
+        this.operationTrafficClasses = new LinkedHashMap<>(operationTrafficClasses);
+        return this;
+    }
+
+    public Double getCircuitBreakerFailureRateThreshold() {
+        return circuitBreakerFailureRateThreshold;
+    }
+
+    /**
+     * Enables a circuit breaker per host and operation which opens once the given share of the recent requests failed.
+     * Failures are 5xx responses, connection problems, timeouts and slow responses. While the breaker is open requests
+     * fail immediately with a {@link com.hubrick.vertx.s3.exception.CircuitBreakerOpenException}. Null (default) disables the breaker.
+     *
+     * @param circuitBreakerFailureRateThreshold The failure rate between 0 and 1, e.g. 0.5
+     * @return This
+     */
+    public S3ClientOptions setCircuitBreakerFailureRateThreshold(final Double circuitBreakerFailureRateThreshold) {
+        this.circuitBreakerFailureRateThreshold = circuitBreakerFailureRateThreshold;
+        return this;
+    }
+
+    public Long getCircuitBreakerSlowCallThresholdMs() {
+        return circuitBreakerSlowCallThresholdMs;
+    }
+
+    /**
+     * Responses whose headers arrive later than this count as failures of the circuit breaker. Null (default) only counts errors.
+     *
+     * @param circuitBreakerSlowCallThresholdMs The threshold in ms
+     * @return This
+     */
+    public S3ClientOptions setCircuitBreakerSlowCallThresholdMs(final Long circuitBreakerSlowCallThresholdMs) {
+        this.circuitBreakerSlowCallThresholdMs = circuitBreakerSlowCallThresholdMs;
+        return this;
+    }
+
+    public Integer getCircuitBreakerWindowSize() {
+        return circuitBreakerWindowSize;
+    }
+
+    /**
+     * The number of recent requests the failure rate is calculated from. Defaults to 20.
+     *
+     * @param circuitBreakerWindowSize The window size
+     * @return This
+     */
+    public S3ClientOptions setCircuitBreakerWindowSize(final Integer circuitBreakerWindowSize) {
+        this.circuitBreakerWindowSize = circuitBreakerWindowSize;
+        return this;
+    }
+
+    public Long getCircuitBreakerOpenDurationMs() {
+        return circuitBreakerOpenDurationMs;
+    }
+
+    /**
+     * The time an open circuit breaker rejects requests before it lets probe requests through. Defaults to 5s.
+     *
+     * @param circuitBreakerOpenDurationMs The duration in ms
+     * @return This
+     */
+    public S3ClientOptions setCircuitBreakerOpenDurationMs(final Long circuitBreakerOpenDurationMs) {
+        this.circuitBreakerOpenDurationMs = circuitBreakerOpenDurationMs;
+        return this;
+    }
+
+    public Integer getCircuitBreakerHalfOpenProbes() {
+        return circuitBreakerHalfOpenProbes;
+    }
+
+    /**
+     * The number of successful probe requests which close the circuit breaker again. Defaults to 1.
+     *
+     * @param circuitBreakerHalfOpenProbes The number of probes
+     * @return This
+     */
+    public S3ClientOptions setCircuitBreakerHalfOpenProbes(final Integer circuitBreakerHalfOpenProbes) {
+        this.circuitBreakerHalfOpenProbes = circuitBreakerHalfOpenProbes;
+        return this;
+    }
+
+    public Map<String, TimeoutOptions> getOperationTimeouts() {
+        return operationTimeouts;
+    }
+
+    /**
+     * Configures the timeouts of an operation. Operations without timeouts only use the global timeout. The connect
+     * timeout is a property of the connection pool, use {@link TrafficClassOptions#setConnectTimeoutMs} to configure it per operation.
+     *
+     * @param operation      The name of the operation, e.g. "getObject", "headObject", "putObject" or "continueMultipartUpload"
+     * @param timeoutOptions The timeouts of the operation
+     * @return This
+     */
+    public S3ClientOptions setOperationTimeouts(final String operation, final TimeoutOptions timeoutOptions) {
+        this.operationTimeouts.put(operation, timeoutOptions);
+        return this;
+    }
+
+    public Integer getMaxRequestsInFlight() {
+        return maxRequestsInFlight;
+    }
+
+    /**
+     * Limits the number of requests in flight, including the ones waiting for their traffic class or the rate limiter.
+     * Requests beyond fail immediately with an {@link com.hubrick.vertx.s3.exception.AdmissionRejectedException}
+     * and aren't retried. Null (default) doesn't limit the requests.
+     *
+     * @param maxRequestsInFlight The max number of requests in flight
+     * @return This
+     */
+    public S3ClientOptions setMaxRequestsInFlight(final Integer maxRequestsInFlight) {
+        this.maxRequestsInFlight = maxRequestsInFlight;
+        return this;
+    }
+
+    public Integer getWarmUpConnections() {
+        return warmUpConnections;
+    }
+
+    /**
+     * The number of connections {@link S3Client#warmUp} opens per connection pool. Null (default) fills the pools up to their max size.
+     *
+     * @param warmUpConnections The number of connections
+     * @return This
+     */
+    public S3ClientOptions setWarmUpConnections(final Integer warmUpConnections) {
+        this.warmUpConnections = warmUpConnections;
+        return this;
+    }
+
+    public String getWarmUpBucket() {
+        return warmUpBucket;
+    }
+
+    /**
+     * The bucket {@link S3Client#warmUp} sends its HEAD requests to, which validates the credentials as well.
+     * Null (default) sends the HEAD requests to the endpoint itself and accepts any response.
+     * With virtual hosted style requests without endpoints the bucket has its own pools, so only the pools of this bucket
+     * are warmed up.
+     *
+     * @param warmUpBucket The bucket
+     * @return This
+     */
+    public S3ClientOptions setWarmUpBucket(final String warmUpBucket) {
+        this.warmUpBucket = warmUpBucket;
+        return this;
+    }
+
+    public boolean isHttpClientPerEventLoop() {
+        return httpClientPerEventLoop;
+    }
+
+    /**
+     * Creates a separate http client with its own connection pool for every event loop the client is called from,
+     * so that requests and responses stay on the event loop of the caller. The max pool size applies per event loop,
+     * while rate limits, traffic class limits, circuit breakers and the admission limit are shared by all of them.
+     * Default is false, which uses one http client for all callers.
+     *
+     * @param httpClientPerEventLoop True to use one http client per event loop
+     * @return This
+     */
+    public S3ClientOptions setHttpClientPerEventLoop(final boolean httpClientPerEventLoop) {
+        this.httpClientPerEventLoop = httpClientPerEventLoop;
+        return this;
+    }
+
+    public List<String> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Adds an endpoint the requests are spread over, e.g. a node of a cluster or one of the addresses of the S3 endpoint.
+     * Every endpoint gets its own connection pool and requests go to the endpoint with the least outstanding requests.
+     * The Host header and the signature still use the hostname of the client. Without endpoints all requests go to the hostname.
+     *
+     * @param endpoint The host or host:port of the endpoint. The port defaults to the default port of these options.
+     * @return This
+     */
+    public S3ClientOptions addEndpoint(final String endpoint) {
+        this.endpoints.add(endpoint);
+        return this;
+    }
+
+    public Integer getEndpointEjectionFailures() {
+        return endpointEjectionFailures;
+    }
+
+    /**
+     * The number of consecutive failures (connection errors, timeouts and 5xx responses) which eject an endpoint. Default is 5.
+     *
+     * @param endpointEjectionFailures The number of consecutive failures
+     * @return This
+     */
+    public S3ClientOptions setEndpointEjectionFailures(final Integer endpointEjectionFailures) {
+        this.endpointEjectionFailures = endpointEjectionFailures;
+        return this;
+    }
+
+    public Long getEndpointEjectionDurationMs() {
+        return endpointEjectionDurationMs;
+    }
+
+    /**
+     * The time an ejected endpoint doesn't get requests unless all endpoints are ejected. Default is 30 seconds.
+     *
+     * @param endpointEjectionDurationMs The ejection duration in ms
+     * @return This
+     */
+    public S3ClientOptions setEndpointEjectionDurationMs(final Long endpointEjectionDurationMs) {
+        this.endpointEjectionDurationMs = endpointEjectionDurationMs;
+        return this;
+    }
+
+    public ReadReplicaOptions getReadReplica() {
+        return readReplica;
+    }
+
+    /**
+     * A replica in another region which {@link S3Client#getObject} and {@link S3Client#headObject} fall back to if a read
+     * fails with a transient error or an open circuit breaker. With hedging enabled the hedged read is sent to the replica,
+     * which races the replica against a slow primary. Writes always go to the client's own endpoint. Null (default) disables it.
+     *
+     * @param readReplica The replica options
+     * @return This
+     */
+    public S3ClientOptions setReadReplica(final ReadReplicaOptions readReplica) {
+        this.readReplica = readReplica;
+        return this;
+    }
+
+    public boolean isBucketRegionDiscovery() {
+        return bucketRegionDiscovery;
+    }
+
+    /**
+     * Learns the region of buckets outside of the client's region from the x-amz-bucket-region header of the
+     * 301 PermanentRedirect and 400 AuthorizationHeaderMalformed responses. The failed request is signed for the region of
+     * the bucket and sent to its regional endpoint once more and all later requests for the bucket go there directly.
+     * With a hostname override only the signing region changes. Default is false.
+     *
+     * @param bucketRegionDiscovery True to discover the region of buckets
+     * @return This
+     */
+    public S3ClientOptions setBucketRegionDiscovery(final boolean bucketRegionDiscovery) {
+        this.bucketRegionDiscovery = bucketRegionDiscovery;
+        return this;
+    }
+
+    public boolean isVirtualHostedStyle() {
+        return virtualHostedStyle;
+    }
+
+    /**
+     * Addresses buckets as a subdomain of the hostname (bucket.s3.amazonaws.com/key) instead of the path
+     * (s3.amazonaws.com/bucket/key). Every bucket gets its own connection pool, so a busy bucket can't take all the
+     * connections of the others. Buckets with dots in their name are still addressed in the path as they don't match the
+     * wildcard certificate of S3. With endpoints only the host header and the path change and the endpoint pools are used.
+     * Default is false.
+     *
+     * @param virtualHostedStyle True to use virtual hosted style requests
+     * @return This
+     */
+    public S3ClientOptions setVirtualHostedStyle(final boolean virtualHostedStyle) {
+        this.virtualHostedStyle = virtualHostedStyle;
+        return this;
+    }
+
+    public Map<String, Integer> getBucketMaxPoolSizes() {
+        return bucketMaxPoolSizes;
+    }
+
+    /**
+     * Sets the size of the connection pool of a bucket with virtual hosted style requests. Buckets without a size use
+     * the max pool size of these options or of the traffic class of the operation.
+     *
+     * @param bucket      The name of the bucket
+     * @param maxPoolSize The max number of connections to the bucket
+     * @return This
+     */
+    public S3ClientOptions setBucketMaxPoolSize(final String bucket, final int maxPoolSize) {
+        this.bucketMaxPoolSizes.put(bucket, maxPoolSize);
+        return this;
+    }
+
+    public S3ClientOptions setBucketMaxPoolSizes(final Map<String, Integer> bucketMaxPoolSizes) {
+        this.bucketMaxPoolSizes = new LinkedHashMap<>(bucketMaxPoolSizes);
+        return this;
+    }
+
+    public boolean isFairScheduling() {
+        return fairScheduling;
+    }
+
+    /**
+     * Queues the requests of operations without a traffic class once the max pool size of every endpoint is in use and
+     * serves the queues of the tenants of {@link S3Client#withCredentials} round robin, like the traffic classes do.
+     * Without it the requests wait in the pool in arrival order, so a busy tenant can delay all others. Default is false.
+     *
+     * @param fairScheduling True to schedule the requests of the tenants fairly
+     * @return This
+     */
+    public S3ClientOptions setFairScheduling(final boolean fairScheduling) {
+        this.fairScheduling = fairScheduling;
+        return this;
+    }
+
+    public Long getExpectContinueThreshold() {
+        return expectContinueThreshold;
+    }
+
+    /**
+     * Sends Expect: 100-continue with putObject and upload part requests whose body has at least this size and only
+     * sends the body once S3 answered with a continue. Requests which are rejected (e.g. unauthorized, redirected or
+     * throttled) fail right away without sending the body. Costs a round trip for every such request. Servers and proxies
+     * which ignore the expectation get the body after {@link #setExpectContinueTimeoutMs(Long)} without an answer. Null
+     * (default) always sends the body right away.
+     *
+     * @param expectContinueThreshold The min size of the body in bytes
+     * @return This
+     */
+    public S3ClientOptions setExpectContinueThreshold(final Long expectContinueThreshold) {
+        this.expectContinueThreshold = expectContinueThreshold;
+        return this;
+    }
+
+    public Long getExpectContinueTimeoutMs() {
+        return expectContinueTimeoutMs;
+    }
+
+    /**
+     * How long requests which sent Expect: 100-continue wait for the continue. Once the timeout passed without any answer
+     * the body is sent unconditionally, so a rejection which arrives later doesn't save the upload of the body. Only used
+     * with {@link #setExpectContinueThreshold(Long)}. Default is 1000.
+     *
+     * @param expectContinueTimeoutMs The timeout in ms
+     * @return This
+     */
+    public S3ClientOptions setExpectContinueTimeoutMs(final Long expectContinueTimeoutMs) {
+        this.expectContinueTimeoutMs = expectContinueTimeoutMs;
+        return this;
+    }
+
     @Override
     public S3ClientOptions setSendBufferSize(final int sendBufferSize) {
         super.setSendBufferSize(sendBufferSize);
@@ -16,8 +16,24 @@
 package com.hubrick.vertx.s3.client;
 
 import com.google.common.base.Charsets;
+import com.hubrick.vertx.s3.credentials.AwsCredentials;
+import com.hubrick.vertx.s3.credentials.AwsCredentialsProvider;
+import com.hubrick.vertx.s3.exception.AdmissionRejectedException;
+import com.hubrick.vertx.s3.exception.CircuitBreakerOpenException;
+import com.hubrick.vertx.s3.exception.DeadlineExceededException;
+import com.hubrick.vertx.s3.exception.S3ClientException;
 import com.hubrick.vertx.s3.signature.AWS4SignatureBuilder;
+import com.hubrick.vertx.s3.signature.SigningKeyCache;
+import com.hubrick.vertx.s3.util.AdmissionLimit;
+import com.hubrick.vertx.s3.util.CircuitBreaker;
+import com.hubrick.vertx.s3.util.Deadline;
+import com.hubrick.vertx.s3.util.LoadBalancer;
+import com.hubrick.vertx.s3.util.PrefixRateLimiter;
+import com.hubrick.vertx.s3.util.RequestScheduler;
+import com.hubrick.vertx.s3.util.TransientErrors;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClientRequest;
@@ -34,7 +50,12 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.time.Clock;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -42,7 +63,6 @@ class S3ClientRequest implements HttpClientRequest {
 
     private static final Logger log = LoggerFactory.getLogger(S3ClientRequest.class);
     private static final Integer MAX_LOG_OUTPUT = 10000;
-
     private final HttpClientRequest request;
 
     // These are actually set when the request is created, but we need to know
@@ -55,8 +75,65 @@ class S3ClientRequest implements HttpClientRequest {
     // Used for authentication (which may be optional depending on the bucket)
     private String awsAccessKey;
     private String awsSecretKey;
+    private String sessionToken;
+    private AwsCredentialsProvider credentialsProvider;
+    private SigningKeyCache signingKeyCache;
     private boolean authenticationHeaderSet;
 
+    // Streamed writes wait for the credentials of the provider, since the head has to be signed before the first write
+    private List<Runnable> writesAwaitingCredentials;
+    private boolean credentialsFailed;
+
+    // The timeout is started when the request is actually sent, which might be delayed by the rate limiter
+    private PrefixRateLimiter rateLimiter;
+    private String virtualHostedBucket;
+    private Long timeoutMs;
+    private boolean timeoutStarted;
+    private boolean resetBeforeSend;
+
+    // The slot of the traffic class is held from sending the request until the response or a failure arrived
+    private RequestScheduler scheduler;
+    private String tenant;
+    private boolean holdsSchedulerSlot;
+    private Handler<Throwable> exceptionHandler;
+
+    // The outcome of every request which passed the circuit breaker is reported back to it
+    private CircuitBreaker circuitBreaker;
+    private boolean holdsCircuitBreakerPermit;
+    private long sentAtNanos;
+
+    // The time to first byte and the deadline are enforced with timers and fail the request once they expire
+    private Vertx vertx;
+    private TimeoutOptions timeoutOptions;
+    private Long size;
+    private Long firstByteTimerId;
+    private Long deadlineTimerId;
+    private long deadlineAtNanos;
+    private boolean responseReceived;
+    private Long expectContinueThreshold;
+    private long expectContinueTimeoutMs;
+    private boolean awaitingContinue;
+    private Long continueTimerId;
+    private boolean bodySkipped;
+    private boolean timedOut;
+    private S3ClientResponse s3ClientResponse;
+
+    // Requests whose deadline expired are dropped. The admission limit counts requests from sending until the response
+    private Deadline deadline;
+    private AdmissionLimit admissionLimit;
+    private boolean admitted;
+
+    // The outcome is reported to the load balancer, which ejects endpoints with consecutive failures
+    private LoadBalancer loadBalancer;
+    private int endpoint;
+    private boolean holdsEndpoint;
+
+    // Permits of the shared scheduler and rate limiter may be granted on another event loop
+    private Context context;
+
+    // Deadlines, circuit breakers and the load balancer are checked against the nano time of the client
+    private LongSupplier nanoClock = System::nanoTime;
+
     public S3ClientRequest(String method,
                            String region,
                            String serviceName,
@@ -117,7 +194,22 @@ class S3ClientRequest implements HttpClientRequest {
 
     @Override
     public S3ClientRequest handler(Handler<HttpClientResponse> handler) {
-        request.handler(handler);
+        request.handler(response -> {
+            if (timedOut) {
+                return;
+            }
+            responseReceived = true;
+            // An answer instead of the continue rejected the request before its body was sent
+            bodySkipped = awaitingContinue;
+            awaitingContinue = false;
+            cancelContinueTimer();
+            cancelFirstByteTimer();
+            releaseAdmission();
+            releaseSchedulerSlot();
+            releaseCircuitBreakerPermit(response.statusCode() / 100 == 5);
+            releaseEndpoint(response.statusCode() / 100 == 5);
+            handler.handle(trackDeadline(response));
+        });
         return this;
     }
 
@@ -147,7 +239,24 @@ class S3ClientRequest implements HttpClientRequest {
 
     @Override
     public S3ClientRequest exceptionHandler(Handler<Throwable> handler) {
-        request.exceptionHandler(handler);
+        this.exceptionHandler = handler;
+        request.exceptionHandler(throwable -> {
+            // The request is reset after it timed out or its body was skipped, which fails it a second time
+            if (timedOut || bodySkipped) {
+                return;
+            }
+            cancelTimers();
+            releaseAdmission();
+            releaseSchedulerSlot();
+            if (TransientErrors.isTransient(throwable)) {
+                releaseCircuitBreakerPermit(true);
+                releaseEndpoint(true);
+            } else {
+                cancelCircuitBreakerPermit();
+                cancelEndpoint();
+            }
+            handler.handle(throwable);
+        });
         return this;
     }
 
@@ -235,31 +344,28 @@ class S3ClientRequest implements HttpClientRequest {
 
     @Override
     public S3ClientRequest write(Buffer chunk) {
-        initAuthenticationHeaderBeforePayload();
-
-        request.write(chunk);
-        logBody(chunk);
-
+        beforePayload(() -> {
+            request.write(chunk);
+            logBody(chunk);
+        });
         return this;
     }
 
     @Override
     public S3ClientRequest write(String chunk) {
-        initAuthenticationHeaderBeforePayload();
-
-        request.write(chunk);
-        logBody(Buffer.buffer(chunk.getBytes()));
-
+        beforePayload(() -> {
+            request.write(chunk);
+            logBody(Buffer.buffer(chunk.getBytes()));
+        });
         return this;
     }
 
     @Override
     public S3ClientRequest write(String chunk, String enc) {
-        initAuthenticationHeaderBeforePayload();
-
-        request.write(chunk, enc);
-        logBody(Buffer.buffer(chunk.getBytes()));
-
+        beforePayload(() -> {
+            request.write(chunk, enc);
+            logBody(Buffer.buffer(chunk.getBytes()));
+        });
         return this;
     }
 
@@ -271,55 +377,151 @@ class S3ClientRequest implements HttpClientRequest {
 
     @Override
     public S3ClientRequest sendHead() {
-        initAuthenticationHeaderBeforePayload();
-
-        request.sendHead();
+        beforePayload(request::sendHead);
         return this;
     }
 
     @Override
     public S3ClientRequest sendHead(Handler<HttpVersion> handler) {
-        initAuthenticationHeaderBeforePayload();
-
-        request.sendHead(handler);
+        beforePayload(() -> request.sendHead(handler));
         return this;
     }
 
     @Override
     public void end(String chunk) {
-        initAuthenticationHeader(Buffer.buffer(chunk));
+        afterWritesAwaitingCredentials(() -> send(chunk.length(), aVoid -> {
+            initAuthenticationHeader(Buffer.buffer(chunk));
 
-        request.end(chunk);
-        logBody(Buffer.buffer(chunk.getBytes()));
+            request.end(chunk);
+            logBody(Buffer.buffer(chunk.getBytes()));
+        }));
     }
 
     @Override
     public void end(String chunk, String enc) {
-        initAuthenticationHeader(Buffer.buffer(chunk, enc));
+        afterWritesAwaitingCredentials(() -> send(chunk.length(), aVoid -> {
+            initAuthenticationHeader(Buffer.buffer(chunk, enc));
 
-        request.end(chunk, enc);
-        logBody(Buffer.buffer(chunk.getBytes()));
+            request.end(chunk, enc);
+            logBody(Buffer.buffer(chunk.getBytes()));
+        }));
     }
 
     @Override
     public void end(Buffer chunk) {
-        initAuthenticationHeader(chunk);
+        afterWritesAwaitingCredentials(() -> send(chunk.length(), aVoid -> {
+            initAuthenticationHeader(chunk);
+
+            if (expectContinueThreshold != null && chunk.length() >= expectContinueThreshold) {
+                endAfterContinue(chunk);
+                return;
+            }
+            request.end(chunk);
+            logBody(chunk);
+        }));
+    }
+
+    private void endAfterContinue(Buffer chunk) {
+        // The header isn't signed since proxies may handle the expectation themselves
+        request.putHeader(Headers.EXPECT, "100-continue");
+        request.putHeader(Headers.CONTENT_LENGTH, String.valueOf(chunk.length()));
+        awaitingContinue = true;
+        request.continueHandler(aVoid -> endWithBody(chunk));
+        request.sendHead();
+        // Servers and proxies which ignore the expectation wait for the body instead of answering, so it's sent anyway
+        continueTimerId = vertx.setTimer(expectContinueTimeoutMs, timerId -> {
+            continueTimerId = null;
+            endWithBody(chunk);
+        });
+    }
 
+    private void endWithBody(Buffer chunk) {
+        cancelContinueTimer();
+        if (!awaitingContinue || timedOut) {
+            return;
+        }
+        awaitingContinue = false;
         request.end(chunk);
         logBody(chunk);
     }
 
     @Override
     public void end() {
-        initAuthenticationHeader(Buffer.buffer());
+        afterWritesAwaitingCredentials(() -> send(0, aVoid -> {
+            initAuthenticationHeader(Buffer.buffer());
 
-        request.end();
-        logBody(Buffer.buffer());
+            request.end();
+            logBody(Buffer.buffer());
+        }));
     }
 
     @Override
     public S3ClientRequest setTimeout(long timeoutMs) {
-        request.setTimeout(timeoutMs);
+        this.timeoutMs = timeoutMs;
+        if (timeoutStarted) {
+            request.setTimeout(timeoutMs);
+        }
+        return this;
+    }
+
+    /**
+     * Applies the timeouts of the operation. The idle timeout replaces the one set with {@link #setTimeout(long)}.
+     *
+     * @param vertx          The vertx instance the timers are set on
+     * @param timeoutOptions The timeouts of the operation or null
+     * @return This
+     */
+    public S3ClientRequest setTimeoutOptions(Vertx vertx, TimeoutOptions timeoutOptions) {
+        this.vertx = vertx;
+        this.timeoutOptions = timeoutOptions;
+        if (timeoutOptions != null && timeoutOptions.getIdleTimeoutMs() != null) {
+            setTimeout(timeoutOptions.getIdleTimeoutMs());
+        }
+        return this;
+    }
+
+    /**
+     * Requests whose deadline expired fail with a {@link DeadlineExceededException} instead of being sent, also
+     * while they wait for their traffic class, the rate limiter or a connection.
+     *
+     * @param deadline The deadline of the call or null
+     * @return This
+     */
+    public S3ClientRequest setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    /**
+     * Requests are rejected with an {@link AdmissionRejectedException} without being sent while the limit is reached.
+     *
+     * @param admissionLimit The admission limit of the client or null
+     * @return This
+     */
+    public S3ClientRequest setAdmissionLimit(AdmissionLimit admissionLimit) {
+        this.admissionLimit = admissionLimit;
+        return this;
+    }
+
+    /**
+     * Requests are only sent once the rate limiter granted a permit for the prefix of the path.
+     *
+     * @param rateLimiter The rate limiter or null
+     * @return This
+     */
+    public S3ClientRequest setRateLimiter(PrefixRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+
+    /**
+     * The path of virtual hosted style requests doesn't contain the bucket, which the rate limiter needs for the prefix.
+     *
+     * @param virtualHostedBucket The bucket in the host header or null
+     * @return This
+     */
+    public S3ClientRequest setVirtualHostedBucket(String virtualHostedBucket) {
+        this.virtualHostedBucket = virtualHostedBucket;
         return this;
     }
 
@@ -331,11 +533,18 @@ class S3ClientRequest implements HttpClientRequest {
 
     @Override
     public boolean reset() {
-        return request.reset();
+        return reset(0L);
     }
 
     @Override
     public boolean reset(long l) {
+        // A request which is still waiting for the rate limiter or its traffic class must not be sent anymore
+        resetBeforeSend = !timeoutStarted;
+        cancelTimers();
+        releaseAdmission();
+        releaseSchedulerSlot();
+        cancelCircuitBreakerPermit();
+        cancelEndpoint();
         return request.reset(l);
     }
 
@@ -378,11 +587,472 @@ class S3ClientRequest implements HttpClientRequest {
         return request.getStreamPriority();
     }
 
-    protected void initAuthenticationHeaderBeforePayload() {
+    /**
+     * Bodies of at least the threshold are only sent once the server answered the Expect: 100-continue header with
+     * a continue. An error answer arrives instead and fails the request without sending the body. Without either answer
+     * the body is sent unconditionally after the timeout, since some servers and proxies ignore the expectation.
+     *
+     * @param vertx                   The vertx instance the timer for the missing continue is set on
+     * @param expectContinueThreshold The min size of the body in bytes or null to always send the body right away
+     * @param expectContinueTimeoutMs The time in ms to wait for the continue before the body is sent anyway
+     * @return This
+     */
+    public S3ClientRequest setExpectContinueThreshold(Vertx vertx, Long expectContinueThreshold, long expectContinueTimeoutMs) {
+        this.vertx = vertx;
+        this.expectContinueThreshold = expectContinueThreshold;
+        this.expectContinueTimeoutMs = expectContinueTimeoutMs;
+        return this;
+    }
+
+    /**
+     * Requests which are ended get the credentials before they are admitted, so they may wait for credentials which are
+     * loaded for the first time or expired. Streamed requests use the credentials only if the provider answers right away.
+     *
+     * @param credentialsProvider The credentials provider or null to use the credentials of the constructor
+     * @return This
+     */
+    public S3ClientRequest setCredentialsProvider(AwsCredentialsProvider credentialsProvider) {
+        this.credentialsProvider = credentialsProvider;
+        return this;
+    }
+
+    /**
+     * @param signingKeyCache The signing key cache of the client or null to derive the signing key for every request
+     * @return This
+     */
+    public S3ClientRequest setSigningKeyCache(SigningKeyCache signingKeyCache) {
+        this.signingKeyCache = signingKeyCache;
+        return this;
+    }
+
+    /**
+     * Requests of a traffic class wait for a free slot of the class before they are sent.
+     *
+     * @param scheduler The scheduler of the traffic class or null
+     * @return This
+     */
+    public S3ClientRequest setScheduler(RequestScheduler scheduler) {
+        this.scheduler = scheduler;
+        return this;
+    }
+
+    /**
+     * The scheduler serves the queued requests of the tenants round robin.
+     *
+     * @param tenant The tenant of the client view or null
+     * @return This
+     */
+    public S3ClientRequest setTenant(String tenant) {
+        this.tenant = tenant;
+        return this;
+    }
+
+    /**
+     * Requests are rejected with a {@link CircuitBreakerOpenException} without being sent while the circuit breaker is open.
+     *
+     * @param circuitBreaker The circuit breaker of the endpoint and operation or null
+     * @return This
+     */
+    public S3ClientRequest setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+        return this;
+    }
+
+    /**
+     * @param nanoClock The source of nano time of the client
+     * @return This
+     */
+    public S3ClientRequest setNanoClock(LongSupplier nanoClock) {
+        checkNotNull(nanoClock, "nanoClock must not be null");
+        this.nanoClock = nanoClock;
+        return this;
+    }
+
+    /**
+     * The endpoint has to be selected by the load balancer before, its outcome is reported once the response or a failure arrived.
+     *
+     * @param loadBalancer The load balancer or null
+     * @param endpoint     The endpoint the request is sent to
+     * @return This
+     */
+    public S3ClientRequest setEndpoint(LoadBalancer loadBalancer, int endpoint) {
+        this.loadBalancer = loadBalancer;
+        this.endpoint = endpoint;
+        this.holdsEndpoint = loadBalancer != null;
+        return this;
+    }
+
+    private void send(long size, Handler<Void> sendHandler) {
+        this.size = size;
+        this.context = Vertx.currentContext();
+
+        if (credentialsProvider == null) {
+            admit(sendHandler);
+            return;
+        }
+
+        credentialsProvider.getCredentials(
+                credentials -> onCallerContext(aVoid -> {
+                    setCredentials(credentials);
+                    admit(sendHandler);
+                }).handle(null),
+                throwable -> onCallerContext(aVoid -> fail(new S3ClientException("Failed to get the credentials for " + method + " " + request.path(), throwable))).handle(null)
+        );
+    }
+
+    private void setCredentials(AwsCredentials credentials) {
+        this.awsAccessKey = credentials.getAwsAccessKey();
+        this.awsSecretKey = credentials.getAwsSecretKey();
+        this.sessionToken = credentials.getSessionToken();
+    }
+
+    private void admit(Handler<Void> sendHandler) {
+        if (isDeadlineExpired()) {
+            fail(new DeadlineExceededException("The deadline of " + method + " " + request.path() + " expired before it was sent"));
+            return;
+        }
+
+        if (admissionLimit != null) {
+            if (!admissionLimit.tryAcquire()) {
+                fail(new AdmissionRejectedException("The client has " + admissionLimit.getMaxRequestsInFlight() + " requests in flight"));
+                return;
+            }
+            admitted = true;
+        }
+
+        if (circuitBreaker != null) {
+            if (!circuitBreaker.tryAcquire(nanoClock.getAsLong())) {
+                releaseAdmission();
+                fail(new CircuitBreakerOpenException("The circuit breaker for " + method + " " + request.path() + " is open"));
+                return;
+            }
+            holdsCircuitBreakerPermit = true;
+        }
+
+        if (scheduler == null) {
+            sendWhenPermitted(sendHandler);
+            return;
+        }
+
+        final boolean scheduled = scheduler.schedule(tenant, size, onCallerContext(aVoid -> {
+            holdsSchedulerSlot = true;
+            if (resetBeforeSend) {
+                releaseSchedulerSlot();
+                return;
+            }
+            if (dropIfDeadlineExpired()) {
+                return;
+            }
+            sendWhenPermitted(sendHandler);
+        }));
+        if (!scheduled) {
+            releaseAdmission();
+            cancelCircuitBreakerPermit();
+            fail(new S3ClientException("The queue of the traffic class is full"));
+        }
+    }
+
+    private boolean isDeadlineExpired() {
+        return deadline != null && deadline.isExpired(nanoClock.getAsLong());
+    }
+
+    private boolean dropIfDeadlineExpired() {
+        if (!isDeadlineExpired()) {
+            return false;
+        }
+
+        log.debug("Dropping {} {} since its deadline expired while it was queued", method, request.path());
+        releaseAdmission();
+        releaseSchedulerSlot();
+        cancelCircuitBreakerPermit();
+        fail(new DeadlineExceededException("The deadline of " + method + " " + request.path() + " expired while it was queued"));
+        return true;
+    }
+
+    private void fail(Throwable throwable) {
+        cancelEndpoint();
+        if (exceptionHandler != null) {
+            exceptionHandler.handle(throwable);
+        }
+    }
+
+    private void releaseAdmission() {
+        if (admitted) {
+            admitted = false;
+            admissionLimit.release();
+        }
+    }
+
+    private void releaseSchedulerSlot() {
+        if (holdsSchedulerSlot) {
+            holdsSchedulerSlot = false;
+            scheduler.release();
+        }
+    }
+
+    private void releaseCircuitBreakerPermit(boolean failure) {
+        if (holdsCircuitBreakerPermit) {
+            holdsCircuitBreakerPermit = false;
+            final long nowNanos = nanoClock.getAsLong();
+            if (failure) {
+                circuitBreaker.onFailure(nowNanos);
+            } else {
+                circuitBreaker.onSuccess(TimeUnit.NANOSECONDS.toMillis(nowNanos - sentAtNanos), nowNanos);
+            }
+        }
+    }
+
+    private void cancelCircuitBreakerPermit() {
+        if (holdsCircuitBreakerPermit) {
+            holdsCircuitBreakerPermit = false;
+            circuitBreaker.onCancelled();
+        }
+    }
+
+    private void releaseEndpoint(boolean failure) {
+        if (holdsEndpoint) {
+            holdsEndpoint = false;
+            if (failure) {
+                loadBalancer.onFailure(endpoint, nanoClock.getAsLong());
+            } else {
+                loadBalancer.onSuccess(endpoint);
+            }
+        }
+    }
+
+    private void cancelEndpoint() {
+        if (holdsEndpoint) {
+            holdsEndpoint = false;
+            loadBalancer.onCancelled(endpoint);
+        }
+    }
+
+    private void sendWhenPermitted(Handler<Void> sendHandler) {
+        if (rateLimiter == null) {
+            startTimeout();
+            sendHandler.handle(null);
+            return;
+        }
+
+        final String path = virtualHostedBucket != null ? "/" + virtualHostedBucket + request.path() : request.path();
+        rateLimiter.acquire(method, path, onCallerContext(aVoid -> {
+            if (resetBeforeSend || dropIfDeadlineExpired()) {
+                return;
+            }
+            startTimeout();
+            sendHandler.handle(null);
+        }));
+    }
+
+    private Handler<Void> onCallerContext(Handler<Void> handler) {
+        return aVoid -> {
+            if (context == null || context == Vertx.currentContext()) {
+                handler.handle(null);
+            } else {
+                context.runOnContext(handler);
+            }
+        };
+    }
+
+    private void startTimeout() {
+        if (!timeoutStarted) {
+            timeoutStarted = true;
+            sentAtNanos = nanoClock.getAsLong();
+            if (timeoutMs != null) {
+                request.setTimeout(timeoutMs);
+            }
+            if (timeoutOptions != null || deadline != null) {
+                startTimers();
+            }
+        }
+    }
+
+    private void startTimers() {
+        final long requestTransferTimeMs = getTransferTimeMs(getRequestSize());
+        if (timeoutOptions != null && timeoutOptions.getFirstByteTimeoutMs() != null) {
+            final long firstByteTimeoutMs = timeoutOptions.getFirstByteTimeoutMs() + requestTransferTimeMs;
+            firstByteTimerId = vertx.setTimer(Math.max(1, firstByteTimeoutMs), timerId -> {
+                firstByteTimerId = null;
+                expire(new TimeoutException("No response from " + method + " " + request.path() + " within " + firstByteTimeoutMs + "ms"));
+            });
+        }
+        if (timeoutOptions != null && timeoutOptions.getTotalTimeoutMs() != null) {
+            deadlineAtNanos = sentAtNanos + TimeUnit.MILLISECONDS.toNanos(timeoutOptions.getTotalTimeoutMs() + requestTransferTimeMs);
+            if (deadline != null && deadline.getExpiresAtNanos() - deadlineAtNanos < 0) {
+                deadlineAtNanos = deadline.getExpiresAtNanos();
+            }
+            scheduleDeadline();
+        } else if (deadline != null) {
+            // Without a total timeout the deadline of the call also drops the request while it waits for a connection
+            deadlineAtNanos = deadline.getExpiresAtNanos();
+            scheduleDeadline();
+        }
+    }
+
+    private long getTransferTimeMs(long size) {
+        return timeoutOptions != null ? timeoutOptions.transferTimeMs(size) : 0;
+    }
+
+    private long getRequestSize() {
+        if (size != null) {
+            return size;
+        }
+
+        // Streamed request bodies announce their size in the header
+        final String contentLength = request.headers().get(Headers.CONTENT_LENGTH);
+        try {
+            return contentLength != null ? Long.parseLong(contentLength) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void scheduleDeadline() {
+        // Rounded up, so the timer doesn't fire before the deadline expired
+        final long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineAtNanos - nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+        deadlineTimerId = vertx.setTimer(Math.max(1, remainingMs), timerId -> {
+            deadlineTimerId = null;
+            if (isDeadlineExpired()) {
+                expire(new DeadlineExceededException("The deadline of " + method + " " + request.path() + " expired"));
+            } else {
+                expire(new TimeoutException("The total timeout of " + method + " " + request.path() + " expired"));
+            }
+        });
+    }
+
+    private HttpClientResponse trackDeadline(HttpClientResponse httpClientResponse) {
+        if (deadlineTimerId == null && !bodySkipped) {
+            return httpClientResponse;
+        }
+
+        // The deadline is extended by the time the announced response body needs and ends with the body
+        final String contentLength = httpClientResponse.getHeader(Headers.CONTENT_LENGTH);
+        if (deadlineTimerId != null && contentLength != null) {
+            try {
+                deadlineAtNanos += TimeUnit.MILLISECONDS.toNanos(getTransferTimeMs(Long.parseLong(contentLength)));
+                if (deadline != null && deadline.getExpiresAtNanos() - deadlineAtNanos < 0) {
+                    deadlineAtNanos = deadline.getExpiresAtNanos();
+                }
+                cancelDeadlineTimer();
+                scheduleDeadline();
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring invalid content length {}", contentLength);
+            }
+        }
+
+        s3ClientResponse = new S3ClientResponse(httpClientResponse, aVoid -> {
+            cancelDeadlineTimer();
+            // The connection still expects the body, so it can't be reused
+            if (bodySkipped) {
+                request.reset();
+            }
+        });
+        return s3ClientResponse;
+    }
+
+    private void expire(Throwable throwable) {
+        cancelTimers();
+        timedOut = true;
+
+        if (!responseReceived) {
+            releaseAdmission();
+            releaseSchedulerSlot();
+            if (throwable instanceof TimeoutException) {
+                releaseCircuitBreakerPermit(true);
+                releaseEndpoint(true);
+            } else {
+                // The endpoint isn't to blame if the caller gave up
+                cancelCircuitBreakerPermit();
+                cancelEndpoint();
+            }
+            fail(throwable);
+        } else if (!s3ClientResponse.fail(throwable)) {
+            // Bodies which are read by the client itself don't have an exception handler on the response
+            fail(throwable);
+        }
+        request.reset();
+    }
+
+    private void cancelTimers() {
+        cancelContinueTimer();
+        cancelFirstByteTimer();
+        cancelDeadlineTimer();
+    }
+
+    private void cancelContinueTimer() {
+        if (continueTimerId != null) {
+            vertx.cancelTimer(continueTimerId);
+            continueTimerId = null;
+        }
+    }
+
+    private void cancelFirstByteTimer() {
+        if (firstByteTimerId != null) {
+            vertx.cancelTimer(firstByteTimerId);
+            firstByteTimerId = null;
+        }
+    }
+
+    private void cancelDeadlineTimer() {
+        if (deadlineTimerId != null) {
+            vertx.cancelTimer(deadlineTimerId);
+            deadlineTimerId = null;
+        }
+    }
+
+    /**
+     * Runs a streamed write once the head is signed. Without cached credentials the writes are queued until the provider
+     * answered, a failure of the provider fails the request instead of sending it unsigned.
+     */
+    private void beforePayload(Runnable write) {
         if (signPayload) {
             throw new RuntimeException("Can not stream to request with signed payload");
         }
-        initAuthenticationHeader(Buffer.buffer());
+        if (credentialsFailed) {
+            return;
+        }
+        if (writesAwaitingCredentials != null) {
+            writesAwaitingCredentials.add(write);
+            return;
+        }
+        if (credentialsProvider == null || authenticationHeaderSet) {
+            startTimeout();
+            initAuthenticationHeader(Buffer.buffer());
+            write.run();
+            return;
+        }
+
+        if (context == null) {
+            context = Vertx.currentContext();
+        }
+        writesAwaitingCredentials = new ArrayList<>();
+        writesAwaitingCredentials.add(write);
+        credentialsProvider.getCredentials(
+                credentials -> onCallerContext(aVoid -> {
+                    setCredentials(credentials);
+                    startTimeout();
+                    initAuthenticationHeader(Buffer.buffer());
+                    final List<Runnable> writes = writesAwaitingCredentials;
+                    writesAwaitingCredentials = null;
+                    writes.forEach(Runnable::run);
+                }).handle(null),
+                throwable -> onCallerContext(aVoid -> {
+                    credentialsFailed = true;
+                    writesAwaitingCredentials = null;
+                    fail(new S3ClientException("Failed to get the credentials for " + method + " " + request.path(), throwable));
+                }).handle(null)
+        );
+    }
+
+    private void afterWritesAwaitingCredentials(Runnable end) {
+        if (credentialsFailed) {
+            return;
+        }
+        if (writesAwaitingCredentials != null) {
+            writesAwaitingCredentials.add(end);
+            return;
+        }
+        end.run();
     }
 
 
@@ -402,10 +1072,17 @@ class S3ClientRequest implements HttpClientRequest {
                     .builder(ZonedDateTime.now(clock), region, serviceName)
                     .httpRequestMethod(method)
                     .canonicalUri(request.path())
-                    .canonicalQueryString(decodedQueryString)
-                    .awsSecretKey(awsSecretKey);
+                    .canonicalQueryString(decodedQueryString);
+            if (signingKeyCache != null) {
+                signatureBuilder.awsSecretKey(awsSecretKey, signingKeyCache);
+            } else {
+                signatureBuilder.awsSecretKey(awsSecretKey);
+            }
 
             headers().set(Headers.X_AMZ_DATE, signatureBuilder.makeSignatureFormattedDate());
+            if (sessionToken != null) {
+                headers().set(Headers.X_AMZ_SECURITY_TOKEN, sessionToken);
+            }
 
             for (Map.Entry<String, String> entry : headers()) {
                 signatureBuilder.header(entry.getKey(), entry.getValue());
@@ -0,0 +1,205 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpFrame;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.StreamPriority;
+import io.vertx.core.net.NetSocket;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reports the end of the response body, so that the deadline of the request can be cancelled and the connection of a
+ * request whose body was skipped can be closed, and lets the request
+ * fail the response once the deadline expired.
+ *
+ * @since 3.3.4
+ */
+class S3ClientResponse implements HttpClientResponse {
+
+    private final HttpClientResponse response;
+    private final Handler<Void> completionHandler;
+
+    private Handler<Void> endHandler;
+    private Handler<Throwable> exceptionHandler;
+    private boolean completed;
+
+    S3ClientResponse(HttpClientResponse response, Handler<Void> completionHandler) {
+        checkNotNull(response, "response must not be null");
+        checkNotNull(completionHandler, "completionHandler must not be null");
+
+        this.response = response;
+        this.completionHandler = completionHandler;
+
+        response.endHandler(aVoid -> {
+            if (complete() && endHandler != null) {
+                endHandler.handle(aVoid);
+            }
+        });
+        response.exceptionHandler(throwable -> {
+            if (complete() && exceptionHandler != null) {
+                exceptionHandler.handle(throwable);
+            }
+        });
+    }
+
+    /**
+     * Fails the response unless it already completed.
+     *
+     * @param throwable The cause
+     * @return True if the failure was delivered to the exception handler of the response
+     */
+    boolean fail(Throwable throwable) {
+        if (completed) {
+            return false;
+        }
+        completed = true;
+        if (exceptionHandler == null) {
+            return false;
+        }
+        exceptionHandler.handle(throwable);
+        return true;
+    }
+
+    private boolean complete() {
+        if (completed) {
+            return false;
+        }
+        completed = true;
+        completionHandler.handle(null);
+        return true;
+    }
+
+    @Override
+    public S3ClientResponse fetch(long amount) {
+        response.fetch(amount);
+        return this;
+    }
+
+    @Override
+    public S3ClientResponse resume() {
+        response.resume();
+        return this;
+    }
+
+    @Override
+    public S3ClientResponse exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public S3ClientResponse handler(Handler<Buffer> handler) {
+        response.handler(handler);
+        return this;
+    }
+
+    @Override
+    public S3ClientResponse pause() {
+        response.pause();
+        return this;
+    }
+
+    @Override
+    public S3ClientResponse endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    @Override
+    public HttpVersion version() {
+        return response.version();
+    }
+
+    @Override
+    public int statusCode() {
+        return response.statusCode();
+    }
+
+    @Override
+    public String statusMessage() {
+        return response.statusMessage();
+    }
+
+    @Override
+    public MultiMap headers() {
+        return response.headers();
+    }
+
+    @Override
+    public String getHeader(String headerName) {
+        return response.getHeader(headerName);
+    }
+
+    @Override
+    public String getHeader(CharSequence headerName) {
+        return response.getHeader(headerName);
+    }
+
+    @Override
+    public String getTrailer(String trailerName) {
+        return response.getTrailer(trailerName);
+    }
+
+    @Override
+    public MultiMap trailers() {
+        return response.trailers();
+    }
+
+    @Override
+    public List<String> cookies() {
+        return response.cookies();
+    }
+
+    @Override
+    public S3ClientResponse bodyHandler(Handler<Buffer> bodyHandler) {
+        // The body handler of vert.x replaces the end handler, so the body is collected here instead
+        final Buffer body = Buffer.buffer();
+        handler(body::appendBuffer);
+        endHandler(aVoid -> bodyHandler.handle(body));
+        return this;
+    }
+
+    @Override
+    public S3ClientResponse customFrameHandler(Handler<HttpFrame> handler) {
+        response.customFrameHandler(handler);
+        return this;
+    }
+
+    @Override
+    public NetSocket netSocket() {
+        return response.netSocket();
+    }
+
+    @Override
+    public HttpClientRequest request() {
+        return response.request();
+    }
+
+    @Override
+    public S3ClientResponse streamPriorityHandler(Handler<StreamPriority> handler) {
+        response.streamPriorityHandler(handler);
+        return this;
+    }
+}
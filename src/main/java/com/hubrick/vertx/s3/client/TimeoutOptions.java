@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * The timeouts of an operation. All timeouts start when the request is actually sent, so the time a request waits
+ * for its traffic class or the rate limiter doesn't count. Timeouts which cover the transfer of a body grow by the
+ * time the body needs at the minimum throughput, so one configuration fits small and big objects.
+ *
+ * @since 3.3.4
+ */
+public class TimeoutOptions {
+
+    private Long idleTimeoutMs;
+    private Long firstByteTimeoutMs;
+    private Long totalTimeoutMs;
+    private Long minThroughputBytesPerSecond;
+
+    public TimeoutOptions() {
+    }
+
+    public TimeoutOptions(final TimeoutOptions other) {
+        setIdleTimeoutMs(other.getIdleTimeoutMs());
+        setFirstByteTimeoutMs(other.getFirstByteTimeoutMs());
+        setTotalTimeoutMs(other.getTotalTimeoutMs());
+        setMinThroughputBytesPerSecond(other.getMinThroughputBytesPerSecond());
+    }
+
+    public TimeoutOptions(final JsonObject json) {
+        setIdleTimeoutMs(json.getLong("idleTimeoutMs"));
+        setFirstByteTimeoutMs(json.getLong("firstByteTimeoutMs"));
+        setTotalTimeoutMs(json.getLong("totalTimeoutMs"));
+        setMinThroughputBytesPerSecond(json.getLong("minThroughputBytesPerSecond"));
+    }
+
+    public Long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    /**
+     * The max time without any data being received. Null (default) uses the global timeout of the client.
+     *
+     * @param idleTimeoutMs The idle timeout in ms
+     * @return This
+     */
+    public TimeoutOptions setIdleTimeoutMs(final Long idleTimeoutMs) {
+        this.idleTimeoutMs = idleTimeoutMs;
+        return this;
+    }
+
+    public Long getFirstByteTimeoutMs() {
+        return firstByteTimeoutMs;
+    }
+
+    /**
+     * The max time until the headers of the response arrived, plus the time the request body needs at the
+     * minimum throughput. Null (default) disables the timeout.
+     *
+     * @param firstByteTimeoutMs The time to first byte in ms
+     * @return This
+     */
+    public TimeoutOptions setFirstByteTimeoutMs(final Long firstByteTimeoutMs) {
+        this.firstByteTimeoutMs = firstByteTimeoutMs;
+        return this;
+    }
+
+    public Long getTotalTimeoutMs() {
+        return totalTimeoutMs;
+    }
+
+    /**
+     * The deadline of the whole exchange until the response body was received, plus the time the request body and
+     * the response body (as announced by its Content-Length) need at the minimum throughput. Null (default) disables the deadline.
+     *
+     * @param totalTimeoutMs The total timeout in ms
+     * @return This
+     */
+    public TimeoutOptions setTotalTimeoutMs(final Long totalTimeoutMs) {
+        this.totalTimeoutMs = totalTimeoutMs;
+        return this;
+    }
+
+    public Long getMinThroughputBytesPerSecond() {
+        return minThroughputBytesPerSecond;
+    }
+
+    /**
+     * The throughput bodies are expected to be transferred with at least, e.g. 1048576 for 1 MiB/s.
+     * Null (default) doesn't extend the timeouts by the size of the bodies.
+     *
+     * @param minThroughputBytesPerSecond The min throughput in bytes per second
+     * @return This
+     */
+    public TimeoutOptions setMinThroughputBytesPerSecond(final Long minThroughputBytesPerSecond) {
+        this.minThroughputBytesPerSecond = minThroughputBytesPerSecond;
+        return this;
+    }
+
+    /**
+     * The time a body of the given size needs at the minimum throughput.
+     *
+     * @param size The size of the body in bytes
+     * @return The time in ms or 0 without a min throughput
+     */
+    long transferTimeMs(long size) {
+        if (minThroughputBytesPerSecond == null || size <= 0) {
+            return 0;
+        }
+        return size * 1000 / minThroughputBytesPerSecond;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * The options of a traffic class. Every traffic class has its own connection pool and queue, so requests
+ * of one class never wait for connections which are occupied by another class.
+ *
+ * @since 3.3.4
+ */
+public class TrafficClassOptions {
+
+    public static final int DEFAULT_MAX_POOL_SIZE = 5;
+
+    private int maxPoolSize = DEFAULT_MAX_POOL_SIZE;
+    private Integer maxQueueSize;
+    private boolean shortestJobFirst;
+    private Integer connectTimeoutMs;
+
+    public TrafficClassOptions() {
+    }
+
+    public TrafficClassOptions(final TrafficClassOptions other) {
+        setMaxPoolSize(other.getMaxPoolSize());
+        setMaxQueueSize(other.getMaxQueueSize());
+        setShortestJobFirst(other.isShortestJobFirst());
+        setConnectTimeoutMs(other.getConnectTimeoutMs());
+    }
+
+    public TrafficClassOptions(final JsonObject json) {
+        setMaxPoolSize(json.getInteger("maxPoolSize", DEFAULT_MAX_POOL_SIZE));
+        setMaxQueueSize(json.getInteger("maxQueueSize"));
+        setShortestJobFirst(json.getBoolean("shortestJobFirst", false));
+        setConnectTimeoutMs(json.getInteger("connectTimeoutMs"));
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * The number of connections of the class and therefore the number of its requests in flight. Defaults to 5.
+     *
+     * @param maxPoolSize The max pool size
+     * @return This
+     */
+    public TrafficClassOptions setMaxPoolSize(final int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+        return this;
+    }
+
+    public Integer getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * The number of requests which wait for a connection. Requests beyond fail with a {@link com.hubrick.vertx.s3.exception.S3ClientException}.
+     * Null (default) doesn't limit the queue.
+     *
+     * @param maxQueueSize The max queue size
+     * @return This
+     */
+    public TrafficClassOptions setMaxQueueSize(final Integer maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+        return this;
+    }
+
+    public boolean isShortestJobFirst() {
+        return shortestJobFirst;
+    }
+
+    /**
+     * Serves the queue ordered by the size of the request body instead of the arrival order, so small uploads
+     * don't wait behind big ones. Big requests might wait for a long time while small ones keep arriving.
+     *
+     * @param shortestJobFirst True to serve the smallest requests first
+     * @return This
+     */
+    public TrafficClassOptions setShortestJobFirst(final boolean shortestJobFirst) {
+        this.shortestJobFirst = shortestJobFirst;
+        return this;
+    }
+
+    public Integer getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    /**
+     * The max time to establish a connection of the class. Null (default) uses the connect timeout of the client.
+     *
+     * @param connectTimeoutMs The connect timeout in ms
+     * @return This
+     */
+    public TrafficClassOptions setConnectTimeoutMs(final Integer connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
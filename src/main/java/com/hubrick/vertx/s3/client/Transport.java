@@ -0,0 +1,298 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import com.google.common.base.Strings;
+import com.google.common.net.HostAndPort;
+import com.hubrick.vertx.s3.model.AccessControlPolicy;
+import com.hubrick.vertx.s3.model.CommonPrefixes;
+import com.hubrick.vertx.s3.model.Contents;
+import com.hubrick.vertx.s3.model.Grant;
+import com.hubrick.vertx.s3.model.Grantee;
+import com.hubrick.vertx.s3.model.Owner;
+import com.hubrick.vertx.s3.model.Part;
+import com.hubrick.vertx.s3.model.request.CompleteMultipartUploadRequest;
+import com.hubrick.vertx.s3.model.request.DeleteObjectsRequest;
+import com.hubrick.vertx.s3.model.response.CompleteMultipartUploadResponse;
+import com.hubrick.vertx.s3.model.response.CopyObjectResponse;
+import com.hubrick.vertx.s3.model.response.DeleteObjectsResponse;
+import com.hubrick.vertx.s3.model.response.ErrorResponse;
+import com.hubrick.vertx.s3.model.response.GetBucketRespone;
+import com.hubrick.vertx.s3.model.response.InitMultipartUploadResponse;
+import com.hubrick.vertx.s3.model.response.ListPartsResponse;
+import com.hubrick.vertx.s3.model.response.UploadPartCopyResponse;
+import com.hubrick.vertx.s3.util.AdmissionLimit;
+import com.hubrick.vertx.s3.util.CircuitBreaker;
+import com.hubrick.vertx.s3.util.ExponentialBackoff;
+import com.hubrick.vertx.s3.util.LatencyTracker;
+import com.hubrick.vertx.s3.util.LoadBalancer;
+import com.hubrick.vertx.s3.util.PrefixRateLimiter;
+import com.hubrick.vertx.s3.util.RequestScheduler;
+import com.hubrick.vertx.s3.util.RetryBudget;
+import io.vertx.core.Vertx;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * The pools, schedulers, circuit breakers, limits and settings of a client. The views created with
+ * {@link S3Client#withCredentials(String, String, String)} share the transport of their client and only bring their
+ * own credentials.
+ *
+ * @since 3.3.4
+ */
+class Transport {
+
+    final Vertx vertx;
+    final ThreadLocal<Marshaller> jaxbMarshaller;
+    final ThreadLocal<Unmarshaller> jaxbUnmarshaller;
+    final Long globalTimeout;
+    final String hostname;
+    final String hostnameRegion;
+    final Clock clock;
+    final LongSupplier nanoClock;
+    final List<EventLoopHttpClients> clients;
+    final LoadBalancer loadBalancer;
+    final boolean hostnameOverridden;
+    final S3ClientOptions httpClientOptions;
+    final boolean bucketRegionDiscovery;
+    final Map<String, String> bucketRegions;
+    final Map<String, EventLoopHttpClients> regionalClients;
+    final boolean virtualHostedStyle;
+    final boolean endpointsConfigured;
+    final Map<String, Integer> bucketMaxPoolSizes;
+    final Map<String, String> bucketsByHostname;
+    final Map<String, EventLoopHttpClients> bucketClients;
+    final Map<String, String> readReplicaBuckets;
+    final String awsServiceName;
+    final boolean signPayload;
+    final Long multipartCopyThreshold;
+    final long multipartCopyPartSize;
+    final int multipartCopyConcurrency;
+    final int maxPoolSize;
+    final PrefixRateLimiter rateLimiter;
+    final Integer maxRetries;
+    final ExponentialBackoff retryBackoff;
+    final RetryBudget retryBudget;
+    final Double hedgingPercentile;
+    final long hedgingMinDelayMs;
+    final RetryBudget hedgingBudget;
+    final Map<String, LatencyTracker> hedgingLatencyTrackers;
+    final Map<String, TrafficClass> trafficClasses;
+    final Map<String, String> operationTrafficClasses;
+    final Map<String, TimeoutOptions> operationTimeouts;
+    final AdmissionLimit admissionLimit;
+    final Integer warmUpConnections;
+    final String warmUpBucket;
+    final Map<String, CircuitBreaker> circuitBreakers;
+    final Double circuitBreakerFailureRateThreshold;
+    final Long circuitBreakerSlowCallThresholdMs;
+    final int circuitBreakerWindowSize;
+    final long circuitBreakerOpenDurationMs;
+    final int circuitBreakerHalfOpenProbes;
+    final RequestScheduler defaultScheduler;
+    final Long expectContinueThreshold;
+    final long expectContinueTimeoutMs;
+
+    Transport(Vertx vertx, S3ClientOptions s3ClientOptions, Clock clock, LongSupplier nanoClock) {
+        // Marshallers aren't thread safe and the client may be used from several event loops. The response handlers look up
+        // the unmarshaller when the response arrives, since it may be delivered on another thread than the request was sent from.
+        this.jaxbMarshaller = ThreadLocal.withInitial(Transport::createJaxbMarshaller);
+        this.jaxbUnmarshaller = ThreadLocal.withInitial(Transport::createJaxbUnmarshaller);
+
+        this.vertx = vertx;
+        this.clock = clock;
+        this.nanoClock = nanoClock;
+        this.bucketRegions = new ConcurrentHashMap<>();
+        this.regionalClients = new ConcurrentHashMap<>();
+        this.bucketsByHostname = new ConcurrentHashMap<>();
+        this.bucketClients = new ConcurrentHashMap<>();
+        this.hedgingLatencyTrackers = new ConcurrentHashMap<>();
+        this.circuitBreakers = new ConcurrentHashMap<>();
+        this.trafficClasses = new HashMap<>();
+        this.awsServiceName = s3ClientOptions.getAwsServiceName();
+        this.expectContinueThreshold = s3ClientOptions.getExpectContinueThreshold();
+        this.expectContinueTimeoutMs = s3ClientOptions.getExpectContinueTimeoutMs();
+        this.globalTimeout = s3ClientOptions.getGlobalTimeoutMs();
+        this.signPayload = s3ClientOptions.isSignPayload();
+        this.multipartCopyThreshold = s3ClientOptions.getMultipartCopyThreshold();
+        this.multipartCopyPartSize = s3ClientOptions.getMultipartCopyPartSize();
+        this.multipartCopyConcurrency = s3ClientOptions.getMultipartCopyConcurrency();
+        this.maxPoolSize = s3ClientOptions.getMaxPoolSize();
+        if (s3ClientOptions.getMaxReadsPerSecondPerPrefix() != null || s3ClientOptions.getMaxWritesPerSecondPerPrefix() != null) {
+            this.rateLimiter = new PrefixRateLimiter(vertx, s3ClientOptions.getMaxReadsPerSecondPerPrefix(), s3ClientOptions.getMaxWritesPerSecondPerPrefix(), s3ClientOptions.getRateLimitPrefixDepth(), nanoClock);
+        } else {
+            this.rateLimiter = null;
+        }
+        this.maxRetries = s3ClientOptions.getMaxRetries();
+        this.retryBackoff = new ExponentialBackoff(s3ClientOptions.getRetryBaseDelayMs(), s3ClientOptions.getRetryMaxDelayMs());
+        this.retryBudget = new RetryBudget(s3ClientOptions.getRetryBudgetRatio(), s3ClientOptions.getRetryBudgetMinPerSecond(), nanoClock.getAsLong());
+        this.hedgingPercentile = s3ClientOptions.getHedgingPercentile();
+        this.hedgingMinDelayMs = s3ClientOptions.getHedgingMinDelayMs();
+        this.hedgingBudget = new RetryBudget(s3ClientOptions.getHedgingMaxRatio(), 0, nanoClock.getAsLong());
+        this.circuitBreakerFailureRateThreshold = s3ClientOptions.getCircuitBreakerFailureRateThreshold();
+        this.circuitBreakerSlowCallThresholdMs = s3ClientOptions.getCircuitBreakerSlowCallThresholdMs();
+        this.circuitBreakerWindowSize = s3ClientOptions.getCircuitBreakerWindowSize();
+        this.circuitBreakerOpenDurationMs = s3ClientOptions.getCircuitBreakerOpenDurationMs();
+        this.circuitBreakerHalfOpenProbes = s3ClientOptions.getCircuitBreakerHalfOpenProbes();
+        this.operationTimeouts = new HashMap<>(s3ClientOptions.getOperationTimeouts());
+        this.warmUpConnections = s3ClientOptions.getWarmUpConnections();
+        this.warmUpBucket = StringUtils.trimToNull(s3ClientOptions.getWarmUpBucket());
+        this.admissionLimit = s3ClientOptions.getMaxRequestsInFlight() != null ? new AdmissionLimit(s3ClientOptions.getMaxRequestsInFlight()) : null;
+
+        final String hostnameOverride = s3ClientOptions.getHostnameOverride();
+        this.hostnameOverridden = !Strings.isNullOrEmpty(hostnameOverride);
+        if (hostnameOverridden) {
+            hostname = hostnameOverride;
+        } else {
+            hostname = S3Client.getRegionalHostname(s3ClientOptions.getAwsRegion());
+        }
+        this.hostnameRegion = s3ClientOptions.getAwsRegion();
+        this.bucketRegionDiscovery = s3ClientOptions.isBucketRegionDiscovery();
+        this.virtualHostedStyle = s3ClientOptions.isVirtualHostedStyle();
+        this.endpointsConfigured = !s3ClientOptions.getEndpoints().isEmpty();
+        this.bucketMaxPoolSizes = new HashMap<>(s3ClientOptions.getBucketMaxPoolSizes());
+
+        final S3ClientOptions options = new S3ClientOptions(s3ClientOptions);
+        options.setDefaultHost(hostname);
+        this.httpClientOptions = options;
+
+        // Every endpoint gets its own pool. Without endpoints there is a single pool for the hostname
+        final List<S3ClientOptions> endpointOptions = createEndpointOptions(options);
+        this.clients = createClients(endpointOptions, s3ClientOptions.isHttpClientPerEventLoop());
+        this.loadBalancer = endpointOptions.size() > 1 ? new LoadBalancer(endpointOptions.size(), s3ClientOptions.getEndpointEjectionFailures(), s3ClientOptions.getEndpointEjectionDurationMs()) : null;
+
+        // Every traffic class gets its own pool. The scheduler keeps the excess requests in its own queue
+        s3ClientOptions.getTrafficClasses().forEach((name, trafficClassOptions) -> {
+            final List<S3ClientOptions> trafficClassHttpOptions = new ArrayList<>();
+            for (S3ClientOptions endpointHttpOptions : endpointOptions) {
+                final S3ClientOptions httpOptions = new S3ClientOptions(endpointHttpOptions);
+                httpOptions.setMaxPoolSize(trafficClassOptions.getMaxPoolSize());
+                if (trafficClassOptions.getConnectTimeoutMs() != null) {
+                    httpOptions.setConnectTimeout(trafficClassOptions.getConnectTimeoutMs());
+                }
+                trafficClassHttpOptions.add(httpOptions);
+            }
+            trafficClasses.put(name, new TrafficClass(
+                    createClients(trafficClassHttpOptions, s3ClientOptions.isHttpClientPerEventLoop()),
+                    new RequestScheduler(trafficClassOptions.getMaxPoolSize(), trafficClassOptions.getMaxQueueSize(), trafficClassOptions.isShortestJobFirst()),
+                    trafficClassOptions.getMaxPoolSize(),
+                    trafficClassOptions.getConnectTimeoutMs()
+            ));
+        });
+        this.operationTrafficClasses = new HashMap<>(s3ClientOptions.getOperationTrafficClasses());
+        // Operations without a traffic class share the slots of all endpoint pools
+        this.defaultScheduler = s3ClientOptions.isFairScheduling() ? new RequestScheduler(maxPoolSize * clients.size(), null, false) : null;
+
+        this.readReplicaBuckets = s3ClientOptions.getReadReplica() != null ? new HashMap<>(s3ClientOptions.getReadReplica().getBuckets()) : Collections.emptyMap();
+    }
+
+    private List<S3ClientOptions> createEndpointOptions(S3ClientOptions options) {
+        final List<S3ClientOptions> endpointOptions = new ArrayList<>();
+        for (String endpoint : options.getEndpoints()) {
+            final HostAndPort hostAndPort = HostAndPort.fromString(endpoint.trim()).withDefaultPort(options.getDefaultPort());
+            final S3ClientOptions endpointHttpOptions = new S3ClientOptions(options);
+            endpointHttpOptions.setDefaultHost(hostAndPort.getHostText());
+            endpointHttpOptions.setDefaultPort(hostAndPort.getPort());
+            endpointOptions.add(endpointHttpOptions);
+        }
+        if (endpointOptions.isEmpty()) {
+            endpointOptions.add(options);
+        }
+        return endpointOptions;
+    }
+
+    private List<EventLoopHttpClients> createClients(List<S3ClientOptions> endpointOptions, boolean perEventLoop) {
+        return endpointOptions.stream()
+                .map(endpointHttpOptions -> new EventLoopHttpClients(vertx, endpointHttpOptions, perEventLoop))
+                .collect(Collectors.toList());
+    }
+
+    private static Marshaller createJaxbMarshaller() {
+        try {
+            final JAXBContext jaxbContext = createJAXBContext();
+            final Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
+
+            // output pretty printed
+            jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+
+            return jaxbMarshaller;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Unmarshaller createJaxbUnmarshaller() {
+        try {
+            final JAXBContext jaxbContext = createJAXBContext();
+            return jaxbContext.createUnmarshaller();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static JAXBContext createJAXBContext() {
+        try {
+            return JAXBContext.newInstance(
+                    Contents.class,
+                    CommonPrefixes.class,
+                    GetBucketRespone.class,
+                    CopyObjectResponse.class,
+                    InitMultipartUploadResponse.class,
+                    ListPartsResponse.class,
+                    UploadPartCopyResponse.class,
+                    DeleteObjectsRequest.class,
+                    DeleteObjectsResponse.class,
+                    CompleteMultipartUploadRequest.class,
+                    CompleteMultipartUploadResponse.class,
+                    AccessControlPolicy.class,
+                    Grant.class,
+                    Grantee.class,
+                    Part.class,
+                    Owner.class,
+                    ErrorResponse.class
+            );
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static class TrafficClass {
+
+        final List<EventLoopHttpClients> clients;
+        final RequestScheduler scheduler;
+        final int maxPoolSize;
+        final Integer connectTimeoutMs;
+
+        TrafficClass(List<EventLoopHttpClients> clients, RequestScheduler scheduler, int maxPoolSize, Integer connectTimeoutMs) {
+            this.clients = clients;
+            this.scheduler = scheduler;
+            this.maxPoolSize = maxPoolSize;
+            this.connectTimeoutMs = connectTimeoutMs;
+        }
+    }
+}
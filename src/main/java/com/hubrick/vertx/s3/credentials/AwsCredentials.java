@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.credentials;
+
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.time.Instant;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The credentials used to sign requests. Temporary credentials have a session token and an expiration.
+ *
+ * @since 3.3.4
+ */
+public class AwsCredentials {
+
+    private static final String ACCESS_KEY_ID = "AccessKeyId";
+    private static final String SECRET_ACCESS_KEY = "SecretAccessKey";
+    private static final String TOKEN = "Token";
+    private static final String EXPIRATION = "Expiration";
+
+    private final String awsAccessKey;
+    private final String awsSecretKey;
+    private final String sessionToken;
+    private final Instant expiration;
+
+    public AwsCredentials(String awsAccessKey, String awsSecretKey) {
+        this(awsAccessKey, awsSecretKey, null, null);
+    }
+
+    public AwsCredentials(String awsAccessKey, String awsSecretKey, String sessionToken, Instant expiration) {
+        checkNotNull(StringUtils.trimToNull(awsAccessKey), "awsAccessKey must not be null");
+        checkNotNull(StringUtils.trimToNull(awsSecretKey), "awsSecretKey must not be null");
+
+        this.awsAccessKey = awsAccessKey;
+        this.awsSecretKey = awsSecretKey;
+        this.sessionToken = StringUtils.trimToNull(sessionToken);
+        this.expiration = expiration;
+    }
+
+    /**
+     * Reads the format of the container and instance metadata endpoints:
+     * {"AccessKeyId": "...", "SecretAccessKey": "...", "Token": "...", "Expiration": "2019-01-01T00:00:00Z"}.
+     * Token and expiration are optional.
+     *
+     * @param json The credentials
+     * @return The credentials
+     */
+    public static AwsCredentials fromJson(JsonObject json) {
+        final String expiration = StringUtils.trimToNull(json.getString(EXPIRATION));
+        return new AwsCredentials(
+                json.getString(ACCESS_KEY_ID),
+                json.getString(SECRET_ACCESS_KEY),
+                json.getString(TOKEN),
+                expiration != null ? Instant.parse(expiration) : null
+        );
+    }
+
+    public String getAwsAccessKey() {
+        return awsAccessKey;
+    }
+
+    public String getAwsSecretKey() {
+        return awsSecretKey;
+    }
+
+    public String getSessionToken() {
+        return sessionToken;
+    }
+
+    public Instant getExpiration() {
+        return expiration;
+    }
+
+    @Override
+    public String toString() {
+        // The secret and the token must not end up in logs
+        return new ToStringBuilder(this)
+                .append("awsAccessKey", awsAccessKey)
+                .append("sessionToken", sessionToken != null ? "****" : null)
+                .append("expiration", expiration)
+                .toString();
+    }
+}
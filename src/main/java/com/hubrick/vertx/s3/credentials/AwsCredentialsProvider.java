@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.credentials;
+
+import io.vertx.core.Handler;
+
+/**
+ * Supplies the credentials of a client, so they can be rotated without recreating the client and its connection pools.
+ * Implementations must be safe to be called from the event loop, which means they must not block, and should call the
+ * handler right away while their cached credentials are valid. Requests which are streamed with write or sendHead hold
+ * back their head and writes until the handler was called. A failure fails the request instead of sending it unsigned.
+ *
+ * @since 3.3.4
+ */
+public interface AwsCredentialsProvider {
+
+    /**
+     * Gets the credentials to sign a request with.
+     *
+     * @param handler          Success handler
+     * @param exceptionHandler Exception handler
+     */
+    void getCredentials(Handler<AwsCredentials> handler, Handler<Throwable> exceptionHandler);
+}
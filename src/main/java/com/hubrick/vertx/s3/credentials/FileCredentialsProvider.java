@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.credentials;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Clock;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reads the credentials from a JSON file in the format of {@link AwsCredentials#fromJson} and reloads it periodically,
+ * so credentials which are rotated by writing the file are picked up without recreating the client.
+ *
+ * @since 3.3.4
+ */
+public class FileCredentialsProvider extends RefreshingCredentialsProvider {
+
+    private final FileSystem fileSystem;
+    private final String path;
+
+    /**
+     * @param vertx            The vertx instance
+     * @param path             The path of the credentials file
+     * @param reloadIntervalMs How often the file is read
+     * @param refreshAheadMs   How long before the expiration in the file it's read again
+     */
+    public FileCredentialsProvider(Vertx vertx, String path, long reloadIntervalMs, long refreshAheadMs) {
+        super(Clock.systemUTC(), refreshAheadMs, reloadIntervalMs);
+        checkNotNull(vertx, "vertx must not be null");
+        checkNotNull(StringUtils.trimToNull(path), "path must not be null");
+
+        this.fileSystem = vertx.fileSystem();
+        this.path = path;
+    }
+
+    @Override
+    protected void loadCredentials(Handler<AwsCredentials> handler, Handler<Throwable> exceptionHandler) {
+        fileSystem.readFile(path, result -> {
+            if (result.failed()) {
+                exceptionHandler.handle(result.cause());
+                return;
+            }
+
+            final AwsCredentials credentials;
+            try {
+                credentials = AwsCredentials.fromJson(new JsonObject(result.result()));
+            } catch (RuntimeException e) {
+                exceptionHandler.handle(e);
+                return;
+            }
+            handler.handle(credentials);
+        });
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.credentials;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Clock;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Loads temporary credentials from a metadata endpoint like the ECS container credentials endpoint, which answers in the
+ * format of {@link AwsCredentials#fromJson}. New credentials are loaded ahead of the expiration of the current ones.
+ *
+ * @since 3.3.4
+ */
+public class HttpCredentialsProvider extends RefreshingCredentialsProvider {
+
+    private static final String AUTHORIZATION = "Authorization";
+
+    private final HttpClient httpClient;
+    private final String uri;
+    private final String authorizationToken;
+    private final long timeoutMs;
+
+    /**
+     * @param vertx              The vertx instance
+     * @param uri                The absolute uri of the endpoint, e.g. http://169.254.170.2/v2/credentials/id
+     * @param authorizationToken The value of the authorization header or null
+     * @param timeoutMs          The timeout of a request to the endpoint
+     * @param refreshAheadMs     How long before their expiration new credentials are loaded
+     */
+    public HttpCredentialsProvider(Vertx vertx, String uri, String authorizationToken, long timeoutMs, long refreshAheadMs) {
+        super(Clock.systemUTC(), refreshAheadMs, null);
+        checkNotNull(vertx, "vertx must not be null");
+        checkNotNull(StringUtils.trimToNull(uri), "uri must not be null");
+
+        this.httpClient = vertx.createHttpClient(new HttpClientOptions().setMaxPoolSize(1));
+        this.uri = uri;
+        this.authorizationToken = StringUtils.trimToNull(authorizationToken);
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    protected void loadCredentials(Handler<AwsCredentials> handler, Handler<Throwable> exceptionHandler) {
+        final HttpClientRequest request = httpClient.requestAbs(HttpMethod.GET, uri);
+        request.handler(response -> {
+            if (response.statusCode() / 100 != 2) {
+                response.resume();
+                exceptionHandler.handle(new IllegalStateException("Credentials endpoint answered with " + response.statusCode()));
+                return;
+            }
+            response.exceptionHandler(exceptionHandler);
+            response.bodyHandler(body -> {
+                final AwsCredentials credentials;
+                try {
+                    credentials = AwsCredentials.fromJson(new JsonObject(body));
+                } catch (RuntimeException e) {
+                    exceptionHandler.handle(e);
+                    return;
+                }
+                handler.handle(credentials);
+            });
+        });
+        if (authorizationToken != null) {
+            request.putHeader(AUTHORIZATION, authorizationToken);
+        }
+        request.exceptionHandler(exceptionHandler);
+        request.setTimeout(timeoutMs);
+        request.end();
+    }
+
+    public void close() {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.credentials;
+
+import io.vertx.core.Handler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Caches the loaded credentials and loads new ones ahead of their expiration or after the reload interval. Requests
+ * keep using the cached credentials while new ones are loaded in the background, so a rotation doesn't delay them.
+ * Requests only wait for the first credentials and once the cached ones expired. A failed refresh is retried
+ * after a second as long as the cached credentials are valid.
+ *
+ * @since 3.3.4
+ */
+public abstract class RefreshingCredentialsProvider implements AwsCredentialsProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshingCredentialsProvider.class);
+    private static final long REFRESH_RETRY_DELAY_MS = 1000L;
+
+    private final Clock clock;
+    private final long refreshAheadMs;
+    private final Long reloadIntervalMs;
+    private final List<Waiter> waiters = new ArrayList<>();
+
+    private AwsCredentials credentials;
+    private Instant refreshAt;
+    private boolean loading = false;
+
+    /**
+     * @param clock            The clock to compare the expiration with
+     * @param refreshAheadMs   How long before their expiration new credentials are loaded
+     * @param reloadIntervalMs How often credentials are reloaded or null to only reload them ahead of their expiration
+     */
+    protected RefreshingCredentialsProvider(Clock clock, long refreshAheadMs, Long reloadIntervalMs) {
+        checkNotNull(clock, "clock must not be null");
+        checkArgument(refreshAheadMs >= 0, "refreshAheadMs must not be negative");
+        checkArgument(reloadIntervalMs == null || reloadIntervalMs > 0, "reloadIntervalMs must be more than zero");
+
+        this.clock = clock;
+        this.refreshAheadMs = refreshAheadMs;
+        this.reloadIntervalMs = reloadIntervalMs;
+    }
+
+    /**
+     * Loads new credentials. Must not block.
+     *
+     * @param handler          Success handler
+     * @param exceptionHandler Exception handler
+     */
+    protected abstract void loadCredentials(Handler<AwsCredentials> handler, Handler<Throwable> exceptionHandler);
+
+    @Override
+    public void getCredentials(Handler<AwsCredentials> handler, Handler<Throwable> exceptionHandler) {
+        checkNotNull(handler, "handler must not be null");
+        checkNotNull(exceptionHandler, "exceptionHandler must not be null");
+
+        final AwsCredentials cached;
+        final boolean load;
+        synchronized (this) {
+            final Instant now = clock.instant();
+            if (credentials != null && !isExpired(credentials, now)) {
+                cached = credentials;
+                load = !loading && refreshAt != null && !now.isBefore(refreshAt);
+            } else {
+                cached = null;
+                load = !loading;
+                waiters.add(new Waiter(handler, exceptionHandler));
+            }
+            loading |= load;
+        }
+
+        if (load) {
+            load();
+        }
+        if (cached != null) {
+            handler.handle(cached);
+        }
+    }
+
+    private void load() {
+        loadCredentials(
+                loadedCredentials -> {
+                    final List<Waiter> waiting;
+                    synchronized (this) {
+                        loading = false;
+                        credentials = loadedCredentials;
+                        refreshAt = getRefreshAt(loadedCredentials, clock.instant());
+                        waiting = drainWaiters();
+                    }
+                    log.debug("Loaded credentials {}", loadedCredentials);
+                    waiting.forEach(waiter -> waiter.handler.handle(loadedCredentials));
+                },
+                throwable -> {
+                    final List<Waiter> waiting;
+                    synchronized (this) {
+                        loading = false;
+                        refreshAt = clock.instant().plusMillis(REFRESH_RETRY_DELAY_MS);
+                        waiting = drainWaiters();
+                    }
+                    log.warn("Failed to load credentials", throwable);
+                    waiting.forEach(waiter -> waiter.exceptionHandler.handle(throwable));
+                }
+        );
+    }
+
+    private List<Waiter> drainWaiters() {
+        final List<Waiter> waiting = new ArrayList<>(waiters);
+        waiters.clear();
+        return waiting;
+    }
+
+    private Instant getRefreshAt(AwsCredentials loadedCredentials, Instant now) {
+        Instant next = reloadIntervalMs != null ? now.plusMillis(reloadIntervalMs) : null;
+        if (loadedCredentials.getExpiration() != null) {
+            final Instant aheadOfExpiration = loadedCredentials.getExpiration().minusMillis(refreshAheadMs);
+            if (next == null || aheadOfExpiration.isBefore(next)) {
+                next = aheadOfExpiration;
+            }
+        }
+        return next;
+    }
+
+    private static boolean isExpired(AwsCredentials credentials, Instant now) {
+        return credentials.getExpiration() != null && !now.isBefore(credentials.getExpiration());
+    }
+
+    private static class Waiter {
+
+        private final Handler<AwsCredentials> handler;
+        private final Handler<Throwable> exceptionHandler;
+
+        private Waiter(Handler<AwsCredentials> handler, Handler<Throwable> exceptionHandler) {
+            this.handler = handler;
+            this.exceptionHandler = exceptionHandler;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.credentials;
+
+import io.vertx.core.Handler;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Always supplies the same credentials.
+ *
+ * @since 3.3.4
+ */
+public class StaticCredentialsProvider implements AwsCredentialsProvider {
+
+    private final AwsCredentials credentials;
+
+    public StaticCredentialsProvider(AwsCredentials credentials) {
+        checkNotNull(credentials, "credentials must not be null");
+
+        this.credentials = credentials;
+    }
+
+    @Override
+    public void getCredentials(Handler<AwsCredentials> handler, Handler<Throwable> exceptionHandler) {
+        handler.handle(credentials);
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.exception;
+
+/**
+ * Thrown without sending the request while the circuit breaker of the endpoint and operation is open.
+ *
+ * @since 3.3.4
+ */
+public class CircuitBreakerOpenException extends S3ClientException {
+
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.exception;
+
+/**
+ * Thrown instead of sending a request whose deadline expired, or once the deadline expires while the request is in flight.
+ *
+ * @since 3.3.4
+ */
+public class DeadlineExceededException extends S3ClientException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
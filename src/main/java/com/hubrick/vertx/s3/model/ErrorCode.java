@@ -29,6 +29,7 @@ public enum ErrorCode {
     @XmlEnumValue("AccessDenied")ACCESS_DENIED("AccessDenied"),
     @XmlEnumValue("AccountProblem")ACCOUNT_PROBLEM("AccountProblem"),
     @XmlEnumValue("AmbiguousGrantByEmailAddress")AMBIGUOUS_GRANT_BY_EMAIL_ADDRESS("AmbiguousGrantByEmailAddress"),
+    @XmlEnumValue("AuthorizationHeaderMalformed")AUTHORIZATION_HEADER_MALFORMED("AuthorizationHeaderMalformed"),
     @XmlEnumValue("BadDigest")BAD_DIGEST("BadDigest"),
     @XmlEnumValue("BucketAlreadyExists")BUCKET_ALREADY_EXISTS("BucketAlreadyExists"),
     @XmlEnumValue("BucketAlreadyOwnedByYou")BUCKET_ALREADY_OWNED_BY_YOU("BucketAlreadyOwnedByYou"),
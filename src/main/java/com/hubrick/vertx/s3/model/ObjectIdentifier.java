@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.model;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An object to delete with a multi object delete.
+ *
+ * @since 3.3.4
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class ObjectIdentifier {
+
+    @XmlElement(name = "Key", required = true)
+    private String key;
+
+    @XmlElement(name = "VersionId")
+    private String versionId;
+
+    protected ObjectIdentifier() {}
+
+    public ObjectIdentifier(String key, String versionId) {
+        checkNotNull(StringUtils.trimToNull(key), "key must not be null");
+
+        this.key = key;
+        this.versionId = versionId;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getVersionId() {
+        return versionId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -32,6 +32,7 @@ public class GetObjectResponseHeaders extends ServerSideEncryptionResponseHeader
     private StorageClass amzStorageClass;
     private Integer amzTaggingCount;
     private String amzWebsiteRedirectLocation;
+    private String contentRange;
 
     public String getAmzExpiration() {
         return amzExpiration;
@@ -88,4 +89,12 @@ public class GetObjectResponseHeaders extends ServerSideEncryptionResponseHeader
     public void setAmzWebsiteRedirectLocation(String amzWebsiteRedirectLocation) {
         this.amzWebsiteRedirectLocation = amzWebsiteRedirectLocation;
     }
+
+    public String getContentRange() {
+        return contentRange;
+    }
+
+    public void setContentRange(String contentRange) {
+        this.contentRange = contentRange;
+    }
 }
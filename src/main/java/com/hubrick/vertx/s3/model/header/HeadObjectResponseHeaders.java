@@ -31,6 +31,11 @@ public class HeadObjectResponseHeaders extends ServerSideEncryptionResponseHeade
     private ReplicationStatus amzReplicationStatus;
     private String amzRestore;
     private StorageClass amzStorageClass;
+    private String amzWebsiteRedirectLocation;
+    private String cacheControl;
+    private String contentDisposition;
+    private String contentEncoding;
+    private String expires;
 
     public String getAmzExpiration() {
         return amzExpiration;
@@ -79,4 +84,44 @@ public class HeadObjectResponseHeaders extends ServerSideEncryptionResponseHeade
     public void setAmzStorageClass(StorageClass amzStorageClass) {
         this.amzStorageClass = amzStorageClass;
     }
+
+    public String getAmzWebsiteRedirectLocation() {
+        return amzWebsiteRedirectLocation;
+    }
+
+    public void setAmzWebsiteRedirectLocation(String amzWebsiteRedirectLocation) {
+        this.amzWebsiteRedirectLocation = amzWebsiteRedirectLocation;
+    }
+
+    public String getCacheControl() {
+        return cacheControl;
+    }
+
+    public void setCacheControl(String cacheControl) {
+        this.cacheControl = cacheControl;
+    }
+
+    public String getContentDisposition() {
+        return contentDisposition;
+    }
+
+    public void setContentDisposition(String contentDisposition) {
+        this.contentDisposition = contentDisposition;
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    public void setContentEncoding(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    public String getExpires() {
+        return expires;
+    }
+
+    public void setExpires(String expires) {
+        this.expires = expires;
+    }
 }
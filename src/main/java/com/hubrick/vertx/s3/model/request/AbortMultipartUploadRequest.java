@@ -15,6 +15,7 @@
  */
 package com.hubrick.vertx.s3.model.request;
 
+import com.hubrick.vertx.s3.util.Deadline;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -29,6 +30,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public class AbortMultipartUploadRequest {
 
     private final String uploadId;
+    private Deadline deadline;
 
     public AbortMultipartUploadRequest(String uploadId) {
         checkNotNull(StringUtils.trimToNull(uploadId), "uploadId must not be null");
@@ -40,6 +42,15 @@ public class AbortMultipartUploadRequest {
         return uploadId;
     }
 
+    public AbortMultipartUploadRequest withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
 
     @Override
     public boolean equals(Object o) {
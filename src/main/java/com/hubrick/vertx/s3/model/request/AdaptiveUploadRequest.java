@@ -16,6 +16,8 @@
 package com.hubrick.vertx.s3.model.request;
 
 import com.hubrick.vertx.s3.model.StorageClass;
+import com.hubrick.vertx.s3.util.AimdConcurrencyController;
+import com.hubrick.vertx.s3.util.Deadline;
 import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.streams.ReadStream;
@@ -47,6 +49,9 @@ public class AdaptiveUploadRequest extends AclHeadersRequest<AdaptiveUploadReque
 
     private Integer writeQueueMaxSize;
     private Integer bufferSize;
+    private Integer maxRetries;
+    private Deadline deadline;
+    private AimdConcurrencyController concurrencyController;
 
     public AdaptiveUploadRequest(ReadStream<Buffer> readStream) {
         checkNotNull(readStream, "readStream must not be null");
@@ -120,6 +125,16 @@ public class AdaptiveUploadRequest extends AclHeadersRequest<AdaptiveUploadReque
         return this;
     }
 
+    public AdaptiveUploadRequest withMaxRetries(Integer maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    public AdaptiveUploadRequest withConcurrencyController(AimdConcurrencyController concurrencyController) {
+        this.concurrencyController = concurrencyController;
+        return this;
+    }
+
     public ReadStream<Buffer> getReadStream() {
         return readStream;
     }
@@ -172,6 +187,29 @@ public class AdaptiveUploadRequest extends AclHeadersRequest<AdaptiveUploadReque
         return bufferSize;
     }
 
+    public Integer getMaxRetries() {
+        return maxRetries;
+    }
+
+    public AimdConcurrencyController getConcurrencyController() {
+        return concurrencyController;
+    }
+
+    /**
+     * The deadline of the whole upload. It is passed on to the put request or to all requests of the multipart upload.
+     *
+     * @param deadline The deadline
+     * @return This
+     */
+    public AdaptiveUploadRequest withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
     @Override
     public boolean equals(Object o) {
         return EqualsBuilder.reflectionEquals(this, o);
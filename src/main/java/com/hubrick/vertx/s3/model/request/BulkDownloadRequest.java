@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.model.request;
+
+import com.hubrick.vertx.s3.util.Deadline;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Downloads either the given keys or all keys with the given prefix into a directory. The keys are used as relative paths.
+ *
+ * @since 3.3.4
+ */
+public class BulkDownloadRequest {
+
+    private final String directory;
+
+    private List<String> keys;
+    private String prefix;
+    private Integer maxConcurrentRequests;
+    private Deadline deadline;
+    private Long partSize;
+
+    public BulkDownloadRequest(String directory) {
+        checkNotNull(StringUtils.trimToNull(directory), "directory must not be null");
+
+        this.directory = directory;
+    }
+
+    public BulkDownloadRequest withKeys(Collection<String> keys) {
+        this.keys = keys != null ? new ArrayList<>(keys) : null;
+        return this;
+    }
+
+    public BulkDownloadRequest withPrefix(String prefix) {
+        this.prefix = prefix;
+        return this;
+    }
+
+    /**
+     * Defaults to the max pool size of the client. Every GET, including the ranged GETs of big objects, counts against the limit.
+     *
+     * @param maxConcurrentRequests The maximum number of GET requests in flight
+     * @return This
+     */
+    public BulkDownloadRequest withMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        return this;
+    }
+
+    /**
+     * Objects bigger than the part size are downloaded with parallel ranged GETs. Defaults to 8MB.
+     *
+     * @param partSize The part size in bytes
+     * @return This
+     */
+    public BulkDownloadRequest withPartSize(Long partSize) {
+        this.partSize = partSize;
+        return this;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public Long getPartSize() {
+        return partSize;
+    }
+
+    /**
+     * The deadline of the whole download. It is passed on to the listing of the objects and to all downloads.
+     *
+     * @param deadline The deadline
+     * @return This
+     */
+    public BulkDownloadRequest withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.model.request;
+
+import io.vertx.core.buffer.Buffer;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A single object of a bulk upload. The content is either given as buffer or read from a file right before it is uploaded.
+ *
+ * @since 3.3.4
+ */
+public class BulkUploadItem {
+
+    private final String key;
+    private final Buffer data;
+    private final String filePath;
+
+    private String contentType;
+
+    public BulkUploadItem(String key, Buffer data) {
+        checkNotNull(StringUtils.trimToNull(key), "key must not be null");
+        checkNotNull(data, "data must not be null");
+
+        this.key = key;
+        this.data = data;
+        this.filePath = null;
+    }
+
+    public BulkUploadItem(String key, String filePath) {
+        checkNotNull(StringUtils.trimToNull(key), "key must not be null");
+        checkNotNull(StringUtils.trimToNull(filePath), "filePath must not be null");
+
+        this.key = key;
+        this.data = null;
+        this.filePath = filePath;
+    }
+
+    public BulkUploadItem withContentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Buffer getData() {
+        return data;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
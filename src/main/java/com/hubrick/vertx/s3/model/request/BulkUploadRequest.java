@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.model.request;
+
+import io.vertx.core.streams.ReadStream;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * @since 3.3.4
+ */
+public class BulkUploadRequest {
+
+    private final ReadStream<BulkUploadItem> items;
+
+    private Integer maxConcurrentRequests;
+    private Long maxBytesInFlight;
+
+    public BulkUploadRequest(ReadStream<BulkUploadItem> items) {
+        checkNotNull(items, "items must not be null");
+
+        this.items = items;
+    }
+
+    /**
+     * Defaults to the max pool size of the client so every connection is kept busy without queueing requests in the pool.
+     *
+     * @param maxConcurrentRequests The maximum number of uploads in flight
+     * @return This
+     */
+    public BulkUploadRequest withMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        return this;
+    }
+
+    /**
+     * No further item is started while the sum of the sizes of the uploads in flight exceeds the limit. Defaults to 64MB.
+     *
+     * @param maxBytesInFlight The limit in bytes
+     * @return This
+     */
+    public BulkUploadRequest withMaxBytesInFlight(Long maxBytesInFlight) {
+        this.maxBytesInFlight = maxBytesInFlight;
+        return this;
+    }
+
+    public ReadStream<BulkUploadItem> getItems() {
+        return items;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public Long getMaxBytesInFlight() {
+        return maxBytesInFlight;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -16,6 +16,7 @@
 package com.hubrick.vertx.s3.model.request;
 
 import com.hubrick.vertx.s3.model.Part;
+import com.hubrick.vertx.s3.util.Deadline;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -44,6 +45,9 @@ public class CompleteMultipartUploadRequest {
     @XmlElement(name = "Part", type = Part.class)
     private List<Part> parts;
 
+    @XmlTransient
+    private Deadline deadline;
+
     protected CompleteMultipartUploadRequest() {}
 
     public CompleteMultipartUploadRequest(String uploadId, List<Part> parts) {
@@ -62,6 +66,15 @@ public class CompleteMultipartUploadRequest {
         return parts;
     }
 
+    public CompleteMultipartUploadRequest withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
     @Override
     public boolean equals(Object o) {
         return EqualsBuilder.reflectionEquals(this, o);
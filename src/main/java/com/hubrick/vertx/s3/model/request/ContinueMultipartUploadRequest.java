@@ -15,6 +15,7 @@
  */
 package com.hubrick.vertx.s3.model.request;
 
+import com.hubrick.vertx.s3.util.Deadline;
 import io.vertx.core.buffer.Buffer;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -34,6 +35,7 @@ public class ContinueMultipartUploadRequest {
     private final String uploadId;
 
     private String contentMD5;
+    private Deadline deadline;
 
     public ContinueMultipartUploadRequest(Buffer data, Integer partNumber, String uploadId) {
         checkNotNull(data, "data must not be null");
@@ -66,6 +68,15 @@ public class ContinueMultipartUploadRequest {
         return contentMD5;
     }
 
+    public ContinueMultipartUploadRequest withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
     @Override
     public boolean equals(Object o) {
         return EqualsBuilder.reflectionEquals(this, o);
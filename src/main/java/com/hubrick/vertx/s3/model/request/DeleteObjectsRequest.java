@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.model.request;
+
+import com.hubrick.vertx.s3.model.ObjectIdentifier;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * @since 3.3.4
+ */
+@XmlRootElement(name = "Delete")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class DeleteObjectsRequest {
+
+    @XmlElement(name = "Quiet")
+    private Boolean quiet;
+
+    @XmlElement(name = "Object", type = ObjectIdentifier.class)
+    private List<ObjectIdentifier> objects = new ArrayList<>();
+
+    @XmlTransient
+    private String amzMfa;
+
+    @XmlTransient
+    private Integer maxConcurrentBatches;
+
+    public DeleteObjectsRequest() {}
+
+    public DeleteObjectsRequest(Collection<String> keys) {
+        checkNotNull(keys, "keys must not be null");
+
+        keys.forEach(key -> objects.add(new ObjectIdentifier(key, null)));
+    }
+
+    public DeleteObjectsRequest withObject(String key, String versionId) {
+        this.objects.add(new ObjectIdentifier(key, versionId));
+        return this;
+    }
+
+    public DeleteObjectsRequest withObjects(Collection<ObjectIdentifier> objects) {
+        this.objects.addAll(objects);
+        return this;
+    }
+
+    /**
+     * In quiet mode S3 only reports the keys which couldn't be deleted.
+     *
+     * @param quiet Quiet mode
+     * @return This
+     */
+    public DeleteObjectsRequest withQuiet(Boolean quiet) {
+        this.quiet = quiet;
+        return this;
+    }
+
+    public DeleteObjectsRequest withAmzMfa(String amzMfa) {
+        this.amzMfa = amzMfa;
+        return this;
+    }
+
+    /**
+     * S3 accepts at most 1000 keys per request so bigger requests are split into batches which are sent in parallel.
+     *
+     * @param maxConcurrentBatches The maximum number of batches in flight
+     * @return This
+     */
+    public DeleteObjectsRequest withMaxConcurrentBatches(Integer maxConcurrentBatches) {
+        this.maxConcurrentBatches = maxConcurrentBatches;
+        return this;
+    }
+
+    public Boolean getQuiet() {
+        return quiet;
+    }
+
+    public List<ObjectIdentifier> getObjects() {
+        return objects;
+    }
+
+    public String getAmzMfa() {
+        return amzMfa;
+    }
+
+    public Integer getMaxConcurrentBatches() {
+        return maxConcurrentBatches;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
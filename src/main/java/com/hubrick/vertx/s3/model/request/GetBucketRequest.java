@@ -15,6 +15,7 @@
  */
 package com.hubrick.vertx.s3.model.request;
 
+import com.hubrick.vertx.s3.util.Deadline;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -32,6 +33,7 @@ public class GetBucketRequest {
     private String continuationToken;
     private String fetchOwner;
     private String startAfter;
+    private Deadline deadline;
 
     public GetBucketRequest withDelimiter(String delimiter) {
         this.delimiter = delimiter;
@@ -96,6 +98,15 @@ public class GetBucketRequest {
         return startAfter;
     }
 
+    public GetBucketRequest withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
     @Override
     public boolean equals(Object o) {
         return EqualsBuilder.reflectionEquals(this, o);
@@ -15,6 +15,7 @@
  */
 package com.hubrick.vertx.s3.model.request;
 
+import com.hubrick.vertx.s3.util.Deadline;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -37,6 +38,7 @@ public class GetObjectRequest {
     private String ifUnmodifiedSince;
     private String ifMatch;
     private String ifNoneMatch;
+    private Deadline deadline;
 
     public GetObjectRequest withResponseContentType(String responseContentType) {
         this.responseContentType = responseContentType;
@@ -137,6 +139,15 @@ public class GetObjectRequest {
         return ifNoneMatch;
     }
 
+    public GetObjectRequest withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
     @Override
     public boolean equals(Object o) {
         return EqualsBuilder.reflectionEquals(this, o);
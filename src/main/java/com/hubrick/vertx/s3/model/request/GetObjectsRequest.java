@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.model.request;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * @since 3.3.4
+ */
+public class GetObjectsRequest {
+
+    private final List<String> keys;
+
+    private Integer maxConcurrentRequests;
+    private Long maxBytesInFlight;
+
+    public GetObjectsRequest(Collection<String> keys) {
+        checkNotNull(keys, "keys must not be null");
+
+        this.keys = new ArrayList<>(keys);
+    }
+
+    /**
+     * Defaults to the max pool size of the client.
+     *
+     * @param maxConcurrentRequests The maximum number of GET requests in flight
+     * @return This
+     */
+    public GetObjectsRequest withMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        return this;
+    }
+
+    /**
+     * Bodies are only read while the sum of their Content-Length fits into the budget. Responses which don't fit are paused
+     * until other bodies were read completely. Defaults to 64MB.
+     *
+     * @param maxBytesInFlight The budget in bytes
+     * @return This
+     */
+    public GetObjectsRequest withMaxBytesInFlight(Long maxBytesInFlight) {
+        this.maxBytesInFlight = maxBytesInFlight;
+        return this;
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public Long getMaxBytesInFlight() {
+        return maxBytesInFlight;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.hubrick.vertx.s3.model.request;
 
+import com.hubrick.vertx.s3.util.Deadline;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -30,6 +31,7 @@ public class HeadObjectRequest {
     private String ifUnmodifiedSince;
     private String ifMatch;
     private String ifNoneMatch;
+    private Deadline deadline;
 
     public HeadObjectRequest withRange(String range) {
         this.range = range;
@@ -76,6 +78,15 @@ public class HeadObjectRequest {
         return ifNoneMatch;
     }
 
+    public HeadObjectRequest withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
     @Override
     public boolean equals(Object o) {
         return EqualsBuilder.reflectionEquals(this, o);
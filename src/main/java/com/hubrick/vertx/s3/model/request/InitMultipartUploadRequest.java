@@ -16,6 +16,7 @@
 package com.hubrick.vertx.s3.model.request;
 
 import com.hubrick.vertx.s3.model.StorageClass;
+import com.hubrick.vertx.s3.util.Deadline;
 import io.vertx.core.MultiMap;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -35,6 +36,7 @@ public class InitMultipartUploadRequest extends AclHeadersRequest<InitMultipartU
 
     private MultiMap amzMeta = MultiMap.caseInsensitiveMultiMap();
     private StorageClass amzStorageClass;
+    private Deadline deadline;
     private String amzWebsiteRedirectLocation;
 
     public InitMultipartUploadRequest withCacheControl(String cacheControl) {
@@ -114,6 +116,22 @@ public class InitMultipartUploadRequest extends AclHeadersRequest<InitMultipartU
         return amzWebsiteRedirectLocation;
     }
 
+    /**
+     * The deadline of the whole upload. The returned {@link com.hubrick.vertx.s3.model.response.MultipartUploadWriteStream}
+     * passes it on to the upload of the parts and the final complete request.
+     *
+     * @param deadline The deadline
+     * @return This
+     */
+    public InitMultipartUploadRequest withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
     @Override
     public boolean equals(Object o) {
         return EqualsBuilder.reflectionEquals(this, o);
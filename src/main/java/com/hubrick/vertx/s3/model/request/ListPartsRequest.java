@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.model.request;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * @since 3.3.4
+ */
+public class ListPartsRequest {
+
+    private final String uploadId;
+
+    private Integer maxParts;
+    private Integer partNumberMarker;
+
+    public ListPartsRequest(String uploadId) {
+        checkNotNull(StringUtils.trimToNull(uploadId), "uploadId must not be null");
+
+        this.uploadId = uploadId;
+    }
+
+    public ListPartsRequest withMaxParts(Integer maxParts) {
+        this.maxParts = maxParts;
+        return this;
+    }
+
+    public ListPartsRequest withPartNumberMarker(Integer partNumberMarker) {
+        this.partNumberMarker = partNumberMarker;
+        return this;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public Integer getMaxParts() {
+        return maxParts;
+    }
+
+    public Integer getPartNumberMarker() {
+        return partNumberMarker;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -16,6 +16,7 @@
 package com.hubrick.vertx.s3.model.request;
 
 import com.hubrick.vertx.s3.model.AccessControlPolicy;
+import com.hubrick.vertx.s3.util.Deadline;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -28,6 +29,7 @@ public class PutObjectAclRequest {
 
     private AclHeadersRequest aclHeadersRequest;
     private AccessControlPolicy accessControlPolicy;
+    private Deadline deadline;
 
     public PutObjectAclRequest(AclHeadersRequest aclHeadersRequest) {
         this.aclHeadersRequest = aclHeadersRequest;
@@ -45,6 +47,15 @@ public class PutObjectAclRequest {
         return accessControlPolicy;
     }
 
+    public PutObjectAclRequest withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
     @Override
     public boolean equals(Object o) {
         return EqualsBuilder.reflectionEquals(this, o);
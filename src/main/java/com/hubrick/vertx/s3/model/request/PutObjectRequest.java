@@ -16,6 +16,7 @@
 package com.hubrick.vertx.s3.model.request;
 
 import com.hubrick.vertx.s3.model.StorageClass;
+import com.hubrick.vertx.s3.util.Deadline;
 import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -43,6 +44,7 @@ public class PutObjectRequest extends AclHeadersRequest<PutObjectRequest> {
     private StorageClass amzStorageClass;
     private String amzTagging;
     private String amzWebsiteRedirectLocation;
+    private Deadline deadline;
 
     public PutObjectRequest(Buffer data) {
         checkNotNull(data, "data must not be null");
@@ -149,6 +151,15 @@ public class PutObjectRequest extends AclHeadersRequest<PutObjectRequest> {
         return amzWebsiteRedirectLocation;
     }
 
+    public PutObjectRequest withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
     @Override
     public boolean equals(Object o) {
         return EqualsBuilder.reflectionEquals(this, o);
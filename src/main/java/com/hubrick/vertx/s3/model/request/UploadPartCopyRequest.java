@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.model.request;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * @since 3.3.4
+ */
+public class UploadPartCopyRequest {
+
+    private final String uploadId;
+    private final Integer partNumber;
+
+    private Long firstByte;
+    private Long lastByte;
+    private String amzCopySourceIfMatch;
+    private String amzCopySourceIfNoneMatch;
+    private String amzCopySourceIfUnmodifiedSince;
+    private String amzCopySourceIfModifiedSince;
+
+    public UploadPartCopyRequest(String uploadId, Integer partNumber) {
+        checkNotNull(StringUtils.trimToNull(uploadId), "uploadId must not be null");
+        checkNotNull(partNumber, "partNumber must not be null");
+
+        this.uploadId = uploadId;
+        this.partNumber = partNumber;
+    }
+
+    /**
+     * Copy only the given range of the source object.
+     *
+     * @param firstByte The offset of the first byte, zero based
+     * @param lastByte  The offset of the last byte, inclusive
+     * @return This
+     */
+    public UploadPartCopyRequest withRange(Long firstByte, Long lastByte) {
+        this.firstByte = firstByte;
+        this.lastByte = lastByte;
+        return this;
+    }
+
+    public UploadPartCopyRequest withAmzCopySourceIfMatch(String amzCopySourceIfMatch) {
+        this.amzCopySourceIfMatch = amzCopySourceIfMatch;
+        return this;
+    }
+
+    public UploadPartCopyRequest withAmzCopySourceIfNoneMatch(String amzCopySourceIfNoneMatch) {
+        this.amzCopySourceIfNoneMatch = amzCopySourceIfNoneMatch;
+        return this;
+    }
+
+    public UploadPartCopyRequest withAmzCopySourceIfUnmodifiedSince(String amzCopySourceIfUnmodifiedSince) {
+        this.amzCopySourceIfUnmodifiedSince = amzCopySourceIfUnmodifiedSince;
+        return this;
+    }
+
+    public UploadPartCopyRequest withAmzCopySourceIfModifiedSince(String amzCopySourceIfModifiedSince) {
+        this.amzCopySourceIfModifiedSince = amzCopySourceIfModifiedSince;
+        return this;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public Integer getPartNumber() {
+        return partNumber;
+    }
+
+    public Long getFirstByte() {
+        return firstByte;
+    }
+
+    public Long getLastByte() {
+        return lastByte;
+    }
+
+    public String getAmzCopySourceIfMatch() {
+        return amzCopySourceIfMatch;
+    }
+
+    public String getAmzCopySourceIfNoneMatch() {
+        return amzCopySourceIfNoneMatch;
+    }
+
+    public String getAmzCopySourceIfUnmodifiedSince() {
+        return amzCopySourceIfUnmodifiedSince;
+    }
+
+    public String getAmzCopySourceIfModifiedSince() {
+        return amzCopySourceIfModifiedSince;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
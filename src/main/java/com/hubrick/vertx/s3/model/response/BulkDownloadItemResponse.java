@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.model.response;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The outcome of a single object of a bulk download. The cause is set in case the download failed.
+ *
+ * @since 3.3.4
+ */
+public class BulkDownloadItemResponse {
+
+    private final String key;
+    private final String filePath;
+    private final Long size;
+    private final Throwable cause;
+
+    public BulkDownloadItemResponse(String key, String filePath, Long size, Throwable cause) {
+        checkNotNull(key, "key must not be null");
+
+        this.key = key;
+        this.filePath = filePath;
+        this.size = size;
+        this.cause = cause;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public Throwable getCause() {
+        return cause;
+    }
+
+    public boolean isSucceeded() {
+        return cause == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.model.response;
+
+import com.hubrick.vertx.s3.model.header.PutObjectResponseHeaders;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The outcome of a single item of a bulk upload. Either the response headers or the cause of the failure is set.
+ *
+ * @since 3.3.4
+ */
+public class BulkUploadItemResponse {
+
+    private final String key;
+    private final PutObjectResponseHeaders header;
+    private final Throwable cause;
+
+    public BulkUploadItemResponse(String key, PutObjectResponseHeaders header, Throwable cause) {
+        checkNotNull(key, "key must not be null");
+
+        this.key = key;
+        this.header = header;
+        this.cause = cause;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public PutObjectResponseHeaders getHeader() {
+        return header;
+    }
+
+    public Throwable getCause() {
+        return cause;
+    }
+
+    public boolean isSucceeded() {
+        return cause == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
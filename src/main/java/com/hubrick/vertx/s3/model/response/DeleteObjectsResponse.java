@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.model.response;
+
+import com.hubrick.vertx.s3.model.DeleteError;
+import com.hubrick.vertx.s3.model.DeletedObject;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @since 3.3.4
+ */
+@XmlRootElement(name = "DeleteResult")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class DeleteObjectsResponse {
+
+    @XmlElement(name = "Deleted", type = DeletedObject.class)
+    private List<DeletedObject> deleted = new ArrayList<>();
+
+    @XmlElement(name = "Error", type = DeleteError.class)
+    private List<DeleteError> errors = new ArrayList<>();
+
+    public List<DeletedObject> getDeleted() {
+        return deleted;
+    }
+
+    public List<DeleteError> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
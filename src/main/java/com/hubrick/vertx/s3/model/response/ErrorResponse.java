@@ -58,6 +58,15 @@ public class ErrorResponse {
     @XmlAnyElement
     private List<Element> rest = new LinkedList<>();
 
+    public ErrorResponse() {
+    }
+
+    public ErrorResponse(ErrorCode code, String message, String resource) {
+        this.code = code;
+        this.message = message;
+        this.resource = resource;
+    }
+
     public ErrorCode getCode() {
         return code;
     }
@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.model.response;
+
+import com.hubrick.vertx.s3.model.Owner;
+import com.hubrick.vertx.s3.model.PartSummary;
+import com.hubrick.vertx.s3.model.StorageClass;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * @since 3.3.4
+ */
+@XmlRootElement(name = "ListPartsResult")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class ListPartsResponse {
+
+    @XmlElement(name = "Bucket", required = true)
+    private String bucket;
+
+    @XmlElement(name = "Key", required = true)
+    private String key;
+
+    @XmlElement(name = "UploadId", required = true)
+    private String uploadId;
+
+    @XmlElement(name = "Initiator")
+    private Owner initiator;
+
+    @XmlElement(name = "Owner")
+    private Owner owner;
+
+    @XmlElement(name = "StorageClass")
+    private StorageClass storageClass;
+
+    @XmlElement(name = "PartNumberMarker")
+    private Integer partNumberMarker;
+
+    @XmlElement(name = "NextPartNumberMarker")
+    private Integer nextPartNumberMarker;
+
+    @XmlElement(name = "MaxParts")
+    private Integer maxParts;
+
+    @XmlElement(name = "IsTruncated")
+    private Boolean isTruncated;
+
+    @XmlElement(name = "Part", type = PartSummary.class)
+    private List<PartSummary> parts = new LinkedList<>();
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public Owner getInitiator() {
+        return initiator;
+    }
+
+    public Owner getOwner() {
+        return owner;
+    }
+
+    public StorageClass getStorageClass() {
+        return storageClass;
+    }
+
+    public Integer getPartNumberMarker() {
+        return partNumberMarker;
+    }
+
+    public Integer getNextPartNumberMarker() {
+        return nextPartNumberMarker;
+    }
+
+    public Integer getMaxParts() {
+        return maxParts;
+    }
+
+    public Boolean getTruncated() {
+        return isTruncated;
+    }
+
+    public List<PartSummary> getParts() {
+        return parts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
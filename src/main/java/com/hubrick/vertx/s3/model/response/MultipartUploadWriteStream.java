@@ -15,17 +15,28 @@
  */
 package com.hubrick.vertx.s3.model.response;
 
+import com.hubrick.vertx.s3.checkpoint.CheckpointPart;
+import com.hubrick.vertx.s3.checkpoint.MultipartUploadCheckpoint;
+import com.hubrick.vertx.s3.checkpoint.MultipartUploadCheckpointStore;
 import com.hubrick.vertx.s3.client.S3Client;
 import com.hubrick.vertx.s3.model.Part;
 import com.hubrick.vertx.s3.model.request.AbortMultipartUploadRequest;
 import com.hubrick.vertx.s3.model.request.CompleteMultipartUploadRequest;
 import com.hubrick.vertx.s3.model.request.ContinueMultipartUploadRequest;
+import com.hubrick.vertx.s3.util.AimdConcurrencyController;
+import com.hubrick.vertx.s3.util.CompositeBufferBuilder;
+import com.hubrick.vertx.s3.util.Deadline;
+import com.hubrick.vertx.s3.util.ExponentialBackoff;
+import com.hubrick.vertx.s3.util.TransientErrors;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.streams.WriteStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.Map;
+import java.util.NavigableMap;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -37,8 +48,13 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public class MultipartUploadWriteStream implements WriteStream<Buffer> {
 
+    private static final Logger log = LoggerFactory.getLogger(MultipartUploadWriteStream.class);
+
     private static final Integer FIVE_MB_IN_BYTES = 5242880;
     private static final Integer DEFAULT_MAX_OUTSTANDING_BUFFER_WRITES = 10;
+    private static final Integer DEFAULT_MAX_RETRIES = 3;
+    private static final Long DEFAULT_RETRY_BASE_DELAY_MS = 200L;
+    private static final Long DEFAULT_RETRY_MAX_DELAY_MS = 10000L;
 
     private final S3Client s3Client;
     private final InitMultipartUploadResponse initMultipartUploadResponse;
@@ -47,15 +63,26 @@ public class MultipartUploadWriteStream implements WriteStream<Buffer> {
     private Handler<Throwable> exceptionHandler;
     private Handler<Void> drainHandler;
 
-    private final Map<Integer, String> partETagMap = new TreeMap<>();
+    private final NavigableMap<Integer, String> partETagMap = new TreeMap<>();
     private Integer nextPartNumber = 1;
     private Integer outstandingBufferWrites = 0;
     private Integer maxOutstandingBufferWrites = DEFAULT_MAX_OUTSTANDING_BUFFER_WRITES;
+    private AimdConcurrencyController concurrencyController;
     private boolean endCalled = false;
     private boolean abortOnFailure = true;
     private boolean aborted = false;
+    private Integer maxRetries = DEFAULT_MAX_RETRIES;
+    private ExponentialBackoff retryBackoff = new ExponentialBackoff(DEFAULT_RETRY_BASE_DELAY_MS, DEFAULT_RETRY_MAX_DELAY_MS);
     private Integer bufferSize = FIVE_MB_IN_BYTES;
-    private Buffer buffer = Buffer.buffer(bufferSize);
+    private Deadline deadline;
+    private final CompositeBufferBuilder buffer = new CompositeBufferBuilder();
+    private long sourceOffset = 0;
+
+    private MultipartUploadCheckpointStore checkpointStore;
+    private MultipartUploadCheckpoint checkpoint;
+    private boolean checkpointSaveInProgress = false;
+    private boolean checkpointSaveRequested = false;
+    private Handler<Void> pendingCheckpointDeleteHandler;
 
     public MultipartUploadWriteStream(S3Client s3Client, InitMultipartUploadResponse initMultipartUploadResponse, Handler<Throwable> exceptionHandler) {
         checkNotNull(s3Client, "s3Client must not be null");
@@ -98,36 +125,207 @@ public class MultipartUploadWriteStream implements WriteStream<Buffer> {
         return this;
     }
 
+    /**
+     * The number of times a failed part upload is retried before the upload fails. Only transient errors
+     * (5xx, SlowDown, RequestTimeout and connection problems) are retried and every retry is charged to the retry budget
+     * of the client. If the client retries requests itself ({@link com.hubrick.vertx.s3.client.S3ClientOptions#setMaxRetries})
+     * the parts are only retried by the client. Completing the upload is retried the same way, which is safe since
+     * S3 completes an upload id only once. The buffer of a part is kept until it was either uploaded successfully or the
+     * retries ran out.
+     *
+     * @param maxRetries The maximum number of retries, 0 disables retries
+     * @return This
+     */
+    public WriteStream<Buffer> maxRetries(Integer maxRetries) {
+        checkNotNull(maxRetries, "maxRetries must not be null");
+        checkArgument(maxRetries >= 0, "maxRetries must not be negative");
+
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * The jittered exponential backoff between two retries.
+     *
+     * @param baseDelayMs The upper bound of the delay before the first retry
+     * @param maxDelayMs  The upper bound of the delay before any retry
+     * @return This
+     */
+    public WriteStream<Buffer> retryBackoff(long baseDelayMs, long maxDelayMs) {
+        this.retryBackoff = new ExponentialBackoff(baseDelayMs, maxDelayMs);
+        return this;
+    }
+
+    /**
+     * Replaces the static write queue size with an adaptive limit of in-flight parts. The controller measures the latency
+     * and throughput of every part and adjusts the limit using additive-increase / multiplicative-decrease.
+     * It backs off sharply on SlowDown, 503 and timeouts.
+     *
+     * @param concurrencyController The controller, can be shared between several uploads
+     * @return This
+     */
+    public WriteStream<Buffer> concurrencyController(AimdConcurrencyController concurrencyController) {
+        checkNotNull(concurrencyController, "concurrencyController must not be null");
+
+        this.concurrencyController = concurrencyController;
+        return this;
+    }
+
+    /**
+     * The deadline of the upload. Parts and the final complete request which are still queued when it expires
+     * aren't sent anymore and the upload fails with a {@link com.hubrick.vertx.s3.exception.DeadlineExceededException}.
+     * Aborting the upload isn't bound to the deadline.
+     *
+     * @param deadline The deadline
+     * @return This
+     */
+    public WriteStream<Buffer> deadline(Deadline deadline) {
+        checkNotNull(deadline, "deadline must not be null");
+
+        this.deadline = deadline;
+        return this;
+    }
+
+    /**
+     * Persists the progress of the upload to the given store after every successfully uploaded part.
+     * The upload can then be continued with {@link S3Client#resumeMultipartUpload} after a restart of the process.
+     * The checkpoint is deleted as soon as the upload was either completed or aborted. Combine it with
+     * {@link #abortOnFailure(boolean)} set to false to be able to resume uploads which failed.
+     *
+     * @param checkpointStore The store the checkpoints are saved to
+     * @param checkpointId    The id under which the checkpoint is saved
+     * @return This
+     */
+    public WriteStream<Buffer> checkpoint(MultipartUploadCheckpointStore checkpointStore, String checkpointId) {
+        checkNotNull(checkpointStore, "checkpointStore must not be null");
+        checkNotNull(checkpointId, "checkpointId must not be null");
+        checkArgument(nextPartNumber == 1, "checkpoint must be called before the first write");
+
+        this.checkpointStore = checkpointStore;
+        this.checkpoint = new MultipartUploadCheckpoint(
+                checkpointId,
+                initMultipartUploadResponse.getBucket(),
+                initMultipartUploadResponse.getKey(),
+                initMultipartUploadResponse.getUploadId()
+        );
+        saveCheckpoint();
+        return this;
+    }
+
+    /**
+     * Continues the upload from a checkpoint which was reconciled with the parts stored in S3. Only the gapless run of
+     * parts starting at part 1 is taken over, the writing has to continue from {@link #getSourceOffset()}.
+     * Usually called by {@link S3Client#resumeMultipartUpload}.
+     *
+     * @param checkpoint      The reconciled checkpoint
+     * @param checkpointStore The store further checkpoints are saved to
+     * @return This
+     */
+    public WriteStream<Buffer> resumeFrom(MultipartUploadCheckpoint checkpoint, MultipartUploadCheckpointStore checkpointStore) {
+        checkNotNull(checkpoint, "checkpoint must not be null");
+        checkNotNull(checkpointStore, "checkpointStore must not be null");
+        checkArgument(checkpoint.getUploadId().equals(initMultipartUploadResponse.getUploadId()), "checkpoint must belong to upload " + initMultipartUploadResponse.getUploadId());
+        checkArgument(partETagMap.isEmpty() && buffer.isEmpty(), "resumeFrom must be called before the first write");
+
+        final Integer resumedNextPartNumber = checkpoint.getNextPartNumber();
+        this.checkpointStore = checkpointStore;
+        this.checkpoint = new MultipartUploadCheckpoint(checkpoint.getId(), checkpoint.getBucket(), checkpoint.getKey(), checkpoint.getUploadId());
+        for (CheckpointPart part : checkpoint.getParts()) {
+            if (part.getPartNumber() < resumedNextPartNumber) {
+                this.checkpoint.addPart(part);
+                partETagMap.put(part.getPartNumber(), part.geteTag());
+            }
+        }
+        this.nextPartNumber = resumedNextPartNumber;
+        this.sourceOffset = checkpoint.getOffset();
+        saveCheckpoint();
+        return this;
+    }
+
+    /**
+     * @return The number of bytes of the source which were handed over to part uploads. After a resume this is the
+     * offset from which the source has to be written to this stream.
+     */
+    public long getSourceOffset() {
+        return sourceOffset;
+    }
+
+    /**
+     * The written buffers are collected by reference and sent as part once enough data was written,
+     * so they must not be modified after they were passed to this method.
+     *
+     * @param data The data
+     * @return This
+     */
     @Override
     public WriteStream<Buffer> write(Buffer data) {
-        buffer.appendBuffer(data);
+        buffer.append(data);
         if (buffer.length() >= bufferSize || endCalled) {
             final Integer currentPartNumber = nextPartNumber++;
-            final Buffer currentBuffer = buffer;
-            this.buffer = Buffer.buffer(bufferSize);
+            final long currentOffset = sourceOffset;
+            final Buffer currentBuffer = buffer.buildAndReset();
+            this.sourceOffset += currentBuffer.length();
             outstandingBufferWrites++;
-            s3Client.continueMultipartUpload(
-                    initMultipartUploadResponse.getBucket(),
-                    initMultipartUploadResponse.getKey(),
-                    new ContinueMultipartUploadRequest(currentBuffer, currentPartNumber, initMultipartUploadResponse.getUploadId()),
-                    response -> {
-                        // Save nextPartNumber together with ETag required for the complete operation
-                        partETagMap.put(currentPartNumber, response.getHeader().getETag());
-                        decreaseOutstandingBufferWrites();
-                        endIfAllPartsAreUploaded();
-                    },
-                    throwable -> {
-                        if (abortOnFailure) {
+            uploadPart(currentPartNumber, currentBuffer, currentOffset, 0);
+        }
+        return this;
+    }
+
+    private void uploadPart(Integer partNumber, Buffer partBuffer, long partOffset, int attempt) {
+        final long startNanos = s3Client.getNanoClock().getAsLong();
+        s3Client.continueMultipartUpload(
+                initMultipartUploadResponse.getBucket(),
+                initMultipartUploadResponse.getKey(),
+                new ContinueMultipartUploadRequest(partBuffer, partNumber, initMultipartUploadResponse.getUploadId()).withDeadline(deadline),
+                response -> {
+                    if (concurrencyController != null) {
+                        concurrencyController.onSuccess(TimeUnit.NANOSECONDS.toMillis(s3Client.getNanoClock().getAsLong() - startNanos), partBuffer.length());
+                    }
+                    // Save nextPartNumber together with ETag required for the complete operation
+                    partETagMap.put(partNumber, response.getHeader().getETag());
+                    if (checkpoint != null) {
+                        checkpoint.addPart(new CheckpointPart(partNumber, response.getHeader().getETag(), partOffset, (long) partBuffer.length()));
+                        saveCheckpoint();
+                    }
+                    decreaseOutstandingBufferWrites();
+                    endIfAllPartsAreUploaded();
+                },
+                throwable -> {
+                    if (concurrencyController != null && TransientErrors.isCongestion(throwable)) {
+                        concurrencyController.onCongestion();
+                    }
+                    if (shouldRetry(throwable, attempt)) {
+                        final long delayMs = retryBackoff.delayMs(attempt);
+                        log.warn("Upload of part {} of upload {} failed. Retrying in {}ms (retry {} of {})", partNumber, initMultipartUploadResponse.getUploadId(), delayMs, attempt + 1, maxRetries, throwable);
+                        s3Client.getVertx().setTimer(delayMs, timerId -> {
                             if (!aborted) {
-                                abort(aVoid -> exceptionHandler.handle(throwable));
+                                uploadPart(partNumber, partBuffer, partOffset, attempt + 1);
                             }
-                        } else {
-                            exceptionHandler.handle(throwable);
-                        }
+                        });
+                    } else {
+                        handleFailure(throwable);
                     }
-            );
+                }
+        );
+    }
+
+    private void handleFailure(Throwable throwable) {
+        if (abortOnFailure) {
+            if (!aborted) {
+                abort(aVoid -> exceptionHandler.handle(throwable));
+            }
+        } else {
+            exceptionHandler.handle(throwable);
         }
-        return this;
+    }
+
+    private boolean shouldRetry(Throwable throwable, int attempt) {
+        // Retries are done in one layer only, the client already retried the part if it has retries turned on
+        return !aborted
+                && !s3Client.isRetryingRequests()
+                && attempt < maxRetries
+                && TransientErrors.isTransient(throwable)
+                && s3Client.tryAcquireRetry();
     }
 
     @Override
@@ -146,23 +344,40 @@ public class MultipartUploadWriteStream implements WriteStream<Buffer> {
 
     private void endIfAllPartsAreUploaded() {
         if (endCalled && partETagMap.size() == nextPartNumber - 1) {
-            s3Client.completeMultipartUpload(
-                    initMultipartUploadResponse.getBucket(),
-                    initMultipartUploadResponse.getKey(),
-                    new CompleteMultipartUploadRequest(
-                            initMultipartUploadResponse.getUploadId(),
-                            partETagMap.entrySet().stream().map(e -> new Part(e.getKey(), e.getValue())).collect(Collectors.toList())
-                    ),
-                    response -> {
-                        if (endHandler != null) {
-                            endHandler.handle(null);
-                        }
-                    },
-                    exceptionHandler
-            );
+            completeUpload(0);
         }
     }
 
+    private void completeUpload(int attempt) {
+        s3Client.completeMultipartUpload(
+                initMultipartUploadResponse.getBucket(),
+                initMultipartUploadResponse.getKey(),
+                new CompleteMultipartUploadRequest(
+                        initMultipartUploadResponse.getUploadId(),
+                        partETagMap.entrySet().stream().map(e -> new Part(e.getKey(), e.getValue())).collect(Collectors.toList())
+                ).withDeadline(deadline),
+                response -> deleteCheckpoint(aVoid -> {
+                    if (endHandler != null) {
+                        endHandler.handle(null);
+                    }
+                }),
+                throwable -> {
+                    // A failed complete would otherwise throw away all uploaded parts
+                    if (shouldRetry(throwable, attempt)) {
+                        final long delayMs = retryBackoff.delayMs(attempt);
+                        log.warn("Completing upload {} failed. Retrying in {}ms (retry {} of {})", initMultipartUploadResponse.getUploadId(), delayMs, attempt + 1, maxRetries, throwable);
+                        s3Client.getVertx().setTimer(delayMs, timerId -> {
+                            if (!aborted) {
+                                completeUpload(attempt + 1);
+                            }
+                        });
+                    } else {
+                        exceptionHandler.handle(throwable);
+                    }
+                }
+        );
+    }
+
     public void abort(Handler<Void> handler) {
         s3Client.abortMultipartUpload(
                 initMultipartUploadResponse.getBucket(),
@@ -170,15 +385,73 @@ public class MultipartUploadWriteStream implements WriteStream<Buffer> {
                 new AbortMultipartUploadRequest(
                         initMultipartUploadResponse.getUploadId()
                 ),
-                response -> handler.handle(null),
+                response -> deleteCheckpoint(handler),
                 exceptionHandler
         );
         aborted = true;
     }
 
+    private void saveCheckpoint() {
+        if (checkpointStore == null) {
+            return;
+        }
+        if (checkpointSaveInProgress) {
+            // Saves are serialized so an older checkpoint never overwrites a newer one
+            checkpointSaveRequested = true;
+            return;
+        }
+
+        checkpointSaveInProgress = true;
+        checkpointStore.save(
+                new MultipartUploadCheckpoint(checkpoint),
+                aVoid -> onCheckpointSaveFinished(),
+                throwable -> {
+                    log.warn("Saving checkpoint {} of upload {} failed", checkpoint.getId(), initMultipartUploadResponse.getUploadId(), throwable);
+                    onCheckpointSaveFinished();
+                }
+        );
+    }
+
+    private void onCheckpointSaveFinished() {
+        checkpointSaveInProgress = false;
+        if (pendingCheckpointDeleteHandler != null) {
+            final Handler<Void> handler = pendingCheckpointDeleteHandler;
+            pendingCheckpointDeleteHandler = null;
+            deleteCheckpoint(handler);
+        } else if (checkpointSaveRequested) {
+            checkpointSaveRequested = false;
+            saveCheckpoint();
+        }
+    }
+
+    private void deleteCheckpoint(Handler<Void> handler) {
+        if (checkpointStore == null) {
+            handler.handle(null);
+            return;
+        }
+        if (checkpointSaveInProgress) {
+            pendingCheckpointDeleteHandler = handler;
+            return;
+        }
+
+        final MultipartUploadCheckpointStore store = checkpointStore;
+        checkpointStore = null;
+        store.delete(
+                checkpoint.getId(),
+                handler,
+                throwable -> {
+                    log.warn("Deleting checkpoint {} of upload {} failed", checkpoint.getId(), initMultipartUploadResponse.getUploadId(), throwable);
+                    handler.handle(null);
+                }
+        );
+    }
+
     private void decreaseOutstandingBufferWrites() {
         outstandingBufferWrites--;
-        if (outstandingBufferWrites <= maxOutstandingBufferWrites / 2 && drainHandler != null) {
+        final boolean drained = concurrencyController != null
+                ? outstandingBufferWrites < concurrencyController.getLimit()
+                : outstandingBufferWrites <= maxOutstandingBufferWrites / 2;
+        if (drained && drainHandler != null) {
             try {
                 drainHandler.handle(null);
             } catch (Throwable t) {
@@ -199,6 +472,9 @@ public class MultipartUploadWriteStream implements WriteStream<Buffer> {
 
     @Override
     public boolean writeQueueFull() {
+        if (concurrencyController != null) {
+            return outstandingBufferWrites >= concurrencyController.getLimit();
+        }
         return outstandingBufferWrites > maxOutstandingBufferWrites;
     }
 
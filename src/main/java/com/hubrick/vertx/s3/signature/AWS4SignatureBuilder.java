@@ -183,16 +183,28 @@ public class AWS4SignatureBuilder {
         Preconditions.checkState(StringUtils.isNotBlank(region), "region must be set to create the signing key");
         Preconditions.checkState(StringUtils.isNotBlank(service), "service must be set to create the signing key");
 
-        final byte[] kDate = hmacSha256(utf8Bytes("AWS4" + awsSecretKey), CREDENTIAL_SCOPE_DATE.format(date));
-        final byte[] kRegion = hmacSha256(kDate, region);
-        final byte[] kService = hmacSha256(kRegion, service);
-        final byte[] signing = hmacSha256(kService, CREDENTIAL_SCOPE_TERMINATION_STRING);
+        this.signingKey = deriveSigningKey(awsSecretKey);
 
-        this.signingKey = signing;
+        return this;
+    }
+
+    public AWS4SignatureBuilder awsSecretKey(final String awsSecretKey, final SigningKeyCache signingKeyCache) {
+        Preconditions.checkArgument(StringUtils.isNotBlank(awsSecretKey), "secret key must not be blank");
+        Preconditions.checkArgument(signingKeyCache != null, "signing key cache must be set");
+
+        final String scope = CREDENTIAL_SCOPE_DATE.format(date) + "/" + region + "/" + service;
+        this.signingKey = signingKeyCache.get(awsSecretKey, scope, () -> deriveSigningKey(awsSecretKey));
 
         return this;
     }
 
+    private byte[] deriveSigningKey(final String awsSecretKey) {
+        final byte[] kDate = hmacSha256(utf8Bytes("AWS4" + awsSecretKey), CREDENTIAL_SCOPE_DATE.format(date));
+        final byte[] kRegion = hmacSha256(kDate, region);
+        final byte[] kService = hmacSha256(kRegion, service);
+        return hmacSha256(kService, CREDENTIAL_SCOPE_TERMINATION_STRING);
+    }
+
     private String makeCanonicalHeaderString() {
         final StringBuilder builder = new StringBuilder();
         for (final Map.Entry<String, Collection<String>> entry : canonicalHeaders.asMap().entrySet()) {
@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.signature;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Caches the signing keys of a secret key, which only change with the day, region and service. Deriving a key takes
+ * four HMACs per request otherwise. The cache is cleared once the secret key changed, e.g. after credentials were rotated.
+ *
+ * @since 3.3.4
+ */
+public class SigningKeyCache {
+
+    private static final int MAX_SCOPES = 16;
+
+    private final Map<String, byte[]> signingKeys = new HashMap<>();
+
+    private String awsSecretKey;
+
+    /**
+     * @param awsSecretKey The secret key the signing key is derived from
+     * @param scope        The date, region and service of the signing key
+     * @param signingKey   Derives the signing key if it isn't cached
+     * @return The signing key
+     */
+    public synchronized byte[] get(String awsSecretKey, String scope, Supplier<byte[]> signingKey) {
+        if (!awsSecretKey.equals(this.awsSecretKey) || signingKeys.size() >= MAX_SCOPES && !signingKeys.containsKey(scope)) {
+            this.awsSecretKey = awsSecretKey;
+            signingKeys.clear();
+        }
+        return signingKeys.computeIfAbsent(scope, s -> signingKey.get());
+    }
+
+    public synchronized int size() {
+        return signingKeys.size();
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Limits the number of requests a client has in flight. Requests beyond the limit are rejected right away instead of
+ * piling up in queues, so an overloaded client sheds load before it spends work on requests nobody waits for anymore.
+ *
+ * @since 3.3.4
+ */
+public class AdmissionLimit {
+
+    private final int maxRequestsInFlight;
+
+    private int inFlight;
+
+    /**
+     * @param maxRequestsInFlight The max number of requests in flight
+     */
+    public AdmissionLimit(int maxRequestsInFlight) {
+        checkArgument(maxRequestsInFlight > 0, "maxRequestsInFlight must be more than zero");
+
+        this.maxRequestsInFlight = maxRequestsInFlight;
+    }
+
+    /**
+     * @return True if the request is admitted. It has to call {@link #release()} once it finished.
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= maxRequestsInFlight) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void release() {
+        if (inFlight > 0) {
+            inFlight--;
+        }
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public int getMaxRequestsInFlight() {
+        return maxRequestsInFlight;
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Adjusts the number of concurrent requests using additive-increase / multiplicative-decrease.
+ * Every successful request whose normalized latency (ms per MB) stays within the latency tolerance (2x by default) of the best
+ * observed latency grows the limit by one per limit's worth of requests. Requests which got slower shrink it slightly
+ * and congestion signals (SlowDown, 503, timeouts) cut it sharply.
+ * The baseline latency slowly drifts upwards so the controller adapts to changing conditions.
+ * An instance can be shared between several uploads so the learned limit carries over.
+ *
+ * @since 3.3.4
+ */
+public class AimdConcurrencyController {
+
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 100;
+    public static final int DEFAULT_INITIAL_LIMIT = 4;
+
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double LATENCY_BACKOFF_RATIO = 0.9;
+    private static final double CONGESTION_BACKOFF_RATIO = 0.5;
+    private static final double SMOOTHING_FACTOR = 0.2;
+    private static final double BASELINE_DRIFT = 0.01;
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+
+    private double limit;
+    private double baselineMsPerMb = -1;
+    private double smoothedMsPerMb = -1;
+    private double smoothedBytesPerSecond = -1;
+
+    public AimdConcurrencyController() {
+        this(DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_INITIAL_LIMIT);
+    }
+
+    public AimdConcurrencyController(int minLimit, int maxLimit, int initialLimit) {
+        this(minLimit, maxLimit, initialLimit, LATENCY_TOLERANCE);
+    }
+
+    public AimdConcurrencyController(int minLimit, int maxLimit, int initialLimit, double latencyTolerance) {
+        checkArgument(minLimit >= 1, "minLimit must be at least 1");
+        checkArgument(maxLimit >= minLimit, "maxLimit must not be less than minLimit");
+        checkArgument(initialLimit >= minLimit && initialLimit <= maxLimit, "initialLimit must be between minLimit and maxLimit");
+        checkArgument(latencyTolerance > 1.0, "latencyTolerance must be more than 1");
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    /**
+     * @param latencyMs The time the request took
+     * @param bytes     The number of bytes transferred by the request
+     */
+    public synchronized void onSuccess(long latencyMs, long bytes) {
+        checkArgument(latencyMs >= 0, "latencyMs must not be negative");
+        checkArgument(bytes >= 0, "bytes must not be negative");
+
+        final double megabytes = Math.max(bytes, 1) / BYTES_PER_MB;
+        final double msPerMb = Math.max(latencyMs, 1) / megabytes;
+        final double bytesPerSecond = Math.max(bytes, 1) * 1000.0 / Math.max(latencyMs, 1);
+
+        smoothedMsPerMb = smoothedMsPerMb < 0 ? msPerMb : smoothedMsPerMb + SMOOTHING_FACTOR * (msPerMb - smoothedMsPerMb);
+        smoothedBytesPerSecond = smoothedBytesPerSecond < 0 ? bytesPerSecond : smoothedBytesPerSecond + SMOOTHING_FACTOR * (bytesPerSecond - smoothedBytesPerSecond);
+        baselineMsPerMb = baselineMsPerMb < 0 ? msPerMb : Math.min(baselineMsPerMb * (1 + BASELINE_DRIFT), msPerMb);
+
+        if (smoothedMsPerMb > baselineMsPerMb * latencyTolerance) {
+            limit = Math.max(minLimit, limit * LATENCY_BACKOFF_RATIO);
+        } else {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    /**
+     * Called if the server signalled that it is overloaded (SlowDown, 503) or a request timed out.
+     */
+    public synchronized void onCongestion() {
+        limit = Math.max(minLimit, limit * CONGESTION_BACKOFF_RATIO);
+    }
+
+    /**
+     * @return The number of requests which may currently be in flight
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return The smoothed throughput of a single request in bytes per second or -1 if nothing was measured yet
+     */
+    public synchronized double getThroughputBytesPerSecond() {
+        return smoothedBytesPerSecond;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A circuit breaker which tracks the outcome of the most recent requests. Failures are server errors, connection problems,
+ * timeouts and (optionally) slow responses. Once the window is full and the failure rate reaches the threshold the breaker
+ * opens and rejects all requests. After the open duration it lets a number of probe requests through. If all of them
+ * succeed it closes again, otherwise it opens for another open duration.
+ *
+ * @since 3.3.4
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final double failureRateThreshold;
+    private final Long slowCallThresholdMs;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final boolean[] failures;
+
+    private State state = State.CLOSED;
+    private int count = 0;
+    private int next = 0;
+    private int failureCount = 0;
+    private long openedAtNanos;
+    private int probesInFlight = 0;
+    private int probeSuccesses = 0;
+
+    /**
+     * @param failureRateThreshold The failure rate between 0 and 1 which opens the breaker
+     * @param slowCallThresholdMs  Responses slower than this count as failures or null to not track slow responses
+     * @param windowSize           The number of recent requests the failure rate is calculated from
+     * @param openDurationMs       The time the breaker stays open before it sends probe requests
+     * @param halfOpenProbes       The number of successful probe requests which close the breaker
+     */
+    public CircuitBreaker(double failureRateThreshold, Long slowCallThresholdMs, int windowSize, long openDurationMs, int halfOpenProbes) {
+        checkArgument(failureRateThreshold > 0 && failureRateThreshold <= 1, "failureRateThreshold must be more than 0 and at most 1");
+        checkArgument(slowCallThresholdMs == null || slowCallThresholdMs > 0, "slowCallThresholdMs must be more than zero ms");
+        checkArgument(windowSize > 0, "windowSize must be more than zero");
+        checkArgument(openDurationMs > 0, "openDurationMs must be more than zero ms");
+        checkArgument(halfOpenProbes > 0, "halfOpenProbes must be more than zero");
+
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThresholdMs = slowCallThresholdMs;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+        this.halfOpenProbes = halfOpenProbes;
+        this.failures = new boolean[windowSize];
+    }
+
+    /**
+     * @param nowNanos The current time in nanos
+     * @return True if the request may be sent. Its outcome has to be reported with {@link #onSuccess}, {@link #onFailure}
+     * or {@link #onCancelled}.
+     */
+    public synchronized boolean tryAcquire(long nowNanos) {
+        switch (getState(nowNanos)) {
+            case OPEN:
+                return false;
+            case HALF_OPEN:
+                if (state == State.OPEN) {
+                    state = State.HALF_OPEN;
+                    probesInFlight = 0;
+                    probeSuccesses = 0;
+                }
+                if (probesInFlight + probeSuccesses >= halfOpenProbes) {
+                    return false;
+                }
+                probesInFlight++;
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess(long latencyMs, long nowNanos) {
+        record(slowCallThresholdMs != null && latencyMs > slowCallThresholdMs, nowNanos);
+    }
+
+    public synchronized void onFailure(long nowNanos) {
+        record(true, nowNanos);
+    }
+
+    /**
+     * Releases a permit whose request was cancelled without an outcome.
+     */
+    public synchronized void onCancelled() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    public synchronized State getState(long nowNanos) {
+        if (state == State.OPEN && nowNanos - openedAtNanos >= openDurationNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private void record(boolean failure, long nowNanos) {
+        switch (state) {
+            case CLOSED:
+                if (count == failures.length && failures[next]) {
+                    failureCount--;
+                }
+                failures[next] = failure;
+                if (failure) {
+                    failureCount++;
+                }
+                next = (next + 1) % failures.length;
+                count = Math.min(count + 1, failures.length);
+
+                if (count == failures.length && failureCount >= failureRateThreshold * count) {
+                    open(nowNanos);
+                }
+                break;
+            case HALF_OPEN:
+                if (probesInFlight > 0) {
+                    probesInFlight--;
+                }
+                if (failure) {
+                    open(nowNanos);
+                } else if (++probeSuccesses >= halfOpenProbes) {
+                    close();
+                }
+                break;
+            default:
+                // Late outcomes of requests which were sent before the breaker opened
+                break;
+        }
+    }
+
+    private void open(long nowNanos) {
+        state = State.OPEN;
+        openedAtNanos = nowNanos;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        count = 0;
+        next = 0;
+        failureCount = 0;
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Collects buffers by reference instead of copying them into one big buffer. {@link #build()} returns a buffer
+ * which is a composite view on the collected buffers, so the bytes are only copied once when they are written to the socket.
+ * The collected buffers must not be modified afterwards.
+ *
+ * @since 3.3.4
+ */
+public class CompositeBufferBuilder {
+
+    private final List<Buffer> buffers = new ArrayList<>();
+    private int length = 0;
+
+    public CompositeBufferBuilder append(Buffer buffer) {
+        checkNotNull(buffer, "buffer must not be null");
+
+        if (buffer.length() > 0) {
+            buffers.add(buffer);
+            length += buffer.length();
+        }
+        return this;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * @return A buffer containing all collected buffers in the order they were appended
+     */
+    public Buffer build() {
+        if (buffers.isEmpty()) {
+            return Buffer.buffer();
+        }
+        if (buffers.size() == 1) {
+            return buffers.get(0);
+        }
+
+        final ByteBuf[] byteBufs = new ByteBuf[buffers.size()];
+        for (int i = 0; i < byteBufs.length; i++) {
+            byteBufs[i] = buffers.get(i).getByteBuf();
+        }
+        return Buffer.buffer(Unpooled.wrappedBuffer(byteBufs.length, byteBufs));
+    }
+
+    /**
+     * @return The built buffer. This builder is empty afterwards.
+     */
+    public Buffer buildAndReset() {
+        final Buffer buffer = build();
+        buffers.clear();
+        length = 0;
+        return buffer;
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time after which the caller isn't interested in the result of an operation anymore. Composite operations
+ * pass their deadline on to all of their requests, and requests whose deadline expired are dropped instead of being sent.
+ *
+ * @since 3.3.4
+ */
+public final class Deadline {
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Measured with {@link System#nanoTime()}, the default time of the client.
+     *
+     * @param timeoutMs The time from now until the deadline expires
+     * @return The deadline
+     */
+    public static Deadline after(long timeoutMs) {
+        return after(timeoutMs, System.nanoTime());
+    }
+
+    /**
+     * @param timeoutMs The time from now until the deadline expires
+     * @param nowNanos  The current time in nanos
+     * @return The deadline
+     */
+    public static Deadline after(long timeoutMs, long nowNanos) {
+        return new Deadline(nowNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+    }
+
+    public long getExpiresAtNanos() {
+        return expiresAtNanos;
+    }
+
+    /**
+     * @param nowNanos The current time in nanos
+     * @return True if the deadline expired
+     */
+    public boolean isExpired(long nowNanos) {
+        return nowNanos - expiresAtNanos >= 0;
+    }
+
+    /**
+     * @param nowNanos The current time in nanos
+     * @return The time left in ms, 0 once the deadline expired
+     */
+    public long remainingMs(long nowNanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - nowNanos));
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Exponential backoff with full jitter. The delay for attempt n is a random value between 1 and
+ * min(maxDelayMs, baseDelayMs * 2^n) which spreads retries of concurrent callers over time.
+ *
+ * @since 3.3.4
+ */
+public class ExponentialBackoff {
+
+    private static final int MAX_SHIFT = 30;
+
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+
+    public ExponentialBackoff(long baseDelayMs, long maxDelayMs) {
+        checkArgument(baseDelayMs > 0, "baseDelayMs must be more than zero ms");
+        checkArgument(maxDelayMs >= baseDelayMs, "maxDelayMs must not be less than baseDelayMs");
+
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    /**
+     * @param attempt The zero based number of the retry
+     * @return The delay in ms to wait before the given retry, never less than 1ms
+     */
+    public long delayMs(int attempt) {
+        checkArgument(attempt >= 0, "attempt must not be negative");
+
+        final long exponentialDelay = baseDelayMs << Math.min(attempt, MAX_SHIFT);
+        final long cappedDelay = exponentialDelay <= 0 ? maxDelayMs : Math.min(maxDelayMs, exponentialDelay);
+        return Math.max(1L, ThreadLocalRandom.current().nextLong(cappedDelay + 1));
+    }
+
+    public long getBaseDelayMs() {
+        return baseDelayMs;
+    }
+
+    public long getMaxDelayMs() {
+        return maxDelayMs;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.Iterator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Emits the elements of an iterable as a read stream. At most {@code batchSize} elements are emitted per event loop
+ * iteration so that big iterables don't block the event loop.
+ *
+ * @since 3.3.4
+ */
+public class IterableReadStream<T> implements ReadStream<T> {
+
+    private static final int DEFAULT_BATCH_SIZE = 128;
+
+    private final Context context;
+    private final Iterator<T> iterator;
+    private final int batchSize;
+
+    private Handler<T> handler;
+    private Handler<Void> endHandler;
+    private Handler<Throwable> exceptionHandler;
+    private long demand = Long.MAX_VALUE;
+    private boolean emitScheduled;
+    private boolean ended;
+
+    public IterableReadStream(Vertx vertx, Iterable<T> iterable) {
+        this(vertx, iterable, DEFAULT_BATCH_SIZE);
+    }
+
+    public IterableReadStream(Vertx vertx, Iterable<T> iterable, int batchSize) {
+        checkNotNull(vertx, "vertx must not be null");
+        checkNotNull(iterable, "iterable must not be null");
+        checkArgument(batchSize > 0, "batchSize must be more than zero");
+
+        this.context = vertx.getOrCreateContext();
+        this.iterator = iterable.iterator();
+        this.batchSize = batchSize;
+    }
+
+    private void scheduleEmit() {
+        if (!emitScheduled && !ended && demand > 0 && handler != null) {
+            emitScheduled = true;
+            context.runOnContext(aVoid -> emit());
+        }
+    }
+
+    private void emit() {
+        emitScheduled = false;
+        try {
+            int emitted = 0;
+            while (demand > 0 && handler != null && iterator.hasNext() && emitted < batchSize) {
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+                emitted++;
+                handler.handle(iterator.next());
+            }
+
+            if (!iterator.hasNext()) {
+                if (!ended) {
+                    ended = true;
+                    if (endHandler != null) {
+                        endHandler.handle(null);
+                    }
+                }
+            } else {
+                scheduleEmit();
+            }
+        } catch (Throwable t) {
+            if (exceptionHandler != null) {
+                exceptionHandler.handle(t);
+            }
+        }
+    }
+
+    @Override
+    public IterableReadStream<T> exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public IterableReadStream<T> handler(Handler<T> handler) {
+        this.handler = handler;
+        scheduleEmit();
+        return this;
+    }
+
+    @Override
+    public IterableReadStream<T> pause() {
+        this.demand = 0;
+        return this;
+    }
+
+    @Override
+    public IterableReadStream<T> resume() {
+        return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public IterableReadStream<T> fetch(long amount) {
+        checkArgument(amount >= 0, "amount must not be negative");
+
+        demand += amount;
+        if (demand < 0) {
+            demand = Long.MAX_VALUE;
+        }
+        scheduleEmit();
+        return this;
+    }
+
+    @Override
+    public IterableReadStream<T> endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Keeps the latencies of the most recent requests and calculates percentiles over them.
+ * The sorted samples are cached and only sorted again after a tenth of the window was replaced.
+ *
+ * @since 3.3.4
+ */
+public class LatencyTracker {
+
+    private static final int MIN_SAMPLES = 20;
+
+    private final long[] samples;
+
+    private int count = 0;
+    private int next = 0;
+    private int recordsSinceSort = 0;
+    private long[] sortedSamples;
+
+    /**
+     * @param windowSize The number of recent latencies which are kept
+     */
+    public LatencyTracker(int windowSize) {
+        checkArgument(windowSize >= MIN_SAMPLES, "windowSize must be at least " + MIN_SAMPLES);
+
+        this.samples = new long[windowSize];
+    }
+
+    public synchronized void record(long latencyMs) {
+        samples[next] = latencyMs;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        recordsSinceSort++;
+    }
+
+    /**
+     * @param percentile The percentile between 0 and 1, e.g. 0.95
+     * @return The latency in ms or null if less than 20 latencies were recorded so far
+     */
+    public synchronized Long percentile(double percentile) {
+        checkArgument(percentile > 0 && percentile <= 1, "percentile must be more than 0 and at most 1");
+
+        if (count < MIN_SAMPLES) {
+            return null;
+        }
+
+        if (sortedSamples == null || recordsSinceSort >= Math.max(1, count / 10)) {
+            sortedSamples = Arrays.copyOf(samples, count);
+            Arrays.sort(sortedSamples);
+            recordsSinceSort = 0;
+        }
+
+        final int index = Math.min(count - 1, Math.max(0, (int) Math.ceil(percentile * count) - 1));
+        return sortedSamples[index];
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Spreads requests over a number of endpoints by sending each one to the endpoint with the least outstanding requests.
+ * Endpoints with the same number of outstanding requests take turns. An endpoint which failed a number of consecutive
+ * requests is ejected for the ejection duration and gets requests only if all endpoints are ejected.
+ *
+ * @since 3.3.4
+ */
+public class LoadBalancer {
+
+    private final int consecutiveFailures;
+    private final long ejectionDurationNanos;
+    private final int[] outstanding;
+    private final int[] failures;
+    private final long[] ejectedUntilNanos;
+    private final boolean[] ejected;
+
+    private int next = 0;
+
+    /**
+     * @param endpoints           The number of endpoints
+     * @param consecutiveFailures The number of consecutive failures which eject an endpoint
+     * @param ejectionDurationMs  The time an ejected endpoint doesn't get requests
+     */
+    public LoadBalancer(int endpoints, int consecutiveFailures, long ejectionDurationMs) {
+        checkArgument(endpoints > 0, "endpoints must be more than zero");
+        checkArgument(consecutiveFailures > 0, "consecutiveFailures must be more than zero");
+        checkArgument(ejectionDurationMs > 0, "ejectionDurationMs must be more than zero ms");
+
+        this.consecutiveFailures = consecutiveFailures;
+        this.ejectionDurationNanos = TimeUnit.MILLISECONDS.toNanos(ejectionDurationMs);
+        this.outstanding = new int[endpoints];
+        this.failures = new int[endpoints];
+        this.ejectedUntilNanos = new long[endpoints];
+        this.ejected = new boolean[endpoints];
+    }
+
+    /**
+     * @param nowNanos The current time in nanos
+     * @return The endpoint the request is sent to. Its outcome has to be reported with {@link #onSuccess}, {@link #onFailure}
+     * or {@link #onCancelled}.
+     */
+    public synchronized int select(long nowNanos) {
+        int selected = -1;
+        boolean selectedEjected = true;
+        for (int i = 0; i < outstanding.length; i++) {
+            final int endpoint = (next + i) % outstanding.length;
+            final boolean endpointEjected = isEjected(endpoint, nowNanos);
+            if (selected == -1
+                    || (selectedEjected && !endpointEjected)
+                    || (selectedEjected == endpointEjected && outstanding[endpoint] < outstanding[selected])) {
+                selected = endpoint;
+                selectedEjected = endpointEjected;
+            }
+        }
+
+        next = (selected + 1) % outstanding.length;
+        outstanding[selected]++;
+        return selected;
+    }
+
+    public synchronized void onSuccess(int endpoint) {
+        outstanding[endpoint]--;
+        failures[endpoint] = 0;
+    }
+
+    public synchronized void onFailure(int endpoint, long nowNanos) {
+        outstanding[endpoint]--;
+        failures[endpoint]++;
+        if (failures[endpoint] >= consecutiveFailures && !isEjected(endpoint, nowNanos)) {
+            ejected[endpoint] = true;
+            ejectedUntilNanos[endpoint] = nowNanos + ejectionDurationNanos;
+        }
+    }
+
+    /**
+     * Releases an endpoint whose request was cancelled without an outcome.
+     */
+    public synchronized void onCancelled(int endpoint) {
+        outstanding[endpoint]--;
+    }
+
+    public synchronized boolean isEjected(int endpoint, long nowNanos) {
+        if (ejected[endpoint] && nowNanos - ejectedUntilNanos[endpoint] >= 0) {
+            // The endpoint gets another chance, a single failure ejects it again
+            ejected[endpoint] = false;
+            failures[endpoint] = consecutiveFailures - 1;
+        }
+        return ejected[endpoint];
+    }
+
+    public synchronized int getOutstanding(int endpoint) {
+        return outstanding[endpoint];
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Paces requests per key prefix with separate budgets for reads (GET, HEAD) and writes (PUT, POST, DELETE) since S3 scales
+ * its request rate per prefix. Requests over the budget are queued and sent as soon as a permit is available.
+ * The prefix consists of the bucket and the first {@code prefixDepth} path segments of the key.
+ *
+ * @since 3.3.4
+ */
+public class PrefixRateLimiter {
+
+    private static final int MAX_IDLE_BUCKETS = 10000;
+    private static final long NANOS_PER_MS = 1_000_000L;
+
+    private final Vertx vertx;
+    private final Integer maxReadsPerSecond;
+    private final Integer maxWritesPerSecond;
+    private final int prefixDepth;
+    private final LongSupplier nanoClock;
+    private final Map<String, LimitedPrefix> prefixes = new HashMap<>();
+
+    public PrefixRateLimiter(Vertx vertx, Integer maxReadsPerSecond, Integer maxWritesPerSecond, int prefixDepth) {
+        this(vertx, maxReadsPerSecond, maxWritesPerSecond, prefixDepth, System::nanoTime);
+    }
+
+    public PrefixRateLimiter(Vertx vertx, Integer maxReadsPerSecond, Integer maxWritesPerSecond, int prefixDepth, LongSupplier nanoClock) {
+        checkNotNull(vertx, "vertx must not be null");
+        checkArgument(maxReadsPerSecond == null || maxReadsPerSecond > 0, "maxReadsPerSecond must be more than zero");
+        checkArgument(maxWritesPerSecond == null || maxWritesPerSecond > 0, "maxWritesPerSecond must be more than zero");
+        checkArgument(prefixDepth >= 0, "prefixDepth must not be negative");
+        checkNotNull(nanoClock, "nanoClock must not be null");
+
+        this.vertx = vertx;
+        this.maxReadsPerSecond = maxReadsPerSecond;
+        this.maxWritesPerSecond = maxWritesPerSecond;
+        this.prefixDepth = prefixDepth;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Calls the handler as soon as the request may be sent.
+     *
+     * @param method  The HTTP method
+     * @param path    The path of the request (/bucket/key)
+     * @param handler Called once a permit was acquired
+     */
+    public void acquire(String method, String path, Handler<Void> handler) {
+        final Integer maxPerSecond = isWrite(method) ? maxWritesPerSecond : maxReadsPerSecond;
+        if (maxPerSecond == null) {
+            handler.handle(null);
+            return;
+        }
+
+        synchronized (this) {
+            final long now = nanoClock.getAsLong();
+            final LimitedPrefix limitedPrefix = getLimitedPrefix(method, path, maxPerSecond, now);
+            if (!limitedPrefix.queue.isEmpty() || !limitedPrefix.tokenBucket.tryAcquire(now)) {
+                limitedPrefix.queue.add(handler);
+                limitedPrefix.scheduleDrain(now);
+                return;
+            }
+        }
+        handler.handle(null);
+    }
+
+    /**
+     * Reduces the rate of the prefix after the server answered with SlowDown (503).
+     *
+     * @param method The HTTP method
+     * @param path   The path of the request (/bucket/key)
+     */
+    public synchronized void onSlowDown(String method, String path) {
+        final Integer maxPerSecond = isWrite(method) ? maxWritesPerSecond : maxReadsPerSecond;
+        if (maxPerSecond == null) {
+            return;
+        }
+
+        final long now = nanoClock.getAsLong();
+        getLimitedPrefix(method, path, maxPerSecond, now).tokenBucket.onSlowDown(now);
+    }
+
+    /**
+     * @return The current rate of the prefix the path belongs to or null if it isn't limited
+     */
+    public synchronized Double getRate(String method, String path) {
+        final LimitedPrefix limitedPrefix = prefixes.get(toPrefixKey(method, path));
+        return limitedPrefix != null ? limitedPrefix.tokenBucket.getRate() : null;
+    }
+
+    String toPrefixKey(String method, String path) {
+        final String[] segments = path.replaceFirst("^/", "").split("/", -1);
+        // The last segment is the name of the object and not part of the prefix
+        final int prefixSegments = Math.min(prefixDepth + 1, Math.max(1, segments.length - 1));
+
+        final StringBuilder prefixKey = new StringBuilder(isWrite(method) ? "W:" : "R:");
+        for (int i = 0; i < prefixSegments; i++) {
+            prefixKey.append(segments[i]).append('/');
+        }
+        return prefixKey.toString();
+    }
+
+    private LimitedPrefix getLimitedPrefix(String method, String path, int maxPerSecond, long now) {
+        final String prefixKey = toPrefixKey(method, path);
+        LimitedPrefix limitedPrefix = prefixes.get(prefixKey);
+        if (limitedPrefix == null) {
+            if (prefixes.size() >= MAX_IDLE_BUCKETS) {
+                evictIdlePrefixes(now);
+            }
+            limitedPrefix = new LimitedPrefix(new TokenBucket(maxPerSecond, now));
+            prefixes.put(prefixKey, limitedPrefix);
+        }
+        return limitedPrefix;
+    }
+
+    private void evictIdlePrefixes(long now) {
+        for (Iterator<LimitedPrefix> iterator = prefixes.values().iterator(); iterator.hasNext(); ) {
+            final LimitedPrefix limitedPrefix = iterator.next();
+            if (limitedPrefix.queue.isEmpty() && limitedPrefix.drainTimerId == null && limitedPrefix.tokenBucket.isIdle(now)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static boolean isWrite(String method) {
+        return !"GET".equalsIgnoreCase(method) && !"HEAD".equalsIgnoreCase(method);
+    }
+
+    private class LimitedPrefix {
+
+        private final TokenBucket tokenBucket;
+        private final Deque<Handler<Void>> queue = new ArrayDeque<>();
+
+        private Long drainTimerId;
+
+        private LimitedPrefix(TokenBucket tokenBucket) {
+            this.tokenBucket = tokenBucket;
+        }
+
+        private void scheduleDrain(long now) {
+            if (drainTimerId != null) {
+                return;
+            }
+            final long delayMs = Math.max(1, tokenBucket.nanosUntilAvailable(now) / NANOS_PER_MS);
+            drainTimerId = vertx.setTimer(delayMs, timerId -> drain());
+        }
+
+        private void drain() {
+            // The handlers are called outside of the lock since they may come from other event loops
+            final List<Handler<Void>> permitted = new ArrayList<>();
+            synchronized (PrefixRateLimiter.this) {
+                drainTimerId = null;
+                final long now = nanoClock.getAsLong();
+                while (!queue.isEmpty() && tokenBucket.tryAcquire(now)) {
+                    permitted.add(queue.poll());
+                }
+                if (!queue.isEmpty()) {
+                    scheduleDrain(now);
+                }
+            }
+            permitted.forEach(handler -> handler.handle(null));
+        }
+    }
+}
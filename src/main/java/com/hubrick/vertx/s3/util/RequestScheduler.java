@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import io.vertx.core.Handler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Limits the number of requests in flight and queues the rest. The queue is either served in arrival order
+ * or shortest job first, where the size of a job is the size of the request body. Jobs of the same size
+ * are served in arrival order. Every tenant has a queue of its own and the queues are served round robin, so a tenant
+ * with many queued requests can't starve the others.
+ *
+ * @since 3.3.4
+ */
+public class RequestScheduler {
+
+    private final int maxConcurrentRequests;
+    private final Integer maxQueueSize;
+    private final boolean shortestJobFirst;
+    private final Map<String, Queue<Job>> queues = new HashMap<>();
+    private final Queue<String> tenantsWithQueuedJobs = new ArrayDeque<>();
+
+    private int inFlight = 0;
+    private int queueSize = 0;
+    private long nextSequence = 0;
+
+    /**
+     * @param maxConcurrentRequests The number of requests in flight
+     * @param maxQueueSize          The number of queued requests or null for an unbounded queue
+     * @param shortestJobFirst      True to serve the smallest requests first
+     */
+    public RequestScheduler(int maxConcurrentRequests, Integer maxQueueSize, boolean shortestJobFirst) {
+        checkArgument(maxConcurrentRequests > 0, "maxConcurrentRequests must be more than zero");
+        checkArgument(maxQueueSize == null || maxQueueSize >= 0, "maxQueueSize must not be negative");
+
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxQueueSize = maxQueueSize;
+        this.shortestJobFirst = shortestJobFirst;
+    }
+
+    /**
+     * @param size    The size of the request body
+     * @param handler Called as soon as the request may be sent. {@link #release()} has to be called once it completed.
+     * @return False if the queue is full and the request was rejected
+     */
+    public boolean schedule(long size, Handler<Void> handler) {
+        return schedule(null, size, handler);
+    }
+
+    /**
+     * @param tenant  The tenant of the request or null
+     * @param size    The size of the request body
+     * @param handler Called as soon as the request may be sent. {@link #release()} has to be called once it completed.
+     * @return False if the queue is full and the request was rejected
+     */
+    public boolean schedule(String tenant, long size, Handler<Void> handler) {
+        checkNotNull(handler, "handler must not be null");
+
+        synchronized (this) {
+            if (inFlight >= maxConcurrentRequests || queueSize > 0) {
+                if (maxQueueSize != null && queueSize >= maxQueueSize) {
+                    return false;
+                }
+                final String queueName = tenant != null ? tenant : "";
+                final Queue<Job> queue = queues.computeIfAbsent(queueName, name -> createQueue());
+                if (queue.isEmpty()) {
+                    tenantsWithQueuedJobs.add(queueName);
+                }
+                queue.add(new Job(size, nextSequence++, handler));
+                queueSize++;
+                return true;
+            }
+            inFlight++;
+        }
+        handler.handle(null);
+        return true;
+    }
+
+    public void release() {
+        // The handlers are called outside of the lock since they may come from other event loops
+        final List<Handler<Void>> started = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            while (inFlight < maxConcurrentRequests && queueSize > 0) {
+                inFlight++;
+                started.add(pollNextTenant().handler);
+            }
+        }
+        started.forEach(handler -> handler.handle(null));
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueSize() {
+        return queueSize;
+    }
+
+    private Job pollNextTenant() {
+        final String tenant = tenantsWithQueuedJobs.poll();
+        final Queue<Job> queue = queues.get(tenant);
+        final Job job = queue.poll();
+        queueSize--;
+        if (queue.isEmpty()) {
+            // Tenants come and go, so empty queues aren't kept
+            queues.remove(tenant);
+        } else {
+            tenantsWithQueuedJobs.add(tenant);
+        }
+        return job;
+    }
+
+    private Queue<Job> createQueue() {
+        if (shortestJobFirst) {
+            return new PriorityQueue<>(Comparator.<Job>comparingLong(job -> job.size).thenComparingLong(job -> job.sequence));
+        }
+        return new ArrayDeque<>();
+    }
+
+    private static class Job {
+
+        private final long size;
+        private final long sequence;
+        private final Handler<Void> handler;
+
+        private Job(long size, long sequence, Handler<Void> handler) {
+            this.size = size;
+            this.sequence = sequence;
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Limits retries to a fraction of the requests to prevent retry storms during outages. Every request deposits
+ * the ratio into the budget and every retry withdraws one token. The balance holds at most the tokens of 1000 requests.
+ * Additionally a small number of retries per second is always allowed so that clients with little traffic can retry too.
+ *
+ * @since 3.3.4
+ */
+public class RetryBudget {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final int BALANCE_REQUESTS = 1000;
+
+    private final double ratio;
+    private final double maxBalance;
+    private final int minRetriesPerSecond;
+
+    private double balance;
+    private double reserve;
+    private long lastRefillNanos;
+
+    /**
+     * @param ratio               The number of retries allowed per request, e.g. 0.1 for 10%
+     * @param minRetriesPerSecond The number of retries per second which are allowed regardless of the ratio
+     * @param nowNanos            The current time in nanos
+     */
+    public RetryBudget(double ratio, int minRetriesPerSecond, long nowNanos) {
+        checkArgument(ratio >= 0, "ratio must not be negative");
+        checkArgument(minRetriesPerSecond >= 0, "minRetriesPerSecond must not be negative");
+
+        this.ratio = ratio;
+        this.maxBalance = ratio * BALANCE_REQUESTS;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.reserve = minRetriesPerSecond;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    public synchronized void onRequest() {
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    /**
+     * @param nowNanos The current time in nanos
+     * @return True if a retry may be sent
+     */
+    public synchronized boolean tryAcquire(long nowNanos) {
+        refill(nowNanos);
+        if (reserve >= 1) {
+            reserve -= 1;
+            return true;
+        }
+        if (balance >= 1) {
+            balance -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    private void refill(long nowNanos) {
+        final double elapsedSeconds = Math.max(0, nowNanos - lastRefillNanos) / NANOS_PER_SECOND;
+        lastRefillNanos = Math.max(lastRefillNanos, nowNanos);
+
+        reserve = Math.min(minRetriesPerSecond, reserve + elapsedSeconds * minRetriesPerSecond);
+    }
+}
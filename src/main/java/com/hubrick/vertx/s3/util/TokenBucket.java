@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A token bucket whose rate adapts to the server. A slow down signal halves the rate (down to 5% of the configured rate)
+ * and drains the bucket. Afterwards the rate recovers linearly to the configured rate within 20 seconds.
+ * The bucket holds at most 100ms worth of tokens to keep bursts small.
+ *
+ * @since 3.3.4
+ */
+public class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double BURST_SECONDS = 0.1;
+    private static final double MIN_RATE_RATIO = 0.05;
+    private static final double SLOW_DOWN_RATIO = 0.5;
+    private static final double RECOVERY_RATIO_PER_SECOND = 0.05;
+
+    private final double maxRate;
+    private final double minRate;
+
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param ratePerSecond The number of permits per second
+     * @param nowNanos      The current time in nanos
+     */
+    public TokenBucket(double ratePerSecond, long nowNanos) {
+        checkArgument(ratePerSecond > 0, "ratePerSecond must be more than zero");
+
+        this.maxRate = ratePerSecond;
+        this.minRate = Math.min(ratePerSecond, Math.max(1, ratePerSecond * MIN_RATE_RATIO));
+        this.rate = ratePerSecond;
+        this.tokens = getBurst();
+        this.lastRefillNanos = nowNanos;
+    }
+
+    public boolean tryAcquire(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param nowNanos The current time in nanos
+     * @return The time until the next permit is available
+     */
+    public long nanosUntilAvailable(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1) {
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / rate * NANOS_PER_SECOND);
+    }
+
+    public void onSlowDown(long nowNanos) {
+        refill(nowNanos);
+        rate = Math.max(minRate, rate * SLOW_DOWN_RATIO);
+        tokens = Math.min(tokens, 0);
+    }
+
+    /**
+     * @return True if the bucket is full and runs at the configured rate
+     */
+    public boolean isIdle(long nowNanos) {
+        refill(nowNanos);
+        return rate >= maxRate && tokens >= getBurst();
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    private double getBurst() {
+        return Math.max(1, rate * BURST_SECONDS);
+    }
+
+    private void refill(long nowNanos) {
+        final double elapsedSeconds = Math.max(0, nowNanos - lastRefillNanos) / NANOS_PER_SECOND;
+        lastRefillNanos = Math.max(lastRefillNanos, nowNanos);
+
+        tokens = Math.min(getBurst(), tokens + elapsedSeconds * rate);
+        if (rate < maxRate) {
+            rate = Math.min(maxRate, rate + maxRate * RECOVERY_RATIO_PER_SECOND * elapsedSeconds);
+        }
+    }
+}
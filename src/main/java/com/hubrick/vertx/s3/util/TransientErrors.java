@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import com.hubrick.vertx.s3.exception.HttpErrorException;
+import com.hubrick.vertx.s3.model.ErrorCode;
+import io.vertx.core.VertxException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Classifies failed requests by the HTTP status and the S3 error code.
+ *
+ * @since 3.3.4
+ */
+public final class TransientErrors {
+
+    private TransientErrors() {
+    }
+
+    /**
+     * @param throwable The failure of a request
+     * @return True if the same request might succeed when it is sent again. These are 5xx responses (except 501),
+     * the error codes InternalError, ServiceUnavailable, SlowDown and RequestTimeout as well as connection problems
+     * and timeouts.
+     */
+    public static boolean isTransient(Throwable throwable) {
+        if (throwable instanceof HttpErrorException) {
+            final HttpErrorException httpErrorException = (HttpErrorException) throwable;
+            final ErrorCode errorCode = getErrorCode(httpErrorException);
+            if (errorCode == ErrorCode.NOT_IMPLEMENTED) {
+                return false;
+            }
+
+            final Integer status = httpErrorException.getStatus();
+            return (status != null && status / 100 == 5 && status != 501)
+                    || errorCode == ErrorCode.INTERNAL_ERROR
+                    || errorCode == ErrorCode.SERVICE_UNAVAILABLE
+                    || errorCode == ErrorCode.SLOW_DOWN
+                    || errorCode == ErrorCode.REQUEST_TIMEOUT;
+        }
+
+        // Connection resets, refused connections, closed connections and timeouts
+        return throwable instanceof IOException
+                || throwable instanceof TimeoutException
+                || throwable instanceof VertxException;
+    }
+
+    /**
+     * @param throwable The failure of a request
+     * @return True if the failure signals that S3 or the network is overloaded (503, SlowDown, RequestTimeout and timeouts)
+     */
+    public static boolean isCongestion(Throwable throwable) {
+        if (throwable instanceof HttpErrorException) {
+            final HttpErrorException httpErrorException = (HttpErrorException) throwable;
+            final ErrorCode errorCode = getErrorCode(httpErrorException);
+            return Integer.valueOf(503).equals(httpErrorException.getStatus())
+                    || errorCode == ErrorCode.SLOW_DOWN
+                    || errorCode == ErrorCode.REQUEST_TIMEOUT;
+        }
+
+        return throwable instanceof TimeoutException;
+    }
+
+    /**
+     * @param throwable The failure of a request
+     * @return True if the bucket of the request lives in another region than the request was signed for (301 PermanentRedirect
+     * or 400 AuthorizationHeaderMalformed)
+     */
+    public static boolean isWrongRegion(Throwable throwable) {
+        if (throwable instanceof HttpErrorException) {
+            final HttpErrorException httpErrorException = (HttpErrorException) throwable;
+            final ErrorCode errorCode = getErrorCode(httpErrorException);
+            return Integer.valueOf(301).equals(httpErrorException.getStatus())
+                    || errorCode == ErrorCode.PERMANENT_REDIRECT
+                    || errorCode == ErrorCode.AUTHORIZATION_HEADER_MALFORMED;
+        }
+
+        return false;
+    }
+
+    private static ErrorCode getErrorCode(HttpErrorException httpErrorException) {
+        return httpErrorException.getErrorResponse() != null ? httpErrorException.getErrorResponse().getCode() : null;
+    }
+}
@@ -20,9 +20,21 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Resources;
 import com.hubrick.vertx.s3.AbstractFunctionalTest;
 import com.hubrick.vertx.s3.S3TestCredentials;
+import com.hubrick.vertx.s3.checkpoint.CheckpointPart;
+import com.hubrick.vertx.s3.checkpoint.FileSystemMultipartUploadCheckpointStore;
+import com.hubrick.vertx.s3.checkpoint.MultipartUploadCheckpoint;
+import com.hubrick.vertx.s3.checkpoint.MultipartUploadCheckpointStore;
+import com.hubrick.vertx.s3.credentials.AwsCredentials;
+import com.hubrick.vertx.s3.credentials.AwsCredentialsProvider;
+import com.hubrick.vertx.s3.credentials.HttpCredentialsProvider;
+import com.hubrick.vertx.s3.exception.AdmissionRejectedException;
+import com.hubrick.vertx.s3.exception.CircuitBreakerOpenException;
+import com.hubrick.vertx.s3.exception.DeadlineExceededException;
 import com.hubrick.vertx.s3.exception.HttpErrorException;
+import com.hubrick.vertx.s3.exception.S3ClientException;
 import com.hubrick.vertx.s3.model.AccessControlPolicy;
 import com.hubrick.vertx.s3.model.CannedAcl;
+import com.hubrick.vertx.s3.model.Directive;
 import com.hubrick.vertx.s3.model.ErrorCode;
 import com.hubrick.vertx.s3.model.Part;
 import com.hubrick.vertx.s3.model.Response;
@@ -32,44 +44,86 @@ import com.hubrick.vertx.s3.model.header.ContinueMultipartUploadResponseHeaders;
 import com.hubrick.vertx.s3.model.header.InitMultipartUploadResponseHeaders;
 import com.hubrick.vertx.s3.model.request.AbortMultipartUploadRequest;
 import com.hubrick.vertx.s3.model.request.AclHeadersRequest;
+import com.hubrick.vertx.s3.model.request.AdaptiveUploadRequest;
+import com.hubrick.vertx.s3.model.request.BulkDownloadRequest;
+import com.hubrick.vertx.s3.model.request.BulkUploadItem;
+import com.hubrick.vertx.s3.model.request.BulkUploadRequest;
 import com.hubrick.vertx.s3.model.request.CompleteMultipartUploadRequest;
 import com.hubrick.vertx.s3.model.request.ContinueMultipartUploadRequest;
 import com.hubrick.vertx.s3.model.request.CopyObjectRequest;
 import com.hubrick.vertx.s3.model.request.DeleteObjectRequest;
+import com.hubrick.vertx.s3.model.request.DeleteObjectsRequest;
 import com.hubrick.vertx.s3.model.request.GetBucketRequest;
+import com.hubrick.vertx.s3.model.request.GetObjectAclRequest;
 import com.hubrick.vertx.s3.model.request.GetObjectRequest;
+import com.hubrick.vertx.s3.model.request.GetObjectsRequest;
 import com.hubrick.vertx.s3.model.request.HeadObjectRequest;
 import com.hubrick.vertx.s3.model.request.InitMultipartUploadRequest;
+import com.hubrick.vertx.s3.model.request.ListPartsRequest;
 import com.hubrick.vertx.s3.model.request.PutObjectAclRequest;
 import com.hubrick.vertx.s3.model.request.PutObjectRequest;
+import com.hubrick.vertx.s3.model.request.UploadPartCopyRequest;
 import com.hubrick.vertx.s3.model.response.CompleteMultipartUploadResponse;
 import com.hubrick.vertx.s3.model.response.MultipartUploadWriteStream;
+import com.hubrick.vertx.s3.util.CircuitBreaker;
+import com.hubrick.vertx.s3.util.Deadline;
+import com.hubrick.vertx.s3.util.IterableReadStream;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.dns.AddressResolverOptions;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
+import org.mockserver.matchers.Times;
 import org.mockserver.model.BinaryBody;
 import org.mockserver.model.Body;
+import org.mockserver.model.Delay;
 import org.mockserver.model.Header;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.StringBody;
 import org.mockserver.model.XmlBody;
+import org.mockserver.verify.VerificationTimes;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
 import static com.hubrick.vertx.s3.VertxMatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockserver.model.HttpRequest.request;
@@ -87,6 +141,10 @@ public abstract class AbstractS3ClientTest extends AbstractFunctionalTest {
 
     @Before
     public void setUp() throws Exception {
+        s3Client = createS3Client(createClientOptions());
+    }
+
+    private S3ClientOptions createClientOptions() {
         final S3ClientOptions clientOptions = new S3ClientOptions();
         clientOptions.setDefaultHost(HOSTNAME);
         clientOptions.setDefaultPort(MOCKSERVER_PORT);
@@ -96,12 +154,23 @@ public abstract class AbstractS3ClientTest extends AbstractFunctionalTest {
         clientOptions.setHostnameOverride(HOSTNAME);
 
         augmentClientOptions(clientOptions);
+        return clientOptions;
+    }
+
+    private S3Client createS3Client(S3ClientOptions clientOptions) {
+        return createS3Client(vertx, clientOptions);
+    }
+
+    private S3Client createS3Client(Vertx vertx, S3ClientOptions clientOptions) {
+        return createS3Client(vertx, clientOptions, System::nanoTime);
+    }
 
-        s3Client = new S3Client(
+    private S3Client createS3Client(Vertx vertx, S3ClientOptions clientOptions, LongSupplier nanoClock) {
+        return new S3Client(
                 vertx,
                 clientOptions,
-                Clock.fixed(Instant.ofEpochSecond(1478782934), ZoneId.of("UTC")));
-
+                Clock.fixed(Instant.ofEpochSecond(1478782934), ZoneId.of("UTC")),
+                nanoClock);
     }
 
     protected abstract void augmentClientOptions(final S3ClientOptions clientOptions);
@@ -122,6 +191,626 @@ public abstract class AbstractS3ClientTest extends AbstractFunctionalTest {
         );
     }
 
+    void verifyGetObjects(TestContext testContext) {
+        final Async async = testContext.async();
+        s3Client.getObjects(
+                "bucket",
+                new GetObjectsRequest(ImmutableList.of("key", "missing", "key")).withMaxConcurrentRequests(2).withMaxBytesInFlight(8L),
+                (getObjectsResponse) -> {
+                    assertThat(testContext, getObjectsResponse.getItems(), hasSize(3));
+                    assertThat(testContext, getObjectsResponse.getItems().get(0).getData().toString(), is("response"));
+                    assertThat(testContext, getObjectsResponse.getItems().get(1).isSucceeded(), is(false));
+                    assertThat(testContext, getObjectsResponse.getItems().get(1).getKey(), is("missing"));
+                    assertThat(testContext, getObjectsResponse.getItems().get(2).getData().toString(), is("response"));
+                    async.complete();
+                }
+        );
+    }
+
+    void mockGetObjectSlowDownOnce(Header... expectedHeaders) throws IOException {
+        getMockServerClient().when(
+                request()
+                        .withMethod("GET")
+                        .withPath("/bucket/key")
+                        .withHeaders(expectedHeaders),
+                Times.once()
+        ).respond(
+                response()
+                        .withStatusCode(503)
+                        .withHeader(Header.header("Content-Type", "application/xml;charset=UTF-8"))
+                        .withBody("<Error><Code>SlowDown</Code><Message>Please reduce your request rate.</Message></Error>")
+        );
+    }
+
+    void mockGetObjectPermanentRedirectOnce(Header... expectedHeaders) throws IOException {
+        getMockServerClient().when(
+                request()
+                        .withMethod("GET")
+                        .withPath("/bucket/key")
+                        .withHeaders(expectedHeaders),
+                Times.once()
+        ).respond(
+                response()
+                        .withStatusCode(301)
+                        .withHeader(Header.header("Content-Type", "application/xml;charset=UTF-8"))
+                        .withHeader(Header.header("x-amz-bucket-region", "eu-west-1"))
+                        .withBody("<Error><Code>PermanentRedirect</Code><Message>The bucket you are attempting to access must be addressed using the specified endpoint.</Message></Error>")
+        );
+    }
+
+    void verifyGetObjectWithBucketRegionDiscovery(TestContext testContext) {
+        final S3Client discoveringS3Client = createS3Client(createClientOptions().setBucketRegionDiscovery(true));
+
+        final Async async = testContext.async();
+        getObjects(testContext, discoveringS3Client, 2, () -> {
+            // Only the first request went to the wrong region
+            getMockServerClient().verify(request().withMethod("GET").withPath("/bucket/key"), VerificationTimes.exactly(3));
+            async.complete();
+        });
+    }
+
+    void mockGetVirtualHostedObject() throws IOException {
+        mock(
+                Collections.emptyMap(),
+                "GET",
+                "/key",
+                200,
+                "response".getBytes(),
+                new Header("Host", "bucket." + HOSTNAME)
+        );
+    }
+
+    void verifyGetObjectWithVirtualHostedStyle(TestContext testContext) {
+        // The endpoint is the mock server, so only the host header and the path change
+        final S3Client virtualHostedS3Client = createS3Client(createClientOptions()
+                .setVirtualHostedStyle(true)
+                .addEndpoint(HOSTNAME + ":" + MOCKSERVER_PORT));
+
+        final Async async = testContext.async();
+        getObjects(testContext, virtualHostedS3Client, 2, () -> {
+            getMockServerClient().verify(request().withMethod("GET").withPath("/key").withHeader("Host", "bucket." + HOSTNAME), VerificationTimes.exactly(2));
+            async.complete();
+        });
+    }
+
+    void verifyGetObjectWithTenantViews(TestContext testContext) {
+        // The mock server can't tell the order of the requests, so a server which records the credentials of the requests
+        // and answers after 50ms stands in
+        final List<String> receivedCredentials = Collections.synchronizedList(new ArrayList<>());
+        final HttpServer server = vertx.createHttpServer();
+        server.requestHandler(serverRequest -> {
+            receivedCredentials.add(StringUtils.substringBetween(serverRequest.getHeader("Authorization"), "Credential=", "/"));
+            vertx.setTimer(50, timerId -> serverRequest.response().end("response"));
+        });
+
+        final Async async = testContext.async();
+        server.listen(MOCKSERVER_PORT + 1, HOSTNAME, listenResult -> {
+            // One connection is shared by both tenants, which sign their requests with their own credentials
+            final S3Client sharedS3Client = createS3Client(createClientOptions().setDefaultPort(MOCKSERVER_PORT + 1).setFairScheduling(true).setMaxPoolSize(1));
+            final S3Client tenantA = sharedS3Client.withCredentials("a", "tenant-a-key", "tenant-a-secret");
+            final S3Client tenantB = sharedS3Client.withCredentials("b", "tenant-b-key", "tenant-b-secret");
+
+            final AtomicInteger remaining = new AtomicInteger(4);
+            for (S3Client tenant : ImmutableList.of(tenantA, tenantA, tenantA, tenantB)) {
+                tenant.getObject("bucket", "key", new GetObjectRequest(),
+                        (getObjectResponse) -> getObjectResponse.getData().handler(buffer -> {
+                            assertThat(testContext, new String(buffer.getBytes(), StandardCharsets.UTF_8), is("response"));
+                            if (remaining.decrementAndGet() == 0) {
+                                // The first request is sent right away, the queued ones alternate between the tenants. So the
+                                // request of tenant B doesn't wait for all the ones tenant A queued before it.
+                                assertThat(testContext, receivedCredentials, is(ImmutableList.of("tenant-a-key", "tenant-a-key", "tenant-b-key", "tenant-a-key")));
+                                // Closing a view leaves the shared pool open
+                                tenantA.close();
+                                tenantB.getObject("bucket", "key", new GetObjectRequest(),
+                                        (afterCloseResponse) -> afterCloseResponse.getData().handler(afterCloseBuffer -> {
+                                            server.close();
+                                            async.complete();
+                                        }),
+                                        testContext::fail);
+                            }
+                        }),
+                        testContext::fail);
+            }
+        });
+    }
+
+    void mockCredentials() throws IOException {
+        mock(
+                Collections.emptyMap(),
+                "GET",
+                "/credentials",
+                200,
+                new JsonObject()
+                        .put("AccessKeyId", "provided-key")
+                        .put("SecretAccessKey", "provided-secret")
+                        .put("Token", "session-token")
+                        .put("Expiration", Instant.now().plus(1, ChronoUnit.HOURS).toString())
+                        .encode()
+                        .getBytes(),
+                new Header("Authorization", "metadata-token")
+        );
+    }
+
+    void verifyGetObjectWithCredentialsProvider(TestContext testContext) {
+        final HttpCredentialsProvider credentialsProvider = new HttpCredentialsProvider(vertx, "http://" + HOSTNAME + ":" + MOCKSERVER_PORT + "/credentials", "metadata-token", 1000L, 60000L);
+        final S3Client providedS3Client = createS3Client(createClientOptions().setCredentialsProvider(credentialsProvider));
+
+        final Async async = testContext.async();
+        getObjects(testContext, providedS3Client, 2, () -> {
+            // The credentials are valid for an hour, so they are only loaded once
+            getMockServerClient().verify(request().withMethod("GET").withPath("/credentials"), VerificationTimes.exactly(1));
+            getMockServerClient().verify(request().withMethod("GET").withPath("/bucket/key")
+                    .withHeader("x-amz-security-token", "session-token")
+                    .withHeader("Authorization", ".*Credential=provided-key/.*x-amz-security-token.*"), VerificationTimes.exactly(2));
+            credentialsProvider.close();
+            async.complete();
+        });
+    }
+
+    void verifyStreamedRequestWithCredentialsProvider(TestContext testContext) {
+        // The mock server logs the bodies, so a server which records the authorization and the body of the streamed request stands in
+        final List<String> receivedRequests = Collections.synchronizedList(new ArrayList<>());
+        final HttpServer server = vertx.createHttpServer();
+        server.requestHandler(serverRequest -> serverRequest.bodyHandler(body -> {
+            receivedRequests.add(StringUtils.substringBetween(serverRequest.getHeader("Authorization"), "Credential=", "/") + " " + body);
+            serverRequest.response().end();
+        }));
+
+        final Async async = testContext.async();
+        server.listen(MOCKSERVER_PORT + 1, HOSTNAME, listenResult -> {
+            // The provider answers later, like one which loads the credentials over http
+            final AwsCredentialsProvider credentialsProvider = (handler, exceptionHandler) ->
+                    vertx.setTimer(50, timerId -> handler.handle(new AwsCredentials("provided-key", "provided-secret")));
+            final S3ClientRequest request = createStreamedRequest(MOCKSERVER_PORT + 1, credentialsProvider, response -> {
+                assertThat(testContext, receivedRequests, is(Collections.singletonList("provided-key some data")));
+                server.close();
+                async.complete();
+            });
+            request.exceptionHandler(testContext::fail);
+            request.setChunked(true);
+            request.write(Buffer.buffer("some "));
+            request.write(Buffer.buffer("data"));
+            request.end();
+        });
+    }
+
+    void verifyStreamedRequestWithFailingCredentialsProvider(TestContext testContext) {
+        final AwsCredentialsProvider credentialsProvider = (handler, exceptionHandler) ->
+                vertx.setTimer(50, timerId -> exceptionHandler.handle(new IllegalStateException("unavailable")));
+
+        final Async async = testContext.async();
+        final S3ClientRequest request = createStreamedRequest(MOCKSERVER_PORT, credentialsProvider, response -> testContext.fail("The request should not be sent"));
+        request.exceptionHandler(error -> {
+            assertThat(testContext, error, instanceOf(S3ClientException.class));
+            // Nothing was sent unsigned
+            vertx.setTimer(100, timerId -> {
+                getMockServerClient().verify(request().withMethod("PUT").withPath("/bucket/key"), VerificationTimes.exactly(0));
+                async.complete();
+            });
+        });
+        request.setChunked(true);
+        request.write(Buffer.buffer("some data"));
+        request.end();
+    }
+
+    private S3ClientRequest createStreamedRequest(int port, AwsCredentialsProvider credentialsProvider, Handler<HttpClientResponse> handler) {
+        return new S3ClientRequest(
+                "PUT",
+                S3TestCredentials.REGION,
+                S3TestCredentials.SERVICE_NAME,
+                vertx.createHttpClient().put(port, HOSTNAME, "/bucket/key"),
+                null,
+                null,
+                Clock.systemUTC(),
+                false
+        )
+                .setCredentialsProvider(credentialsProvider)
+                .handler(handler)
+                .putHeader("Host", HOSTNAME);
+    }
+
+    void verifyGetObjectWithRetries(TestContext testContext) {
+        final S3Client retryingS3Client = createS3Client(createClientOptions().setMaxRetries(2).setRetryBaseDelayMs(10L));
+
+        final Async async = testContext.async();
+        retryingS3Client.getObject("bucket", "key", new GetObjectRequest(),
+                (getObjectResponse) -> {
+                    assertThat(testContext, getObjectResponse.getHeader(), notNullValue());
+                    getObjectResponse.getData().handler(buffer -> {
+                        assertThat(testContext, new String(buffer.getBytes(), StandardCharsets.UTF_8), is("response"));
+                        async.complete();
+                    });
+                },
+                testContext::fail);
+    }
+
+    void mockGetReplicaObject(Header... expectedHeaders) throws IOException {
+        mock(
+                Collections.emptyMap(),
+                "GET",
+                "/replica-bucket/key",
+                200,
+                "replica".getBytes(),
+                expectedHeaders
+        );
+    }
+
+    void verifyGetObjectWithReadReplica(TestContext testContext) {
+        final S3Client replicatedS3Client = createS3Client(createClientOptions().setReadReplica(
+                new ReadReplicaOptions()
+                        .setAwsRegion(S3TestCredentials.REGION)
+                        .setHostnameOverride(HOSTNAME)
+                        .addBucket("bucket", "replica-bucket")
+        ));
+
+        final Async async = testContext.async();
+        replicatedS3Client.getObject("bucket", "key", new GetObjectRequest(),
+                (getObjectResponse) -> getObjectResponse.getData().handler(buffer -> {
+                    assertThat(testContext, new String(buffer.getBytes(), StandardCharsets.UTF_8), is("replica"));
+                    async.complete();
+                }),
+                testContext::fail);
+    }
+
+    void mockGetObjectWithOneSlowResponse(int fastResponsesBefore, Header... expectedHeaders) throws IOException {
+        getMockServerClient().when(
+                request().withMethod("GET").withPath("/bucket/key").withHeaders(expectedHeaders),
+                Times.exactly(fastResponsesBefore)
+        ).respond(
+                response().withStatusCode(200).withBody("response")
+        );
+        getMockServerClient().when(
+                request().withMethod("GET").withPath("/bucket/key").withHeaders(expectedHeaders),
+                Times.once()
+        ).respond(
+                response().withStatusCode(200).withBody("slow").withDelay(new Delay(TimeUnit.SECONDS, 3))
+        );
+        mockGetObject(expectedHeaders);
+    }
+
+    void verifyHedgedGetObject(TestContext testContext, int requestsBefore) {
+        final S3Client hedgingS3Client = createS3Client(createClientOptions().setHedgingPercentile(0.9).setHedgingMaxRatio(0.5));
+
+        final Async async = testContext.async();
+        getObjectsSequentially(testContext, hedgingS3Client, requestsBefore, aVoid ->
+                hedgingS3Client.getObject("bucket", "key", new GetObjectRequest(),
+                        (getObjectResponse) -> getObjectResponse.getData().handler(buffer -> {
+                            // The slow response would be "slow"
+                            assertThat(testContext, new String(buffer.getBytes(), StandardCharsets.UTF_8), is("response"));
+                            async.complete();
+                        }),
+                        testContext::fail)
+        );
+    }
+
+    void mockGetObjectWithSlowResponseAndFailingHedge(int fastResponsesBefore) throws IOException {
+        getMockServerClient().when(
+                request().withMethod("GET").withPath("/bucket/key"),
+                Times.exactly(fastResponsesBefore)
+        ).respond(
+                response().withStatusCode(200).withBody("response")
+        );
+        getMockServerClient().when(
+                request().withMethod("GET").withPath("/bucket/key"),
+                Times.once()
+        ).respond(
+                response().withStatusCode(200).withBody("slow").withDelay(new Delay(TimeUnit.SECONDS, 1))
+        );
+        getMockServerClient().when(
+                request().withMethod("GET").withPath("/bucket/key"),
+                Times.once()
+        ).respond(
+                response()
+                        .withStatusCode(500)
+                        .withHeader(Header.header("Content-Type", "application/xml;charset=UTF-8"))
+                        .withBody("<Error><Code>InternalError</Code><Message>We encountered an internal error. Please try again.</Message></Error>")
+        );
+    }
+
+    void verifyHedgedGetObjectWithFailingHedge(TestContext testContext, int requestsBefore) {
+        final S3Client hedgingS3Client = createS3Client(createClientOptions().setHedgingPercentile(0.9).setHedgingMaxRatio(0.5));
+
+        final Async async = testContext.async();
+        getObjectsSequentially(testContext, hedgingS3Client, requestsBefore, aVoid ->
+                hedgingS3Client.getObject("bucket", "key", new GetObjectRequest(),
+                        (getObjectResponse) -> getObjectResponse.getData().handler(buffer -> {
+                            // The failed hedge didn't win, the slow request was allowed to finish
+                            assertThat(testContext, new String(buffer.getBytes(), StandardCharsets.UTF_8), is("slow"));
+                            async.complete();
+                        }),
+                        testContext::fail)
+        );
+    }
+
+    private void getObjectsSequentially(TestContext testContext, S3Client client, int count, Handler<Void> doneHandler) {
+        if (count == 0) {
+            doneHandler.handle(null);
+            return;
+        }
+
+        client.getObject("bucket", "key", new GetObjectRequest(),
+                (getObjectResponse) -> getObjectResponse.getData().endHandler(aVoid -> getObjectsSequentially(testContext, client, count - 1, doneHandler)),
+                testContext::fail);
+    }
+
+    void verifyGetObjectWithTrafficClass(TestContext testContext) {
+        // The mock server can't tell the order and concurrency of the requests, so a server which answers GETs after 50ms
+        // and PUTs after 500ms stands in
+        final List<String> receivedRequests = Collections.synchronizedList(new ArrayList<>());
+        final Map<HttpMethod, AtomicInteger> requestsInFlight = ImmutableMap.of(HttpMethod.GET, new AtomicInteger(), HttpMethod.PUT, new AtomicInteger());
+        final Map<HttpMethod, AtomicInteger> maxRequestsInFlight = ImmutableMap.of(HttpMethod.GET, new AtomicInteger(), HttpMethod.PUT, new AtomicInteger());
+        final AtomicInteger completedPuts = new AtomicInteger();
+        final HttpServer server = vertx.createHttpServer();
+        server.requestHandler(serverRequest -> {
+            receivedRequests.add(serverRequest.method() + " " + serverRequest.path());
+            maxRequestsInFlight.get(serverRequest.method()).accumulateAndGet(requestsInFlight.get(serverRequest.method()).incrementAndGet(), Math::max);
+            serverRequest.bodyHandler(body -> vertx.setTimer(serverRequest.method() == HttpMethod.GET ? 50 : 500, timerId -> {
+                requestsInFlight.get(serverRequest.method()).decrementAndGet();
+                serverRequest.response().end(serverRequest.method() == HttpMethod.GET ? "response" : "");
+            }));
+        });
+
+        final Async async = testContext.async();
+        server.listen(MOCKSERVER_PORT + 1, HOSTNAME, listenResult -> {
+            final S3Client trafficClassS3Client = createS3Client(
+                    createClientOptions()
+                            .setDefaultPort(MOCKSERVER_PORT + 1)
+                            .addTrafficClass("interactive", new TrafficClassOptions().setMaxPoolSize(1))
+                            .addTrafficClass("bulk", new TrafficClassOptions().setMaxPoolSize(1).setShortestJobFirst(true))
+                            .setOperationTrafficClass("getObject", "interactive")
+                            .setOperationTrafficClass("putObject", "bulk")
+            );
+
+            // The first upload occupies the only bulk connection, the other ones are queued and sent smallest first
+            final AtomicInteger pending = new AtomicInteger(5);
+            final Handler<Void> done = aVoid -> {
+                if (pending.decrementAndGet() == 0) {
+                    assertThat(testContext, receivedRequests.stream().filter(request -> request.startsWith("PUT")).collect(Collectors.toList()),
+                            is(ImmutableList.of("PUT /bucket/first", "PUT /bucket/small", "PUT /bucket/large")));
+                    assertThat(testContext, maxRequestsInFlight.get(HttpMethod.GET).get(), is(1));
+                    assertThat(testContext, maxRequestsInFlight.get(HttpMethod.PUT).get(), is(1));
+                    server.close();
+                    async.complete();
+                }
+            };
+            for (String key : ImmutableList.of("first", "large", "small")) {
+                trafficClassS3Client.putObject("bucket", key, new PutObjectRequest(key.equals("large") ? filledBuffer('l', 1024) : Buffer.buffer(key)),
+                        (putObjectResponse) -> {
+                            completedPuts.incrementAndGet();
+                            done.handle(null);
+                        },
+                        testContext::fail);
+            }
+
+            // The interactive requests aren't queued behind the slow uploads
+            for (int i = 0; i < 2; i++) {
+                trafficClassS3Client.getObject("bucket", "key", new GetObjectRequest(),
+                        (getObjectResponse) -> getObjectResponse.getData().handler(buffer -> {
+                            assertThat(testContext, new String(buffer.getBytes(), StandardCharsets.UTF_8), is("response"));
+                            assertThat(testContext, completedPuts.get(), is(0));
+                            done.handle(null);
+                        }),
+                        testContext::fail);
+            }
+        });
+    }
+
+    void verifyGetObjectWithOpenCircuitBreaker(TestContext testContext) {
+        final S3Client circuitBreakerS3Client = createS3Client(createClientOptions().setCircuitBreakerFailureRateThreshold(1.0).setCircuitBreakerWindowSize(1));
+
+        final Async async = testContext.async();
+        circuitBreakerS3Client.getObject("bucket", "key", new GetObjectRequest(),
+                (result) -> testContext.fail("Exceptions should be thrown"),
+                error -> {
+                    assertThat(testContext, error, instanceOf(HttpErrorException.class));
+                    assertThat(testContext, circuitBreakerS3Client.getCircuitBreakerState("getObject"), is(CircuitBreaker.State.OPEN));
+                    assertThat(testContext, circuitBreakerS3Client.getCircuitBreakerState("bucket", "getObject"), is(CircuitBreaker.State.OPEN));
+
+                    circuitBreakerS3Client.getObject("bucket", "key", new GetObjectRequest(),
+                            (result) -> testContext.fail("Exceptions should be thrown"),
+                            fastError -> {
+                                assertThat(testContext, fastError, instanceOf(CircuitBreakerOpenException.class));
+                                async.complete();
+                            });
+                });
+    }
+
+    void verifyGetObjectWithFirstByteTimeout(TestContext testContext) {
+        final S3Client timeoutS3Client = createS3Client(
+                createClientOptions().setOperationTimeouts("getObject", new TimeoutOptions()
+                        .setFirstByteTimeoutMs(500L)
+                        .setTotalTimeoutMs(2000L)
+                        .setMinThroughputBytesPerSecond(1024L))
+        );
+
+        final Async async = testContext.async();
+        timeoutS3Client.getObject("bucket", "key", new GetObjectRequest(),
+                (result) -> testContext.fail("Exceptions should be thrown"),
+                error -> {
+                    assertThat(testContext, error, instanceOf(TimeoutException.class));
+
+                    // The next response is fast and its body completes within the deadline
+                    timeoutS3Client.getObject("bucket", "key", new GetObjectRequest(),
+                            (getObjectResponse) -> {
+                                final Buffer body = Buffer.buffer();
+                                getObjectResponse.getData().handler(body::appendBuffer);
+                                getObjectResponse.getData().endHandler(aVoid -> {
+                                    assertThat(testContext, new String(body.getBytes(), StandardCharsets.UTF_8), is("response"));
+                                    async.complete();
+                                });
+                            },
+                            testContext::fail);
+                });
+    }
+
+    void verifyGetObjectWithDeadlineAndAdmissionLimit(TestContext testContext) {
+        final S3Client admissionS3Client = createS3Client(createClientOptions().setMaxRequestsInFlight(1));
+
+        final Async rejected = testContext.async();
+        final Async async = testContext.async();
+        admissionS3Client.getObject("bucket", "key", new GetObjectRequest().withDeadline(Deadline.after(1000)),
+                (result) -> testContext.fail("Exceptions should be thrown"),
+                error -> {
+                    assertThat(testContext, error, instanceOf(DeadlineExceededException.class));
+
+                    // The expired request doesn't occupy the admission limit anymore
+                    admissionS3Client.getObject("bucket", "key", new GetObjectRequest(),
+                            (getObjectResponse) -> getObjectResponse.getData().handler(buffer -> {
+                                assertThat(testContext, new String(buffer.getBytes(), StandardCharsets.UTF_8), is("response"));
+                                async.complete();
+                            }),
+                            testContext::fail);
+                });
+
+        admissionS3Client.getObject("bucket", "key", new GetObjectRequest(),
+                (result) -> testContext.fail("Exceptions should be thrown"),
+                error -> {
+                    assertThat(testContext, error, instanceOf(AdmissionRejectedException.class));
+                    rejected.complete();
+                });
+    }
+
+    void verifyGetObjectWithDeadlineOfNanoClock(TestContext testContext) {
+        // The deadline is checked against the time of the client, which is already past it
+        final AtomicLong nowNanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(200));
+        final S3Client nanoClockS3Client = createS3Client(vertx, createClientOptions(), nowNanos::get);
+
+        final Async async = testContext.async();
+        nanoClockS3Client.getObject("bucket", "key", new GetObjectRequest().withDeadline(Deadline.after(100, 0)),
+                (result) -> testContext.fail("Exceptions should be thrown"),
+                error -> {
+                    assertThat(testContext, error, instanceOf(DeadlineExceededException.class));
+                    getMockServerClient().verify(request().withMethod("GET").withPath("/bucket/key"), VerificationTimes.exactly(0));
+                    async.complete();
+                });
+    }
+
+    void verifyGetObjectAclAndWarmUpWithExpiredDeadline(TestContext testContext) {
+        final Async async = testContext.async();
+        s3Client.getObjectAcl("bucket", "key", new GetObjectAclRequest().withDeadline(Deadline.after(0)),
+                (result) -> testContext.fail("Exceptions should be thrown"),
+                error -> {
+                    assertThat(testContext, error, instanceOf(DeadlineExceededException.class));
+
+                    s3Client.warmUp(Deadline.after(0),
+                            (aVoid) -> testContext.fail("Exceptions should be thrown"),
+                            warmUpError -> {
+                                assertThat(testContext, warmUpError, instanceOf(DeadlineExceededException.class));
+                                getMockServerClient().verify(request(), VerificationTimes.exactly(0));
+                                async.complete();
+                            });
+                });
+    }
+
+    void mockHeadBucket(Header... expectedHeaders) throws IOException {
+        mock(
+                Collections.emptyMap(),
+                "HEAD",
+                "/bucket",
+                200,
+                "0".getBytes(),
+                expectedHeaders
+        );
+    }
+
+    void verifyWarmUp(TestContext testContext) {
+        final S3Client warmUpS3Client = createS3Client(createClientOptions().setWarmUpBucket("bucket").setWarmUpConnections(3));
+
+        final Async async = testContext.async();
+        warmUpS3Client.warmUp(
+                aVoid -> {
+                    getMockServerClient().verify(request().withMethod("HEAD").withPath("/bucket"), VerificationTimes.exactly(3));
+                    async.complete();
+                },
+                testContext::fail
+        );
+    }
+
+    void mockHeadVirtualHostedBucket() throws IOException {
+        mock(
+                Collections.emptyMap(),
+                "HEAD",
+                "/",
+                200,
+                "0".getBytes(),
+                new Header("Host", "bucket." + HOSTNAME)
+        );
+    }
+
+    void verifyWarmUpWithVirtualHostedStyle(TestContext testContext) {
+        // Without endpoints the bucket has its own pool, which connects to the bucket hostname
+        final Vertx resolvingVertx = Vertx.vertx(new VertxOptions().setAddressResolverOptions(
+                new AddressResolverOptions().setHostsValue(Buffer.buffer("127.0.0.1 bucket." + HOSTNAME + "\n"))
+        ));
+        final S3Client warmUpS3Client = createS3Client(resolvingVertx, createClientOptions()
+                .setVirtualHostedStyle(true)
+                .setWarmUpBucket("bucket")
+                .setWarmUpConnections(3));
+
+        final Async async = testContext.async();
+        warmUpS3Client.warmUp(
+                aVoid -> {
+                    getMockServerClient().verify(request().withMethod("HEAD").withPath("/").withHeader("Host", "bucket." + HOSTNAME), VerificationTimes.exactly(3));
+                    getMockServerClient().verify(request().withMethod("HEAD").withPath("/bucket"), VerificationTimes.exactly(0));
+                    resolvingVertx.close(testContext.asyncAssertSuccess(closed -> async.complete()));
+                },
+                testContext::fail
+        );
+    }
+
+    void verifyGetObjectFromSeveralEventLoops(TestContext testContext) {
+        final S3Client perEventLoopS3Client = createS3Client(createClientOptions().setHttpClientPerEventLoop(true));
+
+        final int eventLoops = 3;
+        final Async async = testContext.async(eventLoops);
+        for (int i = 0; i < eventLoops; i++) {
+            final Context context = vertx.getOrCreateContext();
+            context.runOnContext(aVoid -> perEventLoopS3Client.getObject("bucket", "key", new GetObjectRequest(),
+                    getObjectResponse -> {
+                        // The response arrives on the event loop which sent the request
+                        assertThat(testContext, ((ContextInternal) context).nettyEventLoop().inEventLoop(), is(true));
+                        getObjectResponse.getData().handler(buffer -> {
+                            assertThat(testContext, new String(buffer.getBytes(), StandardCharsets.UTF_8), is("response"));
+                            async.countDown();
+                        });
+                    },
+                    testContext::fail
+            ));
+        }
+    }
+
+    void verifyGetObjectWithUnreachableEndpoint(TestContext testContext) {
+        // Nothing listens on the first endpoint, so it's ejected after its first failure
+        final S3Client loadBalancedS3Client = createS3Client(createClientOptions()
+                .addEndpoint(HOSTNAME + ":" + (MOCKSERVER_PORT - 1))
+                .addEndpoint(HOSTNAME + ":" + MOCKSERVER_PORT)
+                .setEndpointEjectionFailures(1)
+                .setMaxRetries(1)
+                .setRetryBaseDelayMs(10L)
+                .setRetryMaxDelayMs(10L));
+
+        final Async async = testContext.async();
+        getObjects(testContext, loadBalancedS3Client, 3, () -> {
+            getMockServerClient().verify(request().withMethod("GET").withPath("/bucket/key"), VerificationTimes.exactly(3));
+            async.complete();
+        });
+    }
+
+    private void getObjects(TestContext testContext, S3Client s3Client, int remaining, Runnable completion) {
+        if (remaining == 0) {
+            completion.run();
+            return;
+        }
+
+        s3Client.getObject("bucket", "key", new GetObjectRequest(),
+                getObjectResponse -> getObjectResponse.getData().handler(buffer -> {
+                    assertThat(testContext, new String(buffer.getBytes(), StandardCharsets.UTF_8), is("response"));
+                    getObjects(testContext, s3Client, remaining - 1, completion);
+                }),
+                testContext::fail
+        );
+    }
+
     void mockGetObjectErrorResponse(Header... expectedHeaders) throws IOException {
         mock(
                 Collections.emptyMap(),
@@ -314,6 +1003,127 @@ public abstract class AbstractS3ClientTest extends AbstractFunctionalTest {
                 testContext::fail);
     }
 
+    void verifyPutObjectWithExpectContinue(final TestContext testContext) throws IOException {
+        // The mock server answers the expectation itself, so a server which rejects the upload of "rejected" stands in
+        final byte[] errorResponse = Resources.toByteArray(Resources.getResource(AbstractS3ClientTest.class, "/response/errorResponse.xml"));
+        final List<String> receivedBodies = new ArrayList<>();
+        final HttpServer server = vertx.createHttpServer(new HttpServerOptions().setHandle100ContinueAutomatically(false));
+        server.requestHandler(serverRequest -> {
+            assertThat(testContext, serverRequest.getHeader("Expect"), is("100-continue"));
+            if (serverRequest.path().equals("/bucket/rejected")) {
+                serverRequest.response().setStatusCode(403).end(Buffer.buffer(errorResponse));
+                return;
+            }
+            serverRequest.bodyHandler(body -> {
+                receivedBodies.add(body.toString());
+                serverRequest.response().end();
+            });
+            serverRequest.response().writeContinue();
+        });
+
+        final Async async = testContext.async();
+        server.listen(MOCKSERVER_PORT + 1, HOSTNAME, listenResult -> {
+            final S3Client expectingS3Client = createS3Client(createClientOptions().setDefaultPort(MOCKSERVER_PORT + 1).setExpectContinueThreshold(4L));
+            expectingS3Client.putObject("bucket", "rejected", new PutObjectRequest(Buffer.buffer("test")),
+                    (result) -> testContext.fail("Exceptions should be thrown"),
+                    error -> {
+                        assertThat(testContext, error, instanceOf(HttpErrorException.class));
+                        assertThat(testContext, ((HttpErrorException) error).getStatus(), is(403));
+                        expectingS3Client.putObject("bucket", "key", new PutObjectRequest(Buffer.buffer("test")),
+                                (putResponseHeaders) -> {
+                                    // Only the accepted body was sent
+                                    assertThat(testContext, receivedBodies, is(Collections.singletonList("test")));
+                                    server.close();
+                                    async.complete();
+                                },
+                                testContext::fail);
+                    });
+        });
+    }
+
+    void verifyPutObjectWithIgnoredExpectContinue(final TestContext testContext) {
+        // A server which ignores the expectation never answers with a continue, but waits for the body
+        final List<String> receivedBodies = new ArrayList<>();
+        final HttpServer server = vertx.createHttpServer(new HttpServerOptions().setHandle100ContinueAutomatically(false));
+        server.requestHandler(serverRequest -> {
+            assertThat(testContext, serverRequest.getHeader("Expect"), is("100-continue"));
+            serverRequest.bodyHandler(body -> {
+                receivedBodies.add(body.toString());
+                serverRequest.response().end();
+            });
+        });
+
+        final Async async = testContext.async();
+        server.listen(MOCKSERVER_PORT + 1, HOSTNAME, listenResult -> {
+            final S3Client expectingS3Client = createS3Client(createClientOptions().setDefaultPort(MOCKSERVER_PORT + 1).setExpectContinueThreshold(4L).setExpectContinueTimeoutMs(100L));
+            final long start = System.currentTimeMillis();
+            expectingS3Client.putObject("bucket", "key", new PutObjectRequest(Buffer.buffer("test")),
+                    (putResponseHeaders) -> {
+                        assertThat(testContext, receivedBodies, is(Collections.singletonList("test")));
+                        // The body was sent after the configured timeout instead of the default of a second
+                        assertThat(testContext, System.currentTimeMillis() - start < S3ClientOptions.DEFAULT_EXPECT_CONTINUE_TIMEOUT_MS, is(true));
+                        server.close();
+                        async.complete();
+                    },
+                    testContext::fail);
+        });
+    }
+
+    void verifyAdaptiveUploadBelowThreshold(final TestContext testContext) {
+        final Async async = testContext.async();
+        final List<Buffer> data = ImmutableList.of(Buffer.buffer("te"), Buffer.buffer("st"));
+        s3Client.adaptiveUpload("bucket", "key", new AdaptiveUploadRequest(new IterableReadStream<>(vertx, data)),
+                (adaptiveUploadResponse) -> {
+                    // The chunks were sent as one direct upload
+                    getMockServerClient().verify(request().withMethod("PUT").withPath("/bucket/key").withBody("test"), VerificationTimes.exactly(1));
+                    getMockServerClient().verify(request().withMethod("POST").withPath("/bucket/key"), VerificationTimes.exactly(0));
+                    async.complete();
+                },
+                testContext::fail);
+    }
+
+    void verifyAdaptiveUploadAboveThreshold(final TestContext testContext) {
+        // The mock server logs every body, so a server which only records the size and the first and last byte of the parts stands in
+        final List<String> receivedRequests = Collections.synchronizedList(new ArrayList<>());
+        final HttpServer server = vertx.createHttpServer();
+        server.requestHandler(serverRequest -> serverRequest.bodyHandler(body -> {
+            if (serverRequest.params().contains("uploads")) {
+                receivedRequests.add("init");
+                serverRequest.response().end("<InitiateMultipartUploadResult><Bucket>bucket</Bucket><Key>key</Key><UploadId>someid</UploadId></InitiateMultipartUploadResult>");
+            } else if (serverRequest.params().contains("partNumber")) {
+                receivedRequests.add("part " + serverRequest.getParam("partNumber") + " " + body.length() + " " + (char) body.getByte(0) + (char) body.getByte(body.length() - 1));
+                serverRequest.response().putHeader("ETag", "etag" + serverRequest.getParam("partNumber")).end();
+            } else {
+                receivedRequests.add("complete " + body.toString().contains("<PartNumber>1</PartNumber>") + " " + body.toString().contains("<PartNumber>2</PartNumber>"));
+                serverRequest.response().end("<CompleteMultipartUploadResult><Location>whatever</Location><Bucket>bucket</Bucket><Key>key</Key><ETag>whatever</ETag></CompleteMultipartUploadResult>");
+            }
+        }));
+
+        final int threeMb = 3 * 1024 * 1024;
+        final List<Buffer> data = ImmutableList.of(filledBuffer('a', threeMb), filledBuffer('b', threeMb), filledBuffer('c', 1024));
+
+        final Async async = testContext.async();
+        server.listen(MOCKSERVER_PORT + 1, HOSTNAME, listenResult -> {
+            final S3Client standInS3Client = createS3Client(createClientOptions().setDefaultPort(MOCKSERVER_PORT + 1));
+            standInS3Client.adaptiveUpload("bucket", "key", new AdaptiveUploadRequest(new IterableReadStream<>(vertx, data)),
+                    (adaptiveUploadResponse) -> {
+                        // The chunks which crossed the threshold form the first part, the rest the second one
+                        assertThat(testContext, receivedRequests, containsInAnyOrder("init", "part 1 " + 2 * threeMb + " ab", "part 2 1024 cc", "complete true true"));
+                        assertThat(testContext, receivedRequests.get(0), is("init"));
+                        assertThat(testContext, receivedRequests.get(3), is("complete true true"));
+                        server.close();
+                        async.complete();
+                    },
+                    testContext::fail);
+        });
+    }
+
+    private Buffer filledBuffer(char content, int length) {
+        final byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) content);
+        return Buffer.buffer(bytes);
+    }
+
     void verifyPutObjectErrorResponse(final TestContext testContext) {
 
         final Async async = testContext.async();
@@ -573,6 +1383,76 @@ public abstract class AbstractS3ClientTest extends AbstractFunctionalTest {
         );
     }
 
+    void mockContinueMultipartUploadSlowDown(Integer partNumber, String uploadId, Times times) throws IOException {
+        getMockServerClient().when(
+                request()
+                        .withMethod("PUT")
+                        .withPath("/bucket/key")
+                        .withQueryStringParameter("partNumber", partNumber.toString())
+                        .withQueryStringParameter("uploadId", uploadId),
+                times
+        ).respond(
+                response()
+                        .withStatusCode(503)
+                        .withHeader(Header.header("Content-Type", "application/xml;charset=UTF-8"))
+                        .withBody("<Error><Code>SlowDown</Code><Message>Please reduce your request rate.</Message></Error>")
+        );
+    }
+
+    void verifyMultipartUploadWithRetries(final TestContext testContext) {
+        final Async async = testContext.async();
+        callInitMultipartUpload(testContext, event -> {
+            final MultipartUploadWriteStream multipartUploadWriteStream = event.getData();
+            multipartUploadWriteStream.maxRetries(1);
+            multipartUploadWriteStream.retryBackoff(1L, 1L);
+            multipartUploadWriteStream.exceptionHandler(testContext::fail);
+            multipartUploadWriteStream.write(Buffer.buffer("some data"));
+            multipartUploadWriteStream.end(aVoid -> {
+                getMockServerClient().verify(request().withMethod("PUT").withPath("/bucket/key"), VerificationTimes.exactly(2));
+                getMockServerClient().verify(request().withMethod("POST").withPath("/bucket/key").withQueryStringParameter("uploadId", "someid"), VerificationTimes.exactly(1));
+                async.complete();
+            });
+        });
+    }
+
+    void verifyMultipartUploadWithExhaustedRetries(final TestContext testContext) {
+        final Async async = testContext.async();
+        callInitMultipartUpload(testContext, event -> {
+            final MultipartUploadWriteStream multipartUploadWriteStream = event.getData();
+            multipartUploadWriteStream.maxRetries(2);
+            multipartUploadWriteStream.retryBackoff(1L, 1L);
+            multipartUploadWriteStream.exceptionHandler(error -> {
+                assertThat(testContext, error, instanceOf(HttpErrorException.class));
+                assertThat(testContext, ((HttpErrorException) error).getStatus(), is(503));
+
+                getMockServerClient().verify(request().withMethod("PUT").withPath("/bucket/key"), VerificationTimes.exactly(3));
+                getMockServerClient().verify(request().withMethod("DELETE").withPath("/bucket/key"), VerificationTimes.exactly(1));
+                getMockServerClient().verify(request().withMethod("POST").withPath("/bucket/key").withQueryStringParameter("uploadId", "someid"), VerificationTimes.exactly(0));
+                async.complete();
+            });
+            multipartUploadWriteStream.write(Buffer.buffer("some data"));
+            multipartUploadWriteStream.end(aVoid -> testContext.fail("Upload should fail"));
+        });
+    }
+
+    void verifyMultipartUploadWithClientRetries(final TestContext testContext) {
+        final S3Client retryingS3Client = createS3Client(createClientOptions().setMaxRetries(1).setRetryBaseDelayMs(1L));
+
+        final Async async = testContext.async();
+        retryingS3Client.initMultipartUpload("bucket", "key", new InitMultipartUploadRequest(), event -> {
+            final MultipartUploadWriteStream multipartUploadWriteStream = event.getData();
+            multipartUploadWriteStream.maxRetries(3);
+            multipartUploadWriteStream.retryBackoff(1L, 1L);
+            multipartUploadWriteStream.exceptionHandler(error -> {
+                // Only the client retried the part
+                getMockServerClient().verify(request().withMethod("PUT").withPath("/bucket/key"), VerificationTimes.exactly(2));
+                async.complete();
+            });
+            multipartUploadWriteStream.write(Buffer.buffer("some data"));
+            multipartUploadWriteStream.end(aVoid -> testContext.fail("Upload should fail"));
+        }, testContext::fail);
+    }
+
     void mockCompleteMultipartUpload(String uploadId, Header... expectedHeaders) throws IOException {
         mock(
                 ImmutableMap.of("uploadId", ImmutableList.of(uploadId)),
@@ -595,6 +1475,50 @@ public abstract class AbstractS3ClientTest extends AbstractFunctionalTest {
         );
     }
 
+    void mockCompleteMultipartUploadInternalErrorOnce(String uploadId) throws IOException {
+        getMockServerClient().when(
+                request()
+                        .withMethod("POST")
+                        .withPath("/bucket/key")
+                        .withQueryStringParameter("uploadId", uploadId),
+                Times.once()
+        ).respond(
+                response()
+                        .withStatusCode(500)
+                        .withHeader(Header.header("Content-Type", "application/xml;charset=UTF-8"))
+                        .withBody("<Error><Code>InternalError</Code><Message>We encountered an internal error. Please try again.</Message></Error>")
+        );
+    }
+
+    void verifyMultipartUploadWithCompleteRetry(final TestContext testContext) {
+        final Async async = testContext.async();
+        callInitMultipartUpload(testContext, event -> {
+            final MultipartUploadWriteStream multipartUploadWriteStream = event.getData();
+            multipartUploadWriteStream.maxRetries(1);
+            multipartUploadWriteStream.retryBackoff(1L, 1L);
+            multipartUploadWriteStream.exceptionHandler(testContext::fail);
+            multipartUploadWriteStream.write(Buffer.buffer("some data"));
+            multipartUploadWriteStream.end(aVoid -> {
+                getMockServerClient().verify(request().withMethod("POST").withPath("/bucket/key").withQueryStringParameter("uploadId", "someid"), VerificationTimes.exactly(2));
+                getMockServerClient().verify(request().withMethod("DELETE").withPath("/bucket/key"), VerificationTimes.exactly(0));
+                async.complete();
+            });
+        });
+    }
+
+    void verifyCompleteMultipartUploadWithClientRetries(final TestContext testContext) {
+        final S3Client retryingS3Client = createS3Client(createClientOptions().setMaxRetries(1).setRetryBaseDelayMs(1L));
+
+        final Async async = testContext.async();
+        retryingS3Client.completeMultipartUpload("bucket", "key", new CompleteMultipartUploadRequest("someid", Collections.emptyList()),
+                event -> {
+                    assertThat(testContext, event.getData(), notNullValue());
+                    getMockServerClient().verify(request().withMethod("POST").withPath("/bucket/key").withQueryStringParameter("uploadId", "someid"), VerificationTimes.exactly(2));
+                    async.complete();
+                },
+                testContext::fail);
+    }
+
     void verifyCompleteMultipartUpload(final TestContext testContext, String uploadId) {
 
         final Async async = testContext.async();
@@ -702,6 +1626,156 @@ public abstract class AbstractS3ClientTest extends AbstractFunctionalTest {
         );
     }
 
+    void verifyBulkUpload(final TestContext testContext) {
+        // The mock server can't tell how many requests are in flight, so a server which answers every upload after 50ms stands in
+        final List<String> receivedUploads = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger uploadsInFlight = new AtomicInteger();
+        final AtomicInteger maxUploadsInFlight = new AtomicInteger();
+        final HttpServer server = vertx.createHttpServer();
+        server.requestHandler(serverRequest -> {
+            maxUploadsInFlight.accumulateAndGet(uploadsInFlight.incrementAndGet(), Math::max);
+            serverRequest.bodyHandler(body -> {
+                receivedUploads.add(serverRequest.method() + " " + serverRequest.path() + " " + body.toString());
+                vertx.setTimer(50, timerId -> {
+                    uploadsInFlight.decrementAndGet();
+                    serverRequest.response().end();
+                });
+            });
+        });
+
+        final Async async = testContext.async();
+        server.listen(MOCKSERVER_PORT + 1, HOSTNAME, listenResult -> {
+            final S3Client standInS3Client = createS3Client(createClientOptions().setDefaultPort(MOCKSERVER_PORT + 1));
+            final List<String> uploadedKeys = new ArrayList<>();
+
+            // Limited by the number of requests
+            standInS3Client.bulkUpload(
+                    "bucket",
+                    new BulkUploadRequest(new IterableReadStream<>(vertx, bulkUploadItems(1, 5))).withMaxConcurrentRequests(2),
+                    (itemResponse) -> {
+                        assertThat(testContext, itemResponse.isSucceeded(), is(true));
+                        uploadedKeys.add(itemResponse.getKey());
+                    },
+                    (bulkUploadResponse) -> {
+                        assertThat(testContext, bulkUploadResponse.getSucceeded(), is(5L));
+                        assertThat(testContext, bulkUploadResponse.getFailed(), is(0L));
+                        assertThat(testContext, uploadedKeys, containsInAnyOrder("key1", "key2", "key3", "key4", "key5"));
+                        assertThat(testContext, receivedUploads, containsInAnyOrder(
+                                "PUT /bucket/key1 item1", "PUT /bucket/key2 item2", "PUT /bucket/key3 item3", "PUT /bucket/key4 item4", "PUT /bucket/key5 item5"
+                        ));
+                        assertThat(testContext, maxUploadsInFlight.get(), is(2));
+
+                        // Limited by the bytes in flight, every item has 5 bytes
+                        receivedUploads.clear();
+                        maxUploadsInFlight.set(0);
+                        standInS3Client.bulkUpload(
+                                "bucket",
+                                new BulkUploadRequest(new IterableReadStream<>(vertx, bulkUploadItems(6, 4))).withMaxConcurrentRequests(4).withMaxBytesInFlight(10L),
+                                (itemResponse) -> assertThat(testContext, itemResponse.isSucceeded(), is(true)),
+                                (limitedBulkUploadResponse) -> {
+                                    assertThat(testContext, limitedBulkUploadResponse.getSucceeded(), is(4L));
+                                    assertThat(testContext, receivedUploads, containsInAnyOrder(
+                                            "PUT /bucket/key6 item6", "PUT /bucket/key7 item7", "PUT /bucket/key8 item8", "PUT /bucket/key9 item9"
+                                    ));
+                                    assertThat(testContext, maxUploadsInFlight.get(), is(2));
+                                    server.close();
+                                    async.complete();
+                                },
+                                testContext::fail
+                        );
+                    },
+                    testContext::fail
+            );
+        });
+    }
+
+    void verifyBulkUploadOfFiles(final TestContext testContext) throws IOException {
+        // Every file has 5 bytes, so only two of them fit into the bytes in flight
+        final Path directory = Files.createTempDirectory("upload");
+        final List<BulkUploadItem> items = new ArrayList<>();
+        for (int number = 1; number <= 4; number++) {
+            final Path file = directory.resolve("file" + number);
+            Files.write(file, ("item" + number).getBytes(StandardCharsets.UTF_8));
+            items.add(new BulkUploadItem("key" + number, file.toString()));
+        }
+
+        final List<String> receivedUploads = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger uploadsInFlight = new AtomicInteger();
+        final AtomicInteger maxUploadsInFlight = new AtomicInteger();
+        final HttpServer server = vertx.createHttpServer();
+        server.requestHandler(serverRequest -> {
+            maxUploadsInFlight.accumulateAndGet(uploadsInFlight.incrementAndGet(), Math::max);
+            serverRequest.bodyHandler(body -> {
+                receivedUploads.add(serverRequest.method() + " " + serverRequest.path() + " " + body.toString());
+                vertx.setTimer(50, timerId -> {
+                    uploadsInFlight.decrementAndGet();
+                    serverRequest.response().end();
+                });
+            });
+        });
+
+        final Async async = testContext.async();
+        server.listen(MOCKSERVER_PORT + 1, HOSTNAME, listenResult -> {
+            final S3Client standInS3Client = createS3Client(createClientOptions().setDefaultPort(MOCKSERVER_PORT + 1));
+            standInS3Client.bulkUpload(
+                    "bucket",
+                    new BulkUploadRequest(new IterableReadStream<>(vertx, items)).withMaxConcurrentRequests(4).withMaxBytesInFlight(10L),
+                    (itemResponse) -> assertThat(testContext, itemResponse.isSucceeded(), is(true)),
+                    (bulkUploadResponse) -> {
+                        assertThat(testContext, bulkUploadResponse.getSucceeded(), is(4L));
+                        assertThat(testContext, receivedUploads, containsInAnyOrder(
+                                "PUT /bucket/key1 item1", "PUT /bucket/key2 item2", "PUT /bucket/key3 item3", "PUT /bucket/key4 item4"
+                        ));
+                        assertThat(testContext, maxUploadsInFlight.get(), is(2));
+                        server.close();
+                        async.complete();
+                    },
+                    testContext::fail
+            );
+        });
+    }
+
+    private List<BulkUploadItem> bulkUploadItems(int firstNumber, int count) {
+        final List<BulkUploadItem> items = new ArrayList<>();
+        for (int number = firstNumber; number < firstNumber + count; number++) {
+            items.add(new BulkUploadItem("key" + number, Buffer.buffer("item" + number)));
+        }
+        return items;
+    }
+
+    void mockRangedGetObject(String range, String contentRange, String body, Header... expectedHeaders) throws IOException {
+        mock(
+                Collections.emptyMap(),
+                "GET",
+                "/bucket/key",
+                206,
+                body.getBytes(),
+                ImmutableList.of(Header.header("Content-Range", contentRange), Header.header("ETag", "\"etag\"")),
+                ArrayUtils.add(expectedHeaders, Header.header("Range", range))
+        );
+    }
+
+    void verifyBulkDownload(final TestContext testContext) throws IOException {
+        final Async async = testContext.async();
+        final String directory = Files.createTempDirectory("download").toString();
+
+        s3Client.bulkDownload(
+                "bucket",
+                new BulkDownloadRequest(directory).withKeys(ImmutableList.of("key")).withPartSize(4L),
+                (itemResponse) -> {
+                    assertThat(testContext, itemResponse.isSucceeded(), is(true));
+                    assertThat(testContext, itemResponse.getSize(), is(8L));
+                    assertThat(testContext, vertx.fileSystem().readFileBlocking(itemResponse.getFilePath()).toString(), is("testdata"));
+                },
+                (bulkDownloadResponse) -> {
+                    assertThat(testContext, bulkDownloadResponse.getSucceeded(), is(1L));
+                    assertThat(testContext, bulkDownloadResponse.getFailed(), is(0L));
+                    async.complete();
+                },
+                testContext::fail
+        );
+    }
+
     void mockDeleteObject(Header... expectedHeaders) throws IOException {
         mock(
                 Collections.emptyMap(),
@@ -754,6 +1828,67 @@ public abstract class AbstractS3ClientTest extends AbstractFunctionalTest {
         );
     }
 
+    void mockDeleteObjects(Header... expectedHeaders) throws IOException {
+        mock(
+                ImmutableMap.of("delete", ImmutableList.of("")),
+                "POST",
+                "/bucket",
+                200,
+                ("<DeleteResult>" +
+                        "<Deleted><Key>key</Key></Deleted>" +
+                        "<Error><Key>key2</Key><Code>AccessDenied</Code><Message>Access Denied</Message></Error>" +
+                        "</DeleteResult>").getBytes(),
+                expectedHeaders
+        );
+    }
+
+    void verifyDeleteObjects(final TestContext testContext) {
+        final Async async = testContext.async();
+        s3Client.deleteObjects(
+                "bucket",
+                new DeleteObjectsRequest(ImmutableList.of("key", "key2")),
+                (deleteObjectsResponse) -> {
+                    assertThat(testContext, deleteObjectsResponse.getData().getDeleted(), hasSize(1));
+                    assertThat(testContext, deleteObjectsResponse.getData().getDeleted().get(0).getKey(), is("key"));
+                    assertThat(testContext, deleteObjectsResponse.getData().getErrors(), hasSize(1));
+                    assertThat(testContext, deleteObjectsResponse.getData().getErrors().get(0).getKey(), is("key2"));
+                    assertThat(testContext, deleteObjectsResponse.getData().getErrors().get(0).getCode(), is(ErrorCode.ACCESS_DENIED));
+                    async.complete();
+                },
+                testContext::fail
+        );
+    }
+
+    void verifyCoalescedDeleteObject(final TestContext testContext) {
+        final S3Client coalescingS3Client = createS3Client(createClientOptions().setDeleteCoalescingWindowMs(50L));
+
+        final Async deleted = testContext.async();
+        final Async failed = testContext.async();
+        coalescingS3Client.deleteObject(
+                "bucket", "key", new DeleteObjectRequest(),
+                (commonResponseHeaders) -> {
+                    assertThat(testContext, commonResponseHeaders, notNullValue());
+                    deleted.complete();
+                },
+                testContext::fail
+        );
+        coalescingS3Client.deleteObject(
+                "bucket", "key2", new DeleteObjectRequest(),
+                (result) -> testContext.fail("Exceptions should be thrown"),
+                error -> {
+                    // Reported like an uncoalesced delete which failed
+                    assertThat(testContext, error, instanceOf(HttpErrorException.class));
+
+                    final HttpErrorException httpErrorException = (HttpErrorException) error;
+                    assertThat(testContext, httpErrorException.getStatus(), is(403));
+                    assertThat(testContext, httpErrorException.getErrorResponse().getCode(), is(ErrorCode.ACCESS_DENIED));
+                    assertThat(testContext, httpErrorException.getErrorResponse().getMessage(), is("Access Denied"));
+                    assertThat(testContext, httpErrorException.getErrorResponse().getResource(), is("/bucket/key2"));
+                    failed.complete();
+                }
+        );
+    }
+
     void mockCopyObject(Header... expectedHeaders) throws IOException {
         mock(
                 Collections.emptyMap(),
@@ -765,6 +1900,37 @@ public abstract class AbstractS3ClientTest extends AbstractFunctionalTest {
         );
     }
 
+    void mockUploadPartCopy(String uploadId, Header... expectedHeaders) throws IOException {
+        mock(
+                ImmutableMap.of("uploadId", ImmutableList.of(uploadId), "partNumber", ImmutableList.of("1")),
+                "PUT",
+                "/destinationBucket/destinationKey",
+                200,
+                "<CopyPartResult><ETag>&quot;b54357faf0632cce46e942fa68356b38&quot;</ETag><LastModified>2009-10-28T22:32:00.000Z</LastModified></CopyPartResult>".getBytes(),
+                ArrayUtils.addAll(
+                        expectedHeaders,
+                        Header.header("X-Amz-Copy-Source", "/sourceBucket/sourceKey"),
+                        Header.header("X-Amz-Copy-Source-Range", "bytes=0-5242879")
+                )
+        );
+    }
+
+    void verifyUploadPartCopy(final TestContext testContext, String uploadId) {
+
+        final Async async = testContext.async();
+        s3Client.uploadPartCopy(
+                "sourceBucket", "sourceKey",
+                "destinationBucket", "destinationKey",
+                new UploadPartCopyRequest(uploadId, 1).withRange(0L, 5242879L),
+                (uploadPartCopyResponse) -> {
+                    assertThat(testContext, uploadPartCopyResponse.getHeader(), notNullValue());
+                    assertThat(testContext, uploadPartCopyResponse.getData().geteTag(), is("\"b54357faf0632cce46e942fa68356b38\""));
+                    async.complete();
+                },
+                testContext::fail
+        );
+    }
+
     void mockCopyObjectErrorResponse(Header... expectedHeaders) throws IOException {
         mock(
                 Collections.emptyMap(),
@@ -812,6 +1978,228 @@ public abstract class AbstractS3ClientTest extends AbstractFunctionalTest {
         );
     }
 
+    void verifyMultipartCopy(final TestContext testContext) {
+        final List<String> receivedRequests = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger maxPartsInFlight = new AtomicInteger();
+
+        final Async async = testContext.async();
+        startMultipartCopyServer(receivedRequests, maxPartsInFlight, null, 0, multipartCopyS3Client -> multipartCopyS3Client.copyObject(
+                "sourceBucket", "sourceKey",
+                "destinationBucket", "destinationKey",
+                new CopyObjectRequest(),
+                (copyObjectResponse) -> {
+                    assertThat(testContext, copyObjectResponse.getData().geteTag(), is("\"copiedetag\""));
+                    assertThat(testContext, copyObjectResponse.getData().getLastModified(), nullValue());
+
+                    // The metadata of the source is taken over and every part is pinned to the measured version of the source
+                    assertThat(testContext, receivedRequests, containsInAnyOrder(
+                            "head sourceKey",
+                            "init text/plain source",
+                            "part 1 bytes=0-5242879 \"sourceetag\"",
+                            "part 2 bytes=5242880-10485759 \"sourceetag\"",
+                            "part 3 bytes=10485760-10486783 \"sourceetag\"",
+                            "complete etag1 etag2 etag3"
+                    ));
+                    assertThat(testContext, maxPartsInFlight.get(), is(2));
+                    async.complete();
+                },
+                testContext::fail
+        ));
+    }
+
+    void verifyMultipartCopyWithReplacedMetadata(final TestContext testContext) {
+        final List<String> receivedRequests = Collections.synchronizedList(new ArrayList<>());
+
+        final Async async = testContext.async();
+        startMultipartCopyServer(receivedRequests, new AtomicInteger(), null, 0, multipartCopyS3Client -> multipartCopyS3Client.copyObject(
+                "sourceBucket", "sourceKey",
+                "destinationBucket", "destinationKey",
+                new CopyObjectRequest()
+                        .withAmzMetadataDirective(Directive.REPLACE)
+                        .withContentType("application/json")
+                        .withAmzMeta("origin", "request"),
+                (copyObjectResponse) -> {
+                    assertThat(testContext, receivedRequests.get(1), is("init application/json request"));
+                    async.complete();
+                },
+                testContext::fail
+        ));
+    }
+
+    void verifyMultipartCopyBelowThreshold(final TestContext testContext) {
+        final List<String> receivedRequests = Collections.synchronizedList(new ArrayList<>());
+
+        final Async async = testContext.async();
+        startMultipartCopyServer(receivedRequests, new AtomicInteger(), null, 0, multipartCopyS3Client -> multipartCopyS3Client.copyObject(
+                "sourceBucket", "smallSourceKey",
+                "destinationBucket", "destinationKey",
+                new CopyObjectRequest(),
+                (copyObjectResponse) -> {
+                    assertThat(testContext, receivedRequests, is(ImmutableList.of("head smallSourceKey", "copy /sourceBucket/smallSourceKey")));
+                    async.complete();
+                },
+                testContext::fail
+        ));
+    }
+
+    void verifyMultipartCopyAbortOnFailure(final TestContext testContext) {
+        final List<String> receivedRequests = Collections.synchronizedList(new ArrayList<>());
+
+        final Async async = testContext.async();
+        startMultipartCopyServer(receivedRequests, new AtomicInteger(), 2, 0, multipartCopyS3Client -> multipartCopyS3Client.copyObject(
+                "sourceBucket", "sourceKey",
+                "destinationBucket", "destinationKey",
+                new CopyObjectRequest(),
+                (result) -> testContext.fail("Exceptions should be thrown"),
+                error -> {
+                    assertThat(testContext, error, instanceOf(HttpErrorException.class));
+                    assertThat(testContext, ((HttpErrorException) error).getStatus(), is(403));
+                    assertThat(testContext, receivedRequests, hasItem("abort"));
+                    assertThat(testContext, receivedRequests, not(hasItem(startsWith("complete"))));
+                    async.complete();
+                }
+        ));
+    }
+
+    void verifyMultipartCopyWithCompleteRetry(final TestContext testContext) {
+        final List<String> receivedRequests = Collections.synchronizedList(new ArrayList<>());
+
+        final Async async = testContext.async();
+        startMultipartCopyServer(receivedRequests, new AtomicInteger(), null, 1, multipartCopyS3Client -> multipartCopyS3Client.copyObject(
+                "sourceBucket", "sourceKey",
+                "destinationBucket", "destinationKey",
+                new CopyObjectRequest(),
+                (copyObjectResponse) -> {
+                    // The complete which failed with a 500 was sent again instead of aborting the copy
+                    assertThat(testContext, copyObjectResponse.getData().geteTag(), is("\"copiedetag\""));
+                    assertThat(testContext, receivedRequests.stream().filter(request -> request.startsWith("complete")).count(), is(2L));
+                    assertThat(testContext, receivedRequests, not(hasItem("abort")));
+                    async.complete();
+                },
+                testContext::fail
+        ));
+    }
+
+    private void startMultipartCopyServer(List<String> receivedRequests, AtomicInteger maxPartsInFlight, Integer failingPartNumber, int failingCompletes, Handler<S3Client> copyHandler) {
+        // The source is two parts and 1KB big. The mock server can't answer a HEAD request with a Content-Length, so a server stands in.
+        final AtomicInteger partsInFlight = new AtomicInteger();
+        final AtomicInteger remainingFailingCompletes = new AtomicInteger(failingCompletes);
+        final HttpServer server = vertx.createHttpServer();
+        server.requestHandler(serverRequest -> serverRequest.bodyHandler(body -> {
+            final HttpServerResponse response = serverRequest.response();
+            if (serverRequest.method() == HttpMethod.HEAD) {
+                final boolean small = serverRequest.path().endsWith("smallSourceKey");
+                receivedRequests.add("head " + (small ? "smallSourceKey" : "sourceKey"));
+                response.putHeader("ETag", "\"sourceetag\"")
+                        .putHeader("Content-Type", "text/plain")
+                        .putHeader("x-amz-meta-origin", "source")
+                        .putHeader("Content-Length", small ? "1024" : String.valueOf(2 * 5242880 + 1024))
+                        .end();
+            } else if (serverRequest.params().contains("uploads")) {
+                receivedRequests.add("init " + serverRequest.getHeader("Content-Type") + " " + serverRequest.getHeader("x-amz-meta-origin"));
+                response.end("<InitiateMultipartUploadResult><Bucket>destinationBucket</Bucket><Key>destinationKey</Key><UploadId>copyid</UploadId></InitiateMultipartUploadResult>");
+            } else if (serverRequest.params().contains("partNumber")) {
+                final String partNumber = serverRequest.getParam("partNumber");
+                receivedRequests.add("part " + partNumber + " " + serverRequest.getHeader("x-amz-copy-source-range") + " " + serverRequest.getHeader("x-amz-copy-source-if-match"));
+                if (partNumber.equals(String.valueOf(failingPartNumber))) {
+                    response.setStatusCode(403).end(Buffer.buffer(errorResponse()));
+                    return;
+                }
+                maxPartsInFlight.accumulateAndGet(partsInFlight.incrementAndGet(), Math::max);
+                vertx.setTimer(50, timerId -> {
+                    partsInFlight.decrementAndGet();
+                    response.end("<CopyPartResult><ETag>etag" + partNumber + "</ETag><LastModified>2009-10-28T22:32:00.000Z</LastModified></CopyPartResult>");
+                });
+            } else if (serverRequest.method() == HttpMethod.POST) {
+                final String completeBody = body.toString();
+                receivedRequests.add("complete" + (completeBody.contains("etag1") ? " etag1" : "") + (completeBody.contains("etag2") ? " etag2" : "") + (completeBody.contains("etag3") ? " etag3" : ""));
+                if (remainingFailingCompletes.getAndDecrement() > 0) {
+                    response.setStatusCode(500).end("<Error><Code>InternalError</Code><Message>We encountered an internal error. Please try again.</Message></Error>");
+                    return;
+                }
+                response.end("<CompleteMultipartUploadResult><Location>whatever</Location><Bucket>destinationBucket</Bucket><Key>destinationKey</Key><ETag>\"copiedetag\"</ETag></CompleteMultipartUploadResult>");
+            } else if (serverRequest.method() == HttpMethod.DELETE) {
+                receivedRequests.add("abort");
+                response.setStatusCode(204).end();
+            } else {
+                receivedRequests.add("copy " + serverRequest.getHeader("x-amz-copy-source"));
+                response.end("<CopyObjectResult><ETag>\"copiedetag\"</ETag><LastModified>2009-10-28T22:32:00.000Z</LastModified></CopyObjectResult>");
+            }
+        }));
+
+        server.listen(MOCKSERVER_PORT + 1, HOSTNAME, listenResult -> copyHandler.handle(createS3Client(createClientOptions()
+                .setDefaultPort(MOCKSERVER_PORT + 1)
+                .setMultipartCopyThreshold(5242880L)
+                .setMultipartCopyPartSize(5242880L)
+                .setMultipartCopyConcurrency(2)
+                .setMaxRetries(1)
+                .setRetryBaseDelayMs(1L))));
+    }
+
+    private byte[] errorResponse() {
+        try {
+            return Resources.toByteArray(Resources.getResource(AbstractS3ClientTest.class, "/response/errorResponse.xml"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    void mockListParts(String uploadId, Header... expectedHeaders) throws IOException {
+        mock(
+                ImmutableMap.of("uploadId", ImmutableList.of(uploadId)),
+                "GET",
+                "/bucket/key",
+                200,
+                Resources.toByteArray(Resources.getResource(AbstractS3ClientTest.class, "/response/listPartsResult.xml")),
+                expectedHeaders
+        );
+    }
+
+    void verifyListParts(final TestContext testContext, String uploadId) {
+        final Async async = testContext.async();
+        s3Client.listParts(
+                "bucket",
+                "key",
+                new ListPartsRequest(uploadId),
+                (listPartsResponse) -> {
+                    assertThat(testContext, listPartsResponse, notNullValue());
+                    assertThat(testContext, listPartsResponse.getHeader().getContentType(), is("application/xml;charset=UTF-8"));
+                    assertThat(testContext, listPartsResponse.getData().getUploadId(), is(uploadId));
+                    assertThat(testContext, listPartsResponse.getData().getParts(), hasSize(2));
+                    assertThat(testContext, listPartsResponse.getData().getParts().get(0).getPartNumber(), is(1));
+                    assertThat(testContext, listPartsResponse.getData().getParts().get(0).geteTag(), is("\"7778aef83f66abc1fa1e8477f296d394\""));
+                    assertThat(testContext, listPartsResponse.getData().getParts().get(0).getSize(), is(5242880L));
+
+                    async.complete();
+                },
+                testContext::fail
+        );
+    }
+
+    void verifyResumeMultipartUpload(final TestContext testContext, String uploadId) throws IOException {
+        final Async async = testContext.async();
+        final MultipartUploadCheckpointStore checkpointStore = new FileSystemMultipartUploadCheckpointStore(vertx, Files.createTempDirectory("checkpoints").toString());
+        final MultipartUploadCheckpoint checkpoint = new MultipartUploadCheckpoint("checkpoint", "bucket", "key", uploadId)
+                .addPart(new CheckpointPart(1, "\"7778aef83f66abc1fa1e8477f296d394\"", 0L, 5242880L))
+                .addPart(new CheckpointPart(2, "\"outdated\"", 5242880L, 1024L));
+
+        checkpointStore.save(
+                checkpoint,
+                saved -> s3Client.resumeMultipartUpload(
+                        checkpointStore,
+                        "checkpoint",
+                        (resumeResponse) -> {
+                            assertThat(testContext, resumeResponse.getData().getInitMultipartUploadResponse().getUploadId(), is(uploadId));
+                            assertThat(testContext, resumeResponse.getData().getSourceOffset(), is(5242880L));
+
+                            async.complete();
+                        },
+                        testContext::fail
+                ),
+                testContext::fail
+        );
+    }
+
     void mockGetBucket(Map<String, List<String>> expectedQueryParams, Header... expectedHeaders) throws IOException {
         mock(
                 expectedQueryParams,
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.client;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @since 3.3.4
+ */
+public class EventLoopHttpClientsUnitTest {
+
+    private final Vertx vertx = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(2));
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testContextsOfOneEventLoopShareTheClient() throws InterruptedException {
+        final EventLoopHttpClients eventLoopHttpClients = new EventLoopHttpClients(vertx, new HttpClientOptions(), true);
+        final Set<HttpClient> clients = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+        // Contexts are assigned to the two event loops round robin
+        final int contexts = 6;
+        final CountDownLatch latch = new CountDownLatch(contexts);
+        for (int i = 0; i < contexts; i++) {
+            final Context context = vertx.getOrCreateContext();
+            context.runOnContext(aVoid -> {
+                clients.add(eventLoopHttpClients.get());
+                latch.countDown();
+            });
+        }
+
+        assertThat(latch.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(clients.size(), is(2));
+        eventLoopHttpClients.close();
+    }
+
+    @Test
+    public void testCallersWithoutContextUseTheSharedClient() {
+        final EventLoopHttpClients eventLoopHttpClients = new EventLoopHttpClients(vertx, new HttpClientOptions(), true);
+
+        assertThat(eventLoopHttpClients.get(), is(sameInstance(eventLoopHttpClients.get())));
+        eventLoopHttpClients.close();
+    }
+
+    @Test
+    public void testSharedClientWithoutPerEventLoopClients() throws InterruptedException {
+        final EventLoopHttpClients eventLoopHttpClients = new EventLoopHttpClients(vertx, new HttpClientOptions(), false);
+        final HttpClient sharedClient = eventLoopHttpClients.get();
+        final HttpClient[] contextClient = new HttpClient[1];
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        vertx.getOrCreateContext().runOnContext(aVoid -> {
+            contextClient[0] = eventLoopHttpClients.get();
+            latch.countDown();
+        });
+
+        assertThat(latch.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(contextClient[0], is(sameInstance(sharedClient)));
+        eventLoopHttpClients.close();
+    }
+}
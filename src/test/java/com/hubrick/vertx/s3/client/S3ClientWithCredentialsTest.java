@@ -159,6 +159,30 @@ public class S3ClientWithCredentialsTest extends AbstractS3ClientTest {
         verifyAbortMultipartUpload(testContext, "someid");
     }
 
+    @Test
+    public void testListParts(TestContext testContext) throws IOException {
+        mockListParts(
+                "someid",
+                Header.header("X-Amz-Date", "20161110T130214Z"),
+                Header.header("X-Amz-Content-Sha256", "UNSIGNED-PAYLOAD"),
+                Header.header("Authorization", "AWS4-HMAC-SHA256 Credential=AKIDEXAMPLE/20161110/us-east-1/service/aws4_request, SignedHeaders=host;x-amz-date, Signature=25773562a424f2b0efec5c44883a192fb302b178a62985b5166f6b5f21bacea8")
+        );
+
+        verifyListParts(testContext, "someid");
+    }
+
+    @Test
+    public void testUploadPartCopy(TestContext testContext) throws IOException {
+        mockUploadPartCopy(
+                "someid",
+                Header.header("X-Amz-Date", "20161110T130214Z"),
+                Header.header("X-Amz-Content-Sha256", "UNSIGNED-PAYLOAD"),
+                Header.header("Authorization", "AWS4-HMAC-SHA256 Credential=AKIDEXAMPLE/20161110/us-east-1/service/aws4_request, SignedHeaders=host;x-amz-copy-source;x-amz-copy-source-range;x-amz-date, Signature=b467ecd3da33132c93870656020bc42a95e4b77fd2af4ca7f15da78971a34bd2")
+        );
+
+        verifyUploadPartCopy(testContext, "someid");
+    }
+
     @Test
     public void testDeleteObject(TestContext testContext) throws IOException {
         mockDeleteObject(
@@ -170,6 +194,17 @@ public class S3ClientWithCredentialsTest extends AbstractS3ClientTest {
         verifyDeleteObject(testContext);
     }
 
+    @Test
+    public void testDeleteObjects(TestContext testContext) throws IOException {
+        mockDeleteObjects(
+                Header.header("X-Amz-Date", "20161110T130214Z"),
+                Header.header("X-Amz-Content-Sha256", "UNSIGNED-PAYLOAD"),
+                Header.header("Authorization", "AWS4-HMAC-SHA256 Credential=AKIDEXAMPLE/20161110/us-east-1/service/aws4_request, SignedHeaders=content-md5;content-type;host;x-amz-date, Signature=1bbd505bbe116edf4eb5ad2e0839b0066ad9d370c28378e86edd47ebb9e3a8ec")
+        );
+
+        verifyDeleteObjects(testContext);
+    }
+
     @Test
     public void testCopyObject(TestContext testContext) throws IOException {
         mockCopyObject(
@@ -22,6 +22,8 @@ import com.hubrick.vertx.s3.model.Owner;
 import com.hubrick.vertx.s3.model.Permission;
 import io.vertx.ext.unit.TestContext;
 import org.junit.Test;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.Header;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -44,6 +46,13 @@ public class S3ClientWithoutCredentialsTest extends AbstractS3ClientTest {
         verifyGetObject(testContext);
     }
 
+    @Test
+    public void testGetObjects(TestContext testContext) throws IOException {
+        mockGetObject();
+
+        verifyGetObjects(testContext);
+    }
+
     @Test
     public void testGetObjectAcl(TestContext testContext) throws IOException {
         final AccessControlPolicy accessControlPolicy = new AccessControlPolicy(new Owner("someid", "somedisplayname"), Collections.singletonList(new Grant(new Grantee("id", "displayname"), Permission.FULL_CONTROL)));
@@ -58,6 +67,14 @@ public class S3ClientWithoutCredentialsTest extends AbstractS3ClientTest {
         verifyHeadObject(testContext);
     }
 
+    @Test
+    public void testBulkDownload(TestContext testContext) throws IOException {
+        mockRangedGetObject("bytes=0-3", "bytes 0-3/8", "test");
+        mockRangedGetObject("bytes=4-7", "bytes 4-7/8", "data", Header.header("If-Match", "\"etag\""));
+
+        verifyBulkDownload(testContext);
+    }
+
     @Test
     public void testPutObject(TestContext testContext) throws IOException {
         mockPutObject();
@@ -65,6 +82,28 @@ public class S3ClientWithoutCredentialsTest extends AbstractS3ClientTest {
         verifyPutObject(testContext);
     }
 
+    @Test
+    public void testAdaptiveUploadBelowThreshold(TestContext testContext) throws IOException {
+        mockPutObject();
+
+        verifyAdaptiveUploadBelowThreshold(testContext);
+    }
+
+    @Test
+    public void testAdaptiveUploadAboveThreshold(TestContext testContext) throws IOException {
+        verifyAdaptiveUploadAboveThreshold(testContext);
+    }
+
+    @Test
+    public void testBulkUpload(TestContext testContext) throws IOException {
+        verifyBulkUpload(testContext);
+    }
+
+    @Test
+    public void testBulkUploadOfFiles(TestContext testContext) throws IOException {
+        verifyBulkUploadOfFiles(testContext);
+    }
+
     @Test
     public void testPutObjectAclWithHeaders(TestContext testContext) throws IOException {
         mockPutObjectAclWithHeaders(
@@ -97,6 +136,52 @@ public class S3ClientWithoutCredentialsTest extends AbstractS3ClientTest {
         verifyContinueMultipartUpload(testContext, 1, "someid");
     }
 
+    @Test
+    public void testMultipartUploadWithRetries(TestContext testContext) throws IOException {
+        mockInitMultipartUpload("someid");
+        mockContinueMultipartUploadSlowDown(1, "someid", Times.once());
+        mockContinueMultipartUpload(1, "someid");
+        mockCompleteMultipartUpload("someid");
+
+        verifyMultipartUploadWithRetries(testContext);
+    }
+
+    @Test
+    public void testMultipartUploadWithCompleteRetry(TestContext testContext) throws IOException {
+        mockInitMultipartUpload("someid");
+        mockContinueMultipartUpload(1, "someid");
+        mockCompleteMultipartUploadInternalErrorOnce("someid");
+        mockCompleteMultipartUpload("someid");
+
+        verifyMultipartUploadWithCompleteRetry(testContext);
+    }
+
+    @Test
+    public void testCompleteMultipartUploadWithClientRetries(TestContext testContext) throws IOException {
+        mockCompleteMultipartUploadInternalErrorOnce("someid");
+        mockCompleteMultipartUpload("someid");
+
+        verifyCompleteMultipartUploadWithClientRetries(testContext);
+    }
+
+    @Test
+    public void testMultipartUploadWithExhaustedRetries(TestContext testContext) throws IOException {
+        mockInitMultipartUpload("someid");
+        mockContinueMultipartUploadSlowDown(1, "someid", Times.unlimited());
+        mockAbortMultipartUpload("someid");
+
+        verifyMultipartUploadWithExhaustedRetries(testContext);
+    }
+
+    @Test
+    public void testMultipartUploadWithClientRetries(TestContext testContext) throws IOException {
+        mockInitMultipartUpload("someid");
+        mockContinueMultipartUploadSlowDown(1, "someid", Times.unlimited());
+        mockAbortMultipartUpload("someid");
+
+        verifyMultipartUploadWithClientRetries(testContext);
+    }
+
     @Test
     public void testCompleteMultipartUpload(TestContext testContext) throws IOException {
         mockCompleteMultipartUpload("someid");
@@ -111,6 +196,27 @@ public class S3ClientWithoutCredentialsTest extends AbstractS3ClientTest {
         verifyAbortMultipartUpload(testContext, "someid");
     }
 
+    @Test
+    public void testListParts(TestContext testContext) throws IOException {
+        mockListParts("someid");
+
+        verifyListParts(testContext, "someid");
+    }
+
+    @Test
+    public void testResumeMultipartUpload(TestContext testContext) throws IOException {
+        mockListParts("someid");
+
+        verifyResumeMultipartUpload(testContext, "someid");
+    }
+
+    @Test
+    public void testUploadPartCopy(TestContext testContext) throws IOException {
+        mockUploadPartCopy("someid");
+
+        verifyUploadPartCopy(testContext, "someid");
+    }
+
     @Test
     public void testDeleteObject(TestContext testContext) throws IOException {
         mockDeleteObject();
@@ -118,6 +224,164 @@ public class S3ClientWithoutCredentialsTest extends AbstractS3ClientTest {
         verifyDeleteObject(testContext);
     }
 
+    @Test
+    public void testGetObjectWithRetries(TestContext testContext) throws IOException {
+        mockGetObjectSlowDownOnce();
+        mockGetObject();
+
+        verifyGetObjectWithRetries(testContext);
+    }
+
+    @Test
+    public void testHedgedGetObject(TestContext testContext) throws IOException {
+        mockGetObjectWithOneSlowResponse(20);
+
+        verifyHedgedGetObject(testContext, 20);
+    }
+
+    @Test
+    public void testHedgedGetObjectWithFailingHedge(TestContext testContext) throws IOException {
+        mockGetObjectWithSlowResponseAndFailingHedge(20);
+
+        verifyHedgedGetObjectWithFailingHedge(testContext, 20);
+    }
+
+    @Test
+    public void testGetObjectWithTrafficClass(TestContext testContext) throws IOException {
+        verifyGetObjectWithTrafficClass(testContext);
+    }
+
+    @Test
+    public void testGetObjectWithOpenCircuitBreaker(TestContext testContext) throws IOException {
+        mockGetObjectSlowDownOnce();
+
+        verifyGetObjectWithOpenCircuitBreaker(testContext);
+    }
+
+    @Test
+    public void testGetObjectWithFirstByteTimeout(TestContext testContext) throws IOException {
+        mockGetObjectWithOneSlowResponse(0);
+
+        verifyGetObjectWithFirstByteTimeout(testContext);
+    }
+
+    @Test
+    public void testGetObjectWithDeadlineAndAdmissionLimit(TestContext testContext) throws IOException {
+        mockGetObjectWithOneSlowResponse(0);
+
+        verifyGetObjectWithDeadlineAndAdmissionLimit(testContext);
+    }
+
+    @Test
+    public void testGetObjectWithDeadlineOfNanoClock(TestContext testContext) throws IOException {
+        mockGetObject();
+
+        verifyGetObjectWithDeadlineOfNanoClock(testContext);
+    }
+
+    @Test
+    public void testGetObjectAclAndWarmUpWithExpiredDeadline(TestContext testContext) {
+        verifyGetObjectAclAndWarmUpWithExpiredDeadline(testContext);
+    }
+
+    @Test
+    public void testWarmUp(TestContext testContext) throws IOException {
+        mockHeadBucket();
+
+        verifyWarmUp(testContext);
+    }
+
+    @Test
+    public void testWarmUpWithVirtualHostedStyle(TestContext testContext) throws IOException {
+        mockHeadVirtualHostedBucket();
+
+        verifyWarmUpWithVirtualHostedStyle(testContext);
+    }
+
+    @Test
+    public void testGetObjectFromSeveralEventLoops(TestContext testContext) throws IOException {
+        mockGetObject();
+
+        verifyGetObjectFromSeveralEventLoops(testContext);
+    }
+
+    @Test
+    public void testGetObjectWithUnreachableEndpoint(TestContext testContext) throws IOException {
+        mockGetObject();
+
+        verifyGetObjectWithUnreachableEndpoint(testContext);
+    }
+
+    @Test
+    public void testGetObjectWithReadReplica(TestContext testContext) throws IOException {
+        mockGetObjectSlowDownOnce();
+        mockGetReplicaObject();
+
+        verifyGetObjectWithReadReplica(testContext);
+    }
+
+    @Test
+    public void testGetObjectWithBucketRegionDiscovery(TestContext testContext) throws IOException {
+        mockGetObjectPermanentRedirectOnce();
+        mockGetObject();
+
+        verifyGetObjectWithBucketRegionDiscovery(testContext);
+    }
+
+    @Test
+    public void testGetObjectWithVirtualHostedStyle(TestContext testContext) throws IOException {
+        mockGetVirtualHostedObject();
+
+        verifyGetObjectWithVirtualHostedStyle(testContext);
+    }
+
+    @Test
+    public void testGetObjectWithTenantViews(TestContext testContext) throws IOException {
+        verifyGetObjectWithTenantViews(testContext);
+    }
+
+    @Test
+    public void testGetObjectWithCredentialsProvider(TestContext testContext) throws IOException {
+        mockCredentials();
+        mockGetObject();
+
+        verifyGetObjectWithCredentialsProvider(testContext);
+    }
+
+    @Test
+    public void testStreamedRequestWithCredentialsProvider(TestContext testContext) {
+        verifyStreamedRequestWithCredentialsProvider(testContext);
+    }
+
+    @Test
+    public void testStreamedRequestWithFailingCredentialsProvider(TestContext testContext) {
+        verifyStreamedRequestWithFailingCredentialsProvider(testContext);
+    }
+
+    @Test
+    public void testPutObjectWithExpectContinue(TestContext testContext) throws IOException {
+        verifyPutObjectWithExpectContinue(testContext);
+    }
+
+    @Test
+    public void testPutObjectWithIgnoredExpectContinue(TestContext testContext) {
+        verifyPutObjectWithIgnoredExpectContinue(testContext);
+    }
+
+    @Test
+    public void testDeleteObjects(TestContext testContext) throws IOException {
+        mockDeleteObjects();
+
+        verifyDeleteObjects(testContext);
+    }
+
+    @Test
+    public void testCoalescedDeleteObject(TestContext testContext) throws IOException {
+        mockDeleteObjects();
+
+        verifyCoalescedDeleteObject(testContext);
+    }
+
     @Test
     public void testCopyObject(TestContext testContext) throws IOException {
         mockCopyObject();
@@ -125,4 +389,29 @@ public class S3ClientWithoutCredentialsTest extends AbstractS3ClientTest {
         verifyCopyObject(testContext);
 
     }
+
+    @Test
+    public void testMultipartCopy(TestContext testContext) {
+        verifyMultipartCopy(testContext);
+    }
+
+    @Test
+    public void testMultipartCopyWithReplacedMetadata(TestContext testContext) {
+        verifyMultipartCopyWithReplacedMetadata(testContext);
+    }
+
+    @Test
+    public void testMultipartCopyBelowThreshold(TestContext testContext) {
+        verifyMultipartCopyBelowThreshold(testContext);
+    }
+
+    @Test
+    public void testMultipartCopyAbortOnFailure(TestContext testContext) {
+        verifyMultipartCopyAbortOnFailure(testContext);
+    }
+
+    @Test
+    public void testMultipartCopyWithCompleteRetry(TestContext testContext) {
+        verifyMultipartCopyWithCompleteRetry(testContext);
+    }
 }
@@ -0,0 +1,171 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.credentials;
+
+import io.vertx.core.Handler;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+
+/**
+ * @since 3.3.4
+ */
+public class RefreshingCredentialsProviderUnitTest {
+
+    private static final Instant START = Instant.parse("2019-01-01T00:00:00Z");
+
+    private final List<Throwable> unexpectedFailures = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        assertThat(unexpectedFailures, is(empty()));
+    }
+
+    @Test
+    public void testFirstCredentialsAreAwaited() {
+        final TestCredentialsProvider credentialsProvider = new TestCredentialsProvider();
+        final List<String> answered = new ArrayList<>();
+
+        credentialsProvider.getCredentials(credentials -> answered.add(credentials.getAwsAccessKey()), unexpectedFailures::add);
+        credentialsProvider.getCredentials(credentials -> answered.add(credentials.getAwsAccessKey()), unexpectedFailures::add);
+        assertThat(answered.size(), is(0));
+        assertThat(credentialsProvider.loads.size(), is(1));
+
+        credentialsProvider.complete("key-1", START.plusSeconds(3600));
+        assertThat(answered.size(), is(2));
+    }
+
+    @Test
+    public void testCredentialsAreRefreshedAheadOfExpiration() {
+        final TestCredentialsProvider credentialsProvider = new TestCredentialsProvider();
+        final List<String> answered = new ArrayList<>();
+        credentialsProvider.getCredentials(credentials -> answered.add(credentials.getAwsAccessKey()), unexpectedFailures::add);
+        credentialsProvider.complete("key-1", START.plusSeconds(3600));
+
+        // Within the refresh ahead window the cached credentials are answered while new ones are loaded
+        credentialsProvider.clock.now = START.plusSeconds(3590);
+        credentialsProvider.getCredentials(credentials -> answered.add(credentials.getAwsAccessKey()), unexpectedFailures::add);
+        credentialsProvider.getCredentials(credentials -> answered.add(credentials.getAwsAccessKey()), unexpectedFailures::add);
+        assertThat(answered.size(), is(3));
+        assertThat(answered.get(2), is("key-1"));
+        assertThat(credentialsProvider.loads.size(), is(1));
+
+        credentialsProvider.complete("key-2", START.plusSeconds(7200));
+        credentialsProvider.getCredentials(credentials -> answered.add(credentials.getAwsAccessKey()), unexpectedFailures::add);
+        assertThat(answered.get(3), is("key-2"));
+    }
+
+    @Test
+    public void testExpiredCredentialsAreAwaited() {
+        final TestCredentialsProvider credentialsProvider = new TestCredentialsProvider();
+        final List<Throwable> failures = new ArrayList<>();
+        credentialsProvider.getCredentials(credentials -> {}, failures::add);
+        credentialsProvider.complete("key-1", START.plusSeconds(3600));
+
+        credentialsProvider.clock.now = START.plusSeconds(3600);
+        final List<String> answered = new ArrayList<>();
+        credentialsProvider.getCredentials(credentials -> answered.add(credentials.getAwsAccessKey()), failures::add);
+        assertThat(answered.size(), is(0));
+
+        credentialsProvider.fail(new IllegalStateException("unavailable"));
+        assertThat(failures.size(), is(1));
+        assertThat(credentialsProvider.loads.size(), is(0));
+    }
+
+    @Test
+    public void testCredentialsWithoutExpirationAreKept() {
+        final TestCredentialsProvider credentialsProvider = new TestCredentialsProvider();
+        credentialsProvider.getCredentials(credentials -> {}, unexpectedFailures::add);
+        credentialsProvider.complete("key-1", null);
+
+        credentialsProvider.clock.now = START.plusSeconds(86400);
+        final List<AwsCredentials> answered = new ArrayList<>();
+        credentialsProvider.getCredentials(answered::add, unexpectedFailures::add);
+        assertThat(answered.get(0).getExpiration(), nullValue());
+        assertThat(credentialsProvider.loads.size(), is(0));
+    }
+
+    private static class TestCredentialsProvider extends RefreshingCredentialsProvider {
+
+        private final TestClock clock;
+        private final List<Load> loads;
+
+        private TestCredentialsProvider() {
+            this(new TestClock());
+        }
+
+        private TestCredentialsProvider(TestClock clock) {
+            super(clock, 60000L, null);
+            this.clock = clock;
+            this.loads = new ArrayList<>();
+        }
+
+        @Override
+        protected void loadCredentials(Handler<AwsCredentials> handler, Handler<Throwable> exceptionHandler) {
+            loads.add(new Load(handler, exceptionHandler));
+        }
+
+        private void complete(String awsAccessKey, Instant expiration) {
+            loads.remove(0).handler.handle(new AwsCredentials(awsAccessKey, "secret", "token", expiration));
+        }
+
+        private void fail(Throwable throwable) {
+            loads.remove(0).exceptionHandler.handle(throwable);
+        }
+    }
+
+    private static class Load {
+
+        private final Handler<AwsCredentials> handler;
+        private final Handler<Throwable> exceptionHandler;
+
+        private Load(Handler<AwsCredentials> handler, Handler<Throwable> exceptionHandler) {
+            this.handler = handler;
+            this.exceptionHandler = exceptionHandler;
+        }
+    }
+
+    private static class TestClock extends Clock {
+
+        private Instant now = START;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
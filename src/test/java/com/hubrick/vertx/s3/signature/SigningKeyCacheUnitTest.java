@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.signature;
+
+import com.hubrick.vertx.s3.S3TestCredentials;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @since 3.3.4
+ */
+public class SigningKeyCacheUnitTest {
+
+    private static final ZonedDateTime TIME = ZonedDateTime.from(DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssX").parse("20150830T123600Z"));
+
+    @Test
+    public void testCachedSigningKeySignsLikeDerivedKey() {
+        final SigningKeyCache signingKeyCache = new SigningKeyCache();
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(signature(builder().awsSecretKey(S3TestCredentials.AWS_SECRET_KEY, signingKeyCache)), is(signature(builder().awsSecretKey(S3TestCredentials.AWS_SECRET_KEY))));
+        }
+        assertThat(signingKeyCache.size(), is(1));
+    }
+
+    @Test
+    public void testRotatedSecretKeyClearsCache() {
+        final SigningKeyCache signingKeyCache = new SigningKeyCache();
+        builder().awsSecretKey(S3TestCredentials.AWS_SECRET_KEY, signingKeyCache);
+        AWS4SignatureBuilder.builder(TIME, "eu-west-1", S3TestCredentials.SERVICE_NAME).awsSecretKey(S3TestCredentials.AWS_SECRET_KEY, signingKeyCache);
+        assertThat(signingKeyCache.size(), is(2));
+
+        assertThat(signature(builder().awsSecretKey("rotated", signingKeyCache)), is(signature(builder().awsSecretKey("rotated"))));
+        assertThat(signingKeyCache.size(), is(1));
+    }
+
+    private static AWS4SignatureBuilder builder() {
+        return AWS4SignatureBuilder.builder(TIME, S3TestCredentials.REGION, S3TestCredentials.SERVICE_NAME)
+                .httpRequestMethod("GET")
+                .canonicalUri("/bucket/key")
+                .header("Host", "localhost");
+    }
+
+    private static String signature(AWS4SignatureBuilder builder) {
+        return builder.buildAuthorizationHeaderValue(S3TestCredentials.AWS_ACCESS_KEY);
+    }
+}
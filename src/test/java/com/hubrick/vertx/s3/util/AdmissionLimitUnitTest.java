@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @since 3.3.4
+ */
+public class AdmissionLimitUnitTest {
+
+    @Test
+    public void testRequestsBeyondTheLimitAreRejected() {
+        final AdmissionLimit admissionLimit = new AdmissionLimit(2);
+
+        assertThat(admissionLimit.tryAcquire(), is(true));
+        assertThat(admissionLimit.tryAcquire(), is(true));
+        assertThat(admissionLimit.tryAcquire(), is(false));
+        assertThat(admissionLimit.getInFlight(), is(2));
+    }
+
+    @Test
+    public void testReleaseAdmitsTheNextRequest() {
+        final AdmissionLimit admissionLimit = new AdmissionLimit(1);
+
+        assertThat(admissionLimit.tryAcquire(), is(true));
+        admissionLimit.release();
+
+        assertThat(admissionLimit.tryAcquire(), is(true));
+        assertThat(admissionLimit.getInFlight(), is(1));
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * @since 3.3.4
+ */
+public class AimdConcurrencyControllerUnitTest {
+
+    private static final long FIVE_MB = 5 * 1024 * 1024;
+
+    @Test
+    public void testAdditiveIncrease() {
+        final AimdConcurrencyController controller = new AimdConcurrencyController(1, 100, 4);
+
+        for (int i = 0; i < 100; i++) {
+            controller.onSuccess(500, FIVE_MB);
+        }
+
+        assertThat(controller.getLimit(), greaterThan(4));
+        assertThat(controller.getLimit(), lessThan(100));
+    }
+
+    @Test
+    public void testMultiplicativeDecreaseOnCongestion() {
+        final AimdConcurrencyController controller = new AimdConcurrencyController(1, 100, 16);
+
+        controller.onCongestion();
+        assertThat(controller.getLimit(), is(8));
+
+        for (int i = 0; i < 10; i++) {
+            controller.onCongestion();
+        }
+        assertThat(controller.getLimit(), is(1));
+    }
+
+    @Test
+    public void testDecreaseOnGrowingLatency() {
+        final AimdConcurrencyController controller = new AimdConcurrencyController(1, 100, 16);
+
+        controller.onSuccess(500, FIVE_MB);
+        for (int i = 0; i < 20; i++) {
+            controller.onSuccess(5000, FIVE_MB);
+        }
+
+        assertThat(controller.getLimit(), lessThan(16));
+    }
+
+    @Test
+    public void testLimitIsCapped() {
+        final AimdConcurrencyController controller = new AimdConcurrencyController(1, 5, 4);
+
+        for (int i = 0; i < 1000; i++) {
+            controller.onSuccess(500, FIVE_MB);
+        }
+
+        assertThat(controller.getLimit(), is(5));
+    }
+}
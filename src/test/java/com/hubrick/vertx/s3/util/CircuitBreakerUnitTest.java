@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @since 3.3.4
+ */
+public class CircuitBreakerUnitTest {
+
+    private static final long ONE_SECOND = 1_000_000_000L;
+
+    @Test
+    public void testOpensAtFailureRate() {
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(0.5, null, 4, 1000, 1);
+
+        circuitBreaker.onFailure(0);
+        circuitBreaker.onFailure(0);
+        circuitBreaker.onSuccess(1, 0);
+        assertThat(circuitBreaker.getState(0), is(CircuitBreaker.State.CLOSED));
+
+        circuitBreaker.onSuccess(1, 0);
+        assertThat(circuitBreaker.getState(0), is(CircuitBreaker.State.OPEN));
+        assertThat(circuitBreaker.tryAcquire(0), is(false));
+    }
+
+    @Test
+    public void testSlowCallsAreFailures() {
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(1.0, 100L, 2, 1000, 1);
+
+        circuitBreaker.onSuccess(500, 0);
+        circuitBreaker.onSuccess(500, 0);
+
+        assertThat(circuitBreaker.getState(0), is(CircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    public void testHalfOpenProbes() {
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(1.0, null, 1, 1000, 1);
+        circuitBreaker.onFailure(0);
+
+        assertThat(circuitBreaker.getState(ONE_SECOND), is(CircuitBreaker.State.HALF_OPEN));
+        assertThat(circuitBreaker.tryAcquire(ONE_SECOND), is(true));
+        assertThat(circuitBreaker.tryAcquire(ONE_SECOND), is(false));
+
+        circuitBreaker.onFailure(ONE_SECOND);
+        assertThat(circuitBreaker.getState(ONE_SECOND), is(CircuitBreaker.State.OPEN));
+
+        assertThat(circuitBreaker.tryAcquire(2 * ONE_SECOND), is(true));
+        circuitBreaker.onSuccess(1, 2 * ONE_SECOND);
+        assertThat(circuitBreaker.getState(2 * ONE_SECOND), is(CircuitBreaker.State.CLOSED));
+        assertThat(circuitBreaker.tryAcquire(2 * ONE_SECOND), is(true));
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @since 3.3.4
+ */
+public class CompositeBufferBuilderUnitTest {
+
+    @Test
+    public void testBuffersAreJoinedInOrder() {
+        final CompositeBufferBuilder compositeBufferBuilder = new CompositeBufferBuilder()
+                .append(Buffer.buffer("first"))
+                .append(Buffer.buffer())
+                .append(Buffer.buffer("second"))
+                .append(Buffer.buffer("third"));
+
+        assertThat(compositeBufferBuilder.length(), is(16));
+        assertThat(compositeBufferBuilder.build().toString(), is("firstsecondthird"));
+        assertThat(compositeBufferBuilder.build().getString(3, 8), is("stsec"));
+    }
+
+    @Test
+    public void testSingleBufferIsReturnedAsIs() {
+        final Buffer buffer = Buffer.buffer("data");
+
+        assertThat(new CompositeBufferBuilder().append(buffer).build(), is(sameInstance(buffer)));
+    }
+
+    @Test
+    public void testBuffersAreNotCopied() {
+        final Buffer first = Buffer.buffer("first");
+        final Buffer second = Buffer.buffer("second");
+        final Buffer built = new CompositeBufferBuilder().append(first).append(second).build();
+
+        first.setByte(0, (byte) 'F');
+        second.setByte(0, (byte) 'S');
+
+        assertThat(built.toString(), is("FirstSecond"));
+    }
+
+    @Test
+    public void testBuildAndResetStartsTheNextBuffer() {
+        final CompositeBufferBuilder compositeBufferBuilder = new CompositeBufferBuilder()
+                .append(Buffer.buffer("first"))
+                .append(Buffer.buffer("part"));
+
+        assertThat(compositeBufferBuilder.buildAndReset().toString(), is("firstpart"));
+        assertThat(compositeBufferBuilder.isEmpty(), is(true));
+        assertThat(compositeBufferBuilder.build().length(), is(0));
+
+        compositeBufferBuilder.append(Buffer.buffer("second"));
+        assertThat(compositeBufferBuilder.buildAndReset().toString(), is("second"));
+    }
+}
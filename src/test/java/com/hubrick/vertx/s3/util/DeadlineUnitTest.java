@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @since 3.3.4
+ */
+public class DeadlineUnitTest {
+
+    private static final long ONE_MILLISECOND = 1_000_000L;
+
+    @Test
+    public void testRemainingTime() {
+        final Deadline deadline = Deadline.after(100, 0);
+
+        assertThat(deadline.isExpired(0), is(false));
+        assertThat(deadline.remainingMs(0), is(100L));
+        assertThat(deadline.remainingMs(40 * ONE_MILLISECOND), is(60L));
+    }
+
+    @Test
+    public void testExpiry() {
+        final Deadline deadline = Deadline.after(100, 0);
+
+        assertThat(deadline.isExpired(99 * ONE_MILLISECOND), is(false));
+        assertThat(deadline.isExpired(100 * ONE_MILLISECOND), is(true));
+        assertThat(deadline.remainingMs(200 * ONE_MILLISECOND), is(0L));
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * @since 3.3.4
+ */
+public class ExponentialBackoffUnitTest {
+
+    @Test
+    public void testDelayGrowsExponentially() {
+        final ExponentialBackoff exponentialBackoff = new ExponentialBackoff(100, 10000);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(exponentialBackoff.delayMs(0), allOf(greaterThanOrEqualTo(1L), lessThanOrEqualTo(100L)));
+            assertThat(exponentialBackoff.delayMs(1), allOf(greaterThanOrEqualTo(1L), lessThanOrEqualTo(200L)));
+            assertThat(exponentialBackoff.delayMs(3), allOf(greaterThanOrEqualTo(1L), lessThanOrEqualTo(800L)));
+        }
+    }
+
+    @Test
+    public void testDelayIsCapped() {
+        final ExponentialBackoff exponentialBackoff = new ExponentialBackoff(100, 1000);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(exponentialBackoff.delayMs(5), allOf(greaterThanOrEqualTo(1L), lessThanOrEqualTo(1000L)));
+            assertThat(exponentialBackoff.delayMs(Integer.MAX_VALUE), allOf(greaterThanOrEqualTo(1L), lessThanOrEqualTo(1000L)));
+        }
+    }
+
+    @Test
+    public void testDelayIsJittered() {
+        final ExponentialBackoff exponentialBackoff = new ExponentialBackoff(1000, 1000);
+
+        long minDelay = Long.MAX_VALUE;
+        long maxDelay = Long.MIN_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            final long delay = exponentialBackoff.delayMs(0);
+            minDelay = Math.min(minDelay, delay);
+            maxDelay = Math.max(maxDelay, delay);
+        }
+
+        assertThat(minDelay, lessThanOrEqualTo(500L));
+        assertThat(maxDelay, greaterThanOrEqualTo(500L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxDelayMustNotBeLessThanBaseDelay() {
+        new ExponentialBackoff(1000, 100);
+    }
+}
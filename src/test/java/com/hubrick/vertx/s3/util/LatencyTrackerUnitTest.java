@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @since 3.3.4
+ */
+public class LatencyTrackerUnitTest {
+
+    @Test
+    public void testNoPercentileWithoutEnoughSamples() {
+        final LatencyTracker latencyTracker = new LatencyTracker(100);
+
+        for (int i = 0; i < 19; i++) {
+            latencyTracker.record(10);
+        }
+
+        assertThat(latencyTracker.percentile(0.95), is(nullValue()));
+    }
+
+    @Test
+    public void testPercentile() {
+        final LatencyTracker latencyTracker = new LatencyTracker(100);
+
+        for (int i = 100; i > 0; i--) {
+            latencyTracker.record(i);
+        }
+
+        assertThat(latencyTracker.percentile(0.5), is(50L));
+        assertThat(latencyTracker.percentile(0.95), is(95L));
+        assertThat(latencyTracker.percentile(1.0), is(100L));
+    }
+
+    @Test
+    public void testOldSamplesAreReplaced() {
+        final LatencyTracker latencyTracker = new LatencyTracker(20);
+
+        for (int i = 0; i < 20; i++) {
+            latencyTracker.record(1000);
+        }
+        for (int i = 0; i < 20; i++) {
+            latencyTracker.record(10);
+        }
+
+        assertThat(latencyTracker.percentile(0.99), is(10L));
+    }
+}
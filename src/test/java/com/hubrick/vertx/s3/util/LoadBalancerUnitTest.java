@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @since 3.3.4
+ */
+public class LoadBalancerUnitTest {
+
+    private static final long ONE_SECOND = 1_000_000_000L;
+
+    @Test
+    public void testSelectsLeastOutstanding() {
+        final LoadBalancer loadBalancer = new LoadBalancer(3, 1, 1000);
+
+        assertThat(loadBalancer.select(0), is(0));
+        assertThat(loadBalancer.select(0), is(1));
+        assertThat(loadBalancer.select(0), is(2));
+
+        loadBalancer.onSuccess(1);
+        assertThat(loadBalancer.select(0), is(1));
+        assertThat(loadBalancer.getOutstanding(1), is(1));
+    }
+
+    @Test
+    public void testEjectsAfterConsecutiveFailures() {
+        final LoadBalancer loadBalancer = new LoadBalancer(2, 2, 1000);
+
+        loadBalancer.onFailure(loadBalancer.select(0), 0);
+        loadBalancer.onSuccess(loadBalancer.select(0));
+        loadBalancer.onFailure(loadBalancer.select(0), 0);
+        assertThat(loadBalancer.isEjected(0, 0), is(true));
+        assertThat(loadBalancer.isEjected(1, 0), is(false));
+
+        assertThat(loadBalancer.select(0), is(1));
+        assertThat(loadBalancer.select(0), is(1));
+    }
+
+    @Test
+    public void testSuccessResetsFailures() {
+        final LoadBalancer loadBalancer = new LoadBalancer(1, 2, 1000);
+
+        loadBalancer.onFailure(loadBalancer.select(0), 0);
+        loadBalancer.onSuccess(loadBalancer.select(0));
+        loadBalancer.onFailure(loadBalancer.select(0), 0);
+
+        assertThat(loadBalancer.isEjected(0, 0), is(false));
+    }
+
+    @Test
+    public void testEjectedEndpointReturnsAfterEjectionDuration() {
+        final LoadBalancer loadBalancer = new LoadBalancer(1, 2, 1000);
+
+        loadBalancer.onFailure(loadBalancer.select(0), 0);
+        loadBalancer.onFailure(loadBalancer.select(0), 0);
+        assertThat(loadBalancer.isEjected(0, ONE_SECOND - 1), is(true));
+        assertThat(loadBalancer.isEjected(0, ONE_SECOND), is(false));
+
+        // A single failure ejects it again
+        loadBalancer.onFailure(loadBalancer.select(ONE_SECOND), ONE_SECOND);
+        assertThat(loadBalancer.isEjected(0, ONE_SECOND), is(true));
+    }
+
+    @Test
+    public void testUsesEjectedEndpointsIfAllAreEjected() {
+        final LoadBalancer loadBalancer = new LoadBalancer(2, 1, 1000);
+
+        loadBalancer.onFailure(loadBalancer.select(0), 0);
+        loadBalancer.onFailure(loadBalancer.select(0), 0);
+
+        assertThat(loadBalancer.select(0), is(0));
+        assertThat(loadBalancer.select(0), is(1));
+    }
+
+    @Test
+    public void testCancelledReleasesEndpoint() {
+        final LoadBalancer loadBalancer = new LoadBalancer(2, 1, 1000);
+
+        loadBalancer.onCancelled(loadBalancer.select(0));
+
+        assertThat(loadBalancer.getOutstanding(0), is(0));
+        assertThat(loadBalancer.isEjected(0, 0), is(false));
+    }
+}
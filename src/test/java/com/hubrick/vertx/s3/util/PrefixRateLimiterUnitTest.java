@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import io.vertx.core.Vertx;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @since 3.3.4
+ */
+public class PrefixRateLimiterUnitTest {
+
+    private Vertx vertx;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+    }
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testPrefixKey() {
+        final PrefixRateLimiter rateLimiter = new PrefixRateLimiter(vertx, 10, 10, 1);
+
+        assertThat(rateLimiter.toPrefixKey("GET", "/bucket/key"), is("R:bucket/"));
+        assertThat(rateLimiter.toPrefixKey("HEAD", "/bucket/a/b/key"), is("R:bucket/a/"));
+        assertThat(rateLimiter.toPrefixKey("PUT", "/bucket/a/key"), is("W:bucket/a/"));
+        assertThat(rateLimiter.toPrefixKey("POST", "/bucket"), is("W:bucket/"));
+        assertThat(new PrefixRateLimiter(vertx, 10, 10, 0).toPrefixKey("DELETE", "/bucket/a/key"), is("W:bucket/"));
+    }
+
+    @Test
+    public void testRequestsOverBudgetAreQueued() {
+        final AtomicLong now = new AtomicLong(0);
+        final PrefixRateLimiter rateLimiter = new PrefixRateLimiter(vertx, 10, null, 1, now::get);
+        final AtomicInteger sent = new AtomicInteger();
+
+        rateLimiter.acquire("GET", "/bucket/a/key", aVoid -> sent.incrementAndGet());
+        rateLimiter.acquire("GET", "/bucket/a/key", aVoid -> sent.incrementAndGet());
+        // Other prefixes and unlimited writes have their own budget
+        rateLimiter.acquire("GET", "/bucket/b/key", aVoid -> sent.incrementAndGet());
+        rateLimiter.acquire("PUT", "/bucket/a/key", aVoid -> sent.incrementAndGet());
+
+        assertThat(sent.get(), is(3));
+        assertThat(rateLimiter.getRate("PUT", "/bucket/a/key"), is(nullValue()));
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @since 3.3.4
+ */
+public class RequestSchedulerUnitTest {
+
+    @Test
+    public void testFifo() {
+        final RequestScheduler requestScheduler = new RequestScheduler(1, null, false);
+        final List<Long> started = new ArrayList<>();
+
+        for (long size : Arrays.asList(300L, 200L, 100L)) {
+            requestScheduler.schedule(size, aVoid -> started.add(size));
+        }
+        assertThat(started, is(Arrays.asList(300L)));
+
+        requestScheduler.release();
+        requestScheduler.release();
+        assertThat(started, is(Arrays.asList(300L, 200L, 100L)));
+    }
+
+    @Test
+    public void testShortestJobFirst() {
+        final RequestScheduler requestScheduler = new RequestScheduler(1, null, true);
+        final List<Long> started = new ArrayList<>();
+
+        for (long size : Arrays.asList(300L, 200L, 100L, 100L)) {
+            requestScheduler.schedule(size, aVoid -> started.add(size));
+        }
+        requestScheduler.release();
+        requestScheduler.release();
+        requestScheduler.release();
+
+        assertThat(started, is(Arrays.asList(300L, 100L, 100L, 200L)));
+        assertThat(requestScheduler.getInFlight(), is(1));
+    }
+
+    @Test
+    public void testTenantsAreServedRoundRobin() {
+        final RequestScheduler requestScheduler = new RequestScheduler(1, null, false);
+        final List<String> started = new ArrayList<>();
+
+        for (String tenant : Arrays.asList("a", "a", "a", "a", "b", "c")) {
+            requestScheduler.schedule(tenant, 0, aVoid -> started.add(tenant));
+        }
+        for (int i = 0; i < 5; i++) {
+            requestScheduler.release();
+        }
+
+        assertThat(started, is(Arrays.asList("a", "a", "b", "c", "a", "a")));
+        assertThat(requestScheduler.getQueueSize(), is(0));
+    }
+
+    @Test
+    public void testQueueLimit() {
+        final RequestScheduler requestScheduler = new RequestScheduler(1, 1, false);
+
+        assertThat(requestScheduler.schedule(0, aVoid -> {}), is(true));
+        assertThat(requestScheduler.schedule(0, aVoid -> {}), is(true));
+        assertThat(requestScheduler.schedule(0, aVoid -> {}), is(false));
+        assertThat(requestScheduler.getQueueSize(), is(1));
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @since 3.3.4
+ */
+public class RetryBudgetUnitTest {
+
+    private static final long ONE_SECOND = 1_000_000_000L;
+
+    @Test
+    public void testRetriesAreLimitedByRatio() {
+        final RetryBudget retryBudget = new RetryBudget(0.1, 0, 0);
+
+        for (int i = 0; i < 25; i++) {
+            retryBudget.onRequest();
+        }
+
+        assertThat(retryBudget.tryAcquire(0), is(true));
+        assertThat(retryBudget.tryAcquire(0), is(true));
+        assertThat(retryBudget.tryAcquire(0), is(false));
+    }
+
+    @Test
+    public void testMinRetriesPerSecondRefill() {
+        final RetryBudget retryBudget = new RetryBudget(0.1, 2, 0);
+
+        assertThat(retryBudget.tryAcquire(0), is(true));
+        assertThat(retryBudget.tryAcquire(0), is(true));
+        assertThat(retryBudget.tryAcquire(0), is(false));
+
+        assertThat(retryBudget.tryAcquire(ONE_SECOND / 2), is(true));
+        assertThat(retryBudget.tryAcquire(ONE_SECOND / 2), is(false));
+    }
+
+    @Test
+    public void testBalanceIsCapped() {
+        final RetryBudget retryBudget = new RetryBudget(0.5, 0, 0);
+
+        for (int i = 0; i < 10000; i++) {
+            retryBudget.onRequest();
+        }
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(retryBudget.tryAcquire(0), is(true));
+        }
+        assertThat(retryBudget.tryAcquire(0), is(false));
+    }
+}
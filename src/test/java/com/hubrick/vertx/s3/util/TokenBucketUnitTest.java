@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.s3.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * @since 3.3.4
+ */
+public class TokenBucketUnitTest {
+
+    private static final long ONE_SECOND = 1_000_000_000L;
+
+    @Test
+    public void testBurstIsLimitedToOneTenthOfTheRate() {
+        final TokenBucket tokenBucket = new TokenBucket(100, 0);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(tokenBucket.tryAcquire(0), is(true));
+        }
+        assertThat(tokenBucket.tryAcquire(0), is(false));
+        assertThat(tokenBucket.nanosUntilAvailable(0), is(ONE_SECOND / 100));
+    }
+
+    @Test
+    public void testRefill() {
+        final TokenBucket tokenBucket = new TokenBucket(100, 0);
+        while (tokenBucket.tryAcquire(0)) {
+            // drain
+        }
+
+        assertThat(tokenBucket.tryAcquire(ONE_SECOND / 100), is(true));
+        assertThat(tokenBucket.tryAcquire(ONE_SECOND / 100), is(false));
+    }
+
+    @Test
+    public void testSlowDownHalvesRateAndRecovers() {
+        final TokenBucket tokenBucket = new TokenBucket(100, 0);
+
+        tokenBucket.onSlowDown(0);
+        assertThat(tokenBucket.getRate(), closeTo(50, 0.001));
+        assertThat(tokenBucket.tryAcquire(0), is(false));
+
+        for (int i = 0; i < 10; i++) {
+            tokenBucket.onSlowDown(0);
+        }
+        assertThat(tokenBucket.getRate(), closeTo(5, 0.001));
+
+        tokenBucket.tryAcquire(10 * ONE_SECOND);
+        assertThat(tokenBucket.getRate(), greaterThan(50.0));
+
+        tokenBucket.tryAcquire(30 * ONE_SECOND);
+        assertThat(tokenBucket.getRate(), closeTo(100, 0.001));
+    }
+}